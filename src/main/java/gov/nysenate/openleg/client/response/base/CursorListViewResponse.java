@@ -0,0 +1,32 @@
+package gov.nysenate.openleg.client.response.base;
+
+import gov.nysenate.openleg.client.view.base.ListView;
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.model.search.SearchCursor;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A page of results that is being paged through with a continuation token. The token is null on the last page.
+ */
+public class CursorListViewResponse<ViewType> extends ListViewResponse<ViewType>
+{
+    protected String continuation;
+
+    protected CursorListViewResponse(ListView<ViewType> result, int total, LimitOffset limitOffset,
+                                     Optional<SearchCursor> nextCursor) {
+        super(result, total, limitOffset);
+        this.continuation = nextCursor.map(SearchCursor::encode).orElse(null);
+    }
+
+    public static <ViewType extends ViewObject> CursorListViewResponse<ViewType> of(
+        List<ViewType> items, int total, LimitOffset limitOffset, Optional<SearchCursor> nextCursor) {
+        return new CursorListViewResponse<>(ListView.of(items), total, limitOffset, nextCursor);
+    }
+
+    public String getContinuation() {
+        return continuation;
+    }
+}
@@ -0,0 +1,67 @@
+package gov.nysenate.openleg.client.response.base;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A response that has already been serialized to json, along with a gzipped copy if it was large enough to be
+ * worth compressing. Rendered responses are cached so that frequently requested content can be written straight
+ * to the client instead of building and serializing its views on every request.
+ */
+public class RenderedResponse
+{
+    private final byte[] json;
+    private final byte[] gzipped;
+    private final LocalDateTime lastModified;
+
+    /** --- Constructors --- */
+
+    /**
+     * @param json byte[] - The serialized response
+     * @param gzipMinSize int - The json is also gzipped if it's at least this many bytes, a negative value
+     *                          means never
+     * @param lastModified LocalDateTime - When the content in the response was last modified
+     */
+    public RenderedResponse(byte[] json, int gzipMinSize, LocalDateTime lastModified) {
+        this.json = json;
+        this.gzipped = (gzipMinSize >= 0 && json.length >= gzipMinSize) ? gzip(json) : null;
+        this.lastModified = lastModified;
+    }
+
+    /** --- Functional Getters --- */
+
+    public boolean isGzipped() {
+        return gzipped != null;
+    }
+
+    /** --- Internal --- */
+
+    private static byte[] gzip(byte[] data) {
+        // Json typically compresses to around a tenth of its size
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(64, data.length / 8));
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(data);
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    /** --- Basic Getters --- */
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    public byte[] getGzipped() {
+        return gzipped;
+    }
+
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+}
@@ -0,0 +1,28 @@
+package gov.nysenate.openleg.client.view.bill;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.JsonNode;
+import gov.nysenate.openleg.client.view.base.ViewObject;
+
+/**
+ * A {@link BillInfoView} that was serialized when the bill was indexed and is read back from the search index.
+ * It is written out as is, so it looks the same to clients as a bill info view built from the bill itself.
+ */
+public class IndexedBillInfoView implements ViewObject
+{
+    protected JsonNode info;
+
+    public IndexedBillInfoView(JsonNode info) {
+        this.info = info;
+    }
+
+    @JsonValue
+    public JsonNode getInfo() {
+        return info;
+    }
+
+    @Override
+    public String getViewType() {
+        return "bill-info";
+    }
+}
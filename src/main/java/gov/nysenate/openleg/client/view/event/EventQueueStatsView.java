@@ -0,0 +1,91 @@
+package gov.nysenate.openleg.client.view.event;
+
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.service.base.event.EventQueue;
+
+public class EventQueueStatsView implements ViewObject
+{
+    protected String queueName;
+    protected int capacity;
+    protected String fullPolicy;
+    protected int depth;
+    protected long maxDepth;
+    protected long submittedCount;
+    protected long completedCount;
+    protected long failedCount;
+    protected long callerRunsCount;
+    protected long discardedCount;
+    protected double avgWaitMillis;
+    protected double avgRunMillis;
+
+    public EventQueueStatsView(EventQueue queue) {
+        if (queue != null) {
+            this.queueName = queue.getName();
+            this.capacity = queue.getCapacity();
+            this.fullPolicy = queue.getFullPolicy().name();
+            this.depth = queue.getDepth();
+            this.maxDepth = queue.getMaxDepth();
+            this.submittedCount = queue.getSubmittedCount();
+            this.completedCount = queue.getCompletedCount();
+            this.failedCount = queue.getFailedCount();
+            this.callerRunsCount = queue.getCallerRunsCount();
+            this.discardedCount = queue.getDiscardedCount();
+            long handled = completedCount + failedCount;
+            this.avgWaitMillis = (handled > 0) ? (double) queue.getTotalWaitMillis() / handled : 0;
+            this.avgRunMillis = (handled > 0) ? (double) queue.getTotalRunMillis() / handled : 0;
+        }
+    }
+
+    @Override
+    public String getViewType() {
+        return "event-queue-stats";
+    }
+
+    public String getQueueName() {
+        return queueName;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public String getFullPolicy() {
+        return fullPolicy;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getMaxDepth() {
+        return maxDepth;
+    }
+
+    public long getSubmittedCount() {
+        return submittedCount;
+    }
+
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    public long getCallerRunsCount() {
+        return callerRunsCount;
+    }
+
+    public long getDiscardedCount() {
+        return discardedCount;
+    }
+
+    public double getAvgWaitMillis() {
+        return avgWaitMillis;
+    }
+
+    public double getAvgRunMillis() {
+        return avgRunMillis;
+    }
+}
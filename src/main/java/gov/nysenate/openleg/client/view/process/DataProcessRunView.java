@@ -12,6 +12,8 @@ public class DataProcessRunView implements ViewObject
     protected LocalDateTime endDateTime;
     protected String invokedBy;
     protected String exceptions;
+    protected int ingestedCount;
+    protected double ingestRate;
 
     /** --- Constructors --- */
 
@@ -22,6 +24,8 @@ public class DataProcessRunView implements ViewObject
             this.endDateTime = run.getEndDateTime();
             this.invokedBy = run.getInvokedBy();
             this.exceptions = run.getExceptions().toString();
+            this.ingestedCount = run.getIngestedCount();
+            this.ingestRate = run.getIngestRate();
         }
     }
 
@@ -51,4 +55,12 @@ public class DataProcessRunView implements ViewObject
     public String getExceptions() {
         return exceptions;
     }
+
+    public int getIngestedCount() {
+        return ingestedCount;
+    }
+
+    public double getIngestRate() {
+        return ingestRate;
+    }
 }
@@ -11,6 +11,7 @@ import gov.nysenate.openleg.model.calendar.CalendarId;
 import gov.nysenate.openleg.model.sobi.SobiFragment;
 import gov.nysenate.openleg.processor.base.IngestCache;
 import gov.nysenate.openleg.util.AsciiArt;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
 import net.sf.ehcache.config.CacheConfiguration;
 import net.sf.ehcache.config.SizeOfPolicyConfiguration;
 import org.apache.commons.lang3.exception.ExceptionUtils;
@@ -34,6 +35,8 @@ import org.springframework.context.annotation.Configuration;
 
 import javax.annotation.PostConstruct;
 import java.util.Calendar;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Configuration
 @EnableCaching
@@ -134,6 +137,19 @@ public class ApplicationConfig implements CachingConfigurer
         return new IngestCache<>(sobiBatchSize);
     }
 
+    @Value("${sobi.parallel.process.threads:0}")
+    private int sobiParallelThreads;
+
+    /**
+     * Worker pool used to apply bill updates when parallel sobi processing is enabled.
+     * Threads are only started once tasks are submitted so this is cheap to keep around.
+     */
+    @Bean(name = "sobiProcessPool", destroyMethod = "shutdown")
+    public ExecutorService sobiProcessPool() {
+        int threads = (sobiParallelThreads > 0) ? sobiParallelThreads : Runtime.getRuntime().availableProcessors();
+        return Executors.newFixedThreadPool(threads, new OpenlegThreadFactory("sobi-process"));
+    }
+
     @Bean(name = "agendaIngestCache")
     public IngestCache<AgendaId, Agenda, SobiFragment> agendaIngestCache() {
         return new IngestCache<>(100);
@@ -63,6 +63,9 @@ public class Environment
     /** If SOBI batch is enabled, this specifies the maximum batch size. */
     @Value("${sobi.batch.process.size}") private int sobiBatchSize;
 
+    /** Enable parallel processing of SOBI bill fragments, partitioned by bill. */
+    @Value("${sobi.parallel.process.enabled:false}") private boolean sobiParallelEnabled;
+
     /** --- Scheduling Settings --- */
 
     /** Enable processing of data at scheduled intervals. */
@@ -179,6 +182,14 @@ public class Environment
         this.sobiBatchSize = sobiBatchSize;
     }
 
+    public boolean isSobiParallelEnabled() {
+        return sobiParallelEnabled;
+    }
+
+    public void setSobiParallelEnabled(boolean sobiParallelEnabled) {
+        this.sobiParallelEnabled = sobiParallelEnabled;
+    }
+
     public String getApiSecret() {
         return apiSecret;
     }
@@ -60,14 +60,19 @@ public class WebInitializer implements WebApplicationInitializer
         servletContext.addFilter("corsFilter", corsFilter)
             .addMappingForUrlPatterns(EnumSet.of(REQUEST, FORWARD, INCLUDE), false, BaseCtrl.BASE_API_PATH + "/*");
 
-        /** Api Key Authentication */
-        DelegatingFilterProxy apiAuthFilter = new DelegatingFilterProxy("apiAuthFilter", dispatcherContext);
-        servletContext.addFilter("apiAuthFilter", apiAuthFilter)
+        /** Api Response Compression */
+        DelegatingFilterProxy gzipFilter = new DelegatingFilterProxy("gzipFilter", dispatcherContext);
+        servletContext.addFilter("gzipFilter", gzipFilter)
                 .addMappingForUrlPatterns(EnumSet.of(REQUEST, FORWARD, INCLUDE), false, BaseCtrl.BASE_API_PATH + "/*");
 
-        /** Api Request Logging */
+        /** Api Request Logging - mapped ahead of authentication so that rejected requests are logged too */
         DelegatingFilterProxy apiLogFilter = new DelegatingFilterProxy("apiLogFilter", dispatcherContext);
         servletContext.addFilter("apiLogFilter", apiLogFilter)
                 .addMappingForUrlPatterns(EnumSet.of(REQUEST, FORWARD, INCLUDE), false, BaseCtrl.BASE_API_PATH + "/*");
+
+        /** Api Key Authentication */
+        DelegatingFilterProxy apiAuthFilter = new DelegatingFilterProxy("apiAuthFilter", dispatcherContext);
+        servletContext.addFilter("apiAuthFilter", apiAuthFilter)
+                .addMappingForUrlPatterns(EnumSet.of(REQUEST, FORWARD, INCLUDE), false, BaseCtrl.BASE_API_PATH + "/*");
     }
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import gov.nysenate.openleg.client.response.base.SimpleResponse;
 import gov.nysenate.openleg.client.view.cache.CacheStatsView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
 import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.dao.base.SearchIndex;
 import gov.nysenate.openleg.model.agenda.AgendaId;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.bill.BaseBillId;
@@ -56,6 +57,7 @@ public class CacheCtrl extends BaseCtrl
      * Cache Stats API
      *
      * Gets stats for all memory caches: (GET) /api/3/cache/
+     * This includes the hit ratio of the search result cache for each search index.
      */
     @RequiresAuthentication
     @RequestMapping(value = "", method = RequestMethod.GET)
@@ -124,6 +126,10 @@ public class CacheCtrl extends BaseCtrl
      * Request params for MEMBER: memberId (integer) - member id
      *
      * Request params for APIUSER: key (string) - api user's key
+     *
+     * Request params for SEARCH_RESULTS: index (string) - search index whose cached results are cleared
+     *
+     * Request params for RENDERED_RESPONSES: content (string) - content cache whose rendered responses are cleared
      */
     @RequiresAuthentication
     @RequestMapping(value = "/{cacheType}/id", method = RequestMethod.DELETE)
@@ -169,6 +175,12 @@ public class CacheCtrl extends BaseCtrl
                 return request.getParameter("key");
             case NOTIFICATION_SUBSCRIPTION:
                 return "all subscriptions";
+            case SEARCH_RESULTS:
+                requireParameters(request, "index", "string");
+                return getEnumParameter("index", request.getParameter("index"), SearchIndex.class);
+            case RENDERED_RESPONSES:
+                requireParameters(request, "content", "string");
+                return getEnumParameter("content", request.getParameter("content"), ContentCache.class);
             default:
                 return null;
         }
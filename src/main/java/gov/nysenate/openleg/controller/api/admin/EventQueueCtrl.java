@@ -0,0 +1,42 @@
+package gov.nysenate.openleg.controller.api.admin;
+
+import gov.nysenate.openleg.client.response.base.BaseResponse;
+import gov.nysenate.openleg.client.response.base.ListViewResponse;
+import gov.nysenate.openleg.client.view.event.EventQueueStatsView;
+import gov.nysenate.openleg.controller.api.base.BaseCtrl;
+import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.service.base.event.EventQueue;
+import gov.nysenate.openleg.service.base.event.EventQueueService;
+import org.apache.shiro.authz.annotation.RequiresAuthentication;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static gov.nysenate.openleg.controller.api.base.BaseCtrl.BASE_ADMIN_API_PATH;
+import static java.util.stream.Collectors.toList;
+
+@RestController
+@RequestMapping(value = BASE_ADMIN_API_PATH + "/events")
+public class EventQueueCtrl extends BaseCtrl
+{
+    @Autowired private EventQueueService eventQueueService;
+
+    /**
+     * Event Queue Stats API
+     *
+     * Gets stats for all the asynchronous event queues: (GET) /api/3/admin/events/queues
+     */
+    @RequiresAuthentication
+    @RequestMapping(value = "/queues", method = RequestMethod.GET)
+    public BaseResponse getEventQueueStats() {
+        List<EventQueueStatsView> stats = eventQueueService.getQueues().stream()
+            .sorted(Comparator.comparing(EventQueue::getName))
+            .map(EventQueueStatsView::new)
+            .collect(toList());
+        return ListViewResponse.of(stats, stats.size(), LimitOffset.ALL);
+    }
+}
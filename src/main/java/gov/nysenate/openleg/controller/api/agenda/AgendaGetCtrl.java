@@ -24,9 +24,14 @@ import gov.nysenate.openleg.util.OutputUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -45,6 +50,8 @@ public class AgendaGetCtrl extends BaseCtrl
     @Autowired private AgendaSearchService agendaSearch;
     @Autowired private BillDataService billData;
 
+    @Value("${export.batch.size:100}") private int exportBatchSize;
+
     /**
      * Agenda List Retrieval API
      *
@@ -60,6 +67,30 @@ public class AgendaGetCtrl extends BaseCtrl
                         .collect(Collectors.toList()), agendaIds.size(), LimitOffset.ALL);
     }
 
+    /**
+     * Agenda Export API
+     * -----------------
+     *
+     * Stream every agenda in full for a year: (GET) /api/3/agendas/{year}/export
+     * The agendas are written out as they are retrieved in ascending order, so the export does not need to
+     * fit in memory. The response is gzipped if the client accepts it.
+     *
+     * Expected Output: Newline delimited json, one AgendaView per line
+     */
+    @RequestMapping(value = "/{year:[\\d]{4}}/export")
+    public void exportAgendas(@PathVariable int year, HttpServletRequest request, HttpServletResponse response)
+                              throws IOException {
+        List<AgendaId> agendaIds = agendaData.getAgendaIds(year, SortOrder.ASC);
+        writeNdjson(request, response, "agendas-" + year + ".ndjson", writer -> {
+            for (AgendaId agendaId : agendaIds) {
+                writer.write(new AgendaView(agendaData.getAgenda(agendaId), billData));
+                if (writer.getCount() % Math.max(1, exportBatchSize) == 0) {
+                    writer.flush();
+                }
+            }
+        });
+    }
+
     /**
      * Agenda Retrieval API
      * --------------------
@@ -69,10 +100,14 @@ public class AgendaGetCtrl extends BaseCtrl
      *
      * where 'year' is the calendar year of the agenda and agendaNo is the number that identifies
      * the agenda. This response will contain data for committee agendas.
+     * Supports conditional requests via If-None-Match / If-Modified-Since.
      */
     @RequestMapping(value = "/{year:[\\d]{4}}/{agendaNo}")
-    public BaseResponse getAgenda(@PathVariable int year, @PathVariable int agendaNo) {
+    public BaseResponse getAgenda(@PathVariable int year, @PathVariable int agendaNo, WebRequest request) {
         Agenda agenda = agendaData.getAgenda(new AgendaId(agendaNo, year));
+        if (isAgendaNotModified(agenda, request)) {
+            return null;
+        }
         return new ViewObjectResponse<>(new AgendaView(agenda, billData));
     }
 
@@ -83,14 +118,18 @@ public class AgendaGetCtrl extends BaseCtrl
      * Retrieve a specific committee within an agenda:
      * (GET) /api/3/agendas/{year}/{agendaNo}/{committeeName}
      *
-     * where year and agendaNo are the same as {@link #getAgenda(int, int)} and 'committeeName' refers to the
-     * name of the senate committee.
+     * where year and agendaNo are the same as {@link #getAgenda(int, int, WebRequest)} and 'committeeName' refers
+     * to the name of the senate committee.
      */
     @RequestMapping(value = "/{year:[\\d]{4}}/{agendaNo}/{commName}")
-    public BaseResponse getAgenda(@PathVariable int year, @PathVariable int agendaNo, @PathVariable String commName) {
+    public BaseResponse getAgenda(@PathVariable int year, @PathVariable int agendaNo, @PathVariable String commName,
+                                  WebRequest request) {
         Agenda agenda = agendaData.getAgenda(new AgendaId(agendaNo, year));
         CommitteeId committeeId = new CommitteeId(Chamber.SENATE, commName);
         if (agenda.hasCommittee(committeeId)) {
+            if (isAgendaNotModified(agenda, request)) {
+                return null;
+            }
             return new ViewObjectResponse<>(new AgendaCommFlatView(agenda, committeeId, billData));
         }
         else {
@@ -130,6 +169,16 @@ public class AgendaGetCtrl extends BaseCtrl
                 meetingViews, Range.closed(fromDateTime, toDateTime), meetingViews.size(), LimitOffset.ALL);
     }
 
+    /** --- Internal --- */
+
+    /**
+     * Agenda views include the info of each bill on the agenda, so they are current as long as neither the
+     * agenda nor any bill has changed.
+     */
+    private boolean isAgendaNotModified(Agenda agenda, WebRequest request) {
+        return checkNotModified(request, latest(agenda.getModifiedDateTime(), billData.getLastUpdateDateTime()));
+    }
+
     /** --- Exception Handlers --- */
 
     @ExceptionHandler(AgendaNotFoundEx.class)
@@ -2,17 +2,22 @@ package gov.nysenate.openleg.controller.api.base;
 
 import gov.nysenate.openleg.client.response.error.ErrorCode;
 import gov.nysenate.openleg.client.response.error.ErrorResponse;
+import gov.nysenate.openleg.service.auth.ApiRateLimitService;
 import gov.nysenate.openleg.service.auth.ApiUserService;
+import gov.nysenate.openleg.util.IpAddressMatcher;
 import gov.nysenate.openleg.util.OutputUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
 import javax.servlet.*;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
 import java.io.IOException;
 import java.time.LocalDateTime;
 
@@ -24,9 +29,19 @@ public class ApiAuthFilter implements Filter
     @Autowired
     protected ApiUserService apiUserService;
 
+    @Autowired
+    protected ApiRateLimitService rateLimitService;
+
     @Value("${api.auth.ip.whitelist}") private String filterAddress;
     @Value("${api.auth.enable}") private boolean enabled;
 
+    private IpAddressMatcher ipWhitelist;
+
+    @PostConstruct
+    private void setUpWhitelist() {
+        ipWhitelist = new IpAddressMatcher(filterAddress);
+    }
+
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
 
@@ -41,12 +56,39 @@ public class ApiAuthFilter implements Filter
         HttpServletResponse response = (HttpServletResponse) servletResponse;
 
         if (enabled) {
-            String uiKey = (String) request.getSession().getAttribute("uiKey");
-            boolean isUiUser = uiKey != null && uiKey.equals(request.getHeader("UIKey"));
-
-            if (isUiUser || ipAddress.matches(filterAddress) || apiUserService.validateKey(key)) {
+            // The cheapest checks go first, the ui check is last so that api calls never have to touch a session
+            DataAccessException keyLookupFailure = null;
+            boolean validKey = false;
+            try {
+                validKey = apiUserService.validateKey(key);
+            }
+            catch (DataAccessException ex) {
+                // Whitelisted and ui requests don't need the key, so they are still let through below
+                keyLookupFailure = ex;
+            }
+            if (validKey) {
+                // Only requests authenticated by a key are rate limited
+                long retryAfter = rateLimitService.tryAcquire(key);
+                if (retryAfter == 0) {
+                    filterChain.doFilter(servletRequest, servletResponse);
+                }
+                else {
+                    ErrorResponse errorResponse = new ErrorResponse(ErrorCode.RATE_LIMIT_EXCEEDED);
+                    response.setHeader("Retry-After", Long.toString(retryAfter));
+                    response.setContentType("application/json");
+                    response.setStatus(429);
+                    response.getWriter().append(OutputUtils.toJson(errorResponse));
+                    response.flushBuffer();
+                    logger.debug("Rate limit exceeded for key {}", key);
+                }
+            }
+            else if (ipWhitelist.matches(ipAddress) || isUiUser(request)) {
                 filterChain.doFilter(servletRequest, servletResponse);
             }
+            else if (keyLookupFailure != null) {
+                // The key could not be checked, which must not be reported as an invalid key
+                throw keyLookupFailure;
+            }
             else {
                 ErrorResponse errorResponse = new ErrorResponse(ErrorCode.API_KEY_REQUIRED);
                 response.getWriter().append(OutputUtils.toJson(errorResponse));
@@ -61,6 +103,19 @@ public class ApiAuthFilter implements Filter
 
     }
 
+    /**
+     * Ui users are given a key when the page is loaded, which is stored in their session. An existing
+     * session is used if there is one, but one is never created here.
+     */
+    private static boolean isUiUser(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        if (session == null) {
+            return false;
+        }
+        String uiKey = (String) session.getAttribute("uiKey");
+        return uiKey != null && uiKey.equals(request.getHeader("UIKey"));
+    }
+
     @Override
     public void destroy() {
 
@@ -1,20 +1,29 @@
 package gov.nysenate.openleg.controller.api.base;
 
-import gov.nysenate.openleg.dao.auth.ApiLogDao;
+import com.google.common.net.InetAddresses;
+import gov.nysenate.openleg.model.auth.ApiRequest;
+import gov.nysenate.openleg.model.auth.ApiResponse;
+import gov.nysenate.openleg.service.auth.ApiLogService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import javax.servlet.*;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.time.LocalDateTime;
 
+/**
+ * Records each api request and its response. The records are handed off to the {@link ApiLogService}, which saves
+ * them in the background, so the only cost to the request is building the records.
+ */
 @Component ("apiLogFilter")
 public class ApiLogFilter implements Filter
 {
     @Autowired
-    protected ApiLogDao apiLogDao;
+    protected ApiLogService apiLogService;
 
     private static final Logger logger = LoggerFactory.getLogger(ApiLogFilter.class);
     
@@ -24,9 +33,43 @@ public class ApiLogFilter implements Filter
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
         throws IOException, ServletException {
-        filterChain.doFilter(servletRequest, servletResponse);
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        HttpServletResponse response = (HttpServletResponse) servletResponse;
+        long startTime = System.nanoTime();
+        ApiRequest apiRequest = getApiRequest(request);
+        try {
+            filterChain.doFilter(servletRequest, servletResponse);
+        }
+        finally {
+            ApiResponse apiResponse = new ApiResponse(apiRequest);
+            apiResponse.setResponseTime(LocalDateTime.now().toString());
+            apiResponse.setStatusCode(response.getStatus());
+            apiResponse.setContentType(response.getContentType());
+            // Process time is recorded in milliseconds
+            apiResponse.setProcessTime((System.nanoTime() - startTime) / 1e6);
+            apiLogService.logResponse(apiResponse);
+        }
     }
 
     @Override
     public void destroy() {}
+
+    /** --- Internal --- */
+
+    private static ApiRequest getApiRequest(HttpServletRequest request) {
+        ApiRequest apiRequest = new ApiRequest();
+        apiRequest.setRequestTime(LocalDateTime.now().toString());
+        apiRequest.setUrl(request.getRequestURI());
+        apiRequest.setRequestMethod(request.getMethod());
+        apiRequest.setUserAgent(request.getHeader("User-Agent"));
+        apiRequest.setApikey(request.getParameter("key"));
+        try {
+            // Parses the address literal without doing a dns lookup
+            apiRequest.setIpAddress(InetAddresses.forString(request.getRemoteAddr()));
+        }
+        catch (IllegalArgumentException ex) {
+            logger.debug("Could not parse remote address {}", request.getRemoteAddr());
+        }
+        return apiRequest;
+    }
 }
@@ -1,8 +1,11 @@
 package gov.nysenate.openleg.controller.api.base;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.BoundType;
 import com.google.common.collect.Range;
 import com.google.common.eventbus.EventBus;
+import gov.nysenate.openleg.client.response.base.BaseResponse;
+import gov.nysenate.openleg.client.response.base.RenderedResponse;
 import gov.nysenate.openleg.client.response.error.ErrorCode;
 import gov.nysenate.openleg.client.response.error.ErrorResponse;
 import gov.nysenate.openleg.client.response.error.ViewObjectErrorResponse;
@@ -11,8 +14,11 @@ import gov.nysenate.openleg.client.view.request.ParameterView;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.model.notification.Notification;
+import gov.nysenate.openleg.model.search.SearchCursor;
 import gov.nysenate.openleg.model.search.SearchException;
 import gov.nysenate.openleg.model.updates.UpdateType;
+import gov.nysenate.openleg.service.base.data.RenderedResponseCache;
+import gov.nysenate.openleg.util.DateUtils;
 import org.apache.catalina.connector.ClientAbortException;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -26,16 +32,24 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static gov.nysenate.openleg.model.notification.NotificationType.REQUEST_EXCEPTION;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 public abstract class BaseCtrl
 {
@@ -50,6 +64,16 @@ public abstract class BaseCtrl
     @Autowired
     private EventBus eventBus;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /** Writes the views for an export, see {@link #writeNdjson}. */
+    @FunctionalInterface
+    protected interface NdjsonExport
+    {
+        void writeTo(NdjsonResponseWriter writer) throws IOException;
+    }
+
     /** --- Param grabbers --- */
 
     /**
@@ -69,6 +93,23 @@ public abstract class BaseCtrl
         }
     }
 
+    /**
+     * Parses the continuation token that a client passed back to get the next page of a scrolled search.
+     *
+     * @param continuation String - The token from the previous response
+     * @return SearchCursor
+     * @throws InvalidRequestParamEx if the token is malformed
+     */
+    protected SearchCursor getSearchCursor(String continuation) {
+        try {
+            return SearchCursor.decode(continuation);
+        }
+        catch (IllegalArgumentException ex) {
+            throw new InvalidRequestParamEx(continuation, "continuation", "string",
+                                            "Must be a continuation token from a previous response");
+        }
+    }
+
     /**
      * Returns a limit + offset extracted from the given web request parameters
      * Returns the given default limit offset if no such parameters exist
@@ -306,6 +347,107 @@ public abstract class BaseCtrl
         requireParameters(request, paramMap);
     }
 
+    /** --- Conditional requests --- */
+
+    /**
+     * Sets the ETag and Last-Modified headers for content that was last modified at the given time and checks
+     * the request's If-None-Match or If-Modified-Since header against them. If the client's copy is current,
+     * the response status is set to 304 and the handler should return null right away, without building the
+     * response.
+     *
+     * The etag changes with every modification, even ones made within the same second, so If-None-Match is
+     * used instead of If-Modified-Since when the client sends both.
+     *
+     * @param request WebRequest
+     * @param lastModified LocalDateTime - When the content was last modified, null if this isn't known
+     * @return boolean - true if the client's copy is current.
+     */
+    protected boolean checkNotModified(WebRequest request, LocalDateTime lastModified) {
+        if (lastModified == null) {
+            return false;
+        }
+        Timestamp lastModifiedTs = DateUtils.toDate(lastModified);
+        String etag = "W/\"" + Long.toHexString(lastModifiedTs.getTime() / 1000) + "." +
+                      Integer.toHexString(lastModifiedTs.getNanos()) + "\"";
+        boolean notModified = (request.getHeader("If-None-Match") != null)
+            ? request.checkNotModified(etag)
+            : request.checkNotModified(lastModifiedTs.getTime());
+        // Spring leaves these off of 304 responses, but caches use them to refresh their stored copy
+        HttpServletResponse response = (request instanceof NativeWebRequest)
+            ? ((NativeWebRequest) request).getNativeResponse(HttpServletResponse.class) : null;
+        if (response != null) {
+            response.setHeader("ETag", etag);
+            response.setDateHeader("Last-Modified", lastModifiedTs.getTime());
+        }
+        return notModified;
+    }
+
+    /**
+     * Returns the latest of the given modified date times, ignoring nulls.
+     */
+    protected static LocalDateTime latest(LocalDateTime... dateTimes) {
+        return Arrays.stream(dateTimes).filter(Objects::nonNull).max(LocalDateTime::compareTo).orElse(null);
+    }
+
+    /** --- Response writers --- */
+
+    /**
+     * Writes the cached rendering of a response if there is one for the current version of the content. Otherwise
+     * the response is built, serialized and cached before it is written. The gzipped rendering is sent to clients
+     * that accept it.
+     *
+     * The handler should return null after calling this, since the response has already been written.
+     *
+     * @param request WebRequest
+     * @param cache RenderedResponseCache - Cache for the type of content in the response
+     * @param contentId Object - Identifies the content
+     * @param variant String - Identifies the view of the content, must cover every param that changes the response
+     * @param lastModified LocalDateTime - The current modified date time of the content
+     * @param responseBuilder Supplier<BaseResponse> - Builds the response if there is no cached rendering
+     * @throws IOException
+     */
+    protected void writeRenderedResponse(WebRequest request, RenderedResponseCache cache, Object contentId,
+                                         String variant, LocalDateTime lastModified,
+                                         Supplier<BaseResponse> responseBuilder) throws IOException {
+        Optional<RenderedResponse> cached = cache.get(contentId, variant, lastModified);
+        RenderedResponse rendered = (cached.isPresent()) ? cached.get()
+            : cache.put(contentId, variant, objectMapper.writeValueAsBytes(responseBuilder.get()), lastModified);
+        NativeWebRequest nativeRequest = (NativeWebRequest) request;
+        HttpServletRequest servletRequest = nativeRequest.getNativeRequest(HttpServletRequest.class);
+        HttpServletResponse response = nativeRequest.getNativeResponse(HttpServletResponse.class);
+        response.setContentType(APPLICATION_JSON_VALUE + ";charset=UTF-8");
+        response.addHeader("Vary", "Accept-Encoding");
+        byte[] body = rendered.getJson();
+        if (rendered.isGzipped() && GzipFilter.acceptsGzip(servletRequest)) {
+            response.setHeader("Content-Encoding", "gzip");
+            body = rendered.getGzipped();
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Streams an export to the response as newline delimited json. Exports that write from within a lambda can
+     * wrap their IOExceptions in an UncheckedIOException, they are unwrapped here so that client aborts are
+     * handled as usual.
+     *
+     * @param request HttpServletRequest
+     * @param response HttpServletResponse
+     * @param fileName String - Suggested file name for the export
+     * @param export NdjsonExport - Writes the views
+     * @throws IOException
+     */
+    protected void writeNdjson(HttpServletRequest request, HttpServletResponse response, String fileName,
+                               NdjsonExport export) throws IOException {
+        try (NdjsonResponseWriter writer = new NdjsonResponseWriter(request, response, objectMapper, fileName)) {
+            export.writeTo(writer);
+            logger.debug("Exported {} records to {}", writer.getCount(), fileName);
+        }
+        catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
     /** --- Generic Exception Handlers --- */
 
     @ExceptionHandler(Exception.class)
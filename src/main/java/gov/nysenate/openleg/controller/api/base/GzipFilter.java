@@ -0,0 +1,269 @@
+package gov.nysenate.openleg.controller.api.base;
+
+import com.google.common.base.Splitter;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.*;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzips api responses for clients that accept it. The start of each response is buffered until it reaches the
+ * minimum size, so that small responses, which don't benefit much, are sent as is. Past that point the response
+ * is compressed as it is written, so large responses are never held in memory. Flushes before then are held back
+ * as well, since serializers commonly flush when they are done and that shouldn't decide the encoding.
+ *
+ * Responses that already set a Content-Encoding are passed through untouched. This lets handlers send out
+ * content they compressed ahead of time (see {@link BaseCtrl#writeRenderedResponse}) or compress themselves
+ * (see {@link NdjsonResponseWriter}) without it being compressed twice.
+ */
+@Component("gzipFilter")
+public class GzipFilter implements Filter
+{
+    @Value("${response.gzip.enable:true}") private boolean enabled;
+    @Value("${response.gzip.min.size:1024}") private int minSize;
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {}
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
+        throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        HttpServletResponse response = (HttpServletResponse) servletResponse;
+        if (!enabled || minSize < 0 || "HEAD".equals(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.addHeader("Vary", "Accept-Encoding");
+        if (!acceptsGzip(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        GzipResponseWrapper responseWrapper = new GzipResponseWrapper(response, minSize);
+        try {
+            filterChain.doFilter(request, responseWrapper);
+        }
+        finally {
+            responseWrapper.finish();
+        }
+    }
+
+    @Override
+    public void destroy() {}
+
+    /**
+     * @param request HttpServletRequest
+     * @return boolean - true if the request's Accept-Encoding header allows a gzipped response.
+     */
+    public static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader("Accept-Encoding");
+        if (StringUtils.isBlank(acceptEncoding)) {
+            return false;
+        }
+        for (String coding : Splitter.on(',').trimResults().omitEmptyStrings().split(acceptEncoding)) {
+            String name = StringUtils.substringBefore(coding, ";").trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                // A quality of 0 means the client explicitly does not accept it
+                String quality = StringUtils.substringAfter(coding.replace(" ", ""), ";q=");
+                return quality.isEmpty() || !quality.matches("0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /** --- Internal --- */
+
+    private static boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String mimeType = StringUtils.substringBefore(contentType, ";").trim().toLowerCase();
+        return mimeType.startsWith("text/") || mimeType.endsWith("json") || mimeType.endsWith("xml") ||
+               mimeType.endsWith("javascript");
+    }
+
+    /**
+     * Holds back the first bytes of the response until it is clear whether it should be compressed.
+     */
+    private static class GzipResponseWrapper extends HttpServletResponseWrapper
+    {
+        private final HttpServletResponse response;
+        private final int minSize;
+
+        private ByteArrayOutputStream buffer;
+        private OutputStream out;
+        private GzipOutputStream outputStream;
+        private PrintWriter writer;
+        private long contentLength = -1;
+
+        public GzipResponseWrapper(HttpServletResponse response, int minSize) {
+            super(response);
+            this.response = response;
+            this.minSize = minSize;
+            this.buffer = new ByteArrayOutputStream(Math.min(Math.max(minSize, 32), 8192));
+        }
+
+        /** Content length is only known once it is decided whether the response is compressed. */
+        @Override
+        public void setContentLength(int len) {
+            if (out == null) {
+                contentLength = len;
+            }
+            else if (!(out instanceof GZIPOutputStream)) {
+                response.setContentLength(len);
+            }
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if ("Content-Length".equalsIgnoreCase(name)) {
+                setContentLength(Integer.parseInt(value));
+            }
+            else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if ("Content-Length".equalsIgnoreCase(name)) {
+                setContentLength(Integer.parseInt(value));
+            }
+            else {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called on this response");
+            }
+            if (outputStream == null) {
+                outputStream = new GzipOutputStream();
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                if (outputStream != null) {
+                    throw new IllegalStateException("getOutputStream() has already been called on this response");
+                }
+                outputStream = new GzipOutputStream();
+                writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (outputStream != null) {
+                outputStream.flush();
+            }
+            // Committing the response now would fix its headers before the encoding is decided
+            if (out != null) {
+                response.flushBuffer();
+            }
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            resetBuffer();
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            if (out == null) {
+                buffer.reset();
+            }
+        }
+
+        /**
+         * Decides whether to compress the response, once enough has been written or the response is finished.
+         */
+        private void startOutput(boolean compress) throws IOException {
+            compress = compress && !response.containsHeader("Content-Encoding") && isCompressible(getContentType())
+                       && (contentLength < 0 || contentLength >= minSize);
+            if (compress) {
+                response.setHeader("Content-Encoding", "gzip");
+                out = new GZIPOutputStream(response.getOutputStream(), 8192, true);
+            }
+            else {
+                out = response.getOutputStream();
+                if (contentLength >= 0) {
+                    response.setContentLength((int) contentLength);
+                }
+            }
+            buffer.writeTo(out);
+            buffer = null;
+        }
+
+        /**
+         * Writes out anything still held back and completes the compressed stream.
+         */
+        public void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (out == null) {
+                if (buffer.size() == 0) {
+                    return;
+                }
+                startOutput(buffer.size() >= minSize);
+            }
+            if (out instanceof GZIPOutputStream) {
+                ((GZIPOutputStream) out).finish();
+            }
+        }
+
+        private class GzipOutputStream extends ServletOutputStream
+        {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (out == null) {
+                    if (buffer.size() + len < minSize) {
+                        buffer.write(b, off, len);
+                        return;
+                    }
+                    startOutput(true);
+                }
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                // Until the minimum size is reached, the response keeps buffering and is decided on by finish()
+                if (out != null) {
+                    out.flush();
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                finish();
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package gov.nysenate.openleg.controller.api.base;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams views to the client as newline delimited json, one view per line, so that large exports can be written
+ * without building the whole response in memory. The output is gzipped if the client accepts it.
+ *
+ * Nothing is sent until {@link #flush()} is called or enough output has been buffered, so callers should flush
+ * after each batch of views they write. Once output has been sent the response status can no longer change, so
+ * any validation should be done before writing the first view.
+ */
+public class NdjsonResponseWriter implements Closeable
+{
+    public static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+
+    private final ObjectWriter writer;
+    private final JsonGenerator generator;
+    private long count = 0;
+
+    /** --- Constructors --- */
+
+    /**
+     * @param request HttpServletRequest - Used to check if the client accepts gzip encoding
+     * @param response HttpServletResponse - The views are written to this response's output stream
+     * @param objectMapper ObjectMapper - Serializes the views, indentation is turned off
+     * @param fileName String - Suggested file name for clients that save the export
+     */
+    public NdjsonResponseWriter(HttpServletRequest request, HttpServletResponse response, ObjectMapper objectMapper,
+                                String fileName) throws IOException {
+        response.setContentType(NDJSON_CONTENT_TYPE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+        response.addHeader("Vary", "Accept-Encoding");
+        OutputStream out = response.getOutputStream();
+        if (GzipFilter.acceptsGzip(request)) {
+            response.setHeader("Content-Encoding", "gzip");
+            // Sync flush so that each flushed batch reaches the client instead of waiting in the deflater
+            out = new GZIPOutputStream(out, 64 * 1024, true);
+        }
+        this.writer = objectMapper.writer()
+            .without(SerializationFeature.INDENT_OUTPUT)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Writes a single view as one line of json.
+     */
+    public void write(Object view) throws IOException {
+        writer.writeValue(generator, view);
+        generator.writeRaw('\n');
+        count++;
+    }
+
+    /**
+     * Sends everything written so far to the client.
+     */
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    /**
+     * Finishes the response, including the gzip trailer if the output is compressed.
+     */
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+
+    /** --- Basic Getters --- */
+
+    /**
+     * @return long - Number of views written so far.
+     */
+    public long getCount() {
+        return count;
+    }
+}
@@ -1,6 +1,7 @@
 package gov.nysenate.openleg.controller.api.bill;
 
 import gov.nysenate.openleg.client.response.base.BaseResponse;
+import gov.nysenate.openleg.client.response.base.CursorListViewResponse;
 import gov.nysenate.openleg.client.response.base.ListViewResponse;
 import gov.nysenate.openleg.client.response.base.ViewObjectResponse;
 import gov.nysenate.openleg.client.response.error.ErrorCode;
@@ -11,14 +12,18 @@ import gov.nysenate.openleg.client.view.base.ViewObject;
 import gov.nysenate.openleg.client.view.bill.*;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
 import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.dao.bill.search.IndexedBillInfo;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.base.Version;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.model.bill.BillAmendment;
 import gov.nysenate.openleg.model.bill.BillId;
+import gov.nysenate.openleg.model.cache.ContentCache;
 import gov.nysenate.openleg.model.search.SearchException;
+import gov.nysenate.openleg.model.search.SearchResult;
 import gov.nysenate.openleg.model.search.SearchResults;
+import gov.nysenate.openleg.service.base.data.RenderedResponseCacheService;
 import gov.nysenate.openleg.service.bill.data.BillAmendNotFoundEx;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 import gov.nysenate.openleg.service.bill.data.BillNotFoundEx;
@@ -30,15 +35,22 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import static gov.nysenate.openleg.controller.api.base.BaseCtrl.BASE_API_PATH;
+import static gov.nysenate.openleg.controller.api.base.NdjsonResponseWriter.NDJSON_CONTENT_TYPE;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 /**
@@ -52,6 +64,9 @@ public class BillGetCtrl extends BaseCtrl
 
     @Autowired protected BillDataService billData;
     @Autowired protected BillSearchService billSearch;
+    @Autowired protected RenderedResponseCacheService renderedResponses;
+
+    @Value("${export.batch.size:100}") private int exportBatchSize;
 
     protected enum BillViewLevel
     {
@@ -86,6 +101,9 @@ public class BillGetCtrl extends BaseCtrl
      *                     full - If true, the full bill view should be returned. Otherwise just the info.
      *                     limit - Limit the number of results.
      *                     offset - Start results from an offset.
+     *                     scroll - If true, page through the results using continuation tokens. The offset is ignored.
+     *                     continuation - Token from the previous page of a scroll, the other params except 'full'
+     *                                    are ignored.
      *
      * Expected Output: List of BillInfoView or BillView
      */
@@ -93,11 +111,26 @@ public class BillGetCtrl extends BaseCtrl
     public BaseResponse getBills(@PathVariable int sessionYear,
                                  @RequestParam(defaultValue = "status.actionDate:desc") String sort,
                                  @RequestParam(defaultValue = "false") boolean full,
+                                 @RequestParam(defaultValue = "false") boolean scroll,
+                                 @RequestParam(required = false) String continuation,
                                  WebRequest webRequest) throws SearchException {
         LimitOffset limOff = getLimitOffset(webRequest, 50);
+        if (scroll || continuation != null) {
+            SearchResults<IndexedBillInfo> results = (continuation != null)
+                ? billSearch.continueBillScroll(getSearchCursor(continuation))
+                : billSearch.scrollBillInfos(null, SessionYear.of(sessionYear), sort, limOff);
+            return CursorListViewResponse.of(getBillViews(results, full), results.getTotalResults(),
+                                             results.getLimitOffset(), results.getNextCursor());
+        }
+        // When the index has caught up with every bill update, the bill info is read straight from the index.
+        if (!full && billSearch.isIndexCurrent()) {
+            SearchResults<IndexedBillInfo> results =
+                billSearch.searchBillInfos(null, SessionYear.of(sessionYear), sort, limOff);
+            return ListViewResponse.of(getBillViews(results, false), results.getTotalResults(), limOff);
+        }
         SearchResults<BaseBillId> results =
             billSearch.searchBills(SessionYear.of(sessionYear), sort, limOff);
-        // The bill data is retrieved from the data service so the data is always fresh.
+        // Otherwise the bill data is retrieved from the data service so the data is always fresh.
         return ListViewResponse.of(
             results.getResults().stream()
                 .map(r -> (full) ? new BillView(billData.getBill(r.getResult()))
@@ -105,6 +138,38 @@ public class BillGetCtrl extends BaseCtrl
                 .collect(Collectors.toList()), results.getTotalResults(), limOff);
     }
 
+    /**
+     * Bill export API
+     * ---------------
+     *
+     * Stream every published bill for a session year: (GET) /api/3/bills/{session}/export
+     * Request Parameters: None
+     *
+     * The bills are loaded from the database a batch at a time and written out as they are loaded, so the
+     * export does not need to fit in memory. The response is gzipped if the client accepts it.
+     *
+     * Expected Output: Newline delimited json, one BillView per line
+     */
+    @RequestMapping(value = "/{sessionYear:[\\d]{4}}/export", produces = {NDJSON_CONTENT_TYPE, APPLICATION_JSON_VALUE})
+    public void exportBills(@PathVariable int sessionYear, HttpServletRequest request, HttpServletResponse response)
+                            throws IOException {
+        SessionYear session = SessionYear.of(sessionYear);
+        writeNdjson(request, response, "bills-" + session.getYear() + ".ndjson", writer ->
+            billData.forEachBillBatch(session, exportBatchSize, bills -> {
+                try {
+                    for (Bill bill : bills) {
+                        if (bill.isBaseVersionPublished()) {
+                            writer.write(new BillView(bill));
+                        }
+                    }
+                    writer.flush();
+                }
+                catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }));
+    }
+
     /**
      * Single Bill retrieval API
      * -------------------------
@@ -117,41 +182,31 @@ public class BillGetCtrl extends BaseCtrl
      *
      * Can't use 'summary' and 'detail' at the same time. If 'summary' is true, it will disregard 'detail'.
      *
+     * Supports conditional requests via If-None-Match / If-Modified-Since.
+     *
      * Expected Output: BillView, DetailedBillView, or BillInfoView
      */
     @RequestMapping(value = "/{sessionYear:[\\d]{4}}/{printNo}")
-    public BaseResponse getBill(@PathVariable int sessionYear, @PathVariable String printNo, WebRequest request) {
+    public BaseResponse getBill(@PathVariable int sessionYear, @PathVariable String printNo, WebRequest request)
+                                throws IOException {
         BaseBillId baseBillId = new BaseBillId(printNo, sessionYear);
         BillViewLevel level = BillViewLevel.getValue(request.getParameter("view"));
-        ViewObject viewObject;
-        switch (level) {
-            case INFO: viewObject = new BillInfoView(billData.getBillInfo(baseBillId)); break;
-            case WITH_REFS: viewObject = new DetailBillView(billData.getBill(baseBillId), billData); break;
-            case NO_FULLTEXT: viewObject = new BillView(getFullTextStrippedBill(baseBillId)); break;
-            case WITH_REFS_NO_FULLTEXT: viewObject = new DetailBillView(getFullTextStrippedBill(baseBillId), billData); break;
-            case ONLY_FULLTEXT: {
-                Version amdVersion = Version.DEFAULT;
-                if (request.getParameter("version") != null) {
-                    amdVersion = Version.of(request.getParameter("version"));
-                }
-                Bill bill = billData.getBill(baseBillId);
-                viewObject = new BillFullTextView(bill.getBaseBillId(), amdVersion.getValue(), bill.getAmendment(amdVersion).getFullText());
-                break;
-            }
-            default: viewObject = new BillView(billData.getBill(baseBillId));
+        // The bill info is cheap to get from the cache, so it is checked before any of the bill is loaded.
+        // The last change covers updates that don't move the modified date time, e.g. the bill being added to
+        // a calendar or agenda. Detailed views also include the other bills that this bill references.
+        LocalDateTime lastModified = latest(billData.getBillInfo(baseBillId).getModifiedDateTime(),
+                                            billData.getLastChangeDateTime(baseBillId));
+        if (level == BillViewLevel.WITH_REFS || level == BillViewLevel.WITH_REFS_NO_FULLTEXT) {
+            lastModified = latest(lastModified, billData.getLastUpdateDateTime());
         }
-        return new ViewObjectResponse<>(viewObject, "Data for bill " + baseBillId);
-    }
-
-    /**
-     * Returns a Bill with the full text removed.
-     * @param baseBillId BaseBillId
-     * @return Bill
-     */
-    private Bill getFullTextStrippedBill(BaseBillId baseBillId) {
-        Bill strippedBill = billData.getBill(baseBillId);
-        strippedBill.getAmendmentList().forEach(a -> a.setFullText(""));
-        return strippedBill;
+        if (checkNotModified(request, lastModified)) {
+            return null;
+        }
+        String variant = (level == BillViewLevel.ONLY_FULLTEXT)
+            ? level + ":" + StringUtils.upperCase(request.getParameter("version")) : level.name();
+        writeRenderedResponse(request, renderedResponses.getCache(ContentCache.BILL), baseBillId, variant, lastModified,
+            () -> new ViewObjectResponse<>(getBillView(baseBillId, level, request), "Data for bill " + baseBillId));
+        return null;
     }
 
     /**
@@ -166,10 +221,13 @@ public class BillGetCtrl extends BaseCtrl
      * Expected Output: PDF response
      */
     @RequestMapping(value = "/{sessionYear:[\\d]{4}}/{printNo}.pdf")
-    public void getBillPdf(@PathVariable int sessionYear, @PathVariable String printNo, HttpServletResponse response)
-                           throws Exception {
+    public void getBillPdf(@PathVariable int sessionYear, @PathVariable String printNo, WebRequest request,
+                           HttpServletResponse response) throws Exception {
         BillId billId = new BillId(printNo, sessionYear);
         Bill bill = billData.getBill(BaseBillId.of(billId));
+        if (checkNotModified(request, bill.getModifiedDateTime())) {
+            return;
+        }
         new BillPdfView(bill, billId.getVersion(), response.getOutputStream());
         response.setContentType("application/pdf");
     }
@@ -204,6 +262,50 @@ public class BillGetCtrl extends BaseCtrl
     }
 
 
+    /** --- Internal --- */
+
+    /**
+     * Builds the view of a single bill for the given view level.
+     */
+    private ViewObject getBillView(BaseBillId baseBillId, BillViewLevel level, WebRequest request) {
+        ViewObject viewObject;
+        switch (level) {
+            case INFO: viewObject = new BillInfoView(billData.getBillInfo(baseBillId)); break;
+            case WITH_REFS: viewObject = new DetailBillView(billData.getBill(baseBillId), billData); break;
+            case NO_FULLTEXT: viewObject = new BillView(billData.getBillSnapshot(baseBillId)); break;
+            case WITH_REFS_NO_FULLTEXT: viewObject = new DetailBillView(billData.getBillSnapshot(baseBillId), billData); break;
+            case ONLY_FULLTEXT: {
+                Version amdVersion = Version.DEFAULT;
+                if (request.getParameter("version") != null) {
+                    amdVersion = Version.of(request.getParameter("version"));
+                }
+                // Ensures that the amendment exists
+                BillAmendment amendment = billData.getBillSnapshot(baseBillId).getAmendment(amdVersion);
+                viewObject = new BillFullTextView(baseBillId, amdVersion.getValue(),
+                                                  billData.getFullText(amendment.getBillId()));
+                break;
+            }
+            default: viewObject = new BillView(billData.getBill(baseBillId));
+        }
+        return viewObject;
+    }
+
+    /**
+     * Builds the views for bill search results that carry the bill info stored in the index. The stored info is
+     * only used if the index is current, otherwise the bills are looked up.
+     */
+    private List<ViewObject> getBillViews(SearchResults<IndexedBillInfo> results, boolean full) {
+        boolean hydrate = !full && billSearch.isIndexCurrent();
+        return results.getResults().stream()
+            .map(SearchResult::getResult)
+            .map(r -> (full)
+                ? new BillView(billData.getBill(r.getBaseBillId()))
+                : r.getInfo().filter(info -> hydrate)
+                    .<ViewObject>map(IndexedBillInfoView::new)
+                    .orElseGet(() -> new BillInfoView(billData.getBillInfo(r.getBaseBillId()))))
+            .collect(Collectors.toList());
+    }
+
     /** --- Exception Handlers --- */
 
     @ExceptionHandler(BillNotFoundEx.class)
@@ -1,12 +1,16 @@
 package gov.nysenate.openleg.controller.api.bill;
 
 import gov.nysenate.openleg.client.response.base.BaseResponse;
+import gov.nysenate.openleg.client.response.base.CursorListViewResponse;
 import gov.nysenate.openleg.client.response.base.ListViewResponse;
 import gov.nysenate.openleg.client.view.base.SearchResultView;
+import gov.nysenate.openleg.client.view.base.ViewObject;
 import gov.nysenate.openleg.client.view.bill.BillInfoView;
 import gov.nysenate.openleg.client.view.bill.BillView;
+import gov.nysenate.openleg.client.view.bill.IndexedBillInfoView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
 import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.dao.bill.search.IndexedBillInfo;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.search.SearchException;
@@ -19,6 +23,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.WebRequest;
 
+import java.util.List;
+
 import static gov.nysenate.openleg.controller.api.base.BaseCtrl.BASE_API_PATH;
 import static java.util.stream.Collectors.toList;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
@@ -45,13 +51,23 @@ public class BillSearchCtrl extends BaseCtrl
      *                      full - Set to true to retrieve full bill responses (false by default)
      *                      limit - Limit the number of results (default 25)
      *                      offset - Start results from offset
+     *                      scroll - Set to true to page through the results using continuation tokens
+     *                      continuation - Token from the previous page of a scroll
      */
     @RequestMapping(value = "/search")
     public BaseResponse globalSearch(@RequestParam(required = true) String term,
                                      @RequestParam(defaultValue = "") String sort,
                                      @RequestParam(defaultValue = "false") boolean full,
+                                     @RequestParam(defaultValue = "false") boolean scroll,
+                                     @RequestParam(required = false) String continuation,
                                      WebRequest webRequest) throws SearchException {
         LimitOffset limOff = getLimitOffset(webRequest, 25);
+        if (scroll || continuation != null) {
+            return getScrollResponse(term, null, sort, full, continuation, limOff);
+        }
+        if (!full && billSearch.isIndexCurrent()) {
+            return getIndexedBillSearchResponse(billSearch.searchBillInfos(term, null, sort, limOff), false, limOff);
+        }
         SearchResults<BaseBillId> results = billSearch.searchBills(term, sort, limOff);
         return getBillSearchResponse(results, full, limOff);
     }
@@ -68,8 +84,17 @@ public class BillSearchCtrl extends BaseCtrl
                                       @RequestParam(required = true) String term,
                                       @RequestParam(defaultValue = "") String sort,
                                       @RequestParam(defaultValue = "false") boolean full,
+                                      @RequestParam(defaultValue = "false") boolean scroll,
+                                      @RequestParam(required = false) String continuation,
                                       WebRequest webRequest) throws SearchException {
         LimitOffset limOff = getLimitOffset(webRequest, 25);
+        if (scroll || continuation != null) {
+            return getScrollResponse(term, SessionYear.of(sessionYear), sort, full, continuation, limOff);
+        }
+        if (!full && billSearch.isIndexCurrent()) {
+            return getIndexedBillSearchResponse(
+                billSearch.searchBillInfos(term, SessionYear.of(sessionYear), sort, limOff), false, limOff);
+        }
         SearchResults<BaseBillId> results = billSearch.searchBills(term, SessionYear.of(sessionYear), sort, limOff);
         return getBillSearchResponse(results, full, limOff);
     }
@@ -84,4 +109,37 @@ public class BillSearchCtrl extends BaseCtrl
                         : new BillInfoView(billData.getBillInfo(r.getResult())), r.getRank(), r.getHighlights()))
                 .collect(toList()), results.getTotalResults(), limOff);
     }
-}
\ No newline at end of file
+
+    /**
+     * Starts or continues a scroll through the search results, depending on whether a continuation token was given.
+     */
+    private BaseResponse getScrollResponse(String term, SessionYear session, String sort, boolean full,
+                                           String continuation, LimitOffset limOff) throws SearchException {
+        SearchResults<IndexedBillInfo> results = (continuation != null)
+            ? billSearch.continueBillScroll(getSearchCursor(continuation))
+            : billSearch.scrollBillInfos(term, session, sort, limOff);
+        return CursorListViewResponse.of(getIndexedBillSearchViews(results, full), results.getTotalResults(),
+                                         results.getLimitOffset(), results.getNextCursor());
+    }
+
+    private BaseResponse getIndexedBillSearchResponse(SearchResults<IndexedBillInfo> results, boolean full,
+                                                      LimitOffset limOff) {
+        return ListViewResponse.of(getIndexedBillSearchViews(results, full), results.getTotalResults(), limOff);
+    }
+
+    /**
+     * Builds the result views from the bill info stored in the search index when the index is current. Otherwise,
+     * or for bills that were indexed without the stored info, the bills are looked up instead.
+     */
+    private List<SearchResultView> getIndexedBillSearchViews(SearchResults<IndexedBillInfo> results, boolean full) {
+        boolean hydrate = !full && billSearch.isIndexCurrent();
+        return results.getResults().stream()
+            .map(r -> new SearchResultView((full)
+                    ? new BillView(billData.getBill(r.getResult().getBaseBillId()))
+                    : r.getResult().getInfo().filter(info -> hydrate)
+                        .<ViewObject>map(IndexedBillInfoView::new)
+                        .orElseGet(() -> new BillInfoView(billData.getBillInfo(r.getResult().getBaseBillId()))),
+                r.getRank(), r.getHighlights()))
+            .collect(toList());
+    }
+}
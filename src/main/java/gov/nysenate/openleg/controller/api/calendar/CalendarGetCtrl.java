@@ -10,17 +10,24 @@ import gov.nysenate.openleg.client.view.calendar.*;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SortOrder;
+import gov.nysenate.openleg.model.base.BaseLegislativeContent;
 import gov.nysenate.openleg.model.base.Version;
 import gov.nysenate.openleg.model.calendar.*;
+import gov.nysenate.openleg.service.bill.data.BillDataService;
 import gov.nysenate.openleg.service.calendar.data.CalendarDataService;
 import gov.nysenate.openleg.service.calendar.data.CalendarNotFoundEx;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import static gov.nysenate.openleg.controller.api.base.BaseCtrl.BASE_API_PATH;
@@ -37,6 +44,12 @@ public class CalendarGetCtrl extends BaseCtrl
     @Autowired
     private CalendarViewFactory calendarViewFactory;
 
+    @Autowired
+    private BillDataService billDataService;
+
+    @Value("${export.batch.size:100}")
+    private int exportBatchSize;
+
     /** --- Request Handlers --- */
 
     /**
@@ -65,6 +78,33 @@ public class CalendarGetCtrl extends BaseCtrl
         );
     }
 
+    /**
+     * Calendar Export API
+     *
+     * Stream every calendar in full for one year:  (GET) /api/3/calendars/{year}/export
+     * The calendars are retrieved a batch at a time in ascending order and written out as they are retrieved,
+     * so the export does not need to fit in memory. The response is gzipped if the client accepts it.
+     *
+     * Expected Output: Newline delimited json, one CalendarView per line
+     */
+    @RequestMapping(value = "/{year:\\d{4}}/export")
+    public void exportCalendars(@PathVariable int year, HttpServletRequest request, HttpServletResponse response)
+                                throws IOException {
+        writeNdjson(request, response, "calendars-" + year + ".ndjson", writer -> {
+            LimitOffset limitOffset = new LimitOffset(Math.max(1, exportBatchSize));
+            List<Calendar> calendars;
+            do {
+                calendars = calendarDataService.getCalendars(year, SortOrder.ASC, limitOffset);
+                for (Calendar calendar : calendars) {
+                    writer.write(calendarViewFactory.getCalendarView(calendar));
+                }
+                writer.flush();
+                limitOffset = limitOffset.next();
+            }
+            while (calendars.size() == limitOffset.getLimit());
+        });
+    }
+
     /**
      * Active List Year API
      *
@@ -124,8 +164,12 @@ public class CalendarGetCtrl extends BaseCtrl
     @RequestMapping(value = "/{year:\\d{4}}/{calNo:\\d+}")
     public BaseResponse getCalendar(@PathVariable int year,
                                     @PathVariable int calNo,
-                                    @RequestParam(defaultValue = "true") boolean full) {
+                                    @RequestParam(defaultValue = "true") boolean full,
+                                    WebRequest webRequest) {
         Calendar calendar = calendarDataService.getCalendar(new CalendarId(calNo, year));
+        if (isNotModified(calendar, full, webRequest)) {
+            return null;
+        }
         return new ViewObjectResponse<>(full ? calendarViewFactory.getCalendarView(calendar)
                                              : new SimpleCalendarView(calendar));
     }
@@ -140,9 +184,13 @@ public class CalendarGetCtrl extends BaseCtrl
     public BaseResponse getActiveList(@PathVariable int year,
                                       @PathVariable int calNo,
                                       @PathVariable int sequenceNo,
-                                      @RequestParam(defaultValue = "true") boolean full) {
+                                      @RequestParam(defaultValue = "true") boolean full,
+                                      WebRequest webRequest) {
         CalendarActiveList activeList = calendarDataService.getActiveList(
                                             new CalendarActiveListId(calNo, year, sequenceNo));
+        if (isNotModified(activeList, full, webRequest)) {
+            return null;
+        }
         return new ViewObjectResponse<>(full ? calendarViewFactory.getActiveListView(activeList)
                                              : new SimpleActiveListView(activeList));
     }
@@ -157,16 +205,32 @@ public class CalendarGetCtrl extends BaseCtrl
     public BaseResponse getCalendarSupplemental(@PathVariable int year,
                                                 @PathVariable int calNo,
                                                 @PathVariable String version,
-                                                @RequestParam(defaultValue = "true") boolean full) {
+                                                @RequestParam(defaultValue = "true") boolean full,
+                                                WebRequest webRequest) {
         if (version.equalsIgnoreCase("floor")) {
             version = Version.DEFAULT.getValue();
         }
         CalendarSupplemental calSup = calendarDataService.getCalendarSupplemental(
                                             new CalendarSupplementalId(calNo, year, Version.of(version)));
+        if (isNotModified(calSup, full, webRequest)) {
+            return null;
+        }
         return new ViewObjectResponse<>(full ? calendarViewFactory.getCalendarSupView(calSup)
                                              : new SimpleCalendarSupView(calSup));
     }
 
+    /** --- Internal --- */
+
+    /**
+     * Full calendar views include the info of each bill on the calendar, so they are only current as long as
+     * no bill has changed either.
+     */
+    private boolean isNotModified(BaseLegislativeContent content, boolean full, WebRequest webRequest) {
+        return checkNotModified(webRequest, (full)
+            ? latest(content.getModifiedDateTime(), billDataService.getLastUpdateDateTime())
+            : content.getModifiedDateTime());
+    }
+
     /** --- Exception Handlers --- */
 
     /**
@@ -9,10 +9,12 @@ import gov.nysenate.openleg.client.response.error.ViewObjectErrorResponse;
 import gov.nysenate.openleg.client.view.law.*;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
 import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.model.cache.ContentCache;
 import gov.nysenate.openleg.model.law.LawDocument;
 import gov.nysenate.openleg.model.law.LawInfo;
 import gov.nysenate.openleg.model.law.LawTree;
 import gov.nysenate.openleg.model.law.LawTreeNode;
+import gov.nysenate.openleg.service.base.data.RenderedResponseCacheService;
 import gov.nysenate.openleg.service.law.data.LawDataService;
 import gov.nysenate.openleg.service.law.data.LawDocumentNotFoundEx;
 import gov.nysenate.openleg.service.law.data.LawTreeNotFoundEx;
@@ -25,7 +27,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
@@ -41,6 +47,7 @@ public class LawGetCtrl extends BaseCtrl
     private static final Logger logger = LoggerFactory.getLogger(LawGetCtrl.class);
 
     @Autowired private LawDataService lawDataService;
+    @Autowired private RenderedResponseCacheService renderedResponses;
 
     /** --- Request Handlers --- */
 
@@ -66,6 +73,33 @@ public class LawGetCtrl extends BaseCtrl
         return response;
     }
 
+    /**
+     * Law Export API
+     * --------------
+     *
+     * Streams the latest version of every law document, one law at a time.
+     *
+     * Usage
+     * (GET) /api/3/laws/export
+     *
+     * Only the documents of the law being written are held in memory. The response is gzipped if the
+     * client accepts it.
+     *
+     * Expected output: Newline delimited json, one LawDocView per line
+     */
+    @RequestMapping("/export")
+    public void exportLaws(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        List<LawInfo> lawInfoList = lawDataService.getLawInfos();
+        writeNdjson(request, response, "laws.ndjson", writer -> {
+            for (LawInfo lawInfo : lawInfoList) {
+                for (LawDocument doc : lawDataService.getLawDocuments(lawInfo.getLawId(), LocalDate.now()).values()) {
+                    writer.write(new LawDocView(doc));
+                }
+                writer.flush();
+            }
+        });
+    }
+
     /**
      * Law Tree API
      * ------------
@@ -81,21 +115,34 @@ public class LawGetCtrl extends BaseCtrl
      * depth (integer) - Output child nodes up to the specified depth (defaults to the full depth of the tree)
      * full (boolean) - If set to true all document text will also be fetched. (defaults to no document text)
      *
+     * Supports conditional requests via If-None-Match / If-Modified-Since.
+     *
      * Expected output: LawTreeView
      */
     @RequestMapping("/{lawId}")
     public BaseResponse getLawTree(@PathVariable String lawId, @RequestParam(required = false) String date,
                                    @RequestParam(required = false) String fromLocation,
                                    @RequestParam(required = false) Integer depth,
-                                   @RequestParam(defaultValue = "false") boolean full) {
+                                   @RequestParam(defaultValue = "false") boolean full,
+                                   WebRequest webRequest) throws IOException {
         LocalDate publishedDate = (date != null) ? parseISODate(date, "date") : null;
         LawTree lawTree = lawDataService.getLawTree(lawId, publishedDate);
-        ViewObjectResponse<LawTreeView> response =
-            (full) ? new ViewObjectResponse<>(new LawTreeView(lawTree, fromLocation, depth,
-                                                              lawDataService.getLawDocuments(lawId, publishedDate)))
-                   : new ViewObjectResponse<>(new LawTreeView(lawTree, fromLocation, depth));
-        response.setMessage("The document structure for " + lawId + " law");
-        return response;
+        // Documents are published along with their tree, so the tree's published date covers the full text too
+        LocalDateTime lastModified = lawTree.getPublishedDate().atStartOfDay();
+        if (checkNotModified(webRequest, lastModified)) {
+            return null;
+        }
+        String variant = lawTree.getPublishedDate() + ":" + fromLocation + ":" + depth + ":" + full;
+        writeRenderedResponse(webRequest, renderedResponses.getCache(ContentCache.LAW), lawTree.getLawId(), variant,
+            lastModified, () -> {
+                ViewObjectResponse<LawTreeView> response =
+                    (full) ? new ViewObjectResponse<>(new LawTreeView(lawTree, fromLocation, depth,
+                                                      lawDataService.getLawDocuments(lawId, publishedDate)))
+                           : new ViewObjectResponse<>(new LawTreeView(lawTree, fromLocation, depth));
+                response.setMessage("The document structure for " + lawId + " law");
+                return response;
+            });
+        return null;
     }
 
     /**
@@ -111,19 +158,27 @@ public class LawGetCtrl extends BaseCtrl
      * date (iso date) - Published date of the document (defaults to latest).
      * refTreeDate (iso date) - Published date of the containing law tree (defaults to latest).
      *
+     * Supports conditional requests via If-None-Match / If-Modified-Since.
+     *
      * Expected output: LawDocWithRefsView
      */
     @RequestMapping("/{lawId}/{locationId}")
     public BaseResponse getLawDocument(@PathVariable String lawId, @PathVariable String locationId,
                                        @RequestParam(required = false) String date,
-                                       @RequestParam(required = false) String refTreeDate) {
+                                       @RequestParam(required = false) String refTreeDate,
+                                       WebRequest webRequest) {
         LocalDate activeDate = (date != null) ? parseISODate(date, "date") : LocalDate.now();
         String documentId = lawId + locationId;
         LawDocument doc = lawDataService.getLawDocument(documentId, activeDate);
         LocalDate refTreeLocalDate = (refTreeDate != null) ? parseISODate(refTreeDate, "refTreeDate") : LocalDate.now();
+        LawTree refTree = lawDataService.getLawTree(lawId, refTreeLocalDate);
+        if (checkNotModified(webRequest, latest(doc.getPublishedDate().atStartOfDay(),
+                                                refTree.getPublishedDate().atStartOfDay()))) {
+            return null;
+        }
         // Build out the parent location id list.
         LinkedList<String> parentLocationIds = new LinkedList<>();
-        Optional<LawTreeNode> lawTreeNodeOpt = lawDataService.getLawTree(lawId, refTreeLocalDate).find(documentId);
+        Optional<LawTreeNode> lawTreeNodeOpt = refTree.find(documentId);
         if (lawTreeNodeOpt.isPresent()) {
             LawTreeNode lawTreeNode = lawTreeNodeOpt.get();
             while (lawTreeNode.getParent() != null) {
@@ -11,7 +11,6 @@ import gov.nysenate.openleg.model.agenda.AgendaId;
 import gov.nysenate.openleg.model.entity.Chamber;
 import gov.nysenate.openleg.model.entity.CommitteeId;
 import gov.nysenate.openleg.model.search.SearchResults;
-import gov.nysenate.openleg.util.OutputUtils;
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
@@ -75,11 +74,10 @@ public class ElasticAgendaSearchDao extends ElasticBaseDao implements AgendaSear
                 agenda.getCommittees().stream()
                     .map(cid -> new AgendaCommFlatView(agenda, cid, null))
                     .forEach(cfv ->
-                        bulkRequest.add(
-                            searchClient.prepareIndex(agendaIndexName,
-                                agenda.getId().getYear() + "-" + cfv.getAgenda().getId().getNumber(),
-                                cfv.getCommittee().getCommitteeId().getName())
-                            .setSource(OutputUtils.toJson(cfv)))));
+                        addIndexRequests(bulkRequest, agendaIndexName,
+                            agenda.getId().getYear() + "-" + cfv.getAgenda().getId().getNumber(),
+                            cfv.getCommittee().getCommitteeId().getName(),
+                            toSearchDocument(cfv))));
             safeBulkRequestExecute(bulkRequest);
         }
     }
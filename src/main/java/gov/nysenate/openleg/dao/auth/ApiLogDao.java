@@ -12,5 +12,14 @@ public interface ApiLogDao
 
     public void saveApiResponse(ApiResponse res) throws DataAccessException;
 
+    /**
+     * Saves a batch of api responses along with the requests they were made for. The rows are sent to the database
+     * as a single JDBC batch per table.
+     *
+     * @param responses List<ApiResponse> - The responses to save, each with its base request set
+     * @throws DataAccessException
+     */
+    public void saveApiResponses(List<ApiResponse> responses) throws DataAccessException;
+
     public List<ApiRequest> getRequests ();
 }
@@ -4,6 +4,7 @@ import gov.nysenate.openleg.model.auth.ApiUser;
 import org.springframework.dao.DataAccessException;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * DAO Interface for retrieving and persisting ApiUser data
@@ -21,6 +22,13 @@ public interface ApiUserDao
 
     public List<ApiUser> getAllUsers() throws DataAccessException;
 
+    /**
+     * Adds to the request counts of the users with the given keys.
+     *
+     * @param requestCounts Map<String, Long> - Number of requests to add, mapped by api key
+     */
+    public void addRequestCounts(Map<String, Long> requestCounts) throws DataAccessException;
+
     public void deleteApiUser(ApiUser apiuser) throws DataAccessException;
 
     public ApiUser getApiUserFromToken(String token);
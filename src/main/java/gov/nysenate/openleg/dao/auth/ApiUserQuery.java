@@ -12,10 +12,15 @@ public enum ApiUserQuery implements BasicSqlQuery
     ),
     UPDATE_API_USER(
             "UPDATE public." + SqlTable.API_USER + "\n" +
-            "SET apikey = :apikey, authenticated = :authenticated, num_requests = :apiRequests," +
+            "SET apikey = :apikey, authenticated = :authenticated, " +
                 "users_name = :name, org_name = :organizationName, reg_token = :registrationToken" + "\n" +
             "WHERE email_addr = :email"
     ),
+    ADD_REQUEST_COUNT(
+            "UPDATE public." + SqlTable.API_USER + "\n" +
+            "SET num_requests = coalesce(num_requests, 0) + :requestCount" + "\n" +
+            "WHERE apikey = :apikey"
+    ),
     SELECT_BY_EMAIL(
         "SELECT * FROM public." +SqlTable.API_USER+ " WHERE email_addr = :email"
     ),
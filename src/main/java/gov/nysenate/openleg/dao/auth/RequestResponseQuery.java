@@ -17,6 +17,16 @@ public enum RequestResponseQuery implements BasicSqlQuery
                     "VALUES (:requestTime, :url, :ipAddress::inet, :requestMethod, :userAgent, :apikey, :request_id)" +"\n"+
                     "RETURNING request_id"
     ),
+    /** Same as INSERT_REQUEST without the RETURNING clause, which PgJDBC does not allow in an executeBatch. */
+    INSERT_REQUEST_BATCH(
+            "INSERT INTO public." + SqlTable.API_REQUEST + "\n"+
+                    "(request_time, url, ipaddress, method, agent, apikey, request_id)" + "\n"+
+                    "VALUES (:requestTime, :url, :ipAddress::inet, :requestMethod, :userAgent, :apikey, :request_id)"
+    ),
+    RESERVE_REQUEST_IDS(
+            "SELECT nextval(pg_get_serial_sequence('public." + SqlTable.API_REQUEST + "', 'request_id'))" + "\n"+
+                    "FROM generate_series(1, :count)"
+    ),
     INSERT_RESPONSE(
             "INSERT INTO public." + SqlTable.API_RESPONSE +"\n"+
                     "(req_id, response_time, status_code, content_type, process_time)" + "\n"+
@@ -4,11 +4,14 @@ import gov.nysenate.openleg.dao.base.ImmutableParams;
 import gov.nysenate.openleg.dao.base.SqlBaseDao;
 import gov.nysenate.openleg.model.auth.ApiRequest;
 import gov.nysenate.openleg.model.auth.ApiResponse;
+import gov.nysenate.openleg.util.DateUtils;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SingleColumnRowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.net.InetAddress;
 import java.sql.Timestamp;
@@ -38,9 +41,8 @@ public class SqlApiLogDao extends SqlBaseDao implements ApiLogDao
 
     private static ImmutableParams getParams(ApiRequest req) {
         return ImmutableParams.from(new MapSqlParameterSource()
-                        .addValue("ipAddress", req.getIpAddress().getHostAddress())
-                                //.addValue("requestTime", req.getRequestTime())
-                        .addValue("requestTime", Timestamp.from(Instant.now()))
+                        .addValue("ipAddress", (req.getIpAddress() != null) ? req.getIpAddress().getHostAddress() : null)
+                        .addValue("requestTime", toTimestamp(req.getRequestTime()))
                         .addValue("url", req.getUrl())
                         .addValue("userAgent", req.getUserAgent())
                         .addValue("apikey", req.getApikey())
@@ -53,7 +55,7 @@ public class SqlApiLogDao extends SqlBaseDao implements ApiLogDao
     private static ImmutableParams getResponseParams(ApiResponse response) {
         return ImmutableParams.from(new MapSqlParameterSource()
                     .addValue("reqId", response.getBaseRequest().getRequest_id())
-                    .addValue("responseTime", Timestamp.from(Instant.now()))
+                    .addValue("responseTime", toTimestamp(response.getResponseTime()))
                     .addValue("status", response.getStatusCode())
                     .addValue("content", response.getContentType())
                     .addValue("processTime", response.getProcessTime()));
@@ -82,4 +84,39 @@ public class SqlApiLogDao extends SqlBaseDao implements ApiLogDao
                 getResponseParams(response));
 
      }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Ids for the requests are taken from the request id sequence up front so that each response row can reference
+     * its request without having to insert the requests one at a time.
+     */
+    @Override
+    @Transactional
+    public void saveApiResponses(List<ApiResponse> responses) throws DataAccessException {
+        if (responses.isEmpty()) {
+            return;
+        }
+        List<Integer> requestIds = jdbcNamed.queryForList(RequestResponseQuery.RESERVE_REQUEST_IDS.getSql(schema()),
+                new MapSqlParameterSource("count", responses.size()), Integer.class);
+        SqlParameterSource[] requestParams = new SqlParameterSource[responses.size()];
+        SqlParameterSource[] responseParams = new SqlParameterSource[responses.size()];
+        for (int i = 0; i < responses.size(); i++) {
+            ApiResponse response = responses.get(i);
+            response.getBaseRequest().setRequest_id(requestIds.get(i));
+            requestParams[i] = getParams(response.getBaseRequest());
+            responseParams[i] = getResponseParams(response);
+        }
+        jdbcNamed.batchUpdate(RequestResponseQuery.INSERT_REQUEST_BATCH.getSql(schema()), requestParams);
+        jdbcNamed.batchUpdate(RequestResponseQuery.INSERT_RESPONSE.getSql(schema()), responseParams);
+    }
+
+    /** --- Internal --- */
+
+    /**
+     * Request and response times are recorded as iso date times, the current time is used if one was not recorded.
+     */
+    private static Timestamp toTimestamp(String dateTime) {
+        return (dateTime != null) ? DateUtils.toDate(LocalDateTime.parse(dateTime)) : Timestamp.from(Instant.now());
+    }
 }
@@ -9,11 +9,13 @@ import org.springframework.dao.DataAccessException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 public class SqlApiUserDao extends SqlBaseDao implements ApiUserDao
@@ -66,6 +68,8 @@ public class SqlApiUserDao extends SqlBaseDao implements ApiUserDao
         user.setRegistrationToken(rs.getString("reg_token"));
         user.setApiKey(rs.getString("apikey"));
         user.setOrganizationName(rs.getString("org_name"));
+        user.setNumRequests(rs.getLong("num_requests"));
+        user.setRateLimitTier(rs.getString("rate_limit_tier"));
         return user;
     };
 
@@ -107,6 +111,20 @@ public class SqlApiUserDao extends SqlBaseDao implements ApiUserDao
 
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void addRequestCounts(Map<String, Long> requestCounts) throws DataAccessException {
+        if (requestCounts.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] params = requestCounts.entrySet().stream()
+            .map(entry -> new MapSqlParameterSource()
+                .addValue("apikey", entry.getKey())
+                .addValue("requestCount", entry.getValue()))
+            .toArray(SqlParameterSource[]::new);
+        jdbcNamed.batchUpdate(ApiUserQuery.ADD_REQUEST_COUNT.getSql(schema()), params);
+    }
+
     /**
      * Remove an ApiUser from the database
      * @param user The apiuser to be deleted
@@ -1,23 +1,44 @@
 package gov.nysenate.openleg.dao.base;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.guava.GuavaModule;
+import com.fasterxml.jackson.datatype.jsr310.JSR310Module;
 import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
 import com.google.common.primitives.Ints;
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.model.search.SearchCursor;
 import gov.nysenate.openleg.model.search.SearchResult;
 import gov.nysenate.openleg.model.search.SearchResults;
+import gov.nysenate.openleg.util.OutputUtils;
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequestBuilder;
+import org.elasticsearch.action.admin.indices.create.CreateIndexRequestBuilder;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.elasticsearch.action.admin.indices.exists.indices.IndicesExistsRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequestBuilder;
 import org.elasticsearch.action.get.GetRequest;
 import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.index.IndexRequestBuilder;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.search.SearchType;
 import org.elasticsearch.client.Client;
+import org.elasticsearch.common.settings.ImmutableSettings;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.VersionType;
 import org.elasticsearch.index.query.FilterBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.indices.IndexMissingException;
+import org.elasticsearch.rest.RestStatus;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.highlight.HighlightBuilder;
 import org.elasticsearch.search.rescore.RescoreBuilder;
@@ -26,25 +47,68 @@ import org.elasticsearch.search.sort.SortBuilders;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 import javax.annotation.PostConstruct;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.net.URL;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
  * Base class for Elastic Search layer classes to inherit common functionality from.
+ *
+ * Searches are run against aliases (e.g. 'bills') that point to versioned physical indices
+ * (e.g. 'bills_20150301120000000'). Indices are rebuilt into a new shadow index which is then swapped
+ * in behind the alias, so search results are never empty or partial while an index is being rebuilt.
  */
 public abstract class ElasticBaseDao
 {
     private static final Logger logger = LoggerFactory.getLogger(ElasticBaseDao.class);
 
+    /** Suffix appended to an alias name to create the name of a new physical index. */
+    private static final DateTimeFormatter indexVersionFormat = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
+
+    /**
+     * Serializes documents for indexing. Unlike the api's json output, the documents are not indented and
+     * leave out the view type of every nested view, which would otherwise be indexed into each document.
+     */
+    private static final ObjectWriter searchDocumentWriter;
+    static {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new GuavaModule());
+        mapper.registerModule(new JSR310Module());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.addMixInAnnotations(ViewObject.class, IgnoreViewType.class);
+        searchDocumentWriter = mapper.writer();
+    }
+
+    @JsonIgnoreProperties("viewType")
+    private interface IgnoreViewType {}
+
     @Autowired
     protected Client searchClient;
 
+    @Value("${elastic.search.index.refresh.interval:1s}") private String refreshInterval;
+    @Value("${elastic.search.index.replicas:1}") private int replicas;
+    @Value("${elastic.search.bulk.refresh.interval:-1}") private String bulkRefreshInterval;
+    @Value("${elastic.search.bulk.replicas:0}") private int bulkReplicas;
+    @Value("${elastic.search.bulk.size.mb:5}") private int bulkSizeMb;
+    @Value("${elastic.search.bulk.concurrent.requests:2}") private int bulkConcurrentRequests;
+    @Value("${elastic.search.scroll.keep.alive:2m}") private String scrollKeepAlive;
+    @Value("${elastic.search.scroll.page.size:1000}") private int scrollPageSize;
+
+    /** Maps an alias to the shadow index that is being built to replace the alias's current index. */
+    private final Map<String, String> shadowIndices = new ConcurrentHashMap<>();
+
     @PostConstruct
     private void init() {
         createIndices();
@@ -52,16 +116,50 @@ public abstract class ElasticBaseDao
 
     /** --- Public methods --- */
 
+    /**
+     * Creates any missing indices. Each index is created as a versioned physical index with an alias
+     * that has the index name, so that it can later be replaced by a rebuilt index without downtime.
+     */
     public void createIndices() {
         getIndices().stream()
                 .filter(index -> !indicesExist(index))
-                .forEach(this::createIndex);
+                .forEach(this::createAliasedIndex);
     }
 
     public void purgeIndices() {
         getIndices().forEach(this::deleteIndex);
     }
 
+    /**
+     * Creates a new, empty shadow index for each of the indices used by the inheriting Dao. Updates are written
+     * into both the current and the shadow indices until {@link #promoteShadowIndices()} is called, at which
+     * point searches switch over to the shadow indices in a single step. This lets an index be rebuilt without
+     * searches returning empty or partial results in the meantime.
+     */
+    public void createShadowIndices() {
+        getIndices().forEach(this::createShadowIndex);
+    }
+
+    /**
+     * Replaces each of the current indices with its shadow index.
+     * @see #createShadowIndices()
+     */
+    public void promoteShadowIndices() {
+        getIndices().forEach(this::promoteShadowIndex);
+    }
+
+    /**
+     * Discards the shadow indices, e.g. if the rebuild failed. The current indices are left as is.
+     */
+    public void deleteShadowIndices() {
+        getIndices().forEach(aliasName -> {
+            String shadowIndex = shadowIndices.remove(aliasName);
+            if (shadowIndex != null) {
+                deleteIndex(shadowIndex);
+            }
+        });
+    }
+
     /** --- Abstract methods --- */
 
     /**
@@ -147,6 +245,59 @@ public abstract class ElasticBaseDao
         return new SearchResults<>(Ints.checkedCast(response.getHits().getTotalHits()), resultList, limitOffset);
     }
 
+    /**
+     * Starts scrolling through the results of the given search request. The first page is returned along with
+     * a cursor to the next page, if there is one. Any offset on the request is ignored since a scroll always
+     * starts from the first result, and requests without a limit get pages of a configured size.
+     *
+     * @param searchBuilder SearchRequestBuilder - e.g. from {@link #getSearchRequest}
+     * @param limitOffset LimitOffset - Only the limit is used, as the page size.
+     * @param hitMapper a function that maps a SearchHit to the desired return type R
+     * @return SearchResults<R>
+     */
+    protected <R> SearchResults<R> startScroll(SearchRequestBuilder searchBuilder, LimitOffset limitOffset,
+                                               Function<SearchHit, R> hitMapper) {
+        int pageSize = (limitOffset.hasLimit()) ? limitOffset.getLimit() : scrollPageSize;
+        SearchResponse response = searchBuilder.setFrom(0).setSize(pageSize)
+            .setScroll(TimeValue.parseTimeValue(scrollKeepAlive, null))
+            .execute().actionGet();
+        return getScrollResults(response, new LimitOffset(pageSize), hitMapper);
+    }
+
+    /**
+     * Returns the next page of a scroll started by {@link #startScroll}.
+     *
+     * @param cursor SearchCursor - The cursor returned with the previous page.
+     * @param hitMapper a function that maps a SearchHit to the desired return type R
+     * @return SearchResults<R>
+     * @throws ElasticsearchException if the scroll has expired
+     */
+    protected <R> SearchResults<R> continueScroll(SearchCursor cursor, Function<SearchHit, R> hitMapper) {
+        SearchResponse response = searchClient.prepareSearchScroll(cursor.getScrollId())
+            .setScroll(TimeValue.parseTimeValue(scrollKeepAlive, null))
+            .execute().actionGet();
+        return getScrollResults(response, cursor.getLimitOffset(), hitMapper);
+    }
+
+    /**
+     * Extracts a page of scrolled search results, attaching a cursor to the next page if there is one.
+     * The scroll is released once the last page is reached rather than left to expire.
+     */
+    private <R> SearchResults<R> getScrollResults(SearchResponse response, LimitOffset limitOffset,
+                                                  Function<SearchHit, R> hitMapper) {
+        SearchResults<R> page = getSearchResults(response, limitOffset, hitMapper);
+        boolean hasNext = response.getHits().hits().length == limitOffset.getLimit() &&
+                          limitOffset.getOffsetEnd() < page.getTotalResults();
+        if (hasNext) {
+            return new SearchResults<>(page.getTotalResults(), page.getResults(), limitOffset,
+                                       new SearchCursor(response.getScrollId(), limitOffset.next()));
+        }
+        if (response.getScrollId() != null) {
+            searchClient.prepareClearScroll().addScrollId(response.getScrollId()).execute();
+        }
+        return page;
+    }
+
     /**
      * Generates a list of elastic search sort parameters from a CSV string.  If no parameters are specified,
      *  a single score sort parameter is used.
@@ -188,28 +339,280 @@ public abstract class ElasticBaseDao
 
     /**
      * Performs a bulk request execution while making sure that the bulk request is actually valid to
-     * prevent exceptions.
+     * prevent exceptions. Writes that were skipped because a newer version of the document is already
+     * indexed are only logged, any other failed item fails the whole call.
+     *
      * @param bulkRequest BulkRequestBuilder
+     * @throws ElasticsearchException if any of the documents failed to be written.
      */
     protected void safeBulkRequestExecute(BulkRequestBuilder bulkRequest) {
         if (bulkRequest != null && bulkRequest.numberOfActions() > 0) {
-            bulkRequest.execute().actionGet();
+            BulkResponse response = bulkRequest.execute().actionGet();
+            if (response.hasFailures()) {
+                long failures = Arrays.stream(response.getItems()).filter(BulkItemResponse::isFailed).filter(item -> {
+                    if (isVersionConflict(item)) {
+                        // Expected when updates race, but it also means reprocessed content was not indexed
+                        logger.warn("Skipped stale write of {}/{}/{}, a newer version is already indexed",
+                                    item.getIndex(), item.getType(), item.getId());
+                        return false;
+                    }
+                    logger.warn("Failed to index {}/{}/{}: {}",
+                                item.getIndex(), item.getType(), item.getId(), item.getFailureMessage());
+                    return true;
+                }).count();
+                if (failures > 0) {
+                    throw new ElasticsearchException(failures + " of " + response.getItems().length +
+                                                     " documents in a bulk request failed to be written");
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a bulk indexer for loading a large number of documents into the given index. The size of
+     * each bulk request and the number of concurrent requests are configurable.
+     *
+     * @param indexName String
+     * @return ElasticBulkIndexer - Must be closed once all the documents are added.
+     */
+    protected ElasticBulkIndexer newBulkIndexer(String indexName) {
+        return new ElasticBulkIndexer(searchClient, indexName, bulkSizeMb, bulkConcurrentRequests);
+    }
+
+    /**
+     * Serializes the given object into a compact json search document.
+     *
+     * @param document Object - Typically a view or a purpose built search document.
+     * @return byte[] - UTF-8 encoded json
+     * @throws ElasticsearchException if the object cannot be serialized.
+     */
+    public static byte[] toSearchDocument(Object document) {
+        try {
+            return searchDocumentWriter.writeValueAsBytes(document);
+        }
+        catch (JsonProcessingException ex) {
+            throw new ElasticsearchException("Failed to serialize search document " + document, ex);
         }
     }
 
-    protected void deleteEntry(String indexName, String type, String id) {
-        DeleteRequestBuilder request = new DeleteRequestBuilder(searchClient, indexName);
-        request.setType(type);
-        request.setId(id);
-        request.execute().actionGet();
+    /**
+     * Adds requests to index the given document to the bulk request, one for each index that updates
+     * to the given alias are written to.
+     * @see #getWriteIndices(String)
+     */
+    protected void addIndexRequests(BulkRequestBuilder bulkRequest, String aliasName, String type, String id, byte[] json) {
+        addIndexRequests(bulkRequest, aliasName, type, id, json, null);
+    }
+
+    /**
+     * Same as {@link #addIndexRequests(BulkRequestBuilder, String, String, String, byte[])} except that the
+     * document is written with the given external version. Elastic search rejects the write with a version
+     * conflict if the index already holds a newer version of the document, so a stale copy can never replace
+     * a newer one regardless of the order the writes arrive in.
+     *
+     * @param version Long - Typically derived from the content's modified date time. If null, the document is
+     *                       written with internal versioning and always replaces the indexed copy.
+     */
+    protected void addIndexRequests(BulkRequestBuilder bulkRequest, String aliasName, String type, String id,
+                                    byte[] json, Long version) {
+        getWriteIndices(aliasName).forEach(indexName -> {
+            IndexRequestBuilder request = searchClient.prepareIndex(indexName, type, id).setSource(json);
+            if (version != null) {
+                request.setVersion(version).setVersionType(VersionType.EXTERNAL_GTE);
+            }
+            bulkRequest.add(request);
+        });
+    }
+
+    /**
+     * Returns true if the bulk item failed only because the index already has a newer version of the document.
+     */
+    public static boolean isVersionConflict(BulkItemResponse item) {
+        return item.isFailed() && item.getFailure().getStatus() == RestStatus.CONFLICT;
+    }
+
+    /**
+     * Deletes the given document from the index behind the given alias, as well as from its shadow index.
+     */
+    protected void deleteEntry(String aliasName, String type, String id) {
+        getWriteIndices(aliasName).forEach(indexName -> {
+            DeleteRequestBuilder request = new DeleteRequestBuilder(searchClient, indexName);
+            request.setType(type);
+            request.setId(id);
+            request.execute().actionGet();
+        });
     }
 
     protected boolean indicesExist(String... indices) {
         return searchClient.admin().indices().exists(new IndicesExistsRequest(indices)).actionGet().isExists();
     }
 
-    protected void createIndex(String indexName) {
-        searchClient.admin().indices().prepareCreate(indexName).execute().actionGet();
+    /**
+     * Creates a physical index using the checked in settings and mappings for the given alias.
+     * @see #getIndexDefinition(String)
+     *
+     * @param aliasName String - The name that searches are run against, e.g. 'bills'.
+     * @param indexName String - The name of the physical index to create.
+     * @param bulkLoad boolean - If true, the index is created with the bulk load refresh interval and replica
+     *                           count, which are switched to the regular settings once the index is promoted.
+     */
+    protected void createIndex(String aliasName, String indexName, boolean bulkLoad) {
+        CreateIndexRequestBuilder request = searchClient.admin().indices().prepareCreate(indexName);
+        ImmutableSettings.Builder settings = ImmutableSettings.settingsBuilder();
+        Optional<JsonNode> definition = getIndexDefinition(aliasName);
+        definition.map(d -> d.get("settings")).ifPresent(s -> settings.loadFromSource(s.toString()));
+        definition.map(d -> d.get("mappings")).ifPresent(mappings ->
+            mappings.fields().forEachRemaining(mapping -> request.addMapping(mapping.getKey(), mapping.getValue().toString())));
+        settings.put("index.refresh_interval", bulkLoad ? bulkRefreshInterval : refreshInterval)
+                .put("index.number_of_replicas", bulkLoad ? bulkReplicas : replicas);
+        request.setSettings(settings).execute().actionGet();
+    }
+
+    /**
+     * Reads the checked in settings and mappings for the given index from 'elastic/{aliasName}.json' on the
+     * classpath. The file contains an object with optional 'settings' and 'mappings' fields in the same
+     * format as the create index api.
+     *
+     * @param aliasName String - The name that searches are run against, e.g. 'bills'.
+     * @return Optional<JsonNode> - Empty if the index has no definition, in which case fields are mapped dynamically.
+     */
+    protected Optional<JsonNode> getIndexDefinition(String aliasName) {
+        URL resource = ElasticBaseDao.class.getClassLoader().getResource("elastic/" + aliasName + ".json");
+        if (resource == null) {
+            logger.warn("There is no index definition for {}, its fields will be mapped dynamically", aliasName);
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(OutputUtils.getJsonMapper().readTree(resource));
+        }
+        catch (IOException ex) {
+            throw new ElasticsearchException("Failed to read the index definition " + resource, ex);
+        }
+    }
+
+    /**
+     * Switches an index that was created for a bulk load over to the regular refresh interval and replica
+     * count and waits for its primary shards to be searchable.
+     */
+    protected void applyRegularSettings(String indexName) {
+        searchClient.admin().indices().prepareUpdateSettings(indexName)
+            .setSettings(ImmutableSettings.settingsBuilder()
+                .put("index.refresh_interval", refreshInterval)
+                .put("index.number_of_replicas", replicas))
+            .execute().actionGet();
+        searchClient.admin().indices().prepareRefresh(indexName).execute().actionGet();
+        searchClient.admin().cluster().prepareHealth(indexName)
+            .setWaitForYellowStatus().setTimeout(TimeValue.timeValueMinutes(5)).execute().actionGet();
+    }
+
+    /** --- Index alias methods --- */
+
+    /**
+     * Creates a new, empty physical index that will replace the index currently behind the given alias
+     * once it is promoted via {@link #promoteShadowIndex(String)}. Until then, any documents written through
+     * {@link #getWriteIndices(String)} are written into both indices so that updates made while the shadow
+     * index is being built are not lost.
+     *
+     * @param aliasName String - The name that searches are run against, e.g. 'bills'.
+     * @return String - The name of the new physical index.
+     */
+    protected String createShadowIndex(String aliasName) {
+        if (shadowIndices.containsKey(aliasName)) {
+            throw new IllegalStateException("A shadow index is already being built for " + aliasName);
+        }
+        String indexName = newIndexName(aliasName);
+        createIndex(aliasName, indexName, true);
+        shadowIndices.put(aliasName, indexName);
+        logger.info("Created shadow index {} for {}", indexName, aliasName);
+        return indexName;
+    }
+
+    /**
+     * Creates a new physical index along with an alias that points to it.
+     *
+     * @param aliasName String - The name that searches are run against, e.g. 'bills'.
+     */
+    protected void createAliasedIndex(String aliasName) {
+        String indexName = newIndexName(aliasName);
+        createIndex(aliasName, indexName, false);
+        searchClient.admin().indices().prepareAliases().addAlias(indexName, aliasName).execute().actionGet();
+        logger.info("Created index {} with alias {}", indexName, aliasName);
+    }
+
+    /**
+     * @return String - A name for a new physical index behind the given alias based on the current time.
+     */
+    protected String newIndexName(String aliasName) {
+        return aliasName + "_" + LocalDateTime.now().format(indexVersionFormat);
+    }
+
+    /**
+     * Resumes writing to a shadow index that was created by an earlier, interrupted rebuild.
+     *
+     * @return boolean - false if the shadow index no longer exists.
+     */
+    protected boolean resumeShadowIndex(String aliasName, String indexName) {
+        if (!indicesExist(indexName) || getAliasTargets(aliasName).contains(indexName)) {
+            return false;
+        }
+        shadowIndices.put(aliasName, indexName);
+        logger.info("Resuming shadow index {} for {}", indexName, aliasName);
+        return true;
+    }
+
+    /**
+     * Atomically points the given alias at its shadow index and then deletes the index it used to point to.
+     * If the alias name is currently taken by a physical index (i.e. it was created before aliases were used),
+     * that index has to be deleted before the alias can be added, leaving a brief window without results.
+     */
+    protected void promoteShadowIndex(String aliasName) {
+        String shadowIndex = shadowIndices.get(aliasName);
+        if (shadowIndex == null) {
+            throw new IllegalStateException("There is no shadow index to promote for " + aliasName);
+        }
+        List<String> oldIndices = getAliasTargets(aliasName);
+        if (oldIndices.isEmpty() && indicesExist(aliasName)) {
+            logger.warn("Deleting physical index {} so that it can be replaced with an alias", aliasName);
+            deleteIndex(aliasName);
+        }
+        applyRegularSettings(shadowIndex);
+        IndicesAliasesRequestBuilder aliasRequest = searchClient.admin().indices().prepareAliases();
+        oldIndices.forEach(oldIndex -> aliasRequest.removeAlias(oldIndex, aliasName));
+        aliasRequest.addAlias(shadowIndex, aliasName).execute().actionGet();
+        shadowIndices.remove(aliasName);
+        logger.info("Promoted {} to {}", shadowIndex, aliasName);
+        oldIndices.forEach(this::deleteIndex);
+    }
+
+    /**
+     * Stops writing to the shadow index of the given alias, leaving the index in place so that the
+     * rebuild can be resumed later.
+     */
+    protected void detachShadowIndex(String aliasName) {
+        shadowIndices.remove(aliasName);
+    }
+
+    /**
+     * @return List<String> - The physical indices that the given alias points to.
+     */
+    protected List<String> getAliasTargets(String aliasName) {
+        List<String> targets = new ArrayList<>();
+        searchClient.admin().indices().prepareGetAliases(aliasName).execute().actionGet()
+            .getAliases().forEach(cursor -> {
+                if (!cursor.value.isEmpty()) {
+                    targets.add(cursor.key);
+                }
+            });
+        return targets;
+    }
+
+    /**
+     * @return List<String> - The indices that document updates for the given alias should be written to,
+     *                        which includes the shadow index if one is being built.
+     */
+    protected List<String> getWriteIndices(String aliasName) {
+        String shadowIndex = shadowIndices.get(aliasName);
+        return (shadowIndex != null) ? Lists.newArrayList(aliasName, shadowIndex) : Lists.newArrayList(aliasName);
     }
 
     protected void deleteIndex(String index) {
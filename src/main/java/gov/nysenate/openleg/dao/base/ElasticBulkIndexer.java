@@ -0,0 +1,201 @@
+package gov.nysenate.openleg.dao.base;
+
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequestBuilder;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.index.VersionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes documents into a single search index using an asynchronous {@link BulkProcessor}. Bulk requests are
+ * flushed once they reach a given size in bytes rather than a number of documents, since documents can vary
+ * in size by orders of magnitude (e.g. a resolution vs. the budget bill). The number of bulk requests that can
+ * be in flight at once is capped, so callers that add documents faster than elastic search can take them will
+ * block until a request completes.
+ *
+ * Instances are thread safe and are intended to be used for a single batch of work and then closed.
+ */
+public class ElasticBulkIndexer implements AutoCloseable
+{
+    private static final Logger logger = LoggerFactory.getLogger(ElasticBulkIndexer.class);
+
+    private final Client searchClient;
+    private final String indexName;
+    private final BulkProcessor bulkProcessor;
+
+    /** Number of documents that were added but whose bulk request has not yet completed. */
+    private final Object pendingLock = new Object();
+    private long pendingCount = 0;
+
+    private final AtomicLong indexedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    /** Documents that were not written because the index already had a newer version of them. */
+    private final AtomicLong skippedCount = new AtomicLong();
+
+    /** --- Constructors --- */
+
+    /**
+     * @param searchClient Client
+     * @param indexName String - The index (or alias) to write documents into.
+     * @param bulkSizeMb int - Bulk requests are sent once they reach this many megabytes.
+     * @param concurrentRequests int - Max number of bulk requests in flight. 0 executes them synchronously.
+     */
+    public ElasticBulkIndexer(Client searchClient, String indexName, int bulkSizeMb, int concurrentRequests) {
+        this.searchClient = searchClient;
+        this.indexName = indexName;
+        this.bulkProcessor = BulkProcessor.builder(searchClient, new Listener())
+            .setName("bulk-" + indexName)
+            .setBulkActions(-1)
+            .setBulkSize(new ByteSizeValue(Math.max(1, bulkSizeMb), ByteSizeUnit.MB))
+            .setConcurrentRequests(Math.max(0, concurrentRequests))
+            .build();
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Queues a document to be indexed.
+     *
+     * @param type String - Document type
+     * @param id String - Document id
+     * @param json byte[] - Document source as UTF-8 encoded json
+     */
+    public void index(String type, String id, byte[] json) {
+        index(type, id, json, null);
+    }
+
+    /**
+     * Queues a document to be indexed with the given external version. If the index already holds a newer
+     * version of the document (e.g. from a live update), the document is skipped rather than failed.
+     *
+     * @param type String - Document type
+     * @param id String - Document id
+     * @param json byte[] - Document source as UTF-8 encoded json
+     * @param version Long - External version of the document. If null, the document is written with internal
+     *                       versioning and always replaces the indexed copy.
+     */
+    public void index(String type, String id, byte[] json, Long version) {
+        IndexRequestBuilder request = searchClient.prepareIndex(indexName, type, id).setSource(json);
+        if (version != null) {
+            request.setVersion(version).setVersionType(VersionType.EXTERNAL_GTE);
+        }
+        synchronized (pendingLock) {
+            pendingCount++;
+        }
+        bulkProcessor.add(request.request());
+    }
+
+    /**
+     * Sends any buffered documents and waits until every document added so far has been acknowledged
+     * (successfully or not) by elastic search.
+     *
+     * @return boolean - false if the timeout elapsed first.
+     */
+    public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+        bulkProcessor.flush();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (pendingLock) {
+            while (pendingCount > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(pendingLock, remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Flushes the remaining documents and waits for all in flight requests to complete.
+     */
+    @Override
+    public void close() {
+        try {
+            if (!bulkProcessor.awaitClose(10, TimeUnit.MINUTES)) {
+                logger.warn("Timed out waiting for bulk requests to {} to complete", indexName);
+            }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** --- Internal --- */
+
+    private void completed(int numberOfActions) {
+        synchronized (pendingLock) {
+            pendingCount -= numberOfActions;
+            pendingLock.notifyAll();
+        }
+    }
+
+    private class Listener implements BulkProcessor.Listener
+    {
+        @Override
+        public void beforeBulk(long executionId, BulkRequest request) {
+            logger.debug("Sending bulk request {} with {} documents ({} bytes) to {}",
+                         executionId, request.numberOfActions(), request.estimatedSizeInBytes(), indexName);
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+            int failures = 0;
+            int skipped = 0;
+            if (response.hasFailures()) {
+                for (BulkItemResponse item : response.getItems()) {
+                    if (ElasticBaseDao.isVersionConflict(item)) {
+                        skipped++;
+                    }
+                    else if (item.isFailed()) {
+                        failures++;
+                        logger.error("Bulk request {} failed to index {}/{}/{}: {}", executionId,
+                                     item.getIndex(), item.getType(), item.getId(), item.getFailureMessage());
+                    }
+                }
+                if (skipped > 0) {
+                    logger.warn("Bulk request {} to {} skipped {} documents that already have a newer version",
+                                executionId, indexName, skipped);
+                }
+            }
+            failedCount.addAndGet(failures);
+            skippedCount.addAndGet(skipped);
+            indexedCount.addAndGet(request.numberOfActions() - failures - skipped);
+            completed(request.numberOfActions());
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+            logger.error("Bulk request " + executionId + " to " + indexName + " failed", failure);
+            failedCount.addAndGet(request.numberOfActions());
+            completed(request.numberOfActions());
+        }
+    }
+
+    /** --- Basic Getters --- */
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    public long getIndexedCount() {
+        return indexedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getSkippedCount() {
+        return skippedCount.get();
+    }
+}
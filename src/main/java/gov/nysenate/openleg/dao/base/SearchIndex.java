@@ -1,7 +1,8 @@
 package gov.nysenate.openleg.dao.base;
 
 /**
- * Enumeration of all the search indices.
+ * Enumeration of all the search indices. The settings and field mappings for each index are defined
+ * in 'elastic/{indexName}.json' under the resources directory.
  */
 public enum SearchIndex
 {
@@ -5,6 +5,7 @@ import com.google.common.collect.Range;
 import gov.nysenate.openleg.model.base.BaseLegislativeContent;
 import gov.nysenate.openleg.config.Environment;
 import gov.nysenate.openleg.model.base.SessionYear;
+import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.sobi.SobiFragment;
 import gov.nysenate.openleg.model.updates.UpdateType;
 import gov.nysenate.openleg.util.DateUtils;
@@ -16,17 +17,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 
 import javax.annotation.PostConstruct;
 import java.io.File;
 import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -74,6 +79,18 @@ public abstract class SqlBaseDao
         params.addValue("lastFragmentId", (fragment != null) ? fragment.getFragmentId() : null);
     }
 
+    /**
+     * Gets a new parameter map with a 'billIds' param holding a (print no, session year) pair for each
+     * of the given bill ids. Use it with a row value IN clause to match a set of bills in one query, e.g.
+     * (bill_print_no, bill_session_year) IN (:billIds)
+     */
+    protected static MapSqlParameterSource getBaseBillIdsParams(Collection<BaseBillId> billIds) {
+        List<Object[]> billIdPairs = billIds.stream()
+            .map(billId -> new Object[]{billId.getBasePrintNo(), billId.getSession().getYear()})
+            .collect(Collectors.toList());
+        return new MapSqlParameterSource("billIds", billIdPairs);
+    }
+
     /**
      * Adds parameters for a date time range
      */
@@ -119,6 +136,37 @@ public abstract class SqlBaseDao
         return new StrSubstitutor(replaceMap).replace(originalQuery);
     }
 
+    /** --- Batch Methods --- */
+
+    /**
+     * Runs the update query as a JDBC batch and inserts the rows that the update did not match. A driver may
+     * report {@link Statement#SUCCESS_NO_INFO} instead of a row count for a batched statement, in which case
+     * it is unknown whether the row exists. Those rows are updated again one at a time to get their actual
+     * count, which is safe since the update sets the same values.
+     *
+     * @param updateQuery BasicSqlQuery - Update statement that matches at most one row per param source
+     * @param insertQuery BasicSqlQuery - Insert statement taking the same params
+     * @param params List<? extends SqlParameterSource> - One param source per row
+     */
+    protected void batchUpsert(BasicSqlQuery updateQuery, BasicSqlQuery insertQuery,
+                               List<? extends SqlParameterSource> params) {
+        if (params.isEmpty()) {
+            return;
+        }
+        String updateSql = updateQuery.getSql(schema());
+        int[] counts = jdbcNamed.batchUpdate(updateSql, params.toArray(new SqlParameterSource[params.size()]));
+        List<SqlParameterSource> inserts = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            int count = (counts[i] == Statement.SUCCESS_NO_INFO) ? jdbcNamed.update(updateSql, params.get(i)) : counts[i];
+            if (count <= 0) {
+                inserts.add(params.get(i));
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcNamed.batchUpdate(insertQuery.getSql(schema()), inserts.toArray(new SqlParameterSource[inserts.size()]));
+        }
+    }
+
     /** --- File Handling Methods --- */
 
     /**
@@ -178,6 +226,38 @@ public abstract class SqlBaseDao
         return dateColumn;
     }
 
+    /**
+     * Returns the date column of a last update table (e.g. bill_last_update) for the given update type.
+     */
+    protected static String getLastUpdateDateColumnForUpdateType(UpdateType updateType) {
+        if (updateType.equals(UpdateType.PROCESSED_DATE)) {
+            return "last_processed_date_time";
+        }
+        else if (updateType.equals(UpdateType.PUBLISHED_DATE)) {
+            return "last_published_date_time";
+        }
+        throw new IllegalArgumentException("Cannot provide updates of type: " + updateType);
+    }
+
+    /**
+     * A last update table only holds the latest change of each item, so update tokens read from it match the ones
+     * grouped from the change log only if nothing has changed since the end of the requested range. This is the
+     * case for clients polling for recent updates, which make up the bulk of update requests.
+     *
+     * @param lastUpdateTable SqlTable - The last update table, e.g. bill_last_update
+     * @param updateType UpdateType - Determines which date column is checked
+     * @param dateTimeRange Range<LocalDateTime> - The requested date time range
+     * @return boolean - true if update tokens within the range can be read from the last update table.
+     */
+    protected boolean isLastUpdateTableCurrent(SqlTable lastUpdateTable, UpdateType updateType,
+                                               Range<LocalDateTime> dateTimeRange) {
+        String sql = "SELECT max(" + getLastUpdateDateColumnForUpdateType(updateType) + ") AS last_update_date_time\n" +
+                     "FROM " + schema() + "." + lastUpdateTable;
+        LocalDateTime lastUpdate = jdbc.queryForObject(sql, (rs, rowNum) -> getLocalDateTimeFromRs(rs, "last_update_date_time"));
+        // Existing databases are populated by openleg.schema-patches.sql, until then the change log is used instead
+        return lastUpdate != null && !lastUpdate.isAfter(DateUtils.endOfDateTimeRange(dateTimeRange));
+    }
+
     protected OrderBy getOrderByForUpdateType(UpdateType updateType, SortOrder sortOrder) {
         OrderBy orderBy;
         if (updateType.equals(UpdateType.PROCESSED_DATE)) {
@@ -27,6 +27,7 @@ public enum SqlTable
     AGENDA_ALERT_INFO_COMMITTEE_ITEM ("agenda_alert_info_committee_item"),
 
     AGENDA_CHANGE_LOG            ("agenda_change_log"),
+    AGENDA_LAST_UPDATE           ("agenda_last_update"),
 
     API_REQUEST                  ("request"),
     API_RESPONSE                 ("response"),
@@ -53,6 +54,7 @@ public enum SqlTable
     BILL_SCRAPE_QUEUE            ("bill_scrape_queue"),
 
     BILL_CHANGE_LOG              ("bill_change_log"),
+    BILL_LAST_UPDATE             ("bill_last_update"),
 
     CALENDAR                     ("calendar"),
     CALENDAR_ACTIVE_LIST         ("calendar_active_list"),
@@ -68,6 +70,7 @@ public enum SqlTable
     ALERT_CALENDAR_SUP_ENTRY     ("alert_supplemental_entry_reference"),
 
     CALENDAR_CHANGE_LOG          ("calendar_change_log"),
+    CALENDAR_LAST_UPDATE         ("calendar_last_update"),
 
     COMMITTEE                    ("committee"),
     COMMITTEE_VERSION            ("committee_version"),
@@ -94,6 +97,7 @@ public enum SqlTable
     LAW_TREE                     ("law_tree"),
 
     LAW_CHANGE_LOG               ("law_change_log"),
+    LAW_LAST_UPDATE              ("law_last_update"),
 
     NOTIFICATION                 ("notification"),
     NOTIFICATION_SUBSCRIPTION    ("notification_subscription"),
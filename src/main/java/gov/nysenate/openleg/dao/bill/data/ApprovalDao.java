@@ -4,9 +4,12 @@ import gov.nysenate.openleg.model.bill.ApprovalId;
 import gov.nysenate.openleg.model.bill.ApprovalMessage;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.sobi.SobiFragment;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.dao.DataAccessException;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface ApprovalDao {
 
@@ -26,6 +29,15 @@ public interface ApprovalDao {
      */
     public ApprovalMessage getApprovalMessage(BaseBillId baseBillId) throws DataAccessException;
 
+    /**
+     * Retrieves the approval messages for each of the given bills with a single query.
+     * Bills without an approval message will not have an entry in the returned map.
+     * @param baseBillIds
+     * @return
+     * @throws DataAccessException
+     */
+    public Map<BaseBillId, ApprovalMessage> getApprovalMessages(Collection<BaseBillId> baseBillIds) throws DataAccessException;
+
     /**
      * Gets all approval messages for the given year ordered by approval id number
      * @param year
@@ -41,6 +53,12 @@ public interface ApprovalDao {
      */
     public void updateApprovalMessage(ApprovalMessage approvalMessage, SobiFragment sobiFragment);
 
+    /**
+     * Updates or inserts each of the given approval messages using batched statements
+     * @param approvalMessages Collection of approval messages paired with the sobi fragment they came from
+     */
+    public void updateApprovalMessages(Collection<Pair<ApprovalMessage, SobiFragment>> approvalMessages);
+
     /**
      * Deletes any approval message with the given approval id
      * @param approvalId
@@ -52,4 +70,10 @@ public interface ApprovalDao {
      * @param baseBillId
      */
     public void deleteApprovalMessage(BaseBillId baseBillId);
+
+    /**
+     * Deletes any approval messages that approve the bills designated by the given base bill ids
+     * @param baseBillIds
+     */
+    public void deleteApprovalMessages(Collection<BaseBillId> baseBillIds);
 }
@@ -4,14 +4,19 @@ import com.google.common.collect.Range;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.model.base.SessionYear;
+import gov.nysenate.openleg.model.base.Version;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.bill.BillInfo;
 import gov.nysenate.openleg.model.sobi.SobiFragment;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.dao.DataAccessException;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * DAO interface for retrieving and persisting Bill data.
@@ -28,6 +33,17 @@ public interface BillDao
      */
     public Bill getBill(BillId billId) throws DataAccessException;
 
+    /**
+     * Retrieves full Bills for all the given base bill ids. Each table is queried once for the entire set
+     * of ids which makes this much faster than calling {@link #getBill(BillId)} for each id. Ids that do
+     * not match a bill are ignored.
+     *
+     * @param billIds Collection<BaseBillId>
+     * @return List<Bill> - Bills in the iteration order of the given ids.
+     * @throws DataAccessException
+     */
+    public List<Bill> getBills(Collection<BaseBillId> billIds) throws DataAccessException;
+
     /**
      * Retrieves a BillInfo for the given BillId. The query time for a BillInfo will be less than that
      * of a full bill retrieval because it has significantly fewer pieces of data to gather.
@@ -39,14 +55,25 @@ public interface BillDao
     public BillInfo getBillInfo(BillId billId) throws DataAccessException;
 
     /**
-     * This method applies the memo and full text for all amendments contained in the given Bill object.
-     * This can be used by caching implementations where the bill object is kept in memory but the references
-     * to the full text and memo are dropped to save memory space.
+     * Retrieves the full text of every amendment of the given bill. This can be used by caching
+     * implementations where the bill object is kept in memory but the full text is dropped to save
+     * memory space.
+     *
+     * @param baseBillId BaseBillId
+     * @return Map<Version, String> - The full text keyed by amendment version.
+     * @throws DataAccessException
+     */
+    public Map<Version, String> getFullTexts(BaseBillId baseBillId) throws DataAccessException;
+
+    /**
+     * Retrieves the time of the latest change logged for the bill or for any calendar or agenda that
+     * lists the bill.
      *
-     * @param strippedBill Bill - The stripped Bill object.
+     * @param baseBillId BaseBillId
+     * @return LocalDateTime - null if there are no logged changes.
      * @throws DataAccessException
      */
-    public void applyText(Bill strippedBill) throws DataAccessException;
+    public LocalDateTime getLastChangeDateTime(BaseBillId baseBillId) throws DataAccessException;
 
     /**
      * Gets a List of BaseBillIds for the given session year with options to order and limit the results.
@@ -93,4 +120,14 @@ public interface BillDao
      * @throws DataAccessException - If there was an error while trying to save the Bill.
      */
     public void updateBill(Bill bill, SobiFragment sobiFragment) throws DataAccessException;
+
+    /**
+     * Updates or inserts all the given bills within a single transaction. This should be preferred over
+     * calling {@link #updateBill(Bill, SobiFragment)} repeatedly when many bills are persisted at once
+     * since the writes for all the bills are batched together.
+     *
+     * @param bills Collection<Pair<Bill, SobiFragment>> - Each bill paired with the fragment that triggered the update.
+     * @throws DataAccessException - If there was an error while trying to save the Bills.
+     */
+    public void updateBills(Collection<Pair<Bill, SobiFragment>> bills) throws DataAccessException;
 }
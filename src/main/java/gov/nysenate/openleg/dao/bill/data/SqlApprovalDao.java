@@ -7,6 +7,7 @@ import gov.nysenate.openleg.model.bill.ApprovalMessage;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.sobi.SobiFragment;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
@@ -14,7 +15,11 @@ import org.springframework.stereotype.Repository;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 public class SqlApprovalDao extends SqlBaseDao implements ApprovalDao
@@ -35,6 +40,18 @@ public class SqlApprovalDao extends SqlBaseDao implements ApprovalDao
             SqlApprovalQuery.SELECT_APPROVAL_BY_BILL.getSql(schema()), params, new ApprovalMessageRowMapper());
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<BaseBillId, ApprovalMessage> getApprovalMessages(Collection<BaseBillId> baseBillIds) throws DataAccessException {
+        Map<BaseBillId, ApprovalMessage> approvalMap = new HashMap<>();
+        if (!baseBillIds.isEmpty()) {
+            MapSqlParameterSource params = getBaseBillIdsParams(baseBillIds);
+            jdbcNamed.query(SqlApprovalQuery.SELECT_APPROVALS_BY_BILLS.getSql(schema()), params, new ApprovalMessageRowMapper())
+                .forEach(approvalMessage -> approvalMap.put(BaseBillId.of(approvalMessage.getBillId()), approvalMessage));
+        }
+        return approvalMap;
+    }
+
     /** {@inheritDoc} */
     @Override
     public List<ApprovalMessage> getApprovalMessages(int year) throws DataAccessException {
@@ -52,6 +69,14 @@ public class SqlApprovalDao extends SqlBaseDao implements ApprovalDao
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void updateApprovalMessages(Collection<Pair<ApprovalMessage, SobiFragment>> approvalMessages) {
+        List<MapSqlParameterSource> params = new ArrayList<>();
+        approvalMessages.forEach(approval -> params.add(getApprovalMessageParams(approval.getLeft(), approval.getRight())));
+        batchUpsert(SqlApprovalQuery.UPDATE_APPROVAL, SqlApprovalQuery.INSERT_APPROVAL, params);
+    }
+
     /** {@inheritDoc} */
     @Override
     public void deleteApprovalMessage(ApprovalId approvalId) {
@@ -66,6 +91,14 @@ public class SqlApprovalDao extends SqlBaseDao implements ApprovalDao
         jdbcNamed.update(SqlApprovalQuery.DELETE_APPROVAL_BY_BILL.getSql(schema()), params);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void deleteApprovalMessages(Collection<BaseBillId> baseBillIds) {
+        if (!baseBillIds.isEmpty()) {
+            jdbcNamed.update(SqlApprovalQuery.DELETE_APPROVALS_BY_BILLS.getSql(schema()), getBaseBillIdsParams(baseBillIds));
+        }
+    }
+
     /** --- Row Mappers --- */
 
     private class ApprovalMessageRowMapper implements RowMapper<ApprovalMessage>{
@@ -1,7 +1,13 @@
 package gov.nysenate.openleg.dao.bill.data;
 
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.MapDifference;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Multimaps;
 import com.google.common.collect.Range;
 import gov.nysenate.openleg.dao.base.*;
 import gov.nysenate.openleg.dao.common.BillVoteRowHandler;
@@ -19,6 +25,7 @@ import gov.nysenate.openleg.service.bill.data.ApprovalNotFoundException;
 import gov.nysenate.openleg.service.bill.data.VetoDataService;
 import gov.nysenate.openleg.service.bill.data.VetoNotFoundException;
 import gov.nysenate.openleg.service.entity.member.data.MemberService;
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,7 +34,9 @@ import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -37,6 +46,7 @@ import java.util.*;
 
 import static gov.nysenate.openleg.util.CollectionUtils.difference;
 import static gov.nysenate.openleg.util.DateUtils.toDate;
+import static java.util.stream.Collectors.toList;
 
 @Repository
 public class SqlBillDao extends SqlBaseDao implements BillDao
@@ -46,6 +56,30 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
     @Autowired private MemberService memberService;
     @Autowired private VetoDataService vetoDataService;
     @Autowired private ApprovalDataService approvalDataService;
+    @Autowired private VetoDao vetoDao;
+    @Autowired private ApprovalDao approvalDao;
+
+    /** Update statements that are followed by an insert for the rows they did not match. */
+    private static final ImmutableMap<SqlBillQuery, SqlBillQuery> BATCH_UPSERTS = ImmutableMap.of(
+        SqlBillQuery.UPDATE_BILL, SqlBillQuery.INSERT_BILL,
+        SqlBillQuery.UPDATE_BILL_AMENDMENT, SqlBillQuery.INSERT_BILL_AMENDMENT,
+        SqlBillQuery.UPDATE_BILL_SPONSOR, SqlBillQuery.INSERT_BILL_SPONSOR);
+
+    /** The order in which batched statements are executed. Parent rows are written before their children and
+     *  deletes precede inserts on the same table so that replaced rows do not collide on their keys. */
+    private static final ImmutableList<SqlBillQuery> BATCH_WRITE_ORDER = ImmutableList.of(
+        SqlBillQuery.UPDATE_BILL,
+        SqlBillQuery.UPDATE_BILL_AMENDMENT,
+        SqlBillQuery.UPDATE_BILL_AMEND_PUBLISH_STATUS, SqlBillQuery.INSERT_BILL_AMEND_PUBLISH_STATUS,
+        SqlBillQuery.DELETE_SAME_AS, SqlBillQuery.INSERT_BILL_SAME_AS,
+        SqlBillQuery.DELETE_BILL_COSPONSOR, SqlBillQuery.UPDATE_BILL_COSPONSOR, SqlBillQuery.INSERT_BILL_COSPONSOR,
+        SqlBillQuery.DELETE_BILL_MULTISPONSOR, SqlBillQuery.UPDATE_BILL_MULTISPONSOR, SqlBillQuery.INSERT_BILL_MULTISPONSOR,
+        SqlBillQuery.DELETE_BILL_VOTES_INFO, SqlBillQuery.INSERT_BILL_VOTES_INFO, SqlBillQuery.INSERT_BILL_VOTES_ROLL,
+        SqlBillQuery.DELETE_BILL_SPONSOR, SqlBillQuery.UPDATE_BILL_SPONSOR,
+        SqlBillQuery.DELETE_BILL_MILESTONES, SqlBillQuery.INSERT_BILL_MILESTONE,
+        SqlBillQuery.DELETE_BILL_ACTION, SqlBillQuery.INSERT_BILL_ACTION,
+        SqlBillQuery.DELETE_BILL_PREVIOUS_VERSION, SqlBillQuery.INSERT_BILL_PREVIOUS_VERSION,
+        SqlBillQuery.DELETE_BILL_COMMITTEE, SqlBillQuery.INSERT_BILL_COMMITTEE);
 
     /* --- Implemented Methods --- */
 
@@ -94,10 +128,95 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
         bill.setCommitteeAgendas(getCommitteeAgendas(baseParams));
         // Get the associated calendars
         bill.setCalendars(getCalendars(baseParams));
-        // Bill has been fully constructed
+        // Bill has been fully constructed and matches what is persisted
+        bill.clearModified();
         return bill;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Rows from each table are fetched for the whole id set and stitched onto the bills in memory, so the
+     * number of queries is fixed regardless of how many bills are requested.
+     */
+    @Override
+    public List<Bill> getBills(Collection<BaseBillId> billIds) throws DataAccessException {
+        if (billIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        logger.trace("Fetching {} bills from database...", billIds.size());
+        final ImmutableParams params = ImmutableParams.from(getBaseBillIdsParams(billIds));
+        // Retrieve the base Bill objects
+        Map<BaseBillId, Bill> billMap = new HashMap<>();
+        jdbcNamed.query(SqlBillQuery.SELECT_BILLS_BULK.getSql(schema()), params, new BillRowMapper())
+            .forEach(bill -> billMap.put(bill.getBaseBillId(), bill));
+        // Fetch the amendment data keyed by amendment id
+        ListMultimap<BaseBillId, BillAmendment> amendments = ArrayListMultimap.create();
+        jdbcNamed.query(SqlBillQuery.SELECT_BILL_AMENDMENTS_BULK.getSql(schema()), params, new BillAmendmentRowMapper())
+            .forEach(amendment -> amendments.put(amendment.getBaseBillId(), amendment));
+        ListMultimap<BillId, BillId> sameAs =
+            queryByAmendment(SqlBillQuery.SELECT_BILL_SAME_AS_BULK, params, new BillSameAsRowMapper());
+        ListMultimap<BillId, Member> coSponsors =
+            queryByAmendment(SqlBillQuery.SELECT_BILL_COSPONSORS_BULK, params, new BillMemberRowMapper(memberService));
+        ListMultimap<BillId, Member> multiSponsors =
+            queryByAmendment(SqlBillQuery.SELECT_BILL_MULTISPONSORS_BULK, params, new BillMemberRowMapper(memberService));
+        BillVoteRowHandler voteHandler = new BillVoteRowHandler(memberService);
+        jdbcNamed.query(SqlBillQuery.SELECT_BILL_VOTES_BULK.getSql(schema()), params, voteHandler);
+        ListMultimap<BillId, BillVote> votes = Multimaps.index(voteHandler.getBillVotes(), BillVote::getBillId);
+        // Fetch the bill level data keyed by base bill id
+        BulkPublishStatusHandler pubStatusHandler = new BulkPublishStatusHandler();
+        jdbcNamed.query(SqlBillQuery.SELECT_BILL_AMEND_PUBLISH_STATUSES_BULK.getSql(schema()), params, pubStatusHandler);
+        ListMultimap<BaseBillId, BillSponsor> sponsors =
+            queryByBill(SqlBillQuery.SELECT_BILL_SPONSORS_BULK, params, new BillSponsorRowMapper(memberService));
+        ListMultimap<BaseBillId, Member> additionalSponsors =
+            queryByBill(SqlBillQuery.SELECT_ADDTL_BILL_SPONSORS_BULK, params, new BillMemberRowMapper(memberService));
+        ListMultimap<BaseBillId, BillStatus> milestones =
+            queryByBill(SqlBillQuery.GET_BILL_MILESTONES_BULK, params, new BillMilestoneRowMapper());
+        ListMultimap<BaseBillId, BillAction> actions =
+            queryByBill(SqlBillQuery.SELECT_BILL_ACTIONS_BULK, params, new BillActionRowMapper());
+        ListMultimap<BaseBillId, BillId> prevVersions =
+            queryByBill(SqlBillQuery.SELECT_ALL_BILL_PREVIOUS_VERSIONS_BULK, params, new BillPreviousVersionRowMapper());
+        ListMultimap<BaseBillId, CommitteeVersionId> committees =
+            queryByBill(SqlBillQuery.SELECT_BILL_COMMITTEES_BULK, params, new BillCommitteeRowMapper());
+        ListMultimap<BaseBillId, CommitteeAgendaId> agendas =
+            queryByBill(SqlBillQuery.SELECT_COMM_AGENDA_IDS_BULK, params, new CommitteeAgendaIdRowMapper());
+        ListMultimap<BaseBillId, CalendarId> calendars =
+            queryByBill(SqlBillQuery.SELECT_CALENDAR_IDS_BULK, params, new CalendarIdRowMapper());
+        Map<BaseBillId, Map<VetoId, VetoMessage>> vetoes = vetoDao.getBillVetoes(billMap.keySet());
+        Map<BaseBillId, ApprovalMessage> approvals = approvalDao.getApprovalMessages(billMap.keySet());
+        // Assemble the bills in the requested order
+        List<Bill> bills = new ArrayList<>();
+        for (BaseBillId billId : billIds) {
+            Bill bill = billMap.get(billId);
+            if (bill == null) {
+                continue;
+            }
+            BaseBillId baseBillId = bill.getBaseBillId();
+            for (BillAmendment amendment : amendments.get(baseBillId)) {
+                BillId amendId = amendment.getBillId();
+                amendment.setSameAs(new HashSet<>(sameAs.get(amendId)));
+                amendment.setCoSponsors(new ArrayList<>(coSponsors.get(amendId)));
+                amendment.setMultiSponsors(new ArrayList<>(multiSponsors.get(amendId)));
+                amendment.setVotesMap(new ArrayList<>(votes.get(amendId)));
+            }
+            bill.addAmendments(amendments.get(baseBillId));
+            bill.setPublishStatuses(pubStatusHandler.getPublishStatusMap(baseBillId));
+            bill.setSponsor(sponsors.containsKey(baseBillId) ? sponsors.get(baseBillId).get(0) : null);
+            bill.setAdditionalSponsors(new ArrayList<>(additionalSponsors.get(baseBillId)));
+            bill.setMilestones(new LinkedList<>(milestones.get(baseBillId)));
+            bill.setActions(new ArrayList<>(actions.get(baseBillId)));
+            bill.setPreviousVersions(new TreeSet<>(prevVersions.get(baseBillId)));
+            bill.setPastCommittees(new TreeSet<>(committees.get(baseBillId)));
+            bill.setVetoMessages(vetoes.getOrDefault(baseBillId, new HashMap<>()));
+            bill.setApprovalMessage(approvals.get(baseBillId));
+            bill.setCommitteeAgendas(new ArrayList<>(agendas.get(baseBillId)));
+            bill.setCalendars(new ArrayList<>(calendars.get(baseBillId)));
+            bill.clearModified();
+            bills.add(bill);
+        }
+        return bills;
+    }
+
     /** {@inheritDoc} */
     @Override
     public BillInfo getBillInfo(BillId billId) throws DataAccessException {
@@ -112,17 +231,22 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
 
     /** {@inheritDoc} */
     @Override
-    public void applyText(Bill strippedBill) throws DataAccessException {
-        if (strippedBill == null) {
-            throw new IllegalArgumentException("Cannot apply bill text on a null bill");
-        }
-        MapSqlParameterSource billParams = new MapSqlParameterSource();
-        addBillIdParams(strippedBill, billParams);
-        jdbcNamed.query(SqlBillQuery.SELECT_BILL_TEXT.getSql(schema()), billParams, (RowCallbackHandler) (ResultSet rs) -> {
-            BillAmendment ba = strippedBill.getAmendment(Version.of(rs.getString("bill_amend_version")));
-            ba.setMemo(rs.getString("sponsor_memo"));
-            ba.setFullText(rs.getString("full_text"));
-        });
+    public Map<Version, String> getFullTexts(BaseBillId baseBillId) throws DataAccessException {
+        if (baseBillId == null) {
+            throw new IllegalArgumentException("Cannot get bill text for a null bill id");
+        }
+        ImmutableParams billParams = getBaseParams(baseBillId);
+        Map<Version, String> fullTexts = new HashMap<>();
+        jdbcNamed.query(SqlBillQuery.SELECT_BILL_TEXT.getSql(schema()), billParams, (RowCallbackHandler) (ResultSet rs) ->
+            fullTexts.put(Version.of(rs.getString("bill_amend_version")), rs.getString("full_text")));
+        return fullTexts;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public LocalDateTime getLastChangeDateTime(BaseBillId baseBillId) throws DataAccessException {
+        return jdbcNamed.queryForObject(SqlBillQuery.SELECT_BILL_LAST_CHANGE.getSql(schema()), getBaseParams(baseBillId),
+            (rs, rowNum) -> getLocalDateTimeFromRs(rs, "last_change_date_time"));
     }
 
     /**
@@ -134,44 +258,95 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
      * reference is used to keep track of changes to the bill.
      */
     @Override
+    @Transactional
     public void updateBill(Bill bill, SobiFragment sobiFragment) {
-        logger.trace("Updating Bill {} in database...", bill);
-        // Update the bill record
-        final ImmutableParams billParams = ImmutableParams.from(getBillParams(bill, sobiFragment));
-        if (jdbcNamed.update(SqlBillQuery.UPDATE_BILL.getSql(schema()), billParams) == 0) {
-            jdbcNamed.update(SqlBillQuery.INSERT_BILL.getSql(schema()), billParams);
-        }
-        // Update the bill amendments
-        for (BillAmendment amendment : bill.getAmendmentList()) {
-            final ImmutableParams amendParams = ImmutableParams.from(getBillAmendmentParams(amendment, sobiFragment));
-            if (jdbcNamed.update(SqlBillQuery.UPDATE_BILL_AMENDMENT.getSql(schema()), amendParams) == 0) {
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_AMENDMENT.getSql(schema()), amendParams);
+        updateBills(Collections.singletonList(Pair.of(bill, sobiFragment)));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The existing rows for each bill are compared against the bill's current state and the resulting
+     * inserts, updates and deletes are collected for all the given bills. Each statement is then sent
+     * as a single JDBC batch, so the number of write round trips depends on the number of tables touched
+     * rather than the number of rows. The existing rows are likewise read with one bulk query per table.
+     * Only the sections that are marked as modified on the bill and its amendments are written, and bills
+     * that have no modifications are skipped altogether.
+     */
+    @Override
+    @Transactional
+    public void updateBills(Collection<Pair<Bill, SobiFragment>> bills) {
+        List<Pair<Bill, SobiFragment>> modifiedBills = bills.stream()
+            .filter(entry -> entry.getLeft().isModified())
+            .collect(toList());
+        logger.trace("Updating {} of {} bills in database...", modifiedBills.size(), bills.size());
+        ExistingBillRows existing = getExistingRows(modifiedBills.stream().map(Pair::getLeft).collect(toList()));
+        BillUpdateBatch batch = new BillUpdateBatch();
+        for (Pair<Bill, SobiFragment> entry : modifiedBills) {
+            Bill bill = entry.getLeft();
+            SobiFragment sobiFragment = entry.getRight();
+            // Update the bill record
+            final ImmutableParams billParams = ImmutableParams.from(getBillParams(bill, sobiFragment));
+            if (bill.isModified(BillSection.BILL_INFO)) {
+                batch.add(SqlBillQuery.UPDATE_BILL, billParams);
             }
-            // Update the same as bills
-            updateBillSameAs(amendment, sobiFragment, amendParams);
-            // Update the co-sponsors list
-            updateBillCosponsor(amendment, sobiFragment, amendParams);
-            // Update the multi-sponsors list
-            updateBillMultiSponsor(amendment, sobiFragment, amendParams);
-            // Update votes
-            updateBillVotes(amendment, sobiFragment, amendParams);
-        }
-        // Update the publish statuses of the amendments
-        updateBillAmendPublishStatus(bill, sobiFragment, billParams);
-        // Update the sponsor
-        updateBillSponsor(bill, sobiFragment, billParams);
-        // Update the milestones
-        updateBillMilestones(bill, sobiFragment, billParams);
-        // Determine which actions need to be inserted/deleted. Individual actions are never updated.
-        updateActions(bill, sobiFragment, billParams);
-        // Determine if the previous versions have changed and insert accordingly.
-        updatePreviousBillVersions(bill, sobiFragment, billParams);
-        // Update associated committees
-        updateBillCommittees(bill, sobiFragment, billParams);
-        // Update veto messages
-        updateVetoMessages(bill, sobiFragment);
-        // Update approval message
-        updateApprovalMessage(bill, sobiFragment);
+            // Update the bill amendments
+            for (BillAmendment amendment : bill.getAmendmentList()) {
+                if (!amendment.isModified()) {
+                    continue;
+                }
+                final ImmutableParams amendParams = ImmutableParams.from(getBillAmendmentParams(amendment, sobiFragment));
+                if (amendment.isModified(BillAmendmentSection.AMENDMENT_INFO)) {
+                    batch.add(SqlBillQuery.UPDATE_BILL_AMENDMENT, amendParams);
+                }
+                // Update the same as bills
+                if (amendment.isModified(BillAmendmentSection.SAME_AS)) {
+                    updateBillSameAs(amendment, sobiFragment, amendParams, existing, batch);
+                }
+                // Update the co-sponsors list
+                if (amendment.isModified(BillAmendmentSection.COSPONSORS)) {
+                    updateBillCosponsor(amendment, sobiFragment, amendParams, existing, batch);
+                }
+                // Update the multi-sponsors list
+                if (amendment.isModified(BillAmendmentSection.MULTISPONSORS)) {
+                    updateBillMultiSponsor(amendment, sobiFragment, amendParams, existing, batch);
+                }
+                // Update votes
+                if (amendment.isModified(BillAmendmentSection.VOTES)) {
+                    updateBillVotes(amendment, sobiFragment, amendParams, existing, batch);
+                }
+            }
+            // Update the publish statuses of the amendments
+            if (bill.isModified(BillSection.PUBLISH_STATUS)) {
+                updateBillAmendPublishStatus(bill, sobiFragment, billParams, existing, batch);
+            }
+            // Update the sponsor
+            if (bill.isModified(BillSection.SPONSOR)) {
+                updateBillSponsor(bill, sobiFragment, billParams, batch);
+            }
+            // Update the milestones
+            if (bill.isModified(BillSection.MILESTONES)) {
+                updateBillMilestones(bill, sobiFragment, billParams, existing, batch);
+            }
+            // Determine which actions need to be inserted/deleted. Individual actions are never updated.
+            if (bill.isModified(BillSection.ACTIONS)) {
+                updateActions(bill, sobiFragment, billParams, existing, batch);
+            }
+            // Determine if the previous versions have changed and insert accordingly.
+            if (bill.isModified(BillSection.PREVIOUS_VERSIONS)) {
+                updatePreviousBillVersions(bill, sobiFragment, billParams, existing, batch);
+            }
+            // Update associated committees
+            if (bill.isModified(BillSection.COMMITTEES)) {
+                updateBillCommittees(bill, sobiFragment, billParams, existing, batch);
+            }
+        }
+        executeBatch(batch);
+        // Veto and approval messages are written once the bill rows exist
+        updateVetoMessages(modifiedBills.stream()
+            .filter(entry -> entry.getLeft().isModified(BillSection.VETOES)).collect(toList()));
+        updateApprovalMessages(modifiedBills.stream()
+            .filter(entry -> entry.getLeft().isModified(BillSection.APPROVAL)).collect(toList()));
     }
 
     /** {@inheritDoc} */
@@ -292,13 +467,7 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
     public LinkedList<BillStatus> getBillMilestones(ImmutableParams baseParams) {
         OrderBy orderBy = new OrderBy("rank", SortOrder.ASC);
         return new LinkedList<>(jdbcNamed.query(SqlBillQuery.GET_BILL_MILESTONES.getSql(schema(), orderBy, LimitOffset.ALL), baseParams,
-            (rs, rowNum) -> {
-                BillStatus status = new BillStatus(BillStatusType.valueOf(rs.getString("status")), getLocalDateFromRs(rs, "date"));
-                status.setActionSequenceNo(rs.getInt("action_sequence_no"));
-                status.setCommitteeId(getCommitteeIdFromRs(rs));
-                status.setCalendarNo((rs.getInt("cal_no") != 0) ? rs.getInt("cal_no") : null);
-                return status;
-            }));
+            new BillMilestoneRowMapper()));
     }
 
     /**
@@ -367,10 +536,7 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
     public List<CommitteeAgendaId> getCommitteeAgendas(ImmutableParams baseParams) {
         OrderBy orderBy = new OrderBy("aic.meeting_date_time", SortOrder.ASC);
         return jdbcNamed.query(SqlBillQuery.SELECT_COMM_AGENDA_IDS.getSql(schema(), orderBy, LimitOffset.ALL), baseParams,
-            (rs, rowNum) ->
-                new CommitteeAgendaId(new AgendaId(rs.getInt("agenda_no"), rs.getInt("year")),
-                                      new CommitteeId(Chamber.SENATE, rs.getString("committee_name")))
-            );
+            new CommitteeAgendaIdRowMapper());
     }
 
     /**
@@ -379,27 +545,26 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
     public List<CalendarId> getCalendars(ImmutableParams baseParams) {
         OrderBy orderBy = new OrderBy("cs.calendar_year", SortOrder.ASC, "cs.calendar_no", SortOrder.ASC);
         return jdbcNamed.query(SqlBillQuery.SELECT_CALENDAR_IDS.getSql(schema(), orderBy, LimitOffset.ALL), baseParams,
-            (rs, rowNum) -> {
-                return new CalendarId(rs.getInt("calendar_no"), rs.getInt("calendar_year"));
-            });
+            new CalendarIdRowMapper());
     }
 
     /**
      * Updates the bill's same as set.
      */
-    protected void updateBillSameAs(BillAmendment amendment, SobiFragment sobiFragment, ImmutableParams amendParams) {
-        Set<BillId> existingSameAs = getSameAsBills(amendParams);
+    protected void updateBillSameAs(BillAmendment amendment, SobiFragment sobiFragment, ImmutableParams amendParams,
+                                    ExistingBillRows existing, BillUpdateBatch batch) {
+        Set<BillId> existingSameAs = new HashSet<>(existing.sameAs.get(amendment.getBillId()));
         if (!existingSameAs.equals(amendment.getSameAs())) {
             Set<BillId> newSameAs = new HashSet<>(amendment.getSameAs());
             newSameAs.removeAll(existingSameAs);             // New same as bill ids to insert
             existingSameAs.removeAll(amendment.getSameAs()); // Old same as bill ids to delete
             existingSameAs.forEach(billId -> {
                 ImmutableParams sameAsParams = ImmutableParams.from(getBillSameAsParams(amendment, billId, sobiFragment));
-                jdbcNamed.update(SqlBillQuery.DELETE_SAME_AS.getSql(schema()), sameAsParams);
+                batch.add(SqlBillQuery.DELETE_SAME_AS, sameAsParams);
             });
             newSameAs.forEach(billId -> {
                 ImmutableParams sameAsParams = ImmutableParams.from(getBillSameAsParams(amendment, billId, sobiFragment));
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_SAME_AS.getSql(schema()), sameAsParams);
+                batch.add(SqlBillQuery.INSERT_BILL_SAME_AS, sameAsParams);
             });
         }
     }
@@ -407,39 +572,41 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
     /**
      * Updates the bill's action list into the database.
      */
-    protected void updateActions(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
-        List<BillAction> existingBillActions = getBillActions(billParams);
+    protected void updateActions(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams,
+                                 ExistingBillRows existing, BillUpdateBatch batch) {
+        List<BillAction> existingBillActions = new ArrayList<>(existing.actions.get(bill.getBaseBillId()));
         List<BillAction> newBillActions = new ArrayList<>(bill.getActions());
         newBillActions.removeAll(existingBillActions);    // New actions to insert
         existingBillActions.removeAll(bill.getActions()); // Old actions to delete
         // Delete actions that are not in the updated list
         for (BillAction action : existingBillActions) {
             MapSqlParameterSource actionParams = getBillActionParams(action, sobiFragment);
-            jdbcNamed.update(SqlBillQuery.DELETE_BILL_ACTION.getSql(schema()), actionParams);
+            batch.add(SqlBillQuery.DELETE_BILL_ACTION, actionParams);
         }
         // Insert all new actions
         for (BillAction action : newBillActions) {
             MapSqlParameterSource actionParams = getBillActionParams(action, sobiFragment);
-            jdbcNamed.update(SqlBillQuery.INSERT_BILL_ACTION.getSql(schema()), actionParams);
+            batch.add(SqlBillQuery.INSERT_BILL_ACTION, actionParams);
         }
     }
 
     /**
      * Update the bill's previous version set.
      */
-    protected void updatePreviousBillVersions(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
-        Set<BillId> existingPrevBills = getPrevVersions(billParams);
+    protected void updatePreviousBillVersions(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams,
+                                              ExistingBillRows existing, BillUpdateBatch batch) {
+        Set<BillId> existingPrevBills = new TreeSet<>(existing.prevVersions.get(bill.getBaseBillId()));
         if (!existingPrevBills.equals(bill.getPreviousVersions())) {
             Set<BillId> newPrevBills = new HashSet<>(bill.getPreviousVersions());
             newPrevBills.removeAll(existingPrevBills);               // New prev bill ids to insert
             existingPrevBills.removeAll(bill.getPreviousVersions()); // Old prev bill ids to delete
             existingPrevBills.forEach(billId -> {
                 ImmutableParams prevParams = ImmutableParams.from(getBillPrevVersionParams(bill, billId, sobiFragment));
-                jdbcNamed.update(SqlBillQuery.DELETE_BILL_PREVIOUS_VERSIONS.getSql(schema()), prevParams);
+                batch.add(SqlBillQuery.DELETE_BILL_PREVIOUS_VERSION, prevParams);
             });
             newPrevBills.forEach(billId -> {
                 ImmutableParams prevParams = ImmutableParams.from(getBillPrevVersionParams(bill, billId, sobiFragment));
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_PREVIOUS_VERSION.getSql(schema()), prevParams);
+                batch.add(SqlBillQuery.INSERT_BILL_PREVIOUS_VERSION, prevParams);
             });
         }
     }
@@ -447,69 +614,80 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
     /**
      * Update the bill's previous committee set.
      */
-    protected void updateBillCommittees(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
-        Set<CommitteeVersionId> existingComms = getBillCommittees(billParams);
+    protected void updateBillCommittees(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams,
+                                        ExistingBillRows existing, BillUpdateBatch batch) {
+        Set<CommitteeVersionId> existingComms = new TreeSet<>(existing.committees.get(bill.getBaseBillId()));
         if (!existingComms.equals(bill.getPastCommittees())) {
             Set<CommitteeVersionId> newComms = new HashSet<>(bill.getPastCommittees());
             newComms.removeAll(existingComms);                 // New committees to insert
             existingComms.removeAll(bill.getPastCommittees()); // Old committees to delete
             existingComms.forEach(cvid -> {
                 ImmutableParams commParams = ImmutableParams.from(getBillCommitteeParams(bill, cvid, sobiFragment));
-                jdbcNamed.update(SqlBillQuery.DELETE_BILL_COMMITTEE.getSql(schema()), commParams);
+                batch.add(SqlBillQuery.DELETE_BILL_COMMITTEE, commParams);
             });
             newComms.forEach(cvid -> {
                 ImmutableParams commParams = ImmutableParams.from(getBillCommitteeParams(bill, cvid, sobiFragment));
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_COMMITTEE.getSql(schema()), commParams);
+                batch.add(SqlBillQuery.INSERT_BILL_COMMITTEE, commParams);
             });
         }
     }
 
     /**
-     * Update any veto messages through the veto data service
+     * Replaces the veto messages of each of the given bills.
      */
-    protected void updateVetoMessages(Bill bill, SobiFragment sobiFragment){
-        vetoDataService.deleteBillVetoes(bill.getBaseBillId());
-        for(VetoMessage vetoMessage : bill.getVetoMessages().values()){
-            vetoDataService.updateVetoMessage(vetoMessage, sobiFragment);
+    protected void updateVetoMessages(List<Pair<Bill, SobiFragment>> bills) {
+        if (bills.isEmpty()) {
+            return;
         }
+        vetoDao.deleteBillVetoes(bills.stream().map(entry -> entry.getLeft().getBaseBillId()).collect(toList()));
+        vetoDao.updateVetoMessages(bills.stream()
+            .flatMap(entry -> entry.getLeft().getVetoMessages().values().stream()
+                .map(vetoMessage -> Pair.of(vetoMessage, entry.getRight())))
+            .collect(toList()));
     }
 
-    protected void updateApprovalMessage(Bill bill, SobiFragment sobiFragment){
-        approvalDataService.deleteApprovalMessage(bill.getBaseBillId());
-        if(bill.getApprovalMessage() != null){
-            approvalDataService.updateApprovalMessage(bill.getApprovalMessage(), sobiFragment);
+    /**
+     * Replaces the approval message of each of the given bills.
+     */
+    protected void updateApprovalMessages(List<Pair<Bill, SobiFragment>> bills) {
+        if (bills.isEmpty()) {
+            return;
         }
+        approvalDao.deleteApprovalMessages(bills.stream().map(entry -> entry.getLeft().getBaseBillId()).collect(toList()));
+        approvalDao.updateApprovalMessages(bills.stream()
+            .filter(entry -> entry.getLeft().getApprovalMessage() != null)
+            .map(entry -> Pair.of(entry.getLeft().getApprovalMessage(), entry.getRight()))
+            .collect(toList()));
     }
 
     /**
      * Update the bill's sponsor information.
      */
-    protected void updateBillSponsor(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
+    protected void updateBillSponsor(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams,
+                                     BillUpdateBatch batch) {
         if (bill.getSponsor() != null) {
             MapSqlParameterSource params = getBillSponsorParams(bill, sobiFragment);
-            if (jdbcNamed.update(SqlBillQuery.UPDATE_BILL_SPONSOR.getSql(schema()), params) == 0) {
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_SPONSOR.getSql(schema()), params);
-            }
+            batch.add(SqlBillQuery.UPDATE_BILL_SPONSOR, params);
         }
         else {
-            jdbcNamed.update(SqlBillQuery.DELETE_BILL_SPONSOR.getSql(schema()), billParams);
+            batch.add(SqlBillQuery.DELETE_BILL_SPONSOR, billParams);
         }
     }
 
     /**
      * Update the bill milestones list.
      */
-    protected void updateBillMilestones(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
-        List<BillStatus> existingMilestones = getBillMilestones(billParams);
+    protected void updateBillMilestones(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams,
+                                        ExistingBillRows existing, BillUpdateBatch batch) {
+        List<BillStatus> existingMilestones = existing.milestones.get(bill.getBaseBillId());
         List<BillStatus> newMilestones = bill.getMilestones();
         // If old list is not the same as the new list, wipe the old and insert the new. We won't
         // need to keep track of updates for this, so no reason to be precise like cosponsors for example.
         if (!existingMilestones.equals(newMilestones)) {
-            jdbcNamed.update(SqlBillQuery.DELETE_BILL_MILESTONES.getSql(schema()), billParams);
+            batch.add(SqlBillQuery.DELETE_BILL_MILESTONES, billParams);
             int rank = 1;
             for (BillStatus status : newMilestones) {
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_MILESTONE.getSql(schema()),
-                    getMilestoneParams(bill, status, rank++, sobiFragment));
+                batch.add(SqlBillQuery.INSERT_BILL_MILESTONE, getMilestoneParams(bill, status, rank++, sobiFragment));
             }
         }
     }
@@ -517,8 +695,9 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
     /**
      * Update the bill's amendment publish statuses.
      */
-    protected void updateBillAmendPublishStatus(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
-        Map<Version, PublishStatus> existingPubStatus = getBillAmendPublishStatuses(billParams);
+    protected void updateBillAmendPublishStatus(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams,
+                                                ExistingBillRows existing, BillUpdateBatch batch) {
+        Map<Version, PublishStatus> existingPubStatus = existing.publishStatuses.getPublishStatusMap(bill.getBaseBillId());
         Map<Version, PublishStatus> newPubStatus = bill.getAmendPublishStatusMap();
         MapDifference<Version, PublishStatus> diff = Maps.difference(existingPubStatus, newPubStatus);
         // Old entries that do not show up in the new one should be marked as unpublished
@@ -528,46 +707,47 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
                                                                 : LocalDateTime.now();
                 PublishStatus unPubStatus = new PublishStatus(false, dateTime, false, "No longer referenced");
                 MapSqlParameterSource params = getBillPublishStatusParams(bill, version, unPubStatus, sobiFragment);
-                jdbcNamed.update(SqlBillQuery.UPDATE_BILL_AMEND_PUBLISH_STATUS.getSql(schema()), params);
+                batch.add(SqlBillQuery.UPDATE_BILL_AMEND_PUBLISH_STATUS, params);
             }
         });
         // Update changed publish statuses if the existing is not an override
         diff.entriesDiffering().forEach((version,pubStatus) -> {
             if (!pubStatus.leftValue().isOverride()) {
                 MapSqlParameterSource params = getBillPublishStatusParams(bill, version, pubStatus.rightValue(), sobiFragment);
-                jdbcNamed.update(SqlBillQuery.UPDATE_BILL_AMEND_PUBLISH_STATUS.getSql(schema()), params);
+                batch.add(SqlBillQuery.UPDATE_BILL_AMEND_PUBLISH_STATUS, params);
             }
         });
         // Insert new publish statuses
         diff.entriesOnlyOnRight().forEach((version,pubStatus) -> {
             MapSqlParameterSource params = getBillPublishStatusParams(bill, version, pubStatus, sobiFragment);
-            jdbcNamed.update(SqlBillQuery.INSERT_BILL_AMEND_PUBLISH_STATUS.getSql(schema()), params);
+            batch.add(SqlBillQuery.INSERT_BILL_AMEND_PUBLISH_STATUS, params);
         });
     }
 
     /**
      * Update the bill's co sponsor list by deleting, inserting, and updating as needed.
      */
-    protected void updateBillCosponsor(BillAmendment billAmendment, SobiFragment sobiFragment, ImmutableParams amendParams) {
-        List<Member> existingCoSponsors = getCoSponsors(amendParams);
+    protected void updateBillCosponsor(BillAmendment billAmendment, SobiFragment sobiFragment, ImmutableParams amendParams,
+                                       ExistingBillRows existing, BillUpdateBatch batch) {
+        List<Member> existingCoSponsors = existing.coSponsors.get(billAmendment.getBillId());
         if (!existingCoSponsors.equals(billAmendment.getCoSponsors())) {
             MapDifference<Member, Integer> diff = difference(existingCoSponsors, billAmendment.getCoSponsors(), 1);
             // Delete old cosponsors
             diff.entriesOnlyOnLeft().forEach((member,ordinal) -> {
                 ImmutableParams cspParams = amendParams.add(new MapSqlParameterSource("sessionMemberId", member.getSessionMemberId()));
-                jdbcNamed.update(SqlBillQuery.DELETE_BILL_COSPONSOR.getSql(schema()), cspParams);
+                batch.add(SqlBillQuery.DELETE_BILL_COSPONSOR, cspParams);
             });
             // Update re-ordered cosponsors
             diff.entriesDiffering().forEach((member,ordinal) -> {
                 ImmutableParams cspParams = ImmutableParams.from(
                     getCoMultiSponsorParams(billAmendment, member, ordinal.rightValue(),sobiFragment));
-                jdbcNamed.update(SqlBillQuery.UPDATE_BILL_COSPONSOR.getSql(schema()), cspParams);
+                batch.add(SqlBillQuery.UPDATE_BILL_COSPONSOR, cspParams);
             });
             // Insert new cosponsors
             diff.entriesOnlyOnRight().forEach((member,ordinal) -> {
                 ImmutableParams cspParams = ImmutableParams.from(
                     getCoMultiSponsorParams(billAmendment, member, ordinal,sobiFragment));
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_COSPONSOR.getSql(schema()), cspParams);
+                batch.add(SqlBillQuery.INSERT_BILL_COSPONSOR, cspParams);
             });
         }
     }
@@ -575,26 +755,27 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
     /**
      * Update the bill's multi-sponsor list by deleting, inserting, and updating as needed.
      */
-    protected void updateBillMultiSponsor(BillAmendment billAmendment, SobiFragment sobiFragment, ImmutableParams amendParams) {
-        List<Member> existingMultiSponsors = getMultiSponsors(amendParams);
+    protected void updateBillMultiSponsor(BillAmendment billAmendment, SobiFragment sobiFragment, ImmutableParams amendParams,
+                                          ExistingBillRows existing, BillUpdateBatch batch) {
+        List<Member> existingMultiSponsors = existing.multiSponsors.get(billAmendment.getBillId());
         if (!existingMultiSponsors.equals(billAmendment.getMultiSponsors())) {
             MapDifference<Member, Integer> diff = difference(existingMultiSponsors, billAmendment.getMultiSponsors(), 1);
             // Delete old multisponsors
             diff.entriesOnlyOnLeft().forEach((member,ordinal) -> {
                 ImmutableParams mspParams = amendParams.add(new MapSqlParameterSource("sessionMemberId", member.getSessionMemberId()));
-                jdbcNamed.update(SqlBillQuery.DELETE_BILL_MULTISPONSOR.getSql(schema()), mspParams);
+                batch.add(SqlBillQuery.DELETE_BILL_MULTISPONSOR, mspParams);
             });
             // Update re-ordered multisponsors
             diff.entriesDiffering().forEach((member,ordinal) -> {
                 ImmutableParams mspParams = ImmutableParams.from(
                     getCoMultiSponsorParams(billAmendment, member, ordinal.rightValue(),sobiFragment));
-                jdbcNamed.update(SqlBillQuery.UPDATE_BILL_MULTISPONSOR.getSql(schema()), mspParams);
+                batch.add(SqlBillQuery.UPDATE_BILL_MULTISPONSOR, mspParams);
             });
             // Insert new multisponsors
             diff.entriesOnlyOnRight().forEach((member,ordinal) -> {
                 ImmutableParams mspParams = ImmutableParams.from(
                     getCoMultiSponsorParams(billAmendment, member, ordinal,sobiFragment));
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_MULTISPONSOR.getSql(schema()), mspParams);
+                batch.add(SqlBillQuery.INSERT_BILL_MULTISPONSOR, mspParams);
             });
         }
     }
@@ -602,33 +783,169 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
     /**
      * Update the bill amendment's list of votes.
      */
-    protected void updateBillVotes(BillAmendment billAmendment, SobiFragment sobiFragment, ImmutableParams amendParams) {
-        List<BillVote> existingBillVotes = getBillVotes(amendParams);
+    protected void updateBillVotes(BillAmendment billAmendment, SobiFragment sobiFragment, ImmutableParams amendParams,
+                                   ExistingBillRows existing, BillUpdateBatch batch) {
+        List<BillVote> existingBillVotes = new ArrayList<>(existing.votes.get(billAmendment.getBillId()));
         List<BillVote> newBillVotes = new ArrayList<>(billAmendment.getVotesList());
         newBillVotes.removeAll(existingBillVotes);                 // New votes to insert/update
         existingBillVotes.removeAll(billAmendment.getVotesList()); // Old votes to remove
         // Delete all votes that have been updated
         for (BillVote billVote : existingBillVotes) {
             MapSqlParameterSource voteInfoParams = getBillVoteInfoParams(billAmendment, billVote, sobiFragment);
-            jdbcNamed.update(SqlBillQuery.DELETE_BILL_VOTES_INFO.getSql(schema()), voteInfoParams);
+            batch.add(SqlBillQuery.DELETE_BILL_VOTES_INFO, voteInfoParams);
         }
         // Insert the new/updated votes
         for (BillVote billVote : newBillVotes) {
             MapSqlParameterSource voteParams = getBillVoteInfoParams(billAmendment, billVote, sobiFragment);
-            jdbcNamed.update(SqlBillQuery.INSERT_BILL_VOTES_INFO.getSql(schema()), voteParams);
+            batch.add(SqlBillQuery.INSERT_BILL_VOTES_INFO, voteParams);
             for (BillVoteCode voteCode : billVote.getMemberVotes().keySet()) {
                 voteParams.addValue("voteCode", voteCode.name().toLowerCase());
                 for (Member member : billVote.getMembersByVote(voteCode)) {
-                    voteParams.addValue("sessionMemberId", member.getSessionMemberId());
-                    voteParams.addValue("memberShortName", member.getLbdcShortName());
-                    jdbcNamed.update(SqlBillQuery.INSERT_BILL_VOTES_ROLL.getSql(schema()), voteParams);
+                    // Each roll row needs its own param source since the batch is executed later
+                    MapSqlParameterSource rollParams = new MapSqlParameterSource(voteParams.getValues())
+                        .addValue("sessionMemberId", member.getSessionMemberId())
+                        .addValue("memberShortName", member.getLbdcShortName());
+                    batch.add(SqlBillQuery.INSERT_BILL_VOTES_ROLL, rollParams);
                 }
             }
         }
     }
 
+    /**
+     * Fetches the stored rows of the given bills for each section that is modified on at least one of them.
+     */
+    private ExistingBillRows getExistingRows(List<Bill> bills) {
+        ExistingBillRows existing = new ExistingBillRows();
+        if (bills.isEmpty()) {
+            return existing;
+        }
+        final ImmutableParams params = ImmutableParams.from(
+            getBaseBillIdsParams(bills.stream().map(Bill::getBaseBillId).collect(toList())));
+        if (isModified(bills, BillAmendmentSection.SAME_AS)) {
+            existing.sameAs = queryByAmendment(SqlBillQuery.SELECT_BILL_SAME_AS_BULK, params, new BillSameAsRowMapper());
+        }
+        if (isModified(bills, BillAmendmentSection.COSPONSORS)) {
+            existing.coSponsors = queryByAmendment(SqlBillQuery.SELECT_BILL_COSPONSORS_BULK, params,
+                                                   new BillMemberRowMapper(memberService));
+        }
+        if (isModified(bills, BillAmendmentSection.MULTISPONSORS)) {
+            existing.multiSponsors = queryByAmendment(SqlBillQuery.SELECT_BILL_MULTISPONSORS_BULK, params,
+                                                      new BillMemberRowMapper(memberService));
+        }
+        if (isModified(bills, BillAmendmentSection.VOTES)) {
+            BillVoteRowHandler voteHandler = new BillVoteRowHandler(memberService);
+            jdbcNamed.query(SqlBillQuery.SELECT_BILL_VOTES_BULK.getSql(schema()), params, voteHandler);
+            existing.votes = Multimaps.index(voteHandler.getBillVotes(), BillVote::getBillId);
+        }
+        if (isModified(bills, BillSection.PUBLISH_STATUS)) {
+            jdbcNamed.query(SqlBillQuery.SELECT_BILL_AMEND_PUBLISH_STATUSES_BULK.getSql(schema()), params,
+                            existing.publishStatuses);
+        }
+        if (isModified(bills, BillSection.MILESTONES)) {
+            existing.milestones = queryByBill(SqlBillQuery.GET_BILL_MILESTONES_BULK, params, new BillMilestoneRowMapper());
+        }
+        if (isModified(bills, BillSection.ACTIONS)) {
+            existing.actions = queryByBill(SqlBillQuery.SELECT_BILL_ACTIONS_BULK, params, new BillActionRowMapper());
+        }
+        if (isModified(bills, BillSection.PREVIOUS_VERSIONS)) {
+            existing.prevVersions = queryByBill(SqlBillQuery.SELECT_BILL_PREVIOUS_VERSIONS_BULK, params,
+                                                new BillPreviousVersionRowMapper());
+        }
+        if (isModified(bills, BillSection.COMMITTEES)) {
+            existing.committees = queryByBill(SqlBillQuery.SELECT_BILL_COMMITTEES_BULK, params, new BillCommitteeRowMapper());
+        }
+        return existing;
+    }
+
+    private static boolean isModified(List<Bill> bills, BillSection section) {
+        return bills.stream().anyMatch(bill -> bill.isModified(section));
+    }
+
+    private static boolean isModified(List<Bill> bills, BillAmendmentSection section) {
+        return bills.stream()
+            .flatMap(bill -> bill.getAmendmentList().stream())
+            .anyMatch(amendment -> amendment.isModified(section));
+    }
+
+    /**
+     * Runs a bulk query and groups the mapped rows by the base bill id of each row.
+     */
+    private <T> ListMultimap<BaseBillId, T> queryByBill(SqlBillQuery query, ImmutableParams params, RowMapper<T> rowMapper) {
+        ListMultimap<BaseBillId, T> results = ArrayListMultimap.create();
+        jdbcNamed.query(query.getSql(schema()), params, (RowCallbackHandler) rs ->
+            results.put(new BaseBillId(rs.getString("bill_print_no"), rs.getInt("bill_session_year")),
+                        rowMapper.mapRow(rs, rs.getRow())));
+        return results;
+    }
+
+    /**
+     * Runs a bulk query and groups the mapped rows by the amendment bill id of each row.
+     */
+    private <T> ListMultimap<BillId, T> queryByAmendment(SqlBillQuery query, ImmutableParams params, RowMapper<T> rowMapper) {
+        ListMultimap<BillId, T> results = ArrayListMultimap.create();
+        jdbcNamed.query(query.getSql(schema()), params, (RowCallbackHandler) rs ->
+            results.put(new BillId(rs.getString("bill_print_no"), rs.getInt("bill_session_year"),
+                                   rs.getString("bill_amend_version")),
+                        rowMapper.mapRow(rs, rs.getRow())));
+        return results;
+    }
+
+    /**
+     * Sends each statement collected in the batch to the database as a single JDBC batch. Statements are executed
+     * in the order given by {@link #BATCH_WRITE_ORDER}. Statements that have an entry in {@link #BATCH_UPSERTS} are
+     * treated as upserts where the rows that were not matched by the update are inserted afterwards.
+     */
+    private void executeBatch(BillUpdateBatch batch) {
+        for (SqlBillQuery query : BATCH_WRITE_ORDER) {
+            List<SqlParameterSource> params = batch.get(query);
+            if (params.isEmpty()) {
+                continue;
+            }
+            if (BATCH_UPSERTS.containsKey(query)) {
+                batchUpsert(query, BATCH_UPSERTS.get(query), params);
+            }
+            else {
+                jdbcNamed.batchUpdate(query.getSql(schema()), params.toArray(new SqlParameterSource[params.size()]));
+            }
+            logger.trace("Batched {} {} statements", params.size(), query);
+        }
+    }
+
     /** --- Helper Classes --- */
 
+    /**
+     * The stored rows of the bills being updated, keyed by base bill id or amendment id. Sections that were
+     * not fetched are left empty.
+     */
+    protected static class ExistingBillRows
+    {
+        private ListMultimap<BillId, BillId> sameAs = ImmutableListMultimap.of();
+        private ListMultimap<BillId, Member> coSponsors = ImmutableListMultimap.of();
+        private ListMultimap<BillId, Member> multiSponsors = ImmutableListMultimap.of();
+        private ListMultimap<BillId, BillVote> votes = ImmutableListMultimap.of();
+        private BulkPublishStatusHandler publishStatuses = new BulkPublishStatusHandler();
+        private ListMultimap<BaseBillId, BillStatus> milestones = ImmutableListMultimap.of();
+        private ListMultimap<BaseBillId, BillAction> actions = ImmutableListMultimap.of();
+        private ListMultimap<BaseBillId, BillId> prevVersions = ImmutableListMultimap.of();
+        private ListMultimap<BaseBillId, CommitteeVersionId> committees = ImmutableListMultimap.of();
+    }
+
+    /**
+     * Collects the write statements for one or more bill updates so they can be sent as one batch per statement.
+     */
+    protected static class BillUpdateBatch
+    {
+        private final Map<SqlBillQuery, List<SqlParameterSource>> statements = new EnumMap<>(SqlBillQuery.class);
+
+        public void add(SqlBillQuery query, SqlParameterSource params) {
+            statements.computeIfAbsent(query, q -> new ArrayList<>()).add(params);
+        }
+
+        public List<SqlParameterSource> get(SqlBillQuery query) {
+            return statements.getOrDefault(query, Collections.emptyList());
+        }
+    }
+
     private static class BillRowMapper implements RowMapper<Bill>
     {
         @Override
@@ -690,6 +1007,54 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
         }
     }
 
+    private static class BulkPublishStatusHandler implements RowCallbackHandler
+    {
+        Map<BaseBillId, TreeMap<Version, PublishStatus>> publishStatusMaps = new HashMap<>();
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            BaseBillId baseBillId = new BaseBillId(rs.getString("bill_print_no"), rs.getInt("bill_session_year"));
+            PublishStatus pubStatus = new PublishStatus(
+                rs.getBoolean("published"), getLocalDateTimeFromRs(rs, "effect_date_time"),
+                rs.getBoolean("override"), rs.getString("notes"));
+            publishStatusMaps.computeIfAbsent(baseBillId, k -> new TreeMap<>())
+                             .put(Version.of(rs.getString("bill_amend_version")), pubStatus);
+        }
+
+        public TreeMap<Version, PublishStatus> getPublishStatusMap(BaseBillId baseBillId) {
+            return publishStatusMaps.getOrDefault(baseBillId, new TreeMap<>());
+        }
+    }
+
+    private static class BillMilestoneRowMapper implements RowMapper<BillStatus>
+    {
+        @Override
+        public BillStatus mapRow(ResultSet rs, int rowNum) throws SQLException {
+            BillStatus status = new BillStatus(BillStatusType.valueOf(rs.getString("status")), getLocalDateFromRs(rs, "date"));
+            status.setActionSequenceNo(rs.getInt("action_sequence_no"));
+            status.setCommitteeId(getCommitteeIdFromRs(rs));
+            status.setCalendarNo((rs.getInt("cal_no") != 0) ? rs.getInt("cal_no") : null);
+            return status;
+        }
+    }
+
+    private static class CommitteeAgendaIdRowMapper implements RowMapper<CommitteeAgendaId>
+    {
+        @Override
+        public CommitteeAgendaId mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new CommitteeAgendaId(new AgendaId(rs.getInt("agenda_no"), rs.getInt("year")),
+                                         new CommitteeId(Chamber.SENATE, rs.getString("committee_name")));
+        }
+    }
+
+    private static class CalendarIdRowMapper implements RowMapper<CalendarId>
+    {
+        @Override
+        public CalendarId mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new CalendarId(rs.getInt("calendar_no"), rs.getInt("calendar_year"));
+        }
+    }
+
     private static class BillActionRowMapper implements RowMapper<BillAction>
     {
         @Override
@@ -76,7 +76,7 @@ public enum SqlBillQuery implements BasicSqlQuery
     /** --- Bill Text --- */
 
     SELECT_BILL_TEXT(
-        "SELECT bill_print_no, bill_session_year, bill_amend_version, sponsor_memo, full_text \n" +
+        "SELECT bill_print_no, bill_session_year, bill_amend_version, full_text \n" +
         "FROM ${schema}.bill_amendment \n" +
         "WHERE bill_print_no = :printNo AND bill_session_year = :sessionYear"
     ),
@@ -328,6 +328,122 @@ public enum SqlBillQuery implements BasicSqlQuery
         "FROM ${schema}." + SqlTable.CALENDAR_SUP_ENTRY + " cse\n" +
         "JOIN ${schema}." + SqlTable.CALENDAR_SUPPLEMENTAL + " cs ON cse.calendar_sup_id = cs.id\n" +
         "WHERE bill_print_no = :printNo AND bill_session_year = :sessionYear"
+    ),
+
+    /** --- Bulk Retrieval (matches every bill in :billIds) --- */
+
+    SELECT_BILLS_BULK(
+        "SELECT * FROM ${schema}." + SqlTable.BILL + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILL_SPONSORS_BULK(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_SPONSOR + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_ADDTL_BILL_SPONSORS_BULK(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_ADDITIONAL_SPONSOR + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)\n" +
+        "ORDER BY sequence_no ASC"
+    ),
+    SELECT_BILL_AMENDMENTS_BULK(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILL_AMEND_PUBLISH_STATUSES_BULK(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_PUBLISH_STATUS + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILL_COSPONSORS_BULK(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_COSPONSOR + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)\n" +
+        "ORDER BY sequence_no ASC"
+    ),
+    SELECT_BILL_MULTISPONSORS_BULK(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_MULTISPONSOR + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)\n" +
+        "ORDER BY sequence_no ASC"
+    ),
+    SELECT_BILL_VOTES_BULK(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_VOTE_INFO + " info \n" +
+        "JOIN ${schema}." + SqlTable.BILL_AMENDMENT_VOTE_ROLL + " roll ON info.id = roll.vote_id\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILL_ACTIONS_BULK(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_ACTION + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)\n" +
+        "ORDER BY sequence_no ASC"
+    ),
+    SELECT_BILL_SAME_AS_BULK(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_SAME_AS + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILL_COMMITTEES_BULK(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_COMMITTEE + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILL_PREVIOUS_VERSIONS_BULK(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_PREVIOUS_VERSION + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_ALL_BILL_PREVIOUS_VERSIONS_BULK(
+        "WITH RECURSIVE prev_version(root_print_no, root_session_year, bill_id, amend_version, session_year) AS ( \n" +
+        "    SELECT bill_print_no, bill_session_year, prev_bill_print_no, prev_amend_version, prev_bill_session_year \n" +
+        "    FROM ${schema}.bill_previous_version \n" +
+        "    WHERE (bill_print_no, bill_session_year) IN (:billIds) \n" +
+        "    UNION \n" +
+        "    SELECT root_print_no, root_session_year, prev_bill_print_no, prev_amend_version, prev_bill_session_year \n" +
+        "    FROM prev_version, ${schema}.bill_previous_version \n" +
+        "    WHERE bill_print_no = bill_id AND bill_session_year = session_year) \n" +
+        "SELECT root_print_no AS bill_print_no, root_session_year AS bill_session_year, \n" +
+        "       bill_id AS prev_bill_print_no, amend_version AS prev_amend_version, " +
+        "       session_year AS prev_bill_session_year \n" +
+        "FROM prev_version"
+    ),
+    GET_BILL_MILESTONES_BULK(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_MILESTONE + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)\n" +
+        "ORDER BY rank ASC"
+    ),
+    SELECT_COMM_AGENDA_IDS_BULK(
+        "SELECT aici.bill_print_no, aici.bill_session_year, aic.agenda_no, aic.year, aic.committee_name \n" +
+        "FROM ${schema}." + SqlTable.AGENDA_INFO_COMMITTEE_ITEM + " aici\n" +
+        "JOIN ${schema}." + SqlTable.AGENDA_INFO_COMMITTEE + " aic ON aici.info_committee_id = aic.id\n" +
+        "WHERE (aici.bill_print_no, aici.bill_session_year) IN (:billIds)\n" +
+        "ORDER BY aic.meeting_date_time ASC"
+    ),
+    SELECT_CALENDAR_IDS_BULK(
+        "SELECT cse.bill_print_no, cse.bill_session_year, cs.calendar_no, cs.calendar_year \n" +
+        "FROM ${schema}." + SqlTable.CALENDAR_SUP_ENTRY + " cse\n" +
+        "JOIN ${schema}." + SqlTable.CALENDAR_SUPPLEMENTAL + " cs ON cse.calendar_sup_id = cs.id\n" +
+        "WHERE (cse.bill_print_no, cse.bill_session_year) IN (:billIds)\n" +
+        "ORDER BY cs.calendar_year ASC, cs.calendar_no ASC"
+    ),
+
+    /** --- Last Change (from the bill, calendar and agenda change logs) --- */
+
+    SELECT_BILL_LAST_CHANGE(
+        "SELECT max(action_date_time) AS last_change_date_time\n" +
+        "FROM (\n" +
+        "    SELECT max(bcl.action_date_time) AS action_date_time\n" +
+        "    FROM ${schema}." + SqlTable.BILL_CHANGE_LOG + " bcl\n" +
+        "    WHERE bcl.bill_print_no = :printNo AND bcl.bill_session_year = :sessionYear\n" +
+        "    UNION ALL\n" +
+        "    SELECT max(ccl.action_date_time)\n" +
+        "    FROM ${schema}." + SqlTable.CALENDAR_CHANGE_LOG + " ccl\n" +
+        "    WHERE (ccl.calendar_no, ccl.calendar_year) IN (\n" +
+        "        SELECT cs.calendar_no, cs.calendar_year\n" +
+        "        FROM ${schema}." + SqlTable.CALENDAR_SUP_ENTRY + " cse\n" +
+        "        JOIN ${schema}." + SqlTable.CALENDAR_SUPPLEMENTAL + " cs ON cse.calendar_sup_id = cs.id\n" +
+        "        WHERE cse.bill_print_no = :printNo AND cse.bill_session_year = :sessionYear)\n" +
+        "    UNION ALL\n" +
+        "    SELECT max(acl.action_date_time)\n" +
+        "    FROM ${schema}." + SqlTable.AGENDA_CHANGE_LOG + " acl\n" +
+        "    WHERE (acl.agenda_no, acl.year) IN (\n" +
+        "        SELECT aic.agenda_no, aic.year\n" +
+        "        FROM ${schema}." + SqlTable.AGENDA_INFO_COMMITTEE_ITEM + " aici\n" +
+        "        JOIN ${schema}." + SqlTable.AGENDA_INFO_COMMITTEE + " aic ON aici.info_committee_id = aic.id\n" +
+        "        WHERE aici.bill_print_no = :printNo AND aici.bill_session_year = :sessionYear)\n" +
+        ") AS changes"
     );
 
     private String sql;
@@ -22,6 +22,7 @@ import java.util.stream.Collectors;
 
 import static gov.nysenate.openleg.dao.bill.data.SqlBillUpdatesQuery.SELECT_BILL_UPDATE_DIGESTS;
 import static gov.nysenate.openleg.dao.bill.data.SqlBillUpdatesQuery.SELECT_BILL_UPDATE_TOKENS;
+import static gov.nysenate.openleg.dao.bill.data.SqlBillUpdatesQuery.SELECT_BILL_UPDATE_TOKENS_FROM_LAST_UPDATE;
 import static gov.nysenate.openleg.dao.bill.data.SqlBillUpdatesQuery.SELECT_UPDATE_DIGESTS_FOR_SPECIFIC_BILL;
 import static gov.nysenate.openleg.model.bill.BillUpdateField.*;
 
@@ -73,7 +74,9 @@ public class SqlBillUpdatesDao extends SqlBaseDao implements BillUpdatesDao
         MapSqlParameterSource params = new MapSqlParameterSource();
         addDateTimeRangeParams(params, dateTimeRange);
 
-        String sqlQuery = getSqlQuery(false, null, type, filter, dateOrder, limOff);
+        String sqlQuery = (isUnfiltered(filter) && isLastUpdateTableCurrent(SqlTable.BILL_LAST_UPDATE, type, dateTimeRange))
+            ? getLastUpdateSqlQuery(type, dateOrder, limOff)
+            : getSqlQuery(false, null, type, filter, dateOrder, limOff);
         PaginatedRowHandler<UpdateToken<BaseBillId>> handler =
             new PaginatedRowHandler<>(limOff, "total_updated", getBillUpdateTokenFromRs);
         jdbcNamed.query(sqlQuery, params, handler);
@@ -132,6 +135,23 @@ public class SqlBillUpdatesDao extends SqlBaseDao implements BillUpdatesDao
         return sqlQuery;
     }
 
+    /**
+     * Generates a query that reads update tokens from the bill last update table instead of grouping the change log.
+     */
+    private String getLastUpdateSqlQuery(UpdateType updateType, SortOrder sortOrder, LimitOffset limOff) {
+        String sqlQuery = SELECT_BILL_UPDATE_TOKENS_FROM_LAST_UPDATE.getSql(
+            schema(), getOrderByForUpdateType(updateType, sortOrder), limOff);
+        return queryReplace(sqlQuery, "dateColumn", getLastUpdateDateColumnForUpdateType(updateType));
+    }
+
+    /**
+     * The last update table doesn't track which fields were changed, so it can only be used when
+     * the updates are not filtered by field.
+     */
+    private static boolean isUnfiltered(BillUpdateField field) {
+        return field == null || !updateMappings.containsKey(field);
+    }
+
     /**
      * Generates a sql fragment to be used in the 'where clause' based on the BillUpdateField.
      * E.g. given BillUpdateField.STATUS, it will return something like "table_name = 'bill' AND defined(data, 'status')"
@@ -31,6 +31,13 @@ public enum SqlBillUpdatesQuery implements BasicSqlQuery
             "GROUP BY bill_print_no, bill_session_year")
     ),
 
+    SELECT_BILL_UPDATE_TOKENS_FROM_LAST_UPDATE(
+        "SELECT bill_print_no, bill_session_year, last_fragment_id, last_processed_date_time,\n" +
+        "       last_published_date_time, COUNT(*) OVER () AS total_updated\n" +
+        "FROM ${schema}." + SqlTable.BILL_LAST_UPDATE + "\n" +
+        "WHERE ${dateColumn} BETWEEN :startDateTime AND :endDateTime\n"
+    ),
+
     SELECT_BILL_UPDATE_DIGESTS(
         String.format(SELECT_BILL_UPDATES_FRAGMENT.sql,
             // Select columns
@@ -10,6 +10,7 @@ import gov.nysenate.openleg.model.bill.VetoMessage;
 import gov.nysenate.openleg.model.bill.VetoType;
 import gov.nysenate.openleg.model.sobi.SobiFragment;
 import gov.nysenate.openleg.util.DateUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataAccessException;
@@ -19,6 +20,8 @@ import org.springframework.stereotype.Repository;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -51,6 +54,24 @@ public class SqlVetoDao extends SqlBaseDao implements VetoDao
         return vetoMap;
     }
 
+    /** @inheritDoc */
+    @Override
+    public Map<BaseBillId, Map<VetoId,VetoMessage>> getBillVetoes(Collection<BaseBillId> baseBillIds) throws DataAccessException {
+        Map<BaseBillId, Map<VetoId,VetoMessage>> billVetoMap = new HashMap<>();
+        if (baseBillIds.isEmpty()) {
+            return billVetoMap;
+        }
+        MapSqlParameterSource params = getBaseBillIdsParams(baseBillIds);
+        OrderBy orderBy = new OrderBy("year", SortOrder.ASC, "veto_number", SortOrder.ASC);
+        List<VetoMessage> vetoMessageList = jdbcNamed.query(
+            SqlVetoQuery.SELECT_BILLS_VETOES_SQL.getSql(schema(), orderBy, LimitOffset.ALL), params, new VetoRowMapper());
+        for (VetoMessage vetoMessage : vetoMessageList) {
+            billVetoMap.computeIfAbsent(vetoMessage.getBillId(), k -> new HashMap<>())
+                       .put(vetoMessage.getVetoId(), vetoMessage);
+        }
+        return billVetoMap;
+    }
+
     /** @inheritDoc */
     @Override
     public void updateVetoMessage(VetoMessage vetoMessage, SobiFragment sobiFragment) throws DataAccessException {
@@ -60,6 +81,14 @@ public class SqlVetoDao extends SqlBaseDao implements VetoDao
         }
     }
 
+    /** @inheritDoc */
+    @Override
+    public void updateVetoMessages(Collection<Pair<VetoMessage, SobiFragment>> vetoMessages) throws DataAccessException {
+        List<MapSqlParameterSource> params = new ArrayList<>();
+        vetoMessages.forEach(veto -> params.add(getVetoParams(veto.getLeft(), veto.getRight())));
+        batchUpsert(SqlVetoQuery.UPDATE_VETO_MESSAGE_SQL, SqlVetoQuery.INSERT_VETO_MESSAGE_SQL, params);
+    }
+
     /** @inheritDoc */
     @Override
     public void deleteVetoMessage(VetoId vetoId) {
@@ -74,6 +103,14 @@ public class SqlVetoDao extends SqlBaseDao implements VetoDao
         jdbcNamed.update(SqlVetoQuery.DELETE_BILL_VETOES.getSql(schema()), params);
     }
 
+    /** @inheritDoc */
+    @Override
+    public void deleteBillVetoes(Collection<BaseBillId> baseBillIds) {
+        if (!baseBillIds.isEmpty()) {
+            jdbcNamed.update(SqlVetoQuery.DELETE_BILLS_VETOES.getSql(schema()), getBaseBillIdsParams(baseBillIds));
+        }
+    }
+
     private class VetoRowMapper implements RowMapper<VetoMessage>
     {
         @Override
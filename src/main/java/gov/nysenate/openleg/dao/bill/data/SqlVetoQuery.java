@@ -13,6 +13,10 @@ public enum SqlVetoQuery implements BasicSqlQuery
         "SELECT * FROM ${schema}." + SqlTable.BILL_VETO + "\n" +
         "WHERE bill_print_no = :printNum AND bill_session_year = :sessionYear" + "\n"
     ),
+    SELECT_BILLS_VETOES_SQL(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_VETO + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)" + "\n"
+    ),
     UPDATE_VETO_MESSAGE_SQL(
         "UPDATE ${schema}." + SqlTable.BILL_VETO + "\n" +
         "SET bill_print_no = :printNum, bill_session_year = :sessionYear, type = CAST(:type AS ${schema}.veto_type), " + "\n" +
@@ -35,6 +39,10 @@ public enum SqlVetoQuery implements BasicSqlQuery
     DELETE_BILL_VETOES(
         "DELETE FROM ${schema}." + SqlTable.BILL_VETO + "\n" +
         "WHERE bill_print_no = :printNum AND bill_session_year = :sessionYear"
+    ),
+    DELETE_BILLS_VETOES(
+        "DELETE FROM ${schema}." + SqlTable.BILL_VETO + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
     )
     ;
 
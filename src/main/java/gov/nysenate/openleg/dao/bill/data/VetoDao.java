@@ -4,8 +4,10 @@ import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.VetoId;
 import gov.nysenate.openleg.model.bill.VetoMessage;
 import gov.nysenate.openleg.model.sobi.SobiFragment;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.dao.DataAccessException;
 
+import java.util.Collection;
 import java.util.Map;
 
 public interface VetoDao
@@ -28,6 +30,15 @@ public interface VetoDao
      */
     public Map<VetoId,VetoMessage> getBillVetoes(BaseBillId baseBillId) throws DataAccessException;
 
+    /**
+     * Retrieves the vetoes for each of the given bills with a single query. Bills without
+     * any vetoes will not have an entry in the returned map.
+     *
+     * @param baseBillIds
+     * @return Map<BaseBillId, Map<VetoId,VetoMessage>>
+     */
+    public Map<BaseBillId, Map<VetoId,VetoMessage>> getBillVetoes(Collection<BaseBillId> baseBillIds) throws DataAccessException;
+
     /**
      * Updates or inserts the given vetoMessage
      *
@@ -37,6 +48,14 @@ public interface VetoDao
      */
     public void updateVetoMessage(VetoMessage vetoMessage, SobiFragment sobiFragment) throws DataAccessException;
 
+    /**
+     * Updates or inserts each of the given veto messages using batched statements
+     *
+     * @param vetoMessages Collection of veto messages paired with the sobi fragment they came from
+     * @throws DataAccessException if there is an error inserting/updating the veto messages
+     */
+    public void updateVetoMessages(Collection<Pair<VetoMessage, SobiFragment>> vetoMessages) throws DataAccessException;
+
     /**
      * Deletes a veto message specified by the given veto id
      * @param vetoId
@@ -49,4 +68,10 @@ public interface VetoDao
      */
     public void deleteBillVetoes(BaseBillId baseBillId);
 
+    /**
+     * Deletes all veto messages for each of the bills designated by the given base bill ids
+     * @param baseBillIds
+     */
+    public void deleteBillVetoes(Collection<BaseBillId> baseBillIds);
+
 }
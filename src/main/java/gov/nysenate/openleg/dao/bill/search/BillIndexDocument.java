@@ -0,0 +1,37 @@
+package gov.nysenate.openleg.dao.bill.search;
+
+import gov.nysenate.openleg.model.bill.BaseBillId;
+
+/**
+ * A bill search document that has already been serialized, along with the version it is indexed with.
+ * It keeps no reference to the bill it was built from, so it can be written to the index on another
+ * thread while that bill continues to be modified.
+ */
+public class BillIndexDocument
+{
+    protected final BaseBillId baseBillId;
+    protected final byte[] json;
+    protected final Long version;
+
+    /** --- Constructors --- */
+
+    public BillIndexDocument(BaseBillId baseBillId, byte[] json, Long version) {
+        this.baseBillId = baseBillId;
+        this.json = json;
+        this.version = version;
+    }
+
+    /** --- Basic Getters --- */
+
+    public BaseBillId getBaseBillId() {
+        return baseBillId;
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
@@ -1,8 +1,10 @@
 package gov.nysenate.openleg.dao.bill.search;
 
+import gov.nysenate.openleg.dao.base.ElasticBulkIndexer;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.search.SearchCursor;
 import gov.nysenate.openleg.model.search.SearchResults;
 import org.elasticsearch.index.query.FilterBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
@@ -28,6 +30,36 @@ public interface BillSearchDao
     public SearchResults<BaseBillId> searchBills(QueryBuilder query, FilterBuilder filter, RescoreBuilder.Rescorer rescorer,
                                                  String sort, LimitOffset limOff);
 
+    /**
+     * Same as {@link #searchBills}, except that the bill info view stored with each matching bill is
+     * returned from the index as well, so that the bills don't have to be looked up afterwards.
+     *
+     * @return SearchResults<IndexedBillInfo>
+     */
+    public SearchResults<IndexedBillInfo> searchBillInfos(QueryBuilder query, FilterBuilder filter, RescoreBuilder.Rescorer rescorer,
+                                                          String sort, LimitOffset limOff);
+
+    /**
+     * Starts scrolling through the bills that match the query, returning the first page along with the stored
+     * bill info and a cursor to the next page. This is meant for paging through large result sets.
+     *
+     * @param query QueryBuilder
+     * @param filter FilterBuilder - Filter result set
+     * @param sort String - Sort String
+     * @param limOff LimitOffset - The limit is the page size, the offset is ignored.
+     * @return SearchResults<IndexedBillInfo>
+     */
+    public SearchResults<IndexedBillInfo> scrollBillInfos(QueryBuilder query, FilterBuilder filter, String sort,
+                                                          LimitOffset limOff);
+
+    /**
+     * Returns the next page of a scroll started with {@link #scrollBillInfos}.
+     *
+     * @param cursor SearchCursor
+     * @return SearchResults<IndexedBillInfo>
+     */
+    public SearchResults<IndexedBillInfo> continueBillScroll(SearchCursor cursor);
+
     /**
      * Update the bill index with the content of the supplied bill.
      *
@@ -42,10 +74,66 @@ public interface BillSearchDao
      */
     public void updateBillIndex(Collection<Bill> bills);
 
+    /**
+     * Serializes the search document for the given bill, so that it can be written to the index later via
+     * {@link #updateBillIndexDocuments(Collection)} regardless of any changes made to the bill in the meantime.
+     *
+     * @param bill Bill
+     * @return BillIndexDocument
+     */
+    public BillIndexDocument getBillIndexDocument(Bill bill);
+
+    /**
+     * Updates the bill index with the supplied serialized search documents.
+     *
+     * @param documents Collection<BillIndexDocument>
+     */
+    public void updateBillIndexDocuments(Collection<BillIndexDocument> documents);
+
     /**
      * Removes the bill from the search index with the given id.
      *
      * @param baseBillId BaseBillId
      */
     public void deleteBillFromIndex(BaseBillId baseBillId);
-}
\ No newline at end of file
+
+    /**
+     * Creates a new, empty bill index to rebuild the bill index into. Bill updates are written into both the
+     * current index and the new one until it is promoted via {@link #promoteBillShadowIndex()}.
+     *
+     * @return String - The name of the new index.
+     */
+    public String createBillShadowIndex();
+
+    /**
+     * Continues writing bill updates into a new bill index that was created by an interrupted rebuild.
+     *
+     * @param indexName String - The name returned by {@link #createBillShadowIndex()}
+     * @return boolean - false if the index no longer exists and the rebuild has to start over.
+     */
+    public boolean resumeBillShadowIndex(String indexName);
+
+    /**
+     * Replaces the current bill index with the rebuilt one.
+     */
+    public void promoteBillShadowIndex();
+
+    /**
+     * Stops writing bill updates into the rebuilt index without promoting it.
+     */
+    public void detachBillShadowIndex();
+
+    /**
+     * @param indexName String - The index to load bills into.
+     * @return ElasticBulkIndexer - A bulk indexer for use with {@link #addToBulkIndex(ElasticBulkIndexer, Collection)}
+     */
+    public ElasticBulkIndexer newBillBulkIndexer(String indexName);
+
+    /**
+     * Converts the given bills into search documents and adds them to the bulk indexer.
+     *
+     * @param bulkIndexer ElasticBulkIndexer
+     * @param bills Collection<Bill>
+     */
+    public void addToBulkIndex(ElasticBulkIndexer bulkIndexer, Collection<Bill> bills);
+}
@@ -0,0 +1,29 @@
+package gov.nysenate.openleg.dao.bill.search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import gov.nysenate.openleg.client.view.bill.BillInfoView;
+import gov.nysenate.openleg.client.view.bill.BillView;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.util.OutputUtils;
+
+/**
+ * The document that is indexed for each bill. It contains every field of the {@link BillView}, laid out the
+ * same way, since the search api documents that any field of a bill response can be searched or sorted on.
+ * The bill text and memos are indexed but are excluded from the stored source by the index mapping.
+ *
+ * The bill info view is also stored, exactly as the api would serialize it, under the 'info' field. That field
+ * is not indexed, it is only there so that bill listings can be returned straight from the search response.
+ */
+public class BillSearchDocument extends BillView
+{
+    protected JsonNode info;
+
+    public BillSearchDocument(Bill bill) {
+        super(bill);
+        this.info = OutputUtils.getJsonMapper().valueToTree(new BillInfoView(bill.getBillInfo()));
+    }
+
+    public JsonNode getInfo() {
+        return info;
+    }
+}
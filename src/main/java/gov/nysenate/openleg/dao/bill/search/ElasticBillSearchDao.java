@@ -1,12 +1,14 @@
 package gov.nysenate.openleg.dao.bill.search;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.Lists;
-import gov.nysenate.openleg.client.view.bill.BillView;
 import gov.nysenate.openleg.dao.base.ElasticBaseDao;
+import gov.nysenate.openleg.dao.base.ElasticBulkIndexer;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SearchIndex;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.search.SearchCursor;
 import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.util.OutputUtils;
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
@@ -21,6 +23,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -38,6 +43,9 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
                       new HighlightBuilder.Field("printNo").numOfFragments(0),
                       new HighlightBuilder.Field("title").numOfFragments(0));
 
+    /** The field of the bill document that holds the stored bill info view. */
+    protected static final String INFO_FIELD = "info";
+
     /** {@inheritDoc} */
     @Override
     public SearchResults<BaseBillId> searchBills(QueryBuilder query, FilterBuilder postFilter, RescoreBuilder.Rescorer rescorer,
@@ -49,6 +57,34 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
         return getSearchResults(response, limOff, this::getBaseBillIdFromHit);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public SearchResults<IndexedBillInfo> searchBillInfos(QueryBuilder query, FilterBuilder postFilter,
+                                                          RescoreBuilder.Rescorer rescorer, String sort, LimitOffset limOff) {
+        SearchRequestBuilder searchBuilder =
+            getSearchRequest(billIndexName, query, postFilter, highlightedFields, rescorer, sort, limOff, false)
+                .setFetchSource(INFO_FIELD, null);
+        SearchResponse response = searchBuilder.execute().actionGet();
+        logger.debug("Bill info search result with query {} took {} ms", query, response.getTookInMillis());
+        return getSearchResults(response, limOff, this::getIndexedBillInfoFromHit);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SearchResults<IndexedBillInfo> scrollBillInfos(QueryBuilder query, FilterBuilder postFilter, String sort,
+                                                          LimitOffset limOff) {
+        SearchRequestBuilder searchBuilder =
+            getSearchRequest(billIndexName, query, postFilter, null, null, sort, limOff, false)
+                .setFetchSource(INFO_FIELD, null);
+        return startScroll(searchBuilder, limOff, this::getIndexedBillInfoFromHit);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SearchResults<IndexedBillInfo> continueBillScroll(SearchCursor cursor) {
+        return continueScroll(cursor, this::getIndexedBillInfoFromHit);
+    }
+
     /** {@inheritDoc} */
     @Override
     public void updateBillIndex(Bill bill) {
@@ -58,14 +94,26 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
     /** {@inheritDoc} */
     @Override
     public void updateBillIndex(Collection<Bill> bills) {
-        if (!bills.isEmpty()) {
+        updateBillIndexDocuments(bills.stream().map(this::getBillIndexDocument).collect(Collectors.toList()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public BillIndexDocument getBillIndexDocument(Bill bill) {
+        return new BillIndexDocument(bill.getBaseBillId(), toSearchDocument(new BillSearchDocument(bill)),
+                                     getDocumentVersion(bill));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void updateBillIndexDocuments(Collection<BillIndexDocument> documents) {
+        if (!documents.isEmpty()) {
             BulkRequestBuilder bulkRequest = searchClient.prepareBulk();
-            List<BillView> billViewList = bills.stream().map(BillView::new).collect(Collectors.toList());
-            billViewList.forEach(b ->
-                bulkRequest.add(
-                    searchClient.prepareIndex(billIndexName, Integer.toString(b.getSession()), b.getBasePrintNo())
-                                .setSource(OutputUtils.toJson(b)))
-            );
+            documents.forEach(doc -> {
+                BaseBillId baseBillId = doc.getBaseBillId();
+                addIndexRequests(bulkRequest, billIndexName, Integer.toString(baseBillId.getSession().getYear()),
+                                 baseBillId.getBasePrintNo(), doc.getJson(), doc.getVersion());
+            });
             safeBulkRequestExecute(bulkRequest);
         }
     }
@@ -78,6 +126,46 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public String createBillShadowIndex() {
+        return createShadowIndex(billIndexName);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean resumeBillShadowIndex(String indexName) {
+        return resumeShadowIndex(billIndexName, indexName);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void promoteBillShadowIndex() {
+        promoteShadowIndex(billIndexName);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void detachBillShadowIndex() {
+        detachShadowIndex(billIndexName);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ElasticBulkIndexer newBillBulkIndexer(String indexName) {
+        return newBulkIndexer(indexName);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void addToBulkIndex(ElasticBulkIndexer bulkIndexer, Collection<Bill> bills) {
+        bills.forEach(bill -> {
+            BillSearchDocument b = new BillSearchDocument(bill);
+            bulkIndexer.index(Integer.toString(b.getSession()), b.getBasePrintNo(), toSearchDocument(b),
+                              getDocumentVersion(bill));
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -86,7 +174,36 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
         return Lists.newArrayList(billIndexName);
     }
 
+    /**
+     * Bill documents are versioned by the bill's modified date time so that a document built from an older
+     * copy of a bill (e.g. by a long running reindex) never replaces one built from a newer copy.
+     *
+     * @return Long - epoch millis of the modified date time, or null if the bill has none, in which case the
+     *                document is indexed with internal versioning and replaces whatever copy is indexed.
+     */
+    protected static Long getDocumentVersion(Bill bill) {
+        LocalDateTime modified = bill.getModifiedDateTime();
+        return (modified != null) ? modified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : null;
+    }
+
     protected BaseBillId getBaseBillIdFromHit(SearchHit hit) {
         return new BaseBillId(hit.getId(), Integer.parseInt(hit.getType()));
     }
+
+    /**
+     * The source is read with jackson rather than through {@link SearchHit#getSource()} so that the field order
+     * of the stored view is kept.
+     */
+    protected IndexedBillInfo getIndexedBillInfoFromHit(SearchHit hit) {
+        JsonNode info = null;
+        if (!hit.isSourceEmpty()) {
+            try {
+                info = OutputUtils.getJsonMapper().readTree(hit.source()).get(INFO_FIELD);
+            }
+            catch (IOException ex) {
+                logger.warn("Could not read the stored bill info for {}", hit.getId(), ex);
+            }
+        }
+        return new IndexedBillInfo(getBaseBillIdFromHit(hit), info);
+    }
 }
\ No newline at end of file
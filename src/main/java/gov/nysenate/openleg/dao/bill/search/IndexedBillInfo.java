@@ -0,0 +1,33 @@
+package gov.nysenate.openleg.dao.bill.search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+
+import java.util.Optional;
+
+/**
+ * A bill search hit along with the bill info view that was stored in the index for it, if any.
+ * Documents indexed before the info was stored won't have it.
+ */
+public class IndexedBillInfo
+{
+    protected final BaseBillId baseBillId;
+    protected final JsonNode info;
+
+    /** --- Constructors --- */
+
+    public IndexedBillInfo(BaseBillId baseBillId, JsonNode info) {
+        this.baseBillId = baseBillId;
+        this.info = info;
+    }
+
+    /** --- Basic Getters --- */
+
+    public BaseBillId getBaseBillId() {
+        return baseBillId;
+    }
+
+    public Optional<JsonNode> getInfo() {
+        return Optional.ofNullable(info);
+    }
+}
@@ -4,12 +4,11 @@ import com.google.common.collect.Lists;
 import gov.nysenate.openleg.client.view.calendar.*;
 import gov.nysenate.openleg.dao.base.ElasticBaseDao;
 import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.dao.base.SearchIndex;
 import gov.nysenate.openleg.model.calendar.Calendar;
 import gov.nysenate.openleg.model.calendar.CalendarId;
 import gov.nysenate.openleg.model.search.SearchResults;
-import gov.nysenate.openleg.util.OutputUtils;
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
-import org.elasticsearch.action.index.IndexRequestBuilder;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.index.query.FilterBuilder;
@@ -34,7 +33,7 @@ public class ElasticCalendarSearchDao extends ElasticBaseDao implements Calendar
 
     /** --- Index Names --- */
 
-    protected static final String calIndexName = "calendars";
+    protected static final String calIndexName = SearchIndex.CALENDAR.getIndexName();
 
     /** --- Implementations --- */
 
@@ -68,7 +67,7 @@ public class ElasticCalendarSearchDao extends ElasticBaseDao implements Calendar
     @Override
     public void deleteCalendarFromIndex(CalendarId calId) {
         if (calId != null) {
-            searchClient.prepareDeleteByQuery(calIndexName)
+            searchClient.prepareDeleteByQuery(getWriteIndices(calIndexName).toArray(new String[0]))
                     .setTypes(Integer.toString(calId.getYear()))
                     .setQuery(QueryBuilders.matchQuery("calendarNumber", Integer.toString(calId.getCalNo())))
                     .execute().actionGet();
@@ -96,19 +95,9 @@ public class ElasticCalendarSearchDao extends ElasticBaseDao implements Calendar
     protected void addCalToBulkRequest(Calendar calendar, BulkRequestBuilder bulkRequest) {
         logger.info("Preparing to index {}", calendar);
         CalendarView calendarView = calendarViewFactory.getCalendarView(calendar);
-        bulkRequest.add(getCalendarIndexRequest(calendarView));
-    }
-
-    /**
-     * Generates an index update request from a calendar view
-     *
-     * @param calendarView
-     * @return
-     */
-    protected IndexRequestBuilder getCalendarIndexRequest(CalendarView calendarView) {
-        return searchClient.prepareIndex(calIndexName,
-                Integer.toString(calendarView.getYear()), Integer.toString(calendarView.getCalendarNumber()))
-                .setSource(OutputUtils.toJson(calendarView));
+        addIndexRequests(bulkRequest, calIndexName,
+                Integer.toString(calendarView.getYear()), Integer.toString(calendarView.getCalendarNumber()),
+                toSearchDocument(calendarView));
     }
 
     /** --- Id Mappers --- */
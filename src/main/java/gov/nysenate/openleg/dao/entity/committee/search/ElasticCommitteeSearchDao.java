@@ -4,15 +4,14 @@ import com.google.common.collect.Lists;
 import gov.nysenate.openleg.client.view.committee.CommitteeView;
 import gov.nysenate.openleg.dao.base.ElasticBaseDao;
 import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.dao.base.SearchIndex;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.entity.*;
 import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.service.entity.committee.data.CommitteeDataService;
-import gov.nysenate.openleg.util.OutputUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
 import org.elasticsearch.action.deletebyquery.DeleteByQueryRequestBuilder;
-import org.elasticsearch.action.index.IndexRequestBuilder;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.index.query.FilterBuilder;
@@ -39,7 +38,7 @@ public class ElasticCommitteeSearchDao extends ElasticBaseDao implements Committ
 
     private static final Logger logger = LoggerFactory.getLogger(ElasticCommitteeSearchDao.class);
 
-    private static final String committeeSearchIndexName = "committees";
+    private static final String committeeSearchIndexName = SearchIndex.COMMITTEE.getIndexName();
 
     private static final Pattern committeeSearchIdPattern =
             Pattern.compile("(SENATE|ASSEMBLY)-([A-z, ]*)-(.*)");
@@ -94,7 +93,7 @@ public class ElasticCommitteeSearchDao extends ElasticBaseDao implements Committ
      * @return
      */
     protected DeleteByQueryRequestBuilder getCommitteeDeleteRequest(CommitteeSessionId committeeSessionId) {
-        return searchClient.prepareDeleteByQuery(committeeSearchIndexName)
+        return searchClient.prepareDeleteByQuery(getWriteIndices(committeeSearchIndexName).toArray(new String[0]))
                 .setTypes(Integer.toString(committeeSessionId.getSession().getYear()))
                 .setQuery(QueryBuilders.filteredQuery( QueryBuilders.matchAllQuery(),
                         FilterBuilders.boolFilter()
@@ -111,24 +110,23 @@ public class ElasticCommitteeSearchDao extends ElasticBaseDao implements Committ
     protected void committeeHistoryIndexBulkAdd(CommitteeSessionId committeeSessionId, BulkRequestBuilder bulkRequest) {
         try {
             committeeDataService.getCommitteeHistory(committeeSessionId).stream()
-                    .map(this::getCommitteeVersionIndexRequest)
-                    .forEach(bulkRequest::add);
+                    .forEach(committee -> addCommitteeVersionIndexRequests(committee, bulkRequest));
         } catch (CommitteeNotFoundEx ex) {
             logger.warn(ExceptionUtils.getStackTrace(ex));
         }
     }
 
     /**
-     * Generates an index request for a single committee version
+     * Adds index requests for a single committee version to the given bulk request
      *
      * @param committee
-     * @return
+     * @param bulkRequest
      */
-    protected IndexRequestBuilder getCommitteeVersionIndexRequest(Committee committee) {
-        return searchClient.prepareIndex(committeeSearchIndexName,
+    protected void addCommitteeVersionIndexRequests(Committee committee, BulkRequestBuilder bulkRequest) {
+        addIndexRequests(bulkRequest, committeeSearchIndexName,
                 Integer.toString(committee.getSession().getYear()),
-                generateCommitteeVersionSearchId(committee.getVersionId()))
-                .setSource(OutputUtils.toJson(new CommitteeView(committee)));
+                generateCommitteeVersionSearchId(committee.getVersionId()),
+                toSearchDocument(new CommitteeView(committee)));
     }
 
     /**
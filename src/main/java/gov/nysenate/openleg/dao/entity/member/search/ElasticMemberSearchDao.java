@@ -8,7 +8,6 @@ import gov.nysenate.openleg.dao.base.SearchIndex;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.entity.Member;
 import gov.nysenate.openleg.model.search.SearchResults;
-import gov.nysenate.openleg.util.OutputUtils;
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
@@ -53,10 +52,10 @@ public class ElasticMemberSearchDao extends ElasticBaseDao implements MemberSear
             BulkRequestBuilder bulkRequest = searchClient.prepareBulk();
             List<MemberView> memberViewList = members.stream().map(MemberView::new).collect(Collectors.toList());
             memberViewList.forEach(m ->
-                            bulkRequest.add(searchClient.prepareIndex(memberIndexName,
+                            addIndexRequests(bulkRequest, memberIndexName,
                                     String.valueOf(m.getSessionYear()),
-                                    String.valueOf(m.getMemberId()))
-                                    .setSource(OutputUtils.toJson(m)))
+                                    String.valueOf(m.getMemberId()),
+                                    toSearchDocument(m))
             );
             safeBulkRequestExecute(bulkRequest);
         }
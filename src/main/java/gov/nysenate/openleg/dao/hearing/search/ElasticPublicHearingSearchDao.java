@@ -8,7 +8,6 @@ import gov.nysenate.openleg.dao.base.SearchIndex;
 import gov.nysenate.openleg.model.hearing.PublicHearing;
 import gov.nysenate.openleg.model.hearing.PublicHearingId;
 import gov.nysenate.openleg.model.search.SearchResults;
-import gov.nysenate.openleg.util.OutputUtils;
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
@@ -59,8 +58,8 @@ public class ElasticPublicHearingSearchDao extends ElasticBaseDao implements Pub
             BulkRequestBuilder bulkRequest = searchClient.prepareBulk();
             List<PublicHearingView> publicHearingViews = publicHearings.stream().map(PublicHearingView::new).collect(Collectors.toList());
             publicHearingViews.forEach(ph ->
-                    bulkRequest.add(searchClient.prepareIndex(publicHearingIndexName, "hearings", ph.getFilename())
-                            .setSource(OutputUtils.toJson(ph)))
+                    addIndexRequests(bulkRequest, publicHearingIndexName, "hearings", ph.getFilename(),
+                                     toSearchDocument(ph))
             );
             safeBulkRequestExecute(bulkRequest);
         }
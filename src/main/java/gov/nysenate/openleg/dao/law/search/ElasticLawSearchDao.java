@@ -7,7 +7,6 @@ import gov.nysenate.openleg.dao.base.SearchIndex;
 import gov.nysenate.openleg.model.law.LawDocId;
 import gov.nysenate.openleg.model.law.LawDocument;
 import gov.nysenate.openleg.model.search.SearchResults;
-import gov.nysenate.openleg.util.OutputUtils;
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
@@ -61,9 +60,8 @@ public class ElasticLawSearchDao extends ElasticBaseDao implements LawSearchDao
         if (lawDocs != null && !lawDocs.isEmpty()) {
             BulkRequestBuilder bulkRequest = searchClient.prepareBulk();
             lawDocs.stream().map(doc -> new LawDocView(doc)).forEach(docView -> {
-                bulkRequest.add(
-                    searchClient.prepareIndex(lawIndexName, docView.getLawId(), createSearchId(docView))
-                                .setSource(OutputUtils.toJson(docView)));
+                addIndexRequests(bulkRequest, lawIndexName, docView.getLawId(), createSearchId(docView),
+                                 toSearchDocument(docView));
             });
             safeBulkRequestExecute(bulkRequest);
         }
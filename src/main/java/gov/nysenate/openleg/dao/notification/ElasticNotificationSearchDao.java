@@ -12,7 +12,6 @@ import gov.nysenate.openleg.model.search.ClearIndexEvent;
 import gov.nysenate.openleg.model.search.RebuildIndexEvent;
 import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.service.base.search.IndexedSearchService;
-import gov.nysenate.openleg.util.OutputUtils;
 import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
@@ -60,7 +59,7 @@ public class ElasticNotificationSearchDao extends ElasticBaseDao implements Noti
     public RegisteredNotification registerNotification(Notification notification) {
         RegisteredNotification regNotification = new RegisteredNotification(notification, getNextId());
         searchClient.prepareIndex(notificationIndex, notificationType, Long.toString(regNotification.getId()))
-                .setSource(OutputUtils.toJson(new NotificationView(regNotification)))
+                .setSource(toSearchDocument(new NotificationView(regNotification)))
                 .execute().actionGet();
         return regNotification;
     }
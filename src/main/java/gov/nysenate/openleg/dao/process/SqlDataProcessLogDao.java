@@ -13,6 +13,7 @@ import org.springframework.jdbc.core.SingleColumnRowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.stereotype.Repository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 import static gov.nysenate.openleg.dao.process.SqlDataProcessLogQuery.*;
@@ -81,6 +82,8 @@ public class SqlDataProcessLogDao extends SqlBaseDao implements DataProcessLogDa
             rs.getString("invoked_by"));
         run.setEndDateTime(getLocalDateTimeFromRs(rs, "process_end_date_time"));
         run.getExceptions().append(rs.getString("exceptions"));
+        run.setIngestedCount(rs.getInt("ingested_count"));
+        run.setIngestDuration(Duration.ofMillis(rs.getLong("ingest_millis")));
         return run;
     };
 
@@ -100,7 +103,9 @@ public class SqlDataProcessLogDao extends SqlBaseDao implements DataProcessLogDa
             .addValue("startDateTime", toDate(run.getStartDateTime()))
             .addValue("endDateTime", toDate(run.getEndDateTime()))
             .addValue("invokedBy", run.getInvokedBy())
-            .addValue("exceptions", run.getExceptions().toString());
+            .addValue("exceptions", run.getExceptions().toString())
+            .addValue("ingestedCount", run.getIngestedCount())
+            .addValue("ingestMillis", run.getIngestDuration().toMillis());
     }
 
     private MapSqlParameterSource getDataProcessUnitParams(int processId, DataProcessUnit unit) {
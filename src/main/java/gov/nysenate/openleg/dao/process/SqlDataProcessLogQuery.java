@@ -6,14 +6,15 @@ import gov.nysenate.openleg.dao.base.SqlTable;
 public enum SqlDataProcessLogQuery implements BasicSqlQuery
 {
     SELECT_DATA_PROCESS_RUN(
-        "SELECT id, process_start_date_time, process_end_date_time, invoked_by, exceptions\n" +
+        "SELECT id, process_start_date_time, process_end_date_time, invoked_by, exceptions,\n" +
+        "       ingested_count, ingest_millis\n" +
         "FROM ${schema}." + SqlTable.DATA_PROCESS_RUN + "\n" +
         "WHERE id = :processId"
     ),
 
     SELECT_DATA_PROCESS_RUNS_DURING(
         "SELECT id, process_start_date_time, process_end_date_time, invoked_by, exceptions, " +
-        "       COUNT(id) OVER () AS total_count\n" +
+        "       ingested_count, ingest_millis, COUNT(id) OVER () AS total_count\n" +
         "FROM ${schema}." + SqlTable.DATA_PROCESS_RUN + "\n" +
         "WHERE (process_start_date_time BETWEEN :startDateTime AND :endDateTime)"
     ),
@@ -27,14 +28,15 @@ public enum SqlDataProcessLogQuery implements BasicSqlQuery
 
     INSERT_DATA_PROCESS_RUN(
         "INSERT INTO ${schema}." + SqlTable.DATA_PROCESS_RUN + "\n" +
-        "(process_start_date_time, process_end_date_time, invoked_by, exceptions)\n" +
-        "VALUES (:startDateTime, :endDateTime, :invokedBy, :exceptions)\n" +
+        "(process_start_date_time, process_end_date_time, invoked_by, exceptions, ingested_count, ingest_millis)\n" +
+        "VALUES (:startDateTime, :endDateTime, :invokedBy, :exceptions, :ingestedCount, :ingestMillis)\n" +
         "RETURNING id"
     ),
     UPDATE_DATA_PROCESS_RUN(
         "UPDATE ${schema}." + SqlTable.DATA_PROCESS_RUN + "\n" +
         "SET process_start_date_time = :startDateTime, process_end_date_time = :endDateTime, \n" +
-        "    invoked_by = :invokedBy, exceptions = :exceptions\n" +
+        "    invoked_by = :invokedBy, exceptions = :exceptions, \n" +
+        "    ingested_count = :ingestedCount, ingest_millis = :ingestMillis\n" +
         "WHERE id = :id"
     ),
 
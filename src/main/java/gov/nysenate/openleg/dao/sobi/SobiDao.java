@@ -142,4 +142,13 @@ public interface SobiDao
      * @param fragment SobiFragment
      */
     public void updateSobiFragment(SobiFragment fragment);
-}
\ No newline at end of file
+
+    /**
+     * Records the SobiFile along with all of the fragments that were extracted from it in a single
+     * transaction, so the file is never recorded without its fragments.
+     *
+     * @param sobiFile SobiFile - The SobiFile instance to be updated.
+     * @param fragments List<SobiFragment> - The fragments extracted from the sobi file.
+     */
+    public void updateSobiFileAndFragments(SobiFile sobiFile, List<SobiFragment> fragments);
+}
@@ -13,6 +13,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.annotation.PostConstruct;
 import java.io.File;
@@ -190,6 +191,14 @@ public class SqlFsSobiDao extends SqlBaseDao implements SobiDao
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    @Transactional
+    public void updateSobiFileAndFragments(SobiFile sobiFile, List<SobiFragment> fragments) {
+        updateSobiFile(sobiFile);
+        fragments.forEach(this::updateSobiFragment);
+    }
+
     /** --- Helper Classes --- */
 
     /**
@@ -8,7 +8,6 @@ import gov.nysenate.openleg.dao.base.SearchIndex;
 import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.model.transcript.Transcript;
 import gov.nysenate.openleg.model.transcript.TranscriptId;
-import gov.nysenate.openleg.util.OutputUtils;
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
@@ -57,9 +56,8 @@ public class ElasticTranscriptSearchDao extends ElasticBaseDao implements Transc
             BulkRequestBuilder bulkRequest = searchClient.prepareBulk();
             List<TranscriptView> transcriptViewList = transcripts.stream().map(TranscriptView::new).collect(Collectors.toList());
             transcriptViewList.forEach(t ->
-                            bulkRequest.add(
-                                    searchClient.prepareIndex(transcriptIndexName, "transcripts", t.getFilename())
-                                            .setSource(OutputUtils.toJson(t)))
+                            addIndexRequests(bulkRequest, transcriptIndexName, "transcripts", t.getFilename(),
+                                             toSearchDocument(t))
             );
             safeBulkRequestExecute(bulkRequest);
         }
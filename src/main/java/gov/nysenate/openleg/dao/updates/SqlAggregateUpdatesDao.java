@@ -22,7 +22,10 @@ public class SqlAggregateUpdatesDao extends SqlBaseDao implements AggregateUpdat
     public PaginatedList<UpdateToken<Map<String, String>>> getUpdateTokens(Range<LocalDateTime> dateTimeRange,
                                                                            Set<UpdateContentType> types, UpdateType updateType,
                                                                            SortOrder order, LimitOffset limitOffset) {
-        String query = buildQuery(schema(), limitOffset, order, types, UpdateReturnType.TOKEN, updateType);
+        boolean useLastUpdateTables = types.stream()
+            .allMatch(type -> isLastUpdateTableCurrent(getLastUpdateTable(type), updateType, dateTimeRange));
+        String query = buildQuery(schema(), limitOffset, order, types, UpdateReturnType.TOKEN, updateType,
+                                  useLastUpdateTables);
         PaginatedRowHandler<UpdateToken<Map<String, String>>> rowHandler =
                 new PaginatedRowHandler<>(limitOffset, "total_updated", aggregateUpdateTokenRowMapper);
         jdbcNamed.query(query, getDateTimeRangeParams(dateTimeRange), rowHandler);
@@ -9,6 +9,7 @@ import org.apache.commons.lang3.text.StrSubstitutor;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 public enum SqlAggregateUpdatesQuery implements BasicSqlQuery {
 
@@ -36,6 +37,14 @@ public enum SqlAggregateUpdatesQuery implements BasicSqlQuery {
         "MAX(%s) AS last_source_id, MAX(action_date_time) AS last_processed_date_time, \n" +
         "\t\tMAX(published_date_time) AS last_published_date_time"
     ),
+    /** Reads the latest change of each item from a last update table, in the same shape as the token subqueries */
+    STANDARD_LAST_UPDATE_SUBQUERY(
+        "\tSELECT %s AS id,\n" +            // id selector
+        "\t\t'%s' as content_type, %s AS last_source_id,\n" + // content type, source id column
+        "\t\tlast_processed_date_time, last_published_date_time\n" +
+        "\tFROM ${schema}.%s\n" +           // table name
+        "\tWHERE ${lastUpdateDateColumn} BETWEEN :startDateTime AND :endDateTime"
+    ),
     SOBI_DIGEST_COLUMNS(
         String.format(STANDARD_DIGEST_COLUMNS.sql, "sobi_fragment_id")
     ),
@@ -56,6 +65,11 @@ public enum SqlAggregateUpdatesQuery implements BasicSqlQuery {
     AGENDA_UPDATE_TOKEN_SUBQUERY(
         AGENDA_UPDATE_SUBQUERY.sql + "\n\tGROUP BY agenda_no, year"
     ),
+    AGENDA_LAST_UPDATE_SUBQUERY(
+        String.format(STANDARD_LAST_UPDATE_SUBQUERY.sql,
+            "ARRAY['agendaNumber', agenda_no::text, 'year', year::text]",
+            "AGENDA", "last_fragment_id", SqlTable.AGENDA_LAST_UPDATE)
+    ),
 
     /** --- Bill Update Subquery --- */
 
@@ -67,6 +81,11 @@ public enum SqlAggregateUpdatesQuery implements BasicSqlQuery {
     BILL_UPDATE_TOKEN_SUBQUERY(
         BILL_UPDATE_SUBQUERY.sql + "\n\tGROUP BY bill_print_no, bill_session_year"
     ),
+    BILL_LAST_UPDATE_SUBQUERY(
+        String.format(STANDARD_LAST_UPDATE_SUBQUERY.sql,
+            "ARRAY['printNo', bill_print_no, 'session', bill_session_year::text]",
+            "BILL", "last_fragment_id", SqlTable.BILL_LAST_UPDATE)
+    ),
 
     /** --- Calendar Update Subquery --- */
 
@@ -78,6 +97,11 @@ public enum SqlAggregateUpdatesQuery implements BasicSqlQuery {
     CALENDAR_UPDATE_TOKEN_SUBQUERY(
         CALENDAR_UPDATE_SUBQUERY.sql + "\n\tGROUP BY calendar_no, calendar_year"
     ),
+    CALENDAR_LAST_UPDATE_SUBQUERY(
+        String.format(STANDARD_LAST_UPDATE_SUBQUERY.sql,
+            "ARRAY['calNo', calendar_no::text, 'year', calendar_year::text]",
+            "CALENDAR", "last_fragment_id", SqlTable.CALENDAR_LAST_UPDATE)
+    ),
 
     /** --- Law Update Subquery --- */
 
@@ -101,6 +125,11 @@ public enum SqlAggregateUpdatesQuery implements BasicSqlQuery {
             "ARRAY['lawId', law_id, 'publishedDate', MAX(published_date_time)::date::text]",
             "LAW", "${lawColumns}", SqlTable.LAW_CHANGE_LOG) + "\n\tGROUP BY law_id"
     ),
+    LAW_LAST_UPDATE_SUBQUERY(
+        String.format(STANDARD_LAST_UPDATE_SUBQUERY.sql,
+            "ARRAY['lawId', law_id, 'publishedDate', last_published_date_time::date::text]",
+            "LAW", "last_law_file_name", SqlTable.LAW_LAST_UPDATE)
+    ),
     ;
 
     protected String sql;
@@ -127,13 +156,34 @@ public enum SqlAggregateUpdatesQuery implements BasicSqlQuery {
      */
     public static String buildQuery(String schema, LimitOffset limOff, SortOrder order,
                                     Set<UpdateContentType> contentTypes, UpdateReturnType returnType, UpdateType updateType) {
+        return buildQuery(schema, limOff, order, contentTypes, returnType, updateType, false);
+    }
+
+    /**
+     * Generates and returns a query string based on the given parameters
+     *
+     * @param schema String - The name of the master schema
+     * @param limOff LimitOffset - Limit Offset for the query
+     * @param order OrderBy - Ordering for the query
+     * @param contentTypes Set<UpdateContentType> - The update content types to be retrieved
+     * @param returnType UpdateReturnType - The desired update return type
+     * @param updateType UpdateType - Determines which date column is used in the query
+     * @param useLastUpdateTables boolean - Read tokens from the last update tables instead of the change logs,
+     *                                      only applies to the token return type
+     * @return String - An aggregate updates query string
+     */
+    public static String buildQuery(String schema, LimitOffset limOff, SortOrder order,
+                                    Set<UpdateContentType> contentTypes, UpdateReturnType returnType, UpdateType updateType,
+                                    boolean useLastUpdateTables) {
         OrderBy orderBy = new OrderBy(updateType == UpdateType.PROCESSED_DATE ? "last_processed_date_time" : "last_published_date_time", order);
         String aggregateQuery = String.format(
                 SELECT_AGGREGATE_UPDATES.getSql(schema, orderBy, limOff),
-                generateSubquery(contentTypes, returnType, schema));
+                generateSubquery(contentTypes, returnType, schema, useLastUpdateTables));
         Map<String, String> replaceMap = ImmutableMap.<String, String>builder()
                 .putAll(getColumnReplaceMap(returnType))
                 .put("dateColumn", updateType == UpdateType.PROCESSED_DATE ? "action_date_time" : "published_date_time")
+                .put("lastUpdateDateColumn", updateType == UpdateType.PROCESSED_DATE ? "last_processed_date_time"
+                                                                                     : "last_published_date_time")
                 .build();
         aggregateQuery = StrSubstitutor.replace(aggregateQuery, replaceMap);
         return aggregateQuery;
@@ -142,7 +192,11 @@ public enum SqlAggregateUpdatesQuery implements BasicSqlQuery {
     /**
      * Generates a subquery containing the union of updates queries for each represented content type
      */
-    private static String generateSubquery(Set<UpdateContentType> contentTypes, UpdateReturnType returnType, String schema) {
+    private static String generateSubquery(Set<UpdateContentType> contentTypes, UpdateReturnType returnType, String schema,
+                                           boolean useLastUpdateTables) {
+        if (useLastUpdateTables && returnType == UpdateReturnType.TOKEN) {
+            return generateLastUpdateSubquery(contentTypes, schema);
+        }
         StringBuilder subqueryBuilder = new StringBuilder();
         boolean first = true;
         for (UpdateContentType contentType : contentTypes) {
@@ -178,6 +232,39 @@ public enum SqlAggregateUpdatesQuery implements BasicSqlQuery {
         return subqueryBuilder.toString();
     }
 
+    /**
+     * Generates a subquery containing the union of last update table queries for each represented content type
+     */
+    private static String generateLastUpdateSubquery(Set<UpdateContentType> contentTypes, String schema) {
+        return contentTypes.stream()
+            .map(contentType -> getLastUpdateSubquery(contentType).getSql(schema))
+            .collect(Collectors.joining("\nUNION ALL\n"));
+    }
+
+    private static SqlAggregateUpdatesQuery getLastUpdateSubquery(UpdateContentType contentType) {
+        switch (contentType) {
+            case AGENDA: return AGENDA_LAST_UPDATE_SUBQUERY;
+            case BILL: return BILL_LAST_UPDATE_SUBQUERY;
+            case CALENDAR: return CALENDAR_LAST_UPDATE_SUBQUERY;
+            case LAW: return LAW_LAST_UPDATE_SUBQUERY;
+        }
+        throw new IllegalArgumentException("No last update table for content type " + contentType);
+    }
+
+    /**
+     * @param contentType UpdateContentType
+     * @return SqlTable - The last update table for the content type.
+     */
+    public static SqlTable getLastUpdateTable(UpdateContentType contentType) {
+        switch (contentType) {
+            case AGENDA: return SqlTable.AGENDA_LAST_UPDATE;
+            case BILL: return SqlTable.BILL_LAST_UPDATE;
+            case CALENDAR: return SqlTable.CALENDAR_LAST_UPDATE;
+            case LAW: return SqlTable.LAW_LAST_UPDATE;
+        }
+        throw new IllegalArgumentException("No last update table for content type " + contentType);
+    }
+
     /**
      * Returns a string subsitution map that can substitute in the correct columns based on the desired return type
      */
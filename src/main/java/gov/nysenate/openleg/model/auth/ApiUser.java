@@ -34,6 +34,9 @@ public class ApiUser implements Serializable, Comparable <ApiUser>
     /** Whether or not this user is active */
     private boolean active;
 
+    /** Name of the rate limit tier the user's requests are limited by, the default tier is used if null */
+    private String rateLimitTier;
+
     /** Constructor */
 
     public ApiUser(String email) {
@@ -98,5 +101,8 @@ public class ApiUser implements Serializable, Comparable <ApiUser>
     public void setRegistrationToken(String token) { this.registrationToken = token; }
     public String getRegistrationToken() { return this.registrationToken; }
 
+    public String getRateLimitTier() { return this.rateLimitTier; }
+    public void setRateLimitTier(String rateLimitTier) { this.rateLimitTier = rateLimitTier; }
+
 
 }
@@ -4,6 +4,7 @@ import com.google.common.collect.ComparisonChain;
 import gov.nysenate.openleg.model.base.BaseLegislativeContent;
 
 import java.io.Serializable;
+import java.util.Objects;
 
 public class ApprovalMessage extends BaseLegislativeContent implements Serializable, Comparable<ApprovalMessage> {
 
@@ -34,6 +35,29 @@ public class ApprovalMessage extends BaseLegislativeContent implements Serializa
 
     /** --- Overrides --- */
 
+    /**
+     * Approval messages are equal if their content is the same. The modified and published date times are not
+     * compared since they change whenever the same memo is sent again.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        final ApprovalMessage other = (ApprovalMessage) obj;
+        return Objects.equals(this.billId, other.billId) &&
+               Objects.equals(this.year, other.year) &&
+               Objects.equals(this.session, other.session) &&
+               Objects.equals(this.approvalNumber, other.approvalNumber) &&
+               Objects.equals(this.memoText, other.memoText) &&
+               Objects.equals(this.chapter, other.chapter) &&
+               Objects.equals(this.signer, other.signer);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(billId, year, approvalNumber, memoText, chapter, signer);
+    }
+
     @Override
     public int compareTo(ApprovalMessage o) {
         return ComparisonChain.start()
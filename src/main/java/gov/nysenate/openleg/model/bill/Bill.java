@@ -1,5 +1,6 @@
 package gov.nysenate.openleg.model.bill;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import gov.nysenate.openleg.model.agenda.CommitteeAgendaId;
 import gov.nysenate.openleg.model.base.BaseLegislativeContent;
 import gov.nysenate.openleg.model.base.PublishStatus;
@@ -83,6 +84,10 @@ public class Bill extends BaseLegislativeContent implements Serializable, Compar
 
     protected Integer chapterYear;
 
+    /** The sections of this bill that have been modified since it was retrieved from or saved to the
+     *  backing store. A newly constructed bill is considered to be modified in full. */
+    protected EnumSet<BillSection> modifiedSections = EnumSet.allOf(BillSection.class);
+
     /** --- Constructors --- */
 
     public Bill() {}
@@ -127,6 +132,7 @@ public class Bill extends BaseLegislativeContent implements Serializable, Compar
      */
     public Bill shallowClone() throws CloneNotSupportedException {
         Bill cloneBill = (Bill) this.clone();
+        cloneBill.modifiedSections = EnumSet.copyOf(this.modifiedSections);
         cloneBill.amendmentMap = new TreeMap<>();
         this.getAmendmentList().stream().forEach(a -> cloneBill.addAmendment(a.shallowClone()));
         return cloneBill;
@@ -322,6 +328,45 @@ public class Bill extends BaseLegislativeContent implements Serializable, Compar
         pastCommittees.add(committeeVersionId);
     }
 
+    /**
+     * Marks the given section of this bill as modified so that it will be written when the bill is saved.
+     */
+    public void markModified(BillSection section) {
+        modifiedSections.add(section);
+    }
+
+    /**
+     * Returns a copy of the sections of this bill that have been modified.
+     */
+    @JsonIgnore
+    public Set<BillSection> getModifiedSections() {
+        return EnumSet.copyOf(modifiedSections);
+    }
+
+    /**
+     * Indicates if the given section of this bill has been modified.
+     */
+    public boolean isModified(BillSection section) {
+        return modifiedSections.contains(section);
+    }
+
+    /**
+     * Indicates if any section of this bill or any of its amendments has been modified.
+     */
+    @JsonIgnore
+    public boolean isModified() {
+        return !modifiedSections.isEmpty() ||
+               amendmentMap.values().stream().anyMatch(BillAmendment::isModified);
+    }
+
+    /**
+     * Marks this bill and all of its amendments as unmodified, i.e. in sync with the backing store.
+     */
+    public void clearModified() {
+        modifiedSections.clear();
+        amendmentMap.values().forEach(BillAmendment::clearModified);
+    }
+
     /** --- Delegates --- */
 
     public String getFullText() {
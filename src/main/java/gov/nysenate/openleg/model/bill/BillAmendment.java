@@ -1,5 +1,6 @@
 package gov.nysenate.openleg.model.bill;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.base.Version;
 import gov.nysenate.openleg.model.entity.CommitteeVersionId;
@@ -63,6 +64,10 @@ public class BillAmendment implements Serializable, Cloneable
     /** A flag marking this bill as introduced in unison in both houses */
     protected Boolean uniBill = false;
 
+    /** The sections of this amendment that have been modified since it was retrieved from or saved to the
+     *  backing store. A newly constructed amendment is considered to be modified in full. */
+    protected EnumSet<BillAmendmentSection> modifiedSections = EnumSet.allOf(BillAmendmentSection.class);
+
     /** --- Constructors --- */
 
     public BillAmendment(BaseBillId baseBillId, Version version) {
@@ -86,7 +91,9 @@ public class BillAmendment implements Serializable, Cloneable
      */
     public BillAmendment shallowClone() {
         try {
-            return (BillAmendment) this.clone();
+            BillAmendment cloneAmendment = (BillAmendment) this.clone();
+            cloneAmendment.modifiedSections = EnumSet.copyOf(this.modifiedSections);
+            return cloneAmendment;
         }
         catch (CloneNotSupportedException e) {
             throw new RuntimeException("Failed to clone bill amendment!");
@@ -123,6 +130,43 @@ public class BillAmendment implements Serializable, Cloneable
         return this.getBillType().isResolution();
     }
 
+    /**
+     * Marks the given section of this amendment as modified so that it will be written when the bill is saved.
+     */
+    public void markModified(BillAmendmentSection section) {
+        modifiedSections.add(section);
+    }
+
+    /**
+     * Returns a copy of the sections of this amendment that have been modified.
+     */
+    @JsonIgnore
+    public Set<BillAmendmentSection> getModifiedSections() {
+        return EnumSet.copyOf(modifiedSections);
+    }
+
+    /**
+     * Indicates if the given section of this amendment has been modified.
+     */
+    public boolean isModified(BillAmendmentSection section) {
+        return modifiedSections.contains(section);
+    }
+
+    /**
+     * Indicates if any section of this amendment has been modified.
+     */
+    @JsonIgnore
+    public boolean isModified() {
+        return !modifiedSections.isEmpty();
+    }
+
+    /**
+     * Marks this amendment as unmodified, i.e. in sync with the backing store.
+     */
+    public void clearModified() {
+        modifiedSections.clear();
+    }
+
     /** --- Basic Getters/Setters --- */
 
     public BaseBillId getBaseBillId() {
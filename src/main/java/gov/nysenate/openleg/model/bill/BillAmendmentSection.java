@@ -0,0 +1,16 @@
+package gov.nysenate.openleg.model.bill;
+
+/**
+ * The parts of a {@link BillAmendment} that are persisted separately.
+ *
+ * @see BillSection
+ */
+public enum BillAmendmentSection
+{
+    /** The amendment record, e.g. memo, full text, act clause, law section. */
+    AMENDMENT_INFO,
+    SAME_AS,
+    COSPONSORS,
+    MULTISPONSORS,
+    VOTES;
+}
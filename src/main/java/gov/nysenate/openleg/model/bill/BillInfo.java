@@ -16,6 +16,7 @@ public class BillInfo
     protected Version activeVersion;
     protected int year;
     protected LocalDateTime publishedDateTime;
+    protected LocalDateTime modifiedDateTime;
     protected String title;
     protected String summary;
     protected BillStatus status;
@@ -33,6 +34,7 @@ public class BillInfo
         this.activeVersion = bill.getActiveVersion();
         this.year = bill.getYear();
         this.publishedDateTime = bill.getPublishedDateTime();
+        this.modifiedDateTime = bill.getModifiedDateTime();
         this.title = bill.getTitle();
         this.summary = bill.getSummary();
         this.status = bill.getStatus();
@@ -64,6 +66,14 @@ public class BillInfo
         return year;
     }
 
+    public LocalDateTime getModifiedDateTime() {
+        return modifiedDateTime;
+    }
+
+    public void setModifiedDateTime(LocalDateTime modifiedDateTime) {
+        this.modifiedDateTime = modifiedDateTime;
+    }
+
     public LocalDateTime getPublishedDateTime() {
         return publishedDateTime;
     }
@@ -0,0 +1,21 @@
+package gov.nysenate.openleg.model.bill;
+
+/**
+ * The parts of a {@link Bill} that are persisted separately. These are used to keep track of which
+ * parts of a bill have been modified so that only those have to be written when the bill is saved.
+ *
+ * @see BillAmendmentSection for the parts that belong to a specific amendment.
+ */
+public enum BillSection
+{
+    /** The base bill record, e.g. title, summary, status, active version, program info. */
+    BILL_INFO,
+    PUBLISH_STATUS,
+    SPONSOR,
+    MILESTONES,
+    ACTIONS,
+    PREVIOUS_VERSIONS,
+    COMMITTEES,
+    VETOES,
+    APPROVAL;
+}
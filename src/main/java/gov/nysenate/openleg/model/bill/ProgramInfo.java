@@ -1,6 +1,7 @@
 package gov.nysenate.openleg.model.bill;
 
 import java.io.Serializable;
+import java.util.Objects;
 
 public class ProgramInfo implements Serializable {
 
@@ -17,6 +18,20 @@ public class ProgramInfo implements Serializable {
         this.number = number;
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        final ProgramInfo other = (ProgramInfo) obj;
+        return Objects.equals(this.info, other.info) &&
+               Objects.equals(this.number, other.number);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(info, number);
+    }
+
     public String getInfo() {
         return info;
     }
@@ -5,6 +5,7 @@ import gov.nysenate.openleg.model.base.BaseLegislativeContent;
 
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.util.Objects;
 
 public class VetoMessage extends BaseLegislativeContent implements Serializable, Comparable<VetoMessage>
 {
@@ -48,6 +49,35 @@ public class VetoMessage extends BaseLegislativeContent implements Serializable,
 
     /* --- Overrides --- */
 
+    /**
+     * Veto messages are equal if their content is the same. The modified and published date times are not
+     * compared since they change whenever the same memo is sent again.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        final VetoMessage other = (VetoMessage) obj;
+        return Objects.equals(this.billId, other.billId) &&
+               Objects.equals(this.year, other.year) &&
+               Objects.equals(this.session, other.session) &&
+               Objects.equals(this.vetoNumber, other.vetoNumber) &&
+               Objects.equals(this.memoText, other.memoText) &&
+               Objects.equals(this.type, other.type) &&
+               Objects.equals(this.chapter, other.chapter) &&
+               Objects.equals(this.billPage, other.billPage) &&
+               Objects.equals(this.lineStart, other.lineStart) &&
+               Objects.equals(this.lineEnd, other.lineEnd) &&
+               Objects.equals(this.signer, other.signer) &&
+               Objects.equals(this.signedDate, other.signedDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(billId, year, vetoNumber, memoText, type, chapter, billPage, lineStart, lineEnd, signer,
+                            signedDate);
+    }
+
     @Override
     public int compareTo(VetoMessage o) {
         return ComparisonChain.start()
@@ -16,7 +16,9 @@ public enum ContentCache
     COMMITTEE,
     MEMBER,
     APIUSER,
-    NOTIFICATION_SUBSCRIPTION;
+    NOTIFICATION_SUBSCRIPTION,
+    SEARCH_RESULTS,
+    RENDERED_RESPONSES;
 
     private static final ImmutableSet<ContentCache> allContentCaches = ImmutableSet.copyOf(ContentCache.values());
 
@@ -1,9 +1,12 @@
 package gov.nysenate.openleg.model.entity;
 
+import java.io.Serializable;
 import java.util.Objects;
 
-public class Person
+public class Person implements Serializable
 {
+    private static final long serialVersionUID = 2764125372478402317L;
+
     /** The unique id used to globally identify the person.
      *  This value should only be set after retrieval from the persistence layer. */
     private Integer id;
@@ -2,6 +2,7 @@ package gov.nysenate.openleg.model.process;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -26,6 +27,12 @@ public class DataProcessRun
     /** Preserve any exception messages here. */
     private StringBuilder exceptions = new StringBuilder();
 
+    /** The number of source fragments that were ingested during this run. */
+    private int ingestedCount;
+
+    /** The total amount of time spent ingesting the source fragments. */
+    private Duration ingestDuration = Duration.ZERO;
+
     /** --- Constructors --- */
 
     public DataProcessRun() {}
@@ -52,6 +59,24 @@ public class DataProcessRun
         }
     }
 
+    /**
+     * Records that the given number of fragments were ingested over the given duration.
+     */
+    public synchronized void addThroughput(int count, Duration duration) {
+        this.ingestedCount += count;
+        this.ingestDuration = this.ingestDuration.plus(duration);
+    }
+
+    /** --- Functional Getters/Setters --- */
+
+    /**
+     * Returns the ingest throughput of this run as the number of fragments processed per second.
+     */
+    public double getIngestRate() {
+        long millis = ingestDuration.toMillis();
+        return (millis > 0) ? ingestedCount * 1000.0 / millis : 0;
+    }
+
     /** --- Basic Getters/Setters --- */
 
     public int getProcessId() {
@@ -89,4 +114,20 @@ public class DataProcessRun
     public StringBuilder getExceptions() {
         return exceptions;
     }
+
+    public int getIngestedCount() {
+        return ingestedCount;
+    }
+
+    public void setIngestedCount(int ingestedCount) {
+        this.ingestedCount = ingestedCount;
+    }
+
+    public Duration getIngestDuration() {
+        return ingestDuration;
+    }
+
+    public void setIngestDuration(Duration ingestDuration) {
+        this.ingestDuration = ingestDuration;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package gov.nysenate.openleg.model.process;
+
+import java.time.Duration;
+
+/**
+ * Posted by a process service once it has ingested a batch of source data so that the
+ * throughput can be recorded against the current process run.
+ */
+public class DataProcessThroughputEvent
+{
+    private int ingestedCount;
+    private Duration duration;
+
+    public DataProcessThroughputEvent(int ingestedCount, Duration duration) {
+        this.ingestedCount = ingestedCount;
+        this.duration = duration;
+    }
+
+    public int getIngestedCount() {
+        return ingestedCount;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+}
@@ -11,6 +11,7 @@ import java.util.List;
 
 /**
  * Encapsulates the processing status of a single source file, typically associated with a process run.
+ * Messages and exceptions can be added from multiple threads when the source is processed in parallel.
  */
 public class DataProcessUnit
 {
@@ -49,15 +50,15 @@ public class DataProcessUnit
 
     /** --- Methods --- */
 
-    public void addMessage(String message) {
+    public synchronized void addMessage(String message) {
         this.messages.append(message).append("\\n");
     }
 
-    public void addException(String exception) {
+    public synchronized void addException(String exception) {
         errors.add(exception);
     }
 
-    public void addException(String prefixMessage, Exception ex) {
+    public synchronized void addException(String prefixMessage, Exception ex) {
         String message = "";
         if (prefixMessage != null) {
             message = prefixMessage;
@@ -68,7 +69,7 @@ public class DataProcessUnit
         errors.add(message);
     }
 
-    public void addException(String errorMessage, Logger logger) {
+    public synchronized void addException(String errorMessage, Logger logger) {
         if (!errorMessage.endsWith("\n")) {
             errorMessage = errorMessage + "\n";
         }
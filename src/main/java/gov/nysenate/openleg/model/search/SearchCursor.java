@@ -0,0 +1,71 @@
+package gov.nysenate.openleg.model.search;
+
+import gov.nysenate.openleg.dao.base.LimitOffset;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Points to the next page of a search that is being paged through with an elastic search scroll. Scrolling
+ * keeps the search's place on each shard, so later pages don't have to score and sort all of the results
+ * that came before them, as a search with a large offset would.
+ *
+ * The cursor is handed to clients as an opaque continuation token, see {@link #encode()}.
+ */
+public class SearchCursor
+{
+    private final String scrollId;
+
+    /** The position and size of the next page. */
+    private final LimitOffset limitOffset;
+
+    /** --- Constructors --- */
+
+    public SearchCursor(String scrollId, LimitOffset limitOffset) {
+        this.scrollId = scrollId;
+        this.limitOffset = limitOffset;
+    }
+
+    /**
+     * Parses a continuation token created by {@link #encode()}.
+     *
+     * @param token String
+     * @return SearchCursor
+     * @throws IllegalArgumentException if the token is not valid
+     */
+    public static SearchCursor decode(String token) {
+        String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        String[] parts = decoded.split(":", 3);
+        if (parts.length != 3 || parts[2].isEmpty()) {
+            throw new IllegalArgumentException("Malformed continuation token");
+        }
+        return new SearchCursor(parts[2], new LimitOffset(Integer.parseInt(parts[0]), Integer.parseInt(parts[1])));
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * @return String - A url safe token that can be passed back to {@link #decode(String)}.
+     */
+    public String encode() {
+        String raw = limitOffset.getLimit() + ":" + limitOffset.getOffsetStart() + ":" + scrollId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** --- Overrides --- */
+
+    @Override
+    public String toString() {
+        return "SearchCursor{" + "limitOffset=" + limitOffset + ", scrollId='" + scrollId + '\'' + '}';
+    }
+
+    /** --- Basic Getters --- */
+
+    public String getScrollId() {
+        return scrollId;
+    }
+
+    public LimitOffset getLimitOffset() {
+        return limitOffset;
+    }
+}
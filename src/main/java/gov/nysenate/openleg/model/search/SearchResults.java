@@ -4,6 +4,7 @@ import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.PaginatedList;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -24,6 +25,9 @@ public class SearchResults<ResultType>
     /** The limit offset value used to generate the results listing. */
     private LimitOffset limitOffset;
 
+    /** Points to the next page when the results are being scrolled through, null otherwise. */
+    private SearchCursor nextCursor;
+
     /** --- Constructors --- */
 
     public SearchResults(int totalResults, List<SearchResult<ResultType>> results, LimitOffset limitOffset) {
@@ -32,6 +36,12 @@ public class SearchResults<ResultType>
         this.limitOffset = limitOffset;
     }
 
+    public SearchResults(int totalResults, List<SearchResult<ResultType>> results, LimitOffset limitOffset,
+                         SearchCursor nextCursor) {
+        this(totalResults, results, limitOffset);
+        this.nextCursor = nextCursor;
+    }
+
     /** --- Methods --- */
 
     public boolean hasResults() {
@@ -65,4 +75,8 @@ public class SearchResults<ResultType>
     public LimitOffset getLimitOffset() {
         return limitOffset;
     }
+
+    public Optional<SearchCursor> getNextCursor() {
+        return Optional.ofNullable(nextCursor);
+    }
 }
\ No newline at end of file
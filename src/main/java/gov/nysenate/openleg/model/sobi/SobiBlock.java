@@ -80,11 +80,20 @@ public class SobiBlock
      * assumed to be valid sobi file and is NOT checked for performance reasons.
      */
     public SobiBlock(String line) {
-        this.setBillHeader(line.substring(0, 11));
-        this.setBillId(line.substring(4,10), line.substring(10,11), Integer.parseInt(line.substring(0,4)));
-        this.setType(SobiLineType.valueOfCode(line.charAt(11)));
-        this.setHeader(line.substring(0,12));
-        this.setData(line.substring(12));
+        this(line, 0, line.length());
+    }
+
+    /**
+     * Construct a new block from the SOBI line located between the start and end offsets of the given text.
+     * Only the header and data portions of the line are copied out of the text. The line is assumed to be
+     * valid SOBI file and is NOT checked for performance reasons.
+     */
+    private SobiBlock(String text, int lineStart, int lineEnd) {
+        this.setHeader(text.substring(lineStart, lineStart + 12));
+        this.setBillHeader(header.substring(0, 11));
+        this.setBillId(header.substring(4, 10), header.substring(10, 11), Integer.parseInt(header.substring(0, 4)));
+        this.setType(SobiLineType.valueOfCode(header.charAt(11)));
+        this.dataBuffer = new StringBuffer(lineEnd - lineStart).append(text, lineStart + 12, lineEnd);
         this.multiline = !oneLineBlocks.contains(this.getType()) && !this.getData().trim().equals("DELETE");
     }
 
@@ -100,6 +109,19 @@ public class SobiBlock
         this.setStartLineNo(startLineNo);
     }
 
+    /**
+     * Construct a new block with location information from the SOBI line located between the start and
+     * end offsets of the given text. This is used by the {@link SobiBlockTokenizer} to avoid creating
+     * a string for every line of a fragment.
+     */
+    public SobiBlock(String fragmentFileName, SobiFragmentType type, int startLineNo,
+                     String text, int lineStart, int lineEnd) {
+        this(text, lineStart, lineEnd);
+        this.fragmentFileName = fragmentFileName;
+        this.fragmentType = type;
+        this.setStartLineNo(startLineNo);
+    }
+
     /** --- Methods --- */
 
     /**
@@ -115,6 +137,18 @@ public class SobiBlock
         this.dataBuffer.append("\n"+line.substring(12));
     }
 
+    /**
+     * Extends the block data with the data from the line located between the start and end offsets
+     * of the given text.
+     *
+     * @see #extend(String)
+     */
+    public void extend(String text, int lineStart, int lineEnd) {
+        if (!this.isMultiline())
+            throw new RuntimeException("Only multi-line blocks may be extended");
+        this.dataBuffer.append('\n').append(text, lineStart + 12, lineEnd);
+    }
+
     /**
      * Blocks are considered equal if their header and data (trimmed of all excess whitespace) are
      * identical in content (case-sensitive).
@@ -180,8 +214,8 @@ public class SobiBlock
      */
     private void ensureDataLength() {
         if (type == SobiLineType.BILL_INFO) {
-            for (int i = 0; i < blockDataLength - dataBuffer.length(); i++) {
-                dataBuffer.append(" ");
+            while (dataBuffer.length() < blockDataLength) {
+                dataBuffer.append(' ');
             }
         }
     }
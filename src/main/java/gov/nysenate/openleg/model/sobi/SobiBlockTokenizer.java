@@ -0,0 +1,130 @@
+package gov.nysenate.openleg.model.sobi;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits the text of a SOBI bill fragment into SobiBlocks in a single pass.
+ * <p>
+ * Lines are located by scanning the fragment text for line breaks and the fixed width line headers
+ * (e.g. '2013S01234A3') are validated directly from their character offsets. This avoids splitting the
+ * text into a list of lines or running a regex matcher per line; the only allocations made are for the
+ * blocks themselves.
+ *
+ * @see SobiBlock
+ */
+public final class SobiBlockTokenizer
+{
+    /** The number of characters in the header of a SOBI line, e.g. '2013S01234A3'. */
+    public static final int headerLength = 12;
+
+    private SobiBlockTokenizer() {}
+
+    /**
+     * Tokenizes the given fragment text into a list of blocks. Consecutive lines with the same header are
+     * combined into a single block when the block type allows for multiple lines. Lines that are not in
+     * the SOBI format end the current block and are otherwise ignored.
+     *
+     * @param fragmentId String - Id of the fragment the text belongs to
+     * @param fragmentType SobiFragmentType - Type of the fragment the text belongs to
+     * @param text String - The fragment text
+     * @return List<SobiBlock>
+     */
+    public static List<SobiBlock> tokenize(String fragmentId, SobiFragmentType fragmentType, String text) {
+        // Replace NULL bytes with spaces to properly format lines.
+        if (text.indexOf('\0') >= 0) {
+            text = text.replace('\0', ' ');
+        }
+        List<SobiBlock> blocks = new ArrayList<>();
+        SobiBlock block = null;
+        int lineNo = 0;
+        int lineStart = 0;
+        int textLength = text.length();
+        while (lineStart < textLength) {
+            int nextLineStart;
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd == -1) {
+                lineEnd = nextLineStart = textLength;
+            }
+            else {
+                nextLineStart = lineEnd + 1;
+            }
+            if (lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            // Source file is not assumed to be 100% SOBI so we filter out other lines
+            if (isBlockHeader(text, lineStart, lineEnd)) {
+                if (block == null) {
+                    // No active block with a new matching line: create new block
+                    block = new SobiBlock(fragmentId, fragmentType, lineNo, text, lineStart, lineEnd);
+                }
+                else if (block.isMultiline() && text.regionMatches(lineStart, block.getHeader(), 0, headerLength)) {
+                    // Active multi-line block with a new matching line: extend block
+                    block.extend(text, lineStart, lineEnd);
+                }
+                else {
+                    // Active block does not match new line or can't be extended: create new block
+                    block.setEndLineNo(lineNo - 1);
+                    blocks.add(block);
+                    SobiBlock newBlock = new SobiBlock(fragmentId, fragmentType, lineNo, text, lineStart, lineEnd);
+                    // The law code line can be omitted when blank but it always precedes the 'C' line
+                    if (newBlock.getType() == SobiLineType.SUMMARY && block.getType() != SobiLineType.LAW &&
+                            newBlock.getBillHeader().equals(block.getBillHeader())) {
+                        blocks.add(new SobiBlock(fragmentId, fragmentType, lineNo,
+                                                 block.getBillHeader() + SobiLineType.LAW.getTypeCode()));
+                    }
+                    block = newBlock;
+                }
+            }
+            else if (block != null) {
+                // Active block with non-matching line: end the current block.
+                block.setEndLineNo(lineNo - 1);
+                blocks.add(block);
+                block = null;
+            }
+            lineStart = nextLineStart;
+            lineNo++;
+        }
+        if (block != null) {
+            block.setEndLineNo(lineNo - 1);
+            blocks.add(block);
+        }
+        return blocks;
+    }
+
+    /**
+     * Checks that the line between the given offsets begins with a SOBI header, i.e. a session year, bill
+     * type, 5 digit print no, amendment version (or space), and a line type code. This is equivalent to
+     * matching {@link SobiBlock#blockPattern} against the line.
+     */
+    static boolean isBlockHeader(String text, int lineStart, int lineEnd) {
+        if (lineEnd - lineStart < headerLength) {
+            return false;
+        }
+        for (int i = 0; i < 4; i++) {
+            if (!isDigit(text.charAt(lineStart + i))) {
+                return false;
+            }
+        }
+        if (!isUpper(text.charAt(lineStart + 4))) {
+            return false;
+        }
+        for (int i = 5; i < 10; i++) {
+            if (!isDigit(text.charAt(lineStart + i))) {
+                return false;
+            }
+        }
+        char version = text.charAt(lineStart + 10);
+        char lineType = text.charAt(lineStart + 11);
+        return (version == ' ' || isUpper(version)) &&
+               ((lineType >= '1' && lineType <= '9') || isUpper(lineType));
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isUpper(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+}
@@ -5,9 +5,12 @@ import com.google.common.base.MoreObjects;
 import gov.nysenate.openleg.util.DateUtils;
 import org.apache.commons.io.FileUtils;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.text.ParseException;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -86,6 +89,15 @@ public class SobiFile
         }
     }
 
+    /**
+     * Opens a reader over the text contained within the file. This should be used instead of
+     * {@link #getText()} when the file can be processed incrementally. The caller must close the reader.
+     */
+    @JsonIgnore
+    public BufferedReader getReader() throws IOException {
+        return new BufferedReader(new InputStreamReader(new FileInputStream(file), encoding));
+    }
+
     /**
      * The published datetime is determined via the file name. If an error is encountered when
      * parsing the date, the last modified datetime of the file will be used instead.
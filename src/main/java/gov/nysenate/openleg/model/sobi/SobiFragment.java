@@ -4,10 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import gov.nysenate.openleg.model.base.BaseSourceData;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.regex.Matcher;
 
 /**
  * The SobiFragment class represents a portion of a SobiFile file that contains data pertaining
@@ -35,6 +33,9 @@ public class SobiFragment extends BaseSourceData
     /** The actual text body of the fragment. */
     private String text;
 
+    /** The blocks parsed from the text, computed on first access. */
+    private volatile List<SobiBlock> sobiBlocks;
+
     /** --- Constructors --- */
 
     public SobiFragment(SobiFile parentSobiFile, SobiFragmentType type, String text, int sequenceNo) {
@@ -61,57 +62,21 @@ public class SobiFragment extends BaseSourceData
     }
 
     /**
-     * Parses the given Sobi fragment into a list of blocks if it's in block format.
-     * Replaces null bytes in each line with spaces to bring them into the proper fixed width formats.
+     * Parses the given Sobi fragment into a list of blocks if it's in block format. The blocks are only
+     * parsed once and the same list is returned on subsequent calls.
      *
      * @see gov.nysenate.openleg.model.sobi.SobiBlock
+     * @see gov.nysenate.openleg.model.sobi.SobiBlockTokenizer
      * @return List<SobiBlock> if fragment type supports blocks, empty list otherwise.
      */
     @JsonIgnore
     public List<SobiBlock> getSobiBlocks() {
-        List<SobiBlock> blocks = new ArrayList<>();
-        if (isBlockFormat()) {
-            SobiBlock block = null;
-            List<String> lines = new ArrayList<>(Arrays.asList(this.text.split("\\r?\\n")));
-            lines.add(""); // Add a trailing line to end the last block and remove edge cases
-            for (int lineNo = 0; lineNo < lines.size(); lineNo++) {
-                // Replace NULL bytes with spaces to properly format lines.
-                String line = lines.get(lineNo).replace('\0', ' ');
-                // Source file is not assumed to be 100% SOBI so we filter out other lines
-                Matcher headerMatcher = SobiBlock.blockPattern.matcher(line);
-                if (headerMatcher.find()) {
-                    if (block == null) {
-                        // No active block with a new matching line: create new block
-                        block = new SobiBlock(fragmentId, type, lineNo, line);
-                    }
-                    else if (block.getHeader().equals(headerMatcher.group()) && block.isMultiline()) {
-                        // Active multi-line block with a new matching line: extend block
-                        block.extend(line);
-                    }
-                    else {
-                        // Active block does not match new line or can't be extended: create new block
-                        block.setEndLineNo(lineNo - 1);
-                        blocks.add(block);
-                        SobiBlock newBlock = new SobiBlock(fragmentId, type, lineNo, line);
-                        // Handle certain SOBI grouping edge cases.
-                        if (newBlock.getBillHeader().equals(block.getBillHeader())) {
-                            // The law code line can be omitted when blank but it always precedes the 'C' line
-                            if (newBlock.getType().equals(SobiLineType.SUMMARY) && !block.getType().equals(SobiLineType.LAW)) {
-                                blocks.add(new SobiBlock(fragmentId, type, lineNo,
-                                           block.getBillHeader() + SobiLineType.LAW.getTypeCode()));
-                            }
-                        }
-                        // Start a new block
-                        block = newBlock;
-                    }
-                }
-                else if (block != null) {
-                    // Active block with non-matching line: end the current block. Any non-matching line ends the current block
-                    block.setEndLineNo(lineNo - 1);
-                    blocks.add(block);
-                    block = null;
-                }
-            }
+        List<SobiBlock> blocks = sobiBlocks;
+        if (blocks == null) {
+            blocks = (isBlockFormat())
+                ? Collections.unmodifiableList(SobiBlockTokenizer.tokenize(fragmentId, type, text))
+                : Collections.emptyList();
+            sobiBlocks = blocks;
         }
         return blocks;
     }
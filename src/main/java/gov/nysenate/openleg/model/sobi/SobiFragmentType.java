@@ -1,5 +1,7 @@
 package gov.nysenate.openleg.model.sobi;
 
+import java.util.regex.Pattern;
+
 /**
  * SOBIFragments are constructed to delineate a SOBI file into components based on a
  * common entity type. The SobiFragmentType enum lists all the available entities
@@ -16,24 +18,24 @@ public enum SobiFragmentType
     ANNOTATION      (true, "<senannotated .+", "</senannotated.+");
 
     boolean isXml;
-    String startPattern;
-    String endPattern;
+    Pattern startPattern;
+    Pattern endPattern;
 
     SobiFragmentType(boolean isXml, String startPattern, String endPattern) {
         this.isXml = isXml;
-        this.startPattern = startPattern;
-        this.endPattern = endPattern;
+        this.startPattern = Pattern.compile(startPattern);
+        this.endPattern = Pattern.compile(endPattern);
     }
 
     public boolean isXml() {
         return isXml;
     }
 
-    public String getStartPattern() {
+    public Pattern getStartPattern() {
         return startPattern;
     }
 
-    public String getEndPattern() {
+    public Pattern getEndPattern() {
         return endPattern;
     }
 }
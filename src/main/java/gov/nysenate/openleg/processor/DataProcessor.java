@@ -120,6 +120,13 @@ public class DataProcessor
         }
     }
 
+    @Subscribe
+    public void handleDataProcessThroughputEvent(DataProcessThroughputEvent ev) {
+        if (currentRun != null) {
+            currentRun.addThroughput(ev.getIngestedCount(), ev.getDuration());
+        }
+    }
+
     @Subscribe
     public void handleDataProcessUnitEvent(DataProcessUnitEvent ev) {
         if (currentRun != null) {
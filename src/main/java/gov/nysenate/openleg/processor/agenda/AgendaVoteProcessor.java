@@ -146,7 +146,13 @@ public class AgendaVoteProcessor extends AbstractDataProcessor implements SobiPr
 
                         // Update the actual Bill with the vote information and persist it.
                         Bill bill = getOrCreateBaseBill(modifiedDate, billId, sobiFragment);
-                        bill.getAmendment(billId.getVersion()).updateVote(vote);
+                        BillAmendment amendment = bill.getAmendment(billId.getVersion());
+                        amendment.updateVote(vote);
+                        amendment.markModified(BillAmendmentSection.VOTES);
+                        if (bill.getModifiedDateTime() == null || modifiedDate.isAfter(bill.getModifiedDateTime())) {
+                            bill.setModifiedDateTime(modifiedDate);
+                            bill.markModified(BillSection.BILL_INFO);
+                        }
                     }
                     addendum.putCommittee(voteCommittee);
                 }
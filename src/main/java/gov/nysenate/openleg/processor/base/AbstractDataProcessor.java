@@ -10,6 +10,7 @@ import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.model.bill.BillAmendment;
 import gov.nysenate.openleg.model.bill.BillId;
+import gov.nysenate.openleg.model.bill.BillSection;
 import gov.nysenate.openleg.model.calendar.Calendar;
 import gov.nysenate.openleg.model.calendar.CalendarId;
 import gov.nysenate.openleg.model.entity.Chamber;
@@ -24,7 +25,6 @@ import gov.nysenate.openleg.service.agenda.event.BulkAgendaUpdateEvent;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 import gov.nysenate.openleg.service.bill.data.BillNotFoundEx;
 import gov.nysenate.openleg.service.bill.data.VetoDataService;
-import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
 import gov.nysenate.openleg.service.calendar.data.CalendarDataService;
 import gov.nysenate.openleg.service.calendar.data.CalendarNotFoundEx;
 import gov.nysenate.openleg.service.calendar.event.BulkCalendarUpdateEvent;
@@ -157,6 +157,8 @@ public abstract class AbstractDataProcessor
             }
             logger.trace("Adding bill amendment: " + billAmendment);
             baseBill.addAmendment(billAmendment);
+            // The active version may have changed on a previously persisted bill
+            baseBill.markModified(BillSection.BILL_INFO);
         }
         return baseBill;
     }
@@ -167,12 +169,8 @@ public abstract class AbstractDataProcessor
     protected void flushBillUpdates() {
         if (billIngestCache.getSize() > 0) {
             logger.info("Flushing {} bills", billIngestCache.getSize());
-            billIngestCache.getCurrentCache().forEach(entry ->
-                billDataService.saveBill(entry.getLeft(), entry.getRight(), false));
-            logger.debug("Broadcasting bill updates...");
-            List<Bill> bills =
-                billIngestCache.getCurrentCache().stream().map(entry -> entry.getLeft()).collect(Collectors.toList());
-            eventBus.post(new BulkBillUpdateEvent(bills, LocalDateTime.now()));
+            // All the bills in the cache are written as a batch within one transaction
+            billDataService.saveBills(billIngestCache.getCurrentCache(), true);
             billIngestCache.clearCache();
         }
     }
@@ -2,6 +2,7 @@ package gov.nysenate.openleg.processor.base;
 
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -14,6 +15,9 @@ import java.util.Map;
  * Key - The type for the key used to lookup values
  * Value - The type of values being stored
  * Source - The type that is used to encapsulate the source data
+ *
+ * Access to the cache is synchronized so that it can be shared by processors that apply
+ * updates from multiple threads, e.g. when sobi fragments are processed in parallel.
  */
 public class IngestCache<Key, Value, Source>
 {
@@ -35,7 +39,7 @@ public class IngestCache<Key, Value, Source>
      * @param key String - Unique Id
      * @return V
      */
-    public Pair<Value, Source> get(Key key) {
+    public synchronized Pair<Value, Source> get(Key key) {
         return cache.get(key);
     }
 
@@ -45,7 +49,7 @@ public class IngestCache<Key, Value, Source>
      * @param key String - Unique Id
      * @return boolean - true if key is found, false otherwise.
      */
-    public boolean has(Key key) {
+    public synchronized boolean has(Key key) {
         return cache.containsKey(key);
     }
 
@@ -54,7 +58,7 @@ public class IngestCache<Key, Value, Source>
      *
      * @return int
      */
-    public int getSize() {
+    public synchronized int getSize() {
         return this.cache.size();
     }
 
@@ -85,7 +89,7 @@ public class IngestCache<Key, Value, Source>
      * @param obj Value
      * @param ref Source
      */
-    public void set(Key key, Value obj, Source ref) {
+    public synchronized void set(Key key, Value obj, Source ref) {
         cache.put(key, Pair.of(obj, ref));
         if (firstSource == null && ref != null) {
             firstSource = ref;
@@ -93,18 +97,18 @@ public class IngestCache<Key, Value, Source>
     }
 
     /**
-     * Retrieve all entries in the cache as (Value, Source) pairs.
+     * Retrieve a snapshot of all entries in the cache as (Value, Source) pairs.
      *
      * @return Collection<Pair<Value, Source>>
      */
-    public Collection<Pair<Value, Source>> getCurrentCache() {
-        return cache.values();
+    public synchronized Collection<Pair<Value, Source>> getCurrentCache() {
+        return new ArrayList<>(cache.values());
     }
 
     /**
      * Clears out all the entries in the cache.
      */
-    public void clearCache() {
+    public synchronized void clearCache() {
         cache.clear();
         firstSource = null;
     }
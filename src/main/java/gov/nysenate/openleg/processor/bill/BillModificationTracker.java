@@ -0,0 +1,59 @@
+package gov.nysenate.openleg.processor.bill;
+
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Detects whether applying a sobi block modified a bill. The apply methods in {@link BillProcessor} mark the
+ * sections that they actually change, so the tracker only needs to know which sections were marked by the
+ * block. It sets aside the sections that were already pending when it was created and restores them in
+ * {@link #markModified()}. This allows repeated sobi data (which happens frequently) to leave the bill
+ * unmodified so that it does not have to be persisted again.
+ */
+class BillModificationTracker
+{
+    private final Bill bill;
+    private final LocalDateTime modifiedDateTime;
+    private final Set<BillSection> pendingBillSections;
+    private final Map<Version, Set<BillAmendmentSection>> pendingAmendmentSections = new HashMap<>();
+
+    /** --- Constructors --- */
+
+    public BillModificationTracker(Bill bill) {
+        this.bill = bill;
+        this.modifiedDateTime = bill.getModifiedDateTime();
+        this.pendingBillSections = bill.getModifiedSections();
+        bill.getAmendmentList().forEach(amend -> pendingAmendmentSections.put(amend.getVersion(), amend.getModifiedSections()));
+        bill.clearModified();
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Determines if any section was marked as modified since this tracker was created. If nothing was, the
+     * bill's modified date time is reverted since the update did not actually modify the bill. The sections
+     * that were pending beforehand are marked again so that they are still written when the bill is saved.
+     *
+     * @return boolean - true if any section was modified.
+     */
+    public boolean markModified() {
+        // Amendments created by the update are new in full and are still marked as such
+        boolean modified = bill.isModified();
+        if (!modified) {
+            bill.setModifiedDateTime(modifiedDateTime);
+        }
+        else if (!Objects.equals(modifiedDateTime, bill.getModifiedDateTime())) {
+            bill.markModified(BillSection.BILL_INFO);
+        }
+        pendingBillSections.forEach(bill::markModified);
+        pendingAmendmentSections.forEach((version, sections) -> {
+            if (bill.hasAmendment(version)) {
+                sections.forEach(bill.getAmendment(version)::markModified);
+            }
+        });
+        return modified;
+    }
+}
@@ -1,8 +1,10 @@
 package gov.nysenate.openleg.processor.bill;
 
 import com.google.common.base.Splitter;
+import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Uninterruptibles;
 import gov.nysenate.openleg.model.base.PublishStatus;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.base.Version;
@@ -18,6 +20,7 @@ import gov.nysenate.openleg.processor.base.AbstractDataProcessor;
 import gov.nysenate.openleg.processor.base.ParseError;
 import gov.nysenate.openleg.processor.sobi.SobiProcessor;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -28,6 +31,12 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -71,6 +80,14 @@ public class BillProcessor extends AbstractDataProcessor implements SobiProcesso
     protected static final String vetoApprovalSplitter =
         "(?<=00000.SO DOC (?:VETO\\d{4}|APPR\\d{3}\\s)\\s{8}(?:\\*END\\*.{3}|\\*DELETE\\*).{42})\\n";
 
+    /** --- Parallel Processing --- */
+
+    /** Set while bill blocks are being applied in parallel. Uni-bill syncs are queued instead of applied. */
+    private volatile boolean deferUniBillSyncs = false;
+
+    /** Uni-bill syncs that were queued while processing in parallel. */
+    private final Queue<Pair<BillAmendment, SobiFragment>> deferredUniBillSyncs = new ConcurrentLinkedQueue<>();
+
     /** --- Constructors --- */
 
     public BillProcessor() {}
@@ -94,49 +111,11 @@ public class BillProcessor extends AbstractDataProcessor implements SobiProcesso
      */
     @Override
     public void process(SobiFragment sobiFragment) {
-        LocalDateTime date = sobiFragment.getPublishedDateTime();
         List<SobiBlock> blocks = sobiFragment.getSobiBlocks();
         logger.info("Processing " + sobiFragment.getFragmentId() + " with (" + blocks.size() + ") blocks.");
         DataProcessUnit unit = createProcessUnit(sobiFragment);
         for (SobiBlock block : blocks) {
-            String data = block.getData();
-            BillId billId = block.getBillId();
-            Bill baseBill = getOrCreateBaseBill(sobiFragment.getPublishedDateTime(), billId, sobiFragment);
-            Version specifiedVersion = billId.getVersion();
-            BillAmendment specifiedAmendment = baseBill.getAmendment(specifiedVersion);
-            BillAmendment activeAmendment = baseBill.getActiveAmendment();
-            logger.debug("Updating {} - {} | Line {}-{}", billId, block.getType(),
-                                                          block.getStartLineNo(), block.getEndLineNo());
-            try {
-                switch (block.getType()) {
-                    case BILL_INFO: applyBillInfo(data, baseBill, specifiedAmendment, date, unit); break;
-                    case LAW_SECTION: applyLawSection(data, baseBill, specifiedAmendment, date); break;
-                    case TITLE: applyTitle(data, baseBill, date); break;
-                    case BILL_EVENT: applyBillActions(data, baseBill, specifiedAmendment); break;
-                    case SAME_AS: applySameAs(data, specifiedAmendment, sobiFragment, unit); break;
-                    case SPONSOR: applySponsor(data, baseBill, specifiedAmendment, date); break;
-                    case CO_SPONSOR: applyCosponsors(data, activeAmendment); break;
-                    case MULTI_SPONSOR: applyMultisponsors(data, activeAmendment); break;
-                    case PROGRAM_INFO: applyProgramInfo(data, baseBill, date); break;
-                    case ACT_CLAUSE: applyActClause(data, specifiedAmendment); break;
-                    case LAW: applyLaw(data, baseBill, specifiedAmendment, date); break;
-                    case SUMMARY: applySummary(data, baseBill, date); break;
-                    case SPONSOR_MEMO:
-                    case RESOLUTION_TEXT:
-                    case TEXT: applyText(data, specifiedAmendment, date, block.getType(), sobiFragment); break;
-                    case VETO_APPROVE_MEMO: applyVetoApprovalMessage(data, baseBill, date); break;
-                    case VOTE_MEMO: applyVoteMemo(data, specifiedAmendment, date); break;
-                    default: {
-                        throw new ParseError("Invalid Line Code " + block.getType());
-                    }
-                }
-            }
-            catch (ParseError ex) {
-                logger.error("Bill Processing Parse Error!", ex);
-                unit.addException("Bill Processing Parse Error",  ex);
-            }
-            billIngestCache.set(baseBill.getBaseBillId(), baseBill, sobiFragment);
-
+            applyBlock(block, sobiFragment, unit);
             if (billIngestCache.exceedsCapacity()) {
                 logger.info("Flushing bill ingest cache with {} bills!", billIngestCache.getSize());
                 flushBillUpdates();
@@ -151,6 +130,167 @@ public class BillProcessor extends AbstractDataProcessor implements SobiProcesso
         }
     }
 
+    /**
+     * Performs processing of a sequence of SOBI bill fragments using the given executor. The blocks from
+     * all the fragments are grouped by base bill id and each group is applied within a single task, so the
+     * blocks for any given bill are still applied in the order they were received. Uni-bill text syncs span
+     * two bills and are therefore deferred until every group has completed.
+     *
+     * The bill updates are always flushed before returning so that fragments processed afterwards (e.g.
+     * agendas and calendars) will see the updated bill state.
+     *
+     * @param sobiFragments List<SobiFragment> - Bill fragments in processing order.
+     * @param executor ExecutorService - The worker pool used to apply the bill groups.
+     * @return int - The number of blocks that were applied.
+     */
+    public int processParallel(List<SobiFragment> sobiFragments, ExecutorService executor) {
+        Map<SobiFragment, DataProcessUnit> units = new LinkedHashMap<>();
+        Map<BaseBillId, List<Pair<SobiBlock, SobiFragment>>> blocksByBill = new LinkedHashMap<>();
+        int blockCount = 0;
+        for (SobiFragment sobiFragment : sobiFragments) {
+            List<SobiBlock> blocks = sobiFragment.getSobiBlocks();
+            logger.info("Processing " + sobiFragment.getFragmentId() + " with (" + blocks.size() + ") blocks.");
+            units.put(sobiFragment, createProcessUnit(sobiFragment));
+            for (SobiBlock block : blocks) {
+                blocksByBill.computeIfAbsent(BillId.getBaseId(block.getBillId()), k -> new ArrayList<>())
+                            .add(Pair.of(block, sobiFragment));
+            }
+            blockCount += blocks.size();
+        }
+        logger.info("Applying {} blocks to {} bills in parallel", blockCount, blocksByBill.size());
+        deferredUniBillSyncs.clear();
+        // A single fragment can touch thousands of bills, so the groups are applied in chunks that fit
+        // in the ingest cache, which is flushed between chunks once no task is modifying the bills
+        int chunkSize = Math.max(1, billIngestCache.getMaxCapacity());
+        for (List<List<Pair<SobiBlock, SobiFragment>>> chunk :
+                Lists.partition(new ArrayList<>(blocksByBill.values()), chunkSize)) {
+            applyInParallel(chunk, units, executor);
+            // Apply the deferred uni-bill syncs now that no other thread is modifying the bills
+            Pair<BillAmendment, SobiFragment> uniBillSync;
+            while ((uniBillSync = deferredUniBillSyncs.poll()) != null) {
+                syncUniBillText(uniBillSync.getLeft(), uniBillSync.getRight());
+            }
+            if (billIngestCache.exceedsCapacity()) {
+                logger.info("Flushing bill ingest cache with {} bills!", billIngestCache.getSize());
+                flushBillUpdates();
+            }
+        }
+        units.values().forEach(this::postDataUnitEvent);
+        flushBillUpdates();
+        return blockCount;
+    }
+
+    /**
+     * Applies each group of blocks in its own task and waits for all of them. If a task fails or the wait is
+     * interrupted, the tasks that haven't started yet skip their blocks, and every task is still waited on
+     * before the error is rethrown, so that no worker is still modifying bills once this method returns.
+     */
+    private void applyInParallel(List<List<Pair<SobiBlock, SobiFragment>>> billGroups,
+                                 Map<SobiFragment, DataProcessUnit> units, ExecutorService executor) {
+        List<Future<?>> tasks = new ArrayList<>(billGroups.size());
+        AtomicBoolean aborted = new AtomicBoolean(false);
+        Throwable failure = null;
+        deferUniBillSyncs = true;
+        try {
+            try {
+                for (List<Pair<SobiBlock, SobiFragment>> billBlocks : billGroups) {
+                    tasks.add(executor.submit(() -> {
+                        if (aborted.get()) {
+                            return;
+                        }
+                        try {
+                            billBlocks.forEach(
+                                pair -> applyBlock(pair.getLeft(), pair.getRight(), units.get(pair.getRight())));
+                        }
+                        catch (RuntimeException | Error ex) {
+                            aborted.set(true);
+                            throw ex;
+                        }
+                    }));
+                }
+            }
+            catch (RuntimeException ex) {
+                aborted.set(true);
+                failure = ex;
+            }
+            // Tasks are never cancelled, a cancelled future stops waiting while the task may still be running
+            for (Future<?> task : tasks) {
+                if (Thread.currentThread().isInterrupted()) {
+                    aborted.set(true);
+                }
+                try {
+                    Uninterruptibles.getUninterruptibly(task);
+                }
+                catch (ExecutionException ex) {
+                    // Only the first failure is reported
+                    if (failure == null) {
+                        failure = ex.getCause();
+                    }
+                }
+            }
+        }
+        finally {
+            deferUniBillSyncs = false;
+        }
+        if (failure != null) {
+            throw Throwables.propagate(failure);
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            throw new IllegalStateException("Interrupted while applying bill fragments");
+        }
+    }
+
+    /**
+     * Applies a single SobiBlock to the bill it references, creating the bill if necessary.
+     * Parse errors are recorded in the given unit instead of being thrown.
+     */
+    private void applyBlock(SobiBlock block, SobiFragment sobiFragment, DataProcessUnit unit) {
+        LocalDateTime date = sobiFragment.getPublishedDateTime();
+        String data = block.getData();
+        BillId billId = block.getBillId();
+        Bill baseBill = getOrCreateBaseBill(sobiFragment.getPublishedDateTime(), billId, sobiFragment);
+        Version specifiedVersion = billId.getVersion();
+        BillAmendment specifiedAmendment = baseBill.getAmendment(specifiedVersion);
+        BillAmendment activeAmendment = baseBill.getActiveAmendment();
+        BillModificationTracker tracker = new BillModificationTracker(baseBill);
+        logger.debug("Updating {} - {} | Line {}-{}", billId, block.getType(),
+                                                      block.getStartLineNo(), block.getEndLineNo());
+        try {
+            switch (block.getType()) {
+                case BILL_INFO: applyBillInfo(data, baseBill, specifiedAmendment, date, unit); break;
+                case LAW_SECTION: applyLawSection(data, baseBill, specifiedAmendment, date); break;
+                case TITLE: applyTitle(data, baseBill, date); break;
+                case BILL_EVENT: applyBillActions(data, baseBill, specifiedAmendment); break;
+                case SAME_AS: applySameAs(data, specifiedAmendment, sobiFragment, unit); break;
+                case SPONSOR: applySponsor(data, baseBill, specifiedAmendment, date); break;
+                case CO_SPONSOR: applyCosponsors(data, activeAmendment); break;
+                case MULTI_SPONSOR: applyMultisponsors(data, activeAmendment); break;
+                case PROGRAM_INFO: applyProgramInfo(data, baseBill, date); break;
+                case ACT_CLAUSE: applyActClause(data, specifiedAmendment); break;
+                case LAW: applyLaw(data, baseBill, specifiedAmendment, date); break;
+                case SUMMARY: applySummary(data, baseBill, date); break;
+                case SPONSOR_MEMO:
+                case RESOLUTION_TEXT:
+                case TEXT: applyText(data, specifiedAmendment, date, block.getType(), sobiFragment); break;
+                case VETO_APPROVE_MEMO: applyVetoApprovalMessage(data, baseBill, date); break;
+                case VOTE_MEMO: applyVoteMemo(data, specifiedAmendment, date); break;
+                default: {
+                    throw new ParseError("Invalid Line Code " + block.getType());
+                }
+            }
+        }
+        catch (ParseError ex) {
+            logger.error("Bill Processing Parse Error!", ex);
+            unit.addException("Bill Processing Parse Error",  ex);
+        }
+        finally {
+            if (!tracker.markModified()) {
+                logger.debug("No changes to {} from {}", billId, block.getType());
+            }
+        }
+        billIngestCache.set(baseBill.getBaseBillId(), baseBill, sobiFragment);
+    }
+
     /**
      * Make sure that the global ingest cache is purged.
      */
@@ -185,7 +325,11 @@ public class BillProcessor extends AbstractDataProcessor implements SobiProcesso
         Version version = specifiedAmendment.getVersion();
         if (data.startsWith("DELETE")) {
             // Un-publish the specified amendment.
-            baseBill.updatePublishStatus(version, new PublishStatus(false, date, false, data));
+            Optional<PublishStatus> pubStatus = baseBill.getPublishStatus(version);
+            if (!pubStatus.isPresent() || pubStatus.get().isPublished()) {
+                baseBill.updatePublishStatus(version, new PublishStatus(false, date, false, data));
+                baseBill.markModified(BillSection.PUBLISH_STATUS);
+            }
             return;
         }
         else {
@@ -194,6 +338,7 @@ public class BillProcessor extends AbstractDataProcessor implements SobiProcesso
                 Optional<PublishStatus> pubStatus = baseBill.getPublishStatus(version);
                 if (!pubStatus.isPresent() || !pubStatus.get().isPublished()) {
                     baseBill.updatePublishStatus(version, new PublishStatus(true, date, false, data));
+                    baseBill.markModified(BillSection.PUBLISH_STATUS);
                 }
             }
         }
@@ -210,7 +355,11 @@ public class BillProcessor extends AbstractDataProcessor implements SobiProcesso
             if (!prevSessionYearStr.equals("0000") && !prevPrintNo.equals("00000")) {
                 try {
                     Integer prevSessionYear = Integer.parseInt(prevSessionYearStr);
-                    baseBill.addPreviousVersion(new BillId(prevPrintNo, prevSessionYear));
+                    BillId prevVersion = new BillId(prevPrintNo, prevSessionYear);
+                    if (!baseBill.getPreviousVersions().contains(prevVersion)) {
+                        baseBill.addPreviousVersion(prevVersion);
+                        baseBill.markModified(BillSection.PREVIOUS_VERSIONS);
+                    }
                     baseBill.setModifiedDateTime(date);
                 }
                 catch (NumberFormatException ex) {
@@ -235,7 +384,8 @@ public class BillProcessor extends AbstractDataProcessor implements SobiProcesso
      * @throws ParseError
      */
     private void applyLawSection(String data, Bill baseBill, BillAmendment specifiedAmendment, LocalDateTime date) {
-        specifiedAmendment.setLawSection(data.trim());
+        setIfChanged(specifiedAmendment, BillAmendmentSection.AMENDMENT_INFO,
+                     specifiedAmendment.getLawSection(), data.trim(), specifiedAmendment::setLawSection);
         baseBill.setModifiedDateTime(date);
     }
 
@@ -252,7 +402,7 @@ public class BillProcessor extends AbstractDataProcessor implements SobiProcesso
      * @throws ParseError
      */
     private void applyTitle(String data, Bill baseBill, LocalDateTime date) {
-        baseBill.setTitle(data.replace("\n", " ").trim());
+        setIfChanged(baseBill, BillSection.BILL_INFO, baseBill.getTitle(), data.replace("\n", " ").trim(), baseBill::setTitle);
         baseBill.setModifiedDateTime(date);
     }
 
@@ -283,25 +433,33 @@ public class BillProcessor extends AbstractDataProcessor implements SobiProcesso
                                 throws ParseError {
         // Use the BillActionParser to convert the actions string into objects.
         List<BillAction> billActions = BillActionParser.parseActionsList(specifiedAmendment.getBillId(), data);
-        baseBill.setActions(billActions);
+        setIfChanged(baseBill, BillSection.ACTIONS, baseBill.getActions(), billActions, baseBill::setActions);
         // Use the BillActionAnalyzer to derive other data from the actions list.
         Optional<PublishStatus> defaultPubStatus = baseBill.getPublishStatus(Version.DEFAULT);
         BillActionAnalyzer analyzer = new BillActionAnalyzer(specifiedAmendment.getBillId(), billActions, defaultPubStatus);
         analyzer.analyze();
 
         // Apply the results to the bill
-        baseBill.setSubstitutedBy(analyzer.getSubstitutedBy().orElse(null));
-        baseBill.setActiveVersion(analyzer.getActiveVersion());
-        baseBill.setStatus(analyzer.getBillStatus());
-        baseBill.setMilestones(analyzer.getMilestones());
-        baseBill.setPastCommittees(analyzer.getPastCommittees());
-        baseBill.setPublishStatuses(analyzer.getPublishStatusMap());
+        setIfChanged(baseBill, BillSection.BILL_INFO, baseBill.getSubstitutedBy(), analyzer.getSubstitutedBy().orElse(null),
+                     baseBill::setSubstitutedBy);
+        setIfChanged(baseBill, BillSection.BILL_INFO, baseBill.getActiveVersion(), analyzer.getActiveVersion(),
+                     baseBill::setActiveVersion);
+        setIfChanged(baseBill, BillSection.BILL_INFO, baseBill.getStatus(), analyzer.getBillStatus(), baseBill::setStatus);
+        setIfChanged(baseBill, BillSection.MILESTONES, baseBill.getMilestones(), analyzer.getMilestones(),
+                     baseBill::setMilestones);
+        setIfChanged(baseBill, BillSection.COMMITTEES, baseBill.getPastCommittees(), analyzer.getPastCommittees(),
+                     baseBill::setPastCommittees);
+        setIfChanged(baseBill, BillSection.PUBLISH_STATUS, baseBill.getAmendPublishStatusMap(),
+                     analyzer.getPublishStatusMap(), baseBill::setPublishStatuses);
         analyzer.getSameAsMap().forEach((k, v) -> {
             if (baseBill.hasAmendment(k)) {
-                baseBill.getAmendment(k).setSameAs(Sets.newHashSet(v));
+                BillAmendment amendment = baseBill.getAmendment(k);
+                setIfChanged(amendment, BillAmendmentSection.SAME_AS, amendment.getSameAs(), Sets.newHashSet(v),
+                             amendment::setSameAs);
             }
         });
-        specifiedAmendment.setStricken(analyzer.isStricken());
+        setIfChanged(specifiedAmendment, BillAmendmentSection.AMENDMENT_INFO, specifiedAmendment.isStricken(),
+                     analyzer.isStricken(), specifiedAmendment::setStricken);
     }
 
     /**
@@ -322,22 +480,26 @@ public class BillProcessor extends AbstractDataProcessor implements SobiProcesso
      */
     private void applySameAs(String data, BillAmendment specifiedAmendment, SobiFragment fragment, DataProcessUnit unit) {
         if (data.trim().equalsIgnoreCase("No same as") || data.trim().equalsIgnoreCase("DELETE")) {
-            specifiedAmendment.getSameAs().clear();
-            specifiedAmendment.setUniBill(false);
+            setIfChanged(specifiedAmendment, BillAmendmentSection.SAME_AS, specifiedAmendment.getSameAs(),
+                         new HashSet<>(), specifiedAmendment::setSameAs);
+            setIfChanged(specifiedAmendment, BillAmendmentSection.AMENDMENT_INFO, specifiedAmendment.isUniBill(), false,
+                         specifiedAmendment::setUniBill);
         }
         else {
             Matcher sameAsMatcher = sameAsPattern.matcher(data);
             if (sameAsMatcher.find()) {
-                specifiedAmendment.getSameAs().clear();
+                Set<BillId> sameAsBills = new HashSet<>();
                 List<String> sameAsMatches = new ArrayList<>(Arrays.asList(sameAsMatcher.group(2).split(", ")));
                 for (String sameAs : sameAsMatches) {
-                    specifiedAmendment.getSameAs().add(new BillId(sameAs.replace("-", "").replace(" ",""),
-                                                       specifiedAmendment.getSession()));
+                    sameAsBills.add(new BillId(sameAs.replace("-", "").replace(" ",""), specifiedAmendment.getSession()));
                 }
+                setIfChanged(specifiedAmendment, BillAmendmentSection.SAME_AS, specifiedAmendment.getSameAs(), sameAsBills,
+                             specifiedAmendment::setSameAs);
                 // Check for uni-bill and sync
                 if (sameAsMatcher.group(1) != null && !sameAsMatcher.group(1).isEmpty()) {
-                    specifiedAmendment.setUniBill(true);
-                    syncUniBillText(specifiedAmendment, fragment);
+                    setIfChanged(specifiedAmendment, BillAmendmentSection.AMENDMENT_INFO, specifiedAmendment.isUniBill(),
+                                 true, specifiedAmendment::setUniBill);
+                    requestUniBillSync(specifiedAmendment, fragment);
                 }
             }
             else {
@@ -369,9 +531,11 @@ public class BillProcessor extends AbstractDataProcessor implements SobiProcesso
         for(String line : data.split("\n")) {
             line = line.toUpperCase().trim();
             if (line.equals("DELETE")) {
-                baseBill.setSponsor(null);
-                specifiedAmendment.setCoSponsors(new ArrayList<>());
-                specifiedAmendment.setMultiSponsors(new ArrayList<>());
+                setIfChanged(baseBill, BillSection.SPONSOR, baseBill.getSponsor(), null, baseBill::setSponsor);
+                setIfChanged(specifiedAmendment, BillAmendmentSection.COSPONSORS, specifiedAmendment.getCoSponsors(),
+                             new ArrayList<>(), specifiedAmendment::setCoSponsors);
+                setIfChanged(specifiedAmendment, BillAmendmentSection.MULTISPONSORS, specifiedAmendment.getMultiSponsors(),
+                             new ArrayList<>(), specifiedAmendment::setMultiSponsors);
             }
             else {
                 setBillSponsorFromSponsorLine(baseBill, line, sessionYear);
@@ -409,7 +573,8 @@ public class BillProcessor extends AbstractDataProcessor implements SobiProcesso
         }
         // The cosponsor info is always sent for the base bill version.
         // We can use the currently active amendment instead.
-        activeAmendment.setCoSponsors(Lists.newArrayList(coSponsors));
+        setIfChanged(activeAmendment, BillAmendmentSection.COSPONSORS, activeAmendment.getCoSponsors(),
+                     Lists.newArrayList(coSponsors), activeAmendment::setCoSponsors);
         if (!badCoSponsors.isEmpty()) {
             throw new ParseError(String.format("Could not parse %s co sponsors: %s",
                     activeAmendment.getBillId(), StringUtils.join(badCoSponsors, ", ")));
@@ -443,7 +608,8 @@ public class BillProcessor extends AbstractDataProcessor implements SobiProcesso
                 }
             }
         }
-        activeAmendment.setMultiSponsors(Lists.newArrayList(multiSponsors));
+        setIfChanged(activeAmendment, BillAmendmentSection.MULTISPONSORS, activeAmendment.getMultiSponsors(),
+                     Lists.newArrayList(multiSponsors), activeAmendment::setMultiSponsors);
         if (!badMultiSponsors.isEmpty()) {
             throw new ParseError(String.format("Could not parse %s multi sponsors: %s",
                     activeAmendment.getBillId(), StringUtils.join(multiSponsors, ", ")));
@@ -462,12 +628,9 @@ public class BillProcessor extends AbstractDataProcessor implements SobiProcesso
      * ------------------------------------------------------------------------------
      */
     private void applyActClause(String data, BillAmendment specifiedAmendment) {
-        if (data.trim().equals("DELETE")) {
-            specifiedAmendment.setActClause("");
-        }
-        else {
-            specifiedAmendment.setActClause(data.replace("\n", " ").trim());
-        }
+        String actClause = data.trim().equals("DELETE") ? "" : data.replace("\n", " ").trim();
+        setIfChanged(specifiedAmendment, BillAmendmentSection.AMENDMENT_INFO, specifiedAmendment.getActClause(),
+                     actClause, specifiedAmendment::setActClause);
     }
 
     /**
@@ -487,12 +650,13 @@ public class BillProcessor extends AbstractDataProcessor implements SobiProcesso
         // This is theoretically not safe because a law line *could* start with DELETE
         // We can't do an exact match because B can be multi-line
         if (data.trim().startsWith("DELETE")) {
-            specifiedAmendment.setLaw("");
-            baseBill.setSummary("");
-            baseBill.setModifiedDateTime(date);
+            setIfChanged(specifiedAmendment, BillAmendmentSection.AMENDMENT_INFO, specifiedAmendment.getLaw(), "",
+                         specifiedAmendment::setLaw);
+            setIfChanged(baseBill, BillSection.BILL_INFO, baseBill.getSummary(), "", baseBill::setSummary);
         }
         else {
-            specifiedAmendment.setLaw(data.replace("\n", " ").trim());
+            setIfChanged(specifiedAmendment, BillAmendmentSection.AMENDMENT_INFO, specifiedAmendment.getLaw(),
+                         data.replace("\n", " ").trim(), specifiedAmendment::setLaw);
         }
         baseBill.setModifiedDateTime(date);
     }
@@ -508,7 +672,8 @@ public class BillProcessor extends AbstractDataProcessor implements SobiProcesso
      * ----------------------------------------------------------------------------------------------------------
      */
     private void applySummary(String data, Bill baseBill, LocalDateTime date) {
-        baseBill.setSummary(data.replace("\n", " ").trim());
+        setIfChanged(baseBill, BillSection.BILL_INFO, baseBill.getSummary(), data.replace("\n", " ").trim(),
+                     baseBill::setSummary);
         baseBill.setModifiedDateTime(date);
     }
 
@@ -524,12 +689,14 @@ public class BillProcessor extends AbstractDataProcessor implements SobiProcesso
         String fullText = billTextParser.extractText();
         if (fullText != null) {
             if (lineType == SobiLineType.SPONSOR_MEMO) {
-                billAmendment.setMemo(fullText);
+                setIfChanged(billAmendment, BillAmendmentSection.AMENDMENT_INFO, billAmendment.getMemo(), fullText,
+                             billAmendment::setMemo);
             }
             else if (lineType == SobiLineType.RESOLUTION_TEXT || lineType == SobiLineType.TEXT) {
-                billAmendment.setFullText(fullText);
+                setIfChanged(billAmendment, BillAmendmentSection.AMENDMENT_INFO, billAmendment.getFullText(), fullText,
+                             billAmendment::setFullText);
                 if (billAmendment.isUniBill()) {
-                    syncUniBillText(billAmendment, fragment);
+                    requestUniBillSync(billAmendment, fragment);
                 }
             }
         }
@@ -562,7 +729,9 @@ public class BillProcessor extends AbstractDataProcessor implements SobiProcesso
         VetoMemoParser vetoMemoParser = new VetoMemoParser(data, date);
         vetoMemoParser.extractText();
         if (vetoMemoParser.isDeleted()) {
-            baseBill.getVetoMessages().remove(vetoMemoParser.getVetoId());
+            if (baseBill.getVetoMessages().remove(vetoMemoParser.getVetoId()) != null) {
+                baseBill.markModified(BillSection.VETOES);
+            }
         } else {
             VetoMessage vetoMessage = vetoMemoParser.getVetoMessage();
             vetoMessage.setSession(baseBill.getSession());
@@ -570,7 +739,11 @@ public class BillProcessor extends AbstractDataProcessor implements SobiProcesso
             vetoMessage.setModifiedDateTime(date);
             vetoMessage.setPublishedDateTime(date);
 
-            baseBill.getVetoMessages().put(vetoMessage.getVetoId(), vetoMessage);
+            // Veto messages are compared by content so that a re-sent memo leaves the bill unmodified
+            if (!vetoMessage.equals(baseBill.getVetoMessages().get(vetoMessage.getVetoId()))) {
+                baseBill.getVetoMessages().put(vetoMessage.getVetoId(), vetoMessage);
+                baseBill.markModified(BillSection.VETOES);
+            }
         }
     }
 
@@ -585,14 +758,15 @@ public class BillProcessor extends AbstractDataProcessor implements SobiProcesso
         ApprovalMessageParser approvalMessageParser = new ApprovalMessageParser(data, date);
         approvalMessageParser.extractText();
         if (approvalMessageParser.isDeleted()) {
-            baseBill.setApprovalMessage(null);
+            setIfChanged(baseBill, BillSection.APPROVAL, baseBill.getApprovalMessage(), null, baseBill::setApprovalMessage);
         } else {
             ApprovalMessage approvalMessage = approvalMessageParser.getApprovalMessage();
             approvalMessage.setBillId(baseBill.getActiveAmendment().getBillId());
             approvalMessage.setModifiedDateTime(date);
             approvalMessage.setPublishedDateTime(date);
 
-            baseBill.setApprovalMessage(approvalMessage);
+            setIfChanged(baseBill, BillSection.APPROVAL, baseBill.getApprovalMessage(), approvalMessage,
+                         baseBill::setApprovalMessage);
         }
     }
 
@@ -608,7 +782,9 @@ public class BillProcessor extends AbstractDataProcessor implements SobiProcesso
         if (!data.isEmpty()) {
             Matcher programMatcher = programInfoPattern.matcher(data);
             if (programMatcher.find()) {
-                baseBill.setProgramInfo(new ProgramInfo(programMatcher.group(2), Integer.parseInt(programMatcher.group(1))));
+                setIfChanged(baseBill, BillSection.BILL_INFO, baseBill.getProgramInfo(),
+                             new ProgramInfo(programMatcher.group(2), Integer.parseInt(programMatcher.group(1))),
+                             baseBill::setProgramInfo);
                 baseBill.setModifiedDateTime(date);
             }
         }
@@ -678,11 +854,27 @@ public class BillProcessor extends AbstractDataProcessor implements SobiProcesso
                 throw new ParseError("Hit vote data without a header: " + data);
             }
         }
-        specifiedAmendment.updateVote(vote);
+        if (vote != null && !vote.equals(specifiedAmendment.getVotesMap().get(vote.getVoteId()))) {
+            specifiedAmendment.updateVote(vote);
+            specifiedAmendment.markModified(BillAmendmentSection.VOTES);
+        }
     }
 
     /** --- Post Process Methods --- */
 
+    /**
+     * Syncs the uni-bill text of the given amendment, or queues the sync if bills are currently
+     * being processed in parallel, since the counterpart bill may be owned by another task.
+     */
+    protected void requestUniBillSync(BillAmendment billAmendment, SobiFragment sobiFragment) {
+        if (deferUniBillSyncs) {
+            deferredUniBillSyncs.add(Pair.of(billAmendment, sobiFragment));
+        }
+        else {
+            syncUniBillText(billAmendment, sobiFragment);
+        }
+    }
+
     /**
      * Uni-bills share text with their counterpart house. Ensure that the full text of bill amendments that
      * have a uni-bill designator are kept in sync.
@@ -693,11 +885,16 @@ public class BillProcessor extends AbstractDataProcessor implements SobiProcesso
             BillAmendment uniBillAmend = uniBill.getAmendment(uniBillId.getVersion());
             // If this is the senate bill amendment, copy text to the assembly bill amendment
             if (billAmendment.getBillType().getChamber().equals(Chamber.SENATE)) {
-                uniBillAmend.setFullText(billAmendment.getFullText());
+                if (!billAmendment.getFullText().equals(uniBillAmend.getFullText())) {
+                    uniBillAmend.setFullText(billAmendment.getFullText());
+                    uniBillAmend.markModified(BillAmendmentSection.AMENDMENT_INFO);
+                }
             }
             // Otherwise copy the text to this assembly bill amendment
-            else if (!uniBillAmend.getFullText().isEmpty()) {
+            else if (!uniBillAmend.getFullText().isEmpty() &&
+                     !uniBillAmend.getFullText().equals(billAmendment.getFullText())) {
                 billAmendment.setFullText(uniBillAmend.getFullText());
+                billAmendment.markModified(BillAmendmentSection.AMENDMENT_INFO);
             }
         });
     }
@@ -735,13 +932,38 @@ public class BillProcessor extends AbstractDataProcessor implements SobiProcesso
                 if (!sponsors.isEmpty()) {
                     sponsorLine = sponsors.remove(0);
                     for (String sponsor : sponsors) {
-                        baseBill.getAdditionalSponsors().add(getMemberFromShortName(sponsor, sessionYear, chamber));
+                        Member member = getMemberFromShortName(sponsor, sessionYear, chamber);
+                        if (!baseBill.getAdditionalSponsors().contains(member)) {
+                            baseBill.getAdditionalSponsors().add(member);
+                            baseBill.markModified(BillSection.SPONSOR);
+                        }
                     }
                 }
             }
             // Set the member into the sponsor instance
             billSponsor.setMember(getMemberFromShortName(sponsorLine, sessionYear, chamber));
         }
-        baseBill.setSponsor(billSponsor);
+        setIfChanged(baseBill, BillSection.SPONSOR, baseBill.getSponsor(), billSponsor, baseBill::setSponsor);
+    }
+
+    /**
+     * Sets the value on the bill if it differs from the current value and marks the section as modified.
+     */
+    private static <T> void setIfChanged(Bill bill, BillSection section, T current, T value, Consumer<T> setter) {
+        if (!Objects.equals(current, value)) {
+            setter.accept(value);
+            bill.markModified(section);
+        }
+    }
+
+    /**
+     * Sets the value on the amendment if it differs from the current value and marks the section as modified.
+     */
+    private static <T> void setIfChanged(BillAmendment amendment, BillAmendmentSection section, T current, T value,
+                                         Consumer<T> setter) {
+        if (!Objects.equals(current, value)) {
+            setter.accept(value);
+            amendment.markModified(section);
+        }
     }
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.dao.sobi.SobiDao;
 import gov.nysenate.openleg.model.process.DataProcessAction;
+import gov.nysenate.openleg.model.process.DataProcessThroughputEvent;
 import gov.nysenate.openleg.model.process.DataProcessUnit;
 import gov.nysenate.openleg.model.process.DataProcessUnitEvent;
 import gov.nysenate.openleg.model.sobi.*;
@@ -25,12 +26,15 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -42,10 +46,20 @@ public class ManagedSobiProcessService implements SobiProcessService
 {
     private static final Logger logger = LoggerFactory.getLogger(ManagedSobiProcessService.class);
 
+    /** --- Xml Fragment Patterns --- */
+
+    private static final Pattern cdataPattern = Pattern.compile("<\\!\\[CDATA\\[(.*?)\\]\\]>");
+    private static final Pattern newlPattern = Pattern.compile("&newl;");
+    private static final Pattern controlCharPattern = Pattern.compile("(?!\n)\\p{Cntrl}");
+    private static final Pattern extraSpacesPattern = Pattern.compile("(?!\\.{2})[ ]{2,}");
+
     @Autowired private SobiDao sobiDao;
     @Autowired private EventBus eventBus;
     @Autowired private Environment env;
 
+    /** Worker pool used to apply bill fragments when parallel processing is enabled. */
+    @Resource(name = "sobiProcessPool") private ExecutorService sobiProcessPool;
+
     /** --- Processor Dependencies --- */
 
     @Autowired private AgendaProcessor agendaProcessor;
@@ -109,16 +123,16 @@ public class ManagedSobiProcessService implements SobiProcessService
                 for (SobiFile sobiFile : newSobis) {
                     DataProcessUnit unit =
                         new DataProcessUnit("SOBI-FILE", sobiFile.getFileName(), LocalDateTime.now(), DataProcessAction.COLLATE);
-                    List<SobiFragment> fragments = createFragments(sobiFile);
-                    // Record the sobi file in the backing store.
-                    sobiDao.updateSobiFile(sobiFile);
-                    // Save the extracted fragments. They will be marked as pending processing.
-                    for (SobiFragment fragment : fragments) {
-                        logger.info("Saving fragment {}", fragment.getFragmentId());
+                    // Extract the fragments, they will be marked as pending processing.
+                    List<SobiFragment> fragments = new ArrayList<>();
+                    createFragments(sobiFile, fragment -> {
                         fragment.setPendingProcessing(true);
-                        sobiDao.updateSobiFragment(fragment);
-                        unit.addMessage("Saved " + fragment.getFragmentId());
-                    }
+                        fragments.add(fragment);
+                    });
+                    // Record the sobi file and its fragments together so the file is never saved without them.
+                    logger.info("Saving {} fragments from {}", fragments.size(), sobiFile.getFileName());
+                    sobiDao.updateSobiFileAndFragments(sobiFile, fragments);
+                    fragments.forEach(fragment -> unit.addMessage("Saved " + fragment.getFragmentId()));
                     // Done with this sobi file so let's archive it.
                     sobiDao.archiveAndUpdateSobiFile(sobiFile);
                     totalCollated++;
@@ -146,16 +160,12 @@ public class ManagedSobiProcessService implements SobiProcessService
     public int processFragments(List<SobiFragment> fragments, SobiProcessOptions options) {
         logger.debug((fragments.isEmpty()) ? "No more fragments to process"
                                           : "Iterating through {} fragments", fragments.size());
-        for (SobiFragment fragment : fragments) {
-            // Hand off processing to specific implementations based on fragment type.
-            if (processorMap.containsKey(fragment.getType())) {
-                processorMap.get(fragment.getType()).process(fragment);
-            }
-            else {
-                logger.error("No processors have been registered to handle: " + fragment);
-            }
-            fragment.setProcessedCount(fragment.getProcessedCount() + 1);
-            fragment.setProcessedDateTime(LocalDateTime.now());
+        LocalDateTime startDateTime = LocalDateTime.now();
+        if (env.isSobiParallelEnabled()) {
+            processFragmentsInParallel(fragments);
+        }
+        else {
+            fragments.forEach(this::processFragment);
         }
         // Perform any necessary post-processing/cleanup
         processorMap.values().forEach(p -> p.postProcess());
@@ -164,7 +174,10 @@ public class ManagedSobiProcessService implements SobiProcessService
             f.setPendingProcessing(false);
             sobiDao.updateSobiFragment(f);
         });
-
+        if (!fragments.isEmpty()) {
+            eventBus.post(new DataProcessThroughputEvent(fragments.size(),
+                Duration.between(startDateTime, LocalDateTime.now())));
+        }
         return fragments.size();
     }
 
@@ -204,10 +217,59 @@ public class ManagedSobiProcessService implements SobiProcessService
     /** --- Internal Methods --- */
 
     /**
-     * Extracts a list of SobiFragments from the given SobiFile.
+     * Hands off processing of the fragment to the processor registered for its type.
      */
-    private List<SobiFragment> createFragments(SobiFile sobiFile) throws IOException {
-        List<SobiFragment> sobiFragments = new ArrayList<>();
+    private void processFragment(SobiFragment fragment) {
+        if (processorMap.containsKey(fragment.getType())) {
+            processorMap.get(fragment.getType()).process(fragment);
+        }
+        else {
+            logger.error("No processors have been registered to handle: " + fragment);
+        }
+        markProcessed(fragment);
+    }
+
+    /**
+     * Processes the fragments such that consecutive bill fragments are applied in parallel via the
+     * BillProcessor. Any other fragment type is processed on this thread, but only after the preceding
+     * bill updates have been applied and flushed since agendas and calendars can depend on bill state.
+     */
+    private void processFragmentsInParallel(List<SobiFragment> fragments) {
+        List<SobiFragment> billFragments = new ArrayList<>();
+        for (SobiFragment fragment : fragments) {
+            if (fragment.getType().equals(SobiFragmentType.BILL)) {
+                billFragments.add(fragment);
+            }
+            else {
+                processBillFragmentsInParallel(billFragments);
+                processFragment(fragment);
+            }
+        }
+        processBillFragmentsInParallel(billFragments);
+    }
+
+    /**
+     * Applies the given bill fragments using the sobi process pool and clears the list.
+     */
+    private void processBillFragmentsInParallel(List<SobiFragment> billFragments) {
+        if (!billFragments.isEmpty()) {
+            billProcessor.processParallel(billFragments, sobiProcessPool);
+            billFragments.forEach(this::markProcessed);
+            billFragments.clear();
+        }
+    }
+
+    private void markProcessed(SobiFragment fragment) {
+        fragment.setProcessedCount(fragment.getProcessedCount() + 1);
+        fragment.setProcessedDateTime(LocalDateTime.now());
+    }
+
+    /**
+     * Extracts SobiFragments from the given SobiFile, handing each one off to the fragment handler as soon
+     * as it is complete. The file is streamed line by line so the whole text is never held in memory. The
+     * bill lines of a file form a single fragment, so they are appended to one buffer as they are read.
+     */
+    private void createFragments(SobiFile sobiFile, Consumer<SobiFragment> fragmentHandler) throws IOException {
         StringBuilder billBuffer = new StringBuilder();
 
         // Incrementing sequenceNo maintains the order in which the sobi fragments were
@@ -215,49 +277,68 @@ public class ManagedSobiProcessService implements SobiProcessService
         // is always set to 0 to ensure that they are always processed first.
         int sequenceNo = 1;
 
-        // Replace the null characters with spaces and split by newline.
-        List<String> lines = Arrays.asList(sobiFile.getText().replace('\0', ' ').split("\\r?\\n"));
-        Iterator<String> lineIterator = lines.iterator();
-        while (lineIterator.hasNext()) {
-            String line = lineIterator.next();
-            SobiFragmentType fragmentType = getFragmentTypeFromLine(line);
-            if (fragmentType != null) {
-                // Bill fragments are in the sobi format and appended into a single buffer
-                if (fragmentType.equals(SobiFragmentType.BILL)) {
-                    // Memos need to be converted to latin1 encoding
-                    if (line.charAt(11) == SobiLineType.SPONSOR_MEMO.getTypeCode()) {
-                        line = new String(line.getBytes(sobiFile.getEncoding()), "latin1");
+        try (BufferedReader reader = sobiFile.getReader()) {
+            String line;
+            while ((line = readLine(reader)) != null) {
+                SobiFragmentType fragmentType = getFragmentTypeFromLine(line);
+                if (fragmentType != null) {
+                    // Bill fragments are in the sobi format and appended into a single buffer
+                    if (fragmentType.equals(SobiFragmentType.BILL)) {
+                        // Memos need to be converted to latin1 encoding
+                        if (line.charAt(11) == SobiLineType.SPONSOR_MEMO.getTypeCode()) {
+                            line = new String(line.getBytes(sobiFile.getEncoding()), "latin1");
+                        }
+                        line = line.replace((char)193, '°');
+                        billBuffer.append(line).append("\n");
+                    }
+                    // Other fragment types are in XML format. The reader moves past the closing xml
+                    // tag and the xml text is stored in the fragment.
+                    else {
+                        String xmlText = extractXmlText(fragmentType, line, reader);
+                        fragmentHandler.accept(new SobiFragment(sobiFile, fragmentType, xmlText, sequenceNo++));
                     }
-                    line = line.replace((char)193, '°');
-                    billBuffer.append(line).append("\n");
-                }
-                // Other fragment types are in XML format. The iterator moves past the closing xml
-                // tag and the xml text is stored in the fragment.
-                else {
-                    String xmlText = extractXmlText(fragmentType, line, lineIterator);
-                    SobiFragment fragment = new SobiFragment(sobiFile, fragmentType, xmlText, sequenceNo++);
-                    sobiFragments.add(fragment);
                 }
             }
         }
         // Convert the billBuffer into a single bill fragment (if applicable) with sequence no set to 0.
         if (billBuffer.length() > 0) {
-            SobiFragment billFragment = new SobiFragment(sobiFile, SobiFragmentType.BILL, billBuffer.toString(), 0);
-            sobiFragments.add(billFragment);
+            fragmentHandler.accept(new SobiFragment(sobiFile, SobiFragmentType.BILL, billBuffer.toString(), 0));
         }
-        return sobiFragments;
+    }
+
+    /**
+     * Reads the next line from the reader, replacing any null characters with spaces.
+     *
+     * @param reader BufferedReader - Reader for the sobi file text.
+     * @return String - The line, or null if the end of the stream was reached.
+     * @throws IOException
+     */
+    private static String readLine(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        return (line != null && line.indexOf('\0') >= 0) ? line.replace('\0', ' ') : line;
     }
 
     /**
      * Check the given SOBI line to determine if it matches the start of a SOBI Fragment type.
+     * Bill lines always begin with the session year and xml fragments always begin with a tag,
+     * so the first character is used to avoid testing patterns that can't match.
      *
      * @param line String
      * @return SobiFragmentType or null if no match
      */
     private SobiFragmentType getFragmentTypeFromLine(String line) {
-        for (SobiFragmentType fragmentType : SobiFragmentType.values()) {
-            if (line.matches(fragmentType.getStartPattern())) {
-                return fragmentType;
+        if (line.isEmpty()) {
+            return null;
+        }
+        char firstChar = line.charAt(0);
+        if (Character.isDigit(firstChar)) {
+            return SobiFragmentType.BILL.getStartPattern().matcher(line).matches() ? SobiFragmentType.BILL : null;
+        }
+        if (firstChar == '<') {
+            for (SobiFragmentType fragmentType : SobiFragmentType.values()) {
+                if (fragmentType.isXml() && fragmentType.getStartPattern().matcher(line).matches()) {
+                    return fragmentType;
+                }
             }
         }
         return null;
@@ -270,22 +351,21 @@ public class ManagedSobiProcessService implements SobiProcessService
      *
      * @param fragmentType SobiFragmentType
      * @param line String - The starting line of the document
-     * @param iterator Iterator<String> - Current iterator from the sobi file's text body
+     * @param reader BufferedReader - Current reader for the sobi file's text body
      *
      * @return String - The resulting XML string.
      * @throws java.io.IOException
      */
-    private String extractXmlText(SobiFragmentType fragmentType, String line, Iterator<String> iterator) throws IOException {
-        String endPattern = fragmentType.getEndPattern();
-        StringBuffer xmlBuffer = new StringBuffer(
+    private String extractXmlText(SobiFragmentType fragmentType, String line, BufferedReader reader) throws IOException {
+        Pattern endPattern = fragmentType.getEndPattern();
+        StringBuilder xmlBuffer = new StringBuilder(
             "<?xml version='1.0' encoding='UTF-8'?>&newl;" +
                 "<SENATEDATA>&newl;" + line + "&newl;"
         );
         String in = null;
-        while (iterator.hasNext()) {
-            in = iterator.next();
-            xmlBuffer.append(in.replaceAll("\\xb9", "&sect;")).append("&newl;");
-            if (in.matches(endPattern)) {
+        while ((in = readLine(reader)) != null) {
+            xmlBuffer.append((in.indexOf('\u00b9') >= 0) ? in.replace("\u00b9", "&sect;") : in).append("&newl;");
+            if (endPattern.matcher(in).matches()) {
                 break;
             }
         }
@@ -297,15 +377,17 @@ public class ManagedSobiProcessService implements SobiProcessService
         String xmlString = xmlBuffer.append("</SENATEDATA>").toString();
 
         // TODO: Figure out this magic.
-        xmlBuffer = new StringBuffer();
-        Matcher m = Pattern.compile("<\\!\\[CDATA\\[(.*?)\\]\\]>").matcher(xmlString);
+        StringBuffer cdataBuffer = new StringBuffer();
+        Matcher m = cdataPattern.matcher(xmlString);
         while(m.find()) {
-            m.appendReplacement(xmlBuffer, Matcher.quoteReplacement(m.group(0).replaceAll("&newl;", "").replaceAll("\\\\n","\n")));
+            m.appendReplacement(cdataBuffer, Matcher.quoteReplacement(m.group(0).replaceAll("&newl;", "").replaceAll("\\\\n","\n")));
         }
-        m.appendTail(xmlBuffer);
+        m.appendTail(cdataBuffer);
 
         // TODO: Figure out this magic as well.
-        xmlString = xmlBuffer.toString().replaceAll("&newl;", "\n").replaceAll("(?!\n)\\p{Cntrl}","").replaceAll("(?!\\.{2})[ ]{2,}"," ");
+        xmlString = newlPattern.matcher(cdataBuffer.toString()).replaceAll("\n");
+        xmlString = controlCharPattern.matcher(xmlString).replaceAll("");
+        xmlString = extraSpacesPattern.matcher(xmlString).replaceAll(" ");
         return xmlString;
     }
 }
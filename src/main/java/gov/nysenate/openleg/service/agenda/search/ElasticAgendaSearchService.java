@@ -18,8 +18,12 @@ import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.service.agenda.data.AgendaDataService;
 import gov.nysenate.openleg.service.agenda.event.AgendaUpdateEvent;
 import gov.nysenate.openleg.service.agenda.event.BulkAgendaUpdateEvent;
+import gov.nysenate.openleg.service.base.event.EventQueueService;
 import gov.nysenate.openleg.service.base.search.IndexedSearchService;
+import gov.nysenate.openleg.service.base.search.SearchResultCache;
+import gov.nysenate.openleg.service.base.search.SearchResultCacheService;
 import org.elasticsearch.index.query.FilterBuilders;
+import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,36 +42,43 @@ public class ElasticAgendaSearchService implements AgendaSearchService, IndexedS
 {
     private static final Logger logger = LoggerFactory.getLogger(ElasticAgendaSearchService.class);
 
+    private static final String INDEX_QUEUE = "agenda-index";
+
     @Autowired private Environment env;
     @Autowired private EventBus eventBus;
+    @Autowired private EventQueueService eventQueueService;
     @Autowired private ElasticAgendaSearchDao agendaSearchDao;
     @Autowired private AgendaDataService agendaDataService;
+    @Autowired private SearchResultCacheService searchResultCacheService;
+
+    private SearchResultCache resultCache;
 
     @PostConstruct
     protected void init() {
         eventBus.register(this);
+        resultCache = searchResultCacheService.getCache(SearchIndex.AGENDA);
     }
 
     /** {@inheritDoc} */
     @Override
     public SearchResults<CommitteeAgendaId> searchCommitteeAgendas(String query, String sort, LimitOffset limOff) throws SearchException {
-        return agendaSearchDao.searchCommitteeAgendas(QueryBuilders.queryString(query), null, sort, limOff);
+        return searchCommitteeAgendas(QueryBuilders.queryString(query), sort, limOff);
     }
 
     /** {@inheritDoc} */
     @Override
     public SearchResults<CommitteeAgendaId> searchCommitteeAgendas(int year, String sort, LimitOffset limOff) throws SearchException {
-        return agendaSearchDao.searchCommitteeAgendas(
+        return searchCommitteeAgendas(
                 QueryBuilders.filteredQuery(QueryBuilders.matchAllQuery(), FilterBuilders.termFilter("agenda.id.year", year)),
-                null, sort, limOff);
+                sort, limOff);
     }
 
     /** {@inheritDoc} */
     @Override
     public SearchResults<CommitteeAgendaId> searchCommitteeAgendas(String query, int year, String sort, LimitOffset limOff) throws SearchException {
-        return agendaSearchDao.searchCommitteeAgendas(
+        return searchCommitteeAgendas(
                 QueryBuilders.filteredQuery(QueryBuilders.queryString(query), FilterBuilders.termFilter("agenda.id.year", year)),
-                null, sort, limOff);
+                sort, limOff);
     }
 
     /** {@inheritDoc} */
@@ -90,20 +101,29 @@ public class ElasticAgendaSearchService implements AgendaSearchService, IndexedS
 
     /** {@inheritDoc} */
     @Override
-    public void clearIndex() {
-        agendaSearchDao.purgeIndices();
-        agendaSearchDao.createIndices();
+    public synchronized void clearIndex() {
+        agendaSearchDao.createShadowIndices();
+        agendaSearchDao.promoteShadowIndices();
+        resultCache.indexReplaced();
     }
 
     /** {@inheritDoc} */
     @Override
-    public void rebuildIndex() {
-        clearIndex();
-        for (int year = 2009; year <= LocalDate.now().getYear(); year++) {
-            List<AgendaId> agendaIds = agendaDataService.getAgendaIds(year, SortOrder.ASC);
-            List<Agenda> agendas = agendaIds.stream().map(aid -> agendaDataService.getAgenda(aid)).collect(toList());
-            logger.info("Reindexing {} agendas from {}", agendas.size(), year);
-            agendaSearchDao.updateAgendaIndex(agendas);
+    public synchronized void rebuildIndex() {
+        agendaSearchDao.createShadowIndices();
+        try {
+            for (int year = 2009; year <= LocalDate.now().getYear(); year++) {
+                List<AgendaId> agendaIds = agendaDataService.getAgendaIds(year, SortOrder.ASC);
+                List<Agenda> agendas = agendaIds.stream().map(aid -> agendaDataService.getAgenda(aid)).collect(toList());
+                logger.info("Reindexing {} agendas from {}", agendas.size(), year);
+                agendaSearchDao.updateAgendaIndex(agendas);
+            }
+            agendaSearchDao.promoteShadowIndices();
+            resultCache.indexReplaced();
+        }
+        catch (RuntimeException ex) {
+            agendaSearchDao.deleteShadowIndices();
+            throw ex;
         }
     }
 
@@ -134,18 +154,28 @@ public class ElasticAgendaSearchService implements AgendaSearchService, IndexedS
     /** {@inheritDoc} */
     @Subscribe
     @Override
-    public synchronized void handleAgendaUpdateEvent(AgendaUpdateEvent agendaUpdateEvent) {
+    public void handleAgendaUpdateEvent(AgendaUpdateEvent agendaUpdateEvent) {
         if (agendaUpdateEvent != null && agendaUpdateEvent.getAgenda() != null) {
-            updateIndex(agendaUpdateEvent.getAgenda());
+            resultCache.trackUpdate(() -> updateIndex(agendaUpdateEvent.getAgenda()),
+                                    task -> eventQueueService.submit(INDEX_QUEUE, task));
         }
     }
 
     /** {@inheritDoc} */
     @Subscribe
     @Override
-    public synchronized void handleBulkAgendaUpdateEvent(BulkAgendaUpdateEvent bulkAgendaUpdateEvent) {
+    public void handleBulkAgendaUpdateEvent(BulkAgendaUpdateEvent bulkAgendaUpdateEvent) {
         if (bulkAgendaUpdateEvent != null && !bulkAgendaUpdateEvent.getAgendas().isEmpty()) {
-            updateIndex(bulkAgendaUpdateEvent.getAgendas());
+            resultCache.trackUpdate(() -> updateIndex(bulkAgendaUpdateEvent.getAgendas()),
+                                    task -> eventQueueService.submit(INDEX_QUEUE, task));
         }
     }
+
+    /** --- Internal --- */
+
+    private SearchResults<CommitteeAgendaId> searchCommitteeAgendas(QueryBuilder query, String sort, LimitOffset limOff)
+            throws SearchException {
+        return resultCache.get(SearchResultCache.key("id", query, null, sort, limOff),
+            () -> agendaSearchDao.searchCommitteeAgendas(query, null, sort, limOff));
+    }
 }
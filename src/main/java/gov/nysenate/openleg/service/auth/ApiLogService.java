@@ -0,0 +1,19 @@
+package gov.nysenate.openleg.service.auth;
+
+import gov.nysenate.openleg.model.auth.ApiResponse;
+
+public interface ApiLogService
+{
+    /**
+     * Queues an api response, along with the request it was made for, to be saved. This never blocks the caller,
+     * if the response can't be queued it is dropped and counted instead.
+     *
+     * @param response ApiResponse - The response, with its base request set
+     */
+    public void logResponse(ApiResponse response);
+
+    /**
+     * @return long - The number of responses that were dropped instead of saved since startup.
+     */
+    public long getDroppedCount();
+}
@@ -0,0 +1,240 @@
+package gov.nysenate.openleg.service.auth;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import gov.nysenate.openleg.dao.auth.ApiUserDao;
+import gov.nysenate.openleg.model.auth.ApiUser;
+import gov.nysenate.openleg.model.cache.CacheEvictEvent;
+import gov.nysenate.openleg.model.cache.CacheEvictIdEvent;
+import gov.nysenate.openleg.model.cache.ContentCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits the rate of requests made with each api key and meters how many requests each key has made.
+ *
+ * Every key gets a token bucket whose size and refill rate are set by the rate limit tier of the key's user.
+ * Tiers are configured as a list of 'name:requests per second:burst size' entries, where a rate of 0 means
+ * the tier is not limited. Users without a tier, or with an unknown one, fall under the default tier.
+ *
+ * The buckets and usage counters only use atomic updates, so requests made with different keys never contend,
+ * and requests made with the same key only retry a compare and set. Usage counts are added to the database
+ * periodically rather than on every request.
+ */
+@Service
+public class ApiRateLimitService
+{
+    private static final Logger logger = LoggerFactory.getLogger(ApiRateLimitService.class);
+
+    @Autowired private ApiUserService apiUserService;
+    @Autowired private ApiUserDao apiUserDao;
+    @Autowired private EventBus eventBus;
+
+    @Value("${api.rate.limit.enable:true}") private boolean enabled;
+    @Value("${api.rate.limit.tiers:standard:10:50, unlimited:0:0}") private String tierConfig;
+    @Value("${api.rate.limit.default.tier:standard}") private String defaultTierName;
+
+    private Map<String, RateLimitTier> tiers;
+    private RateLimitTier defaultTier;
+
+    /** Token buckets, mapped by api key. */
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    /** Requests made since the usage counts were last saved, mapped by api key. */
+    private final ConcurrentHashMap<String, LongAdder> requestCounts = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    private void init() {
+        tiers = parseTiers(tierConfig);
+        defaultTier = tiers.get(defaultTierName);
+        if (defaultTier == null) {
+            throw new IllegalStateException("The default rate limit tier '" + defaultTierName + "' is not configured");
+        }
+        eventBus.register(this);
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        saveRequestCounts();
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Takes a token from the key's bucket and counts the request towards the key's usage.
+     *
+     * @param apikey String - A valid api key
+     * @return long - 0 if the request can be made, otherwise the number of seconds until it can be retried.
+     */
+    public long tryAcquire(String apikey) {
+        long retryAfter = 0;
+        if (enabled) {
+            retryAfter = getBucket(apikey).tryAcquire(System.nanoTime());
+        }
+        if (retryAfter == 0) {
+            requestCounts.computeIfAbsent(apikey, k -> new LongAdder()).increment();
+        }
+        return retryAfter;
+    }
+
+    /**
+     * Adds the request counts gathered since the last run to the database.
+     */
+    @Scheduled(fixedDelayString = "${api.usage.flush.interval:60000}")
+    public void saveRequestCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        requestCounts.forEach((apikey, count) -> {
+            long sum = count.sumThenReset();
+            if (sum > 0) {
+                counts.put(apikey, sum);
+            }
+        });
+        if (counts.isEmpty()) {
+            return;
+        }
+        try {
+            apiUserDao.addRequestCounts(counts);
+        }
+        catch (DataAccessException ex) {
+            // Put the counts back so they are saved on the next run
+            counts.forEach((apikey, count) -> requestCounts.computeIfAbsent(apikey, k -> new LongAdder()).add(count));
+            logger.warn("Failed to save api request counts: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Buckets are recreated when the api user cache is evicted, so changes to a user's tier take effect.
+     */
+    @Subscribe
+    public void handleCacheEvictEvent(CacheEvictEvent evictEvent) {
+        if (evictEvent.affects(ContentCache.APIUSER)) {
+            buckets.clear();
+        }
+    }
+
+    /**
+     * Only the bucket of the evicted key is recreated, the other keys keep their current state.
+     */
+    @Subscribe
+    public void handleCacheEvictIdEvent(CacheEvictIdEvent<String> evictIdEvent) {
+        if (evictIdEvent.affects(ContentCache.APIUSER) && evictIdEvent.getContentId() != null) {
+            buckets.remove(evictIdEvent.getContentId());
+        }
+    }
+
+    /** --- Internal --- */
+
+    /**
+     * The user is looked up before the bucket is added to the map, since a lookup that goes to the database
+     * would otherwise block every other key that hashes to the same bin while it runs.
+     */
+    private TokenBucket getBucket(String apikey) {
+        TokenBucket bucket = buckets.get(apikey);
+        if (bucket == null) {
+            TokenBucket newBucket = createBucket(apikey);
+            bucket = buckets.putIfAbsent(apikey, newBucket);
+            if (bucket == null) {
+                bucket = newBucket;
+            }
+        }
+        return bucket;
+    }
+
+    private TokenBucket createBucket(String apikey) {
+        ApiUser user = apiUserService.getUserFromKey(apikey);
+        RateLimitTier tier = (user != null && user.getRateLimitTier() != null)
+            ? tiers.getOrDefault(user.getRateLimitTier(), defaultTier) : defaultTier;
+        return new TokenBucket(tier, System.nanoTime());
+    }
+
+    /**
+     * Parses a tier configuration such as 'standard:10:50, unlimited:0:0'.
+     */
+    static Map<String, RateLimitTier> parseTiers(String tierConfig) {
+        ImmutableMap.Builder<String, RateLimitTier> tierBuilder = ImmutableMap.builder();
+        for (String tier : Splitter.on(',').trimResults().omitEmptyStrings().split(tierConfig)) {
+            List<String> parts = Splitter.on(':').trimResults().splitToList(tier);
+            if (parts.size() != 3) {
+                throw new IllegalArgumentException("Rate limit tiers must be given as name:rate:burst, not " + tier);
+            }
+            try {
+                tierBuilder.put(parts.get(0), new RateLimitTier(Double.parseDouble(parts.get(1)),
+                                                                Integer.parseInt(parts.get(2))));
+            }
+            catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid rate or burst size in rate limit tier " + tier);
+            }
+        }
+        return tierBuilder.build();
+    }
+
+    static class RateLimitTier
+    {
+        /** Nanoseconds it takes to refill one token, 0 if the tier is not limited. */
+        private final long refillNanos;
+        /** Maximum number of tokens in the bucket. */
+        private final int burstSize;
+
+        RateLimitTier(double requestsPerSecond, int burstSize) {
+            if (requestsPerSecond < 0 || burstSize < 0) {
+                throw new IllegalArgumentException("Rate limits can't be negative");
+            }
+            this.refillNanos = (requestsPerSecond > 0) ? (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond) : 0;
+            this.burstSize = Math.max(1, burstSize);
+        }
+    }
+
+    /**
+     * A token bucket kept as a single timestamp, the time at which the bucket will be full again. Taking a token
+     * moves that time ahead by one refill period, and is allowed as long as the bucket doesn't go past empty.
+     */
+    static class TokenBucket
+    {
+        private final RateLimitTier tier;
+        private final AtomicLong fullAt;
+
+        TokenBucket(RateLimitTier tier, long now) {
+            this.tier = tier;
+            this.fullAt = new AtomicLong(now);
+        }
+
+        /**
+         * @param now long - The current System.nanoTime
+         * @return long - 0 if a token was taken, otherwise the number of seconds until one is available.
+         */
+        long tryAcquire(long now) {
+            if (tier.refillNanos == 0) {
+                return 0;
+            }
+            long capacityNanos = tier.refillNanos * tier.burstSize;
+            while (true) {
+                long current = fullAt.get();
+                long next = Math.max(current, now) + tier.refillNanos;
+                long overdraw = next - now - capacityNanos;
+                if (overdraw > 0) {
+                    return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(overdraw + TimeUnit.SECONDS.toNanos(1) - 1));
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
@@ -8,6 +8,12 @@ public interface ApiUserService
 
     public ApiUser getUser (String email);
 
+    /**
+     * @param apikey The user's api key
+     * @return The user with the given key, or null if there is none.
+     */
+    public ApiUser getUserFromKey(String apikey);
+
     public void activateUser(String regToken);
 
     public boolean validateKey(String key);
@@ -0,0 +1,147 @@
+package gov.nysenate.openleg.service.auth;
+
+import gov.nysenate.openleg.dao.auth.ApiLogDao;
+import gov.nysenate.openleg.model.auth.ApiResponse;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Saves api responses from a background writer thread so that logging doesn't add any database round trips to the
+ * request. Responses are queued in a bounded, lock-free buffer and written in batches, either once a full batch is
+ * queued or after the flush interval has passed. If the database falls behind and the buffer fills up, new responses
+ * are dropped and counted rather than making requests wait.
+ */
+@Service
+public class BufferedApiLogService implements ApiLogService
+{
+    private static final Logger logger = LoggerFactory.getLogger(BufferedApiLogService.class);
+
+    @Autowired private ApiLogDao apiLogDao;
+
+    @Value("${api.log.enable:true}") private boolean enabled;
+    @Value("${api.log.buffer.size:10000}") private int bufferSize;
+    @Value("${api.log.batch.size:500}") private int batchSize;
+    @Value("${api.log.flush.interval:1000}") private long flushIntervalMs;
+
+    private final Queue<ApiResponse> buffer = new ConcurrentLinkedQueue<>();
+    /** Tracks the size of the buffer, since the size of a ConcurrentLinkedQueue takes a full traversal. */
+    private final AtomicInteger bufferedCount = new AtomicInteger();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private long reportedDroppedCount = 0;
+
+    private volatile boolean running = false;
+    private Thread writer;
+
+    @PostConstruct
+    private void init() {
+        if (enabled) {
+            running = true;
+            writer = new OpenlegThreadFactory("api-log-writer").newThread(this::writeLoop);
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    @PreDestroy
+    private void shutdown() throws InterruptedException {
+        if (writer != null) {
+            running = false;
+            LockSupport.unpark(writer);
+            // Give the writer a chance to save whatever is still buffered
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    /** --- ApiLogService implementation --- */
+
+    /** {@inheritDoc} */
+    @Override
+    public void logResponse(ApiResponse response) {
+        if (!running) {
+            return;
+        }
+        int count = bufferedCount.incrementAndGet();
+        if (count > bufferSize) {
+            bufferedCount.decrementAndGet();
+            droppedCount.incrementAndGet();
+            return;
+        }
+        buffer.offer(response);
+        if (count == batchSize) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /** --- Internal --- */
+
+    /**
+     * Runs on the writer thread, saving batches until the service is shut down and the buffer is empty.
+     */
+    private void writeLoop() {
+        while (running || !buffer.isEmpty()) {
+            if (running && bufferedCount.get() < batchSize) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(flushIntervalMs));
+            }
+            writeBatches();
+        }
+    }
+
+    /**
+     * Saves everything in the buffer, a batch at a time. A batch that fails to save is dropped so that the buffer
+     * keeps draining while the database is unavailable.
+     */
+    private void writeBatches() {
+        List<ApiResponse> batch = new ArrayList<>(batchSize);
+        ApiResponse response;
+        do {
+            batch.clear();
+            while (batch.size() < batchSize && (response = buffer.poll()) != null) {
+                batch.add(response);
+            }
+            if (batch.isEmpty()) {
+                break;
+            }
+            bufferedCount.addAndGet(-batch.size());
+            try {
+                apiLogDao.saveApiResponses(batch);
+            }
+            catch (DataAccessException ex) {
+                droppedCount.addAndGet(batch.size());
+                logger.warn("Failed to save a batch of {} api log records: {}", batch.size(), ex.getMessage());
+            }
+            catch (RuntimeException ex) {
+                droppedCount.addAndGet(batch.size());
+                logger.error("Unexpected error while saving a batch of api log records", ex);
+            }
+        }
+        while (batch.size() == batchSize);
+        long dropped = droppedCount.get();
+        if (dropped > reportedDroppedCount) {
+            logger.warn("{} api log records have been dropped, {} since the last report",
+                        dropped, dropped - reportedDroppedCount);
+            reportedDroppedCount = dropped;
+        }
+    }
+}
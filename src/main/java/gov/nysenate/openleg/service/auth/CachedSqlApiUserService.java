@@ -21,6 +21,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache.ValueWrapper;
 import org.springframework.cache.ehcache.EhCacheCache;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.EmptyResultDataAccessException;
@@ -31,6 +32,9 @@ import javax.annotation.PreDestroy;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -49,15 +53,32 @@ public class CachedSqlApiUserService implements ApiUserService, CachingService<S
     @Autowired private CacheManager cacheManager;
     @Autowired private EventBus eventBus;
 
+    @Value("${api.auth.invalid.key.ttl:60}") private long invalidKeyTtlSeconds;
+
     private static final String apiUserCacheName = "apiusers";
     private EhCacheCache apiUserCache;
 
+    /** Keys of activated users, checked before anything else so that valid keys never wait on the database. */
+    private final Set<String> validKeys = ConcurrentHashMap.newKeySet();
+
+    /** Keys that recently failed validation, mapped to the System.nanoTime at which that result expires. */
+    private final ConcurrentHashMap<String, Long> invalidKeys = new ConcurrentHashMap<>();
+
+    /** Caps the number of remembered invalid keys so that requests with random keys can't grow it without limit. */
+    private static final int MAX_INVALID_KEYS = 10000;
+
     private static final Logger logger = LoggerFactory.getLogger(CachedSqlApiUserService.class);
 
     @PostConstruct
     private void init() {
         eventBus.register(this);
         setupCaches();
+        try {
+            loadValidKeys();
+        }
+        catch (DataAccessException ex) {
+            logger.error("Failed to load api keys, keys will be validated against the database as they are used", ex);
+        }
     }
 
     @PreDestroy
@@ -102,6 +123,20 @@ public class CachedSqlApiUserService implements ApiUserService, CachingService<S
     @Override
     public void evictContent(String key) {
         apiUserCache.evict(key);
+        validKeys.remove(key);
+        invalidKeys.remove(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Also forgets all known valid and invalid keys.
+     */
+    @Override
+    public void evictCaches() {
+        CachingService.super.evictCaches();
+        validKeys.clear();
+        invalidKeys.clear();
     }
 
     @Override
@@ -111,6 +146,7 @@ public class CachedSqlApiUserService implements ApiUserService, CachingService<S
 
         // Feed in all the api users from the database into the cache
         apiUserDao.getAllUsers().forEach(user -> apiUserCache.put(user.getApikey(), user));
+        loadValidKeys();
     }
 
     @Override
@@ -169,37 +205,76 @@ public class CachedSqlApiUserService implements ApiUserService, CachingService<S
         return apiUserDao.getApiUserFromEmail(email);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public ApiUser getUserFromKey(String apikey) {
+        if (apikey == null) {
+            return null;
+        }
+        ApiUser user = getCachedUser(apikey);
+        if (user == null) {
+            try {
+                user = apiUserDao.getApiUserFromKey(apikey);
+            } catch (EmptyResultDataAccessException e) {
+                return null;
+            }
+            apiUserCache.put(user.getApikey(), user);
+        }
+        return user;
+    }
+
     /**
      * Check to see if a given Apikey is valid.
      * If the key belongs to a user, and the user has activated their account
      * then this method will return true.
      *
+     * Keys of activated users are kept in memory, so a valid key is checked with a single set lookup.
+     * Keys that fail validation are remembered for a short while, so repeated requests with a bad key
+     * don't each cost a database query. A failed lookup is not a failed validation, so database errors
+     * other than a missing user are never remembered and are passed on to the caller.
+     *
      * @param apikey The apikey used with the call to the API
      * @return True if the key is valid and the user has activated their account.
+     * @throws DataAccessException If the user could not be looked up.
      */
     @Override
     public boolean validateKey(String apikey) {
-        // hit the cache first
-        ApiUser user = null;
-        user = (apiUserCache.get(apikey) != null) ? (ApiUser) apiUserCache.get(apikey).get() : null;
+        if (apikey == null || apikey.isEmpty()) {
+            return false;
+        }
+        if (validKeys.contains(apikey)) {
+            return true;
+        }
+        Long invalidUntil = invalidKeys.get(apikey);
+        if (invalidUntil != null) {
+            if (System.nanoTime() - invalidUntil < 0) {
+                return false;
+            }
+            invalidKeys.remove(apikey, invalidUntil);
+        }
 
-        // If the user is stored in the cache, then retrieve their information
-        if (user != null) {
-            return user.getAuthStatus();
+        // hit the cache next
+        ApiUser user = getCachedUser(apikey);
 
-        } else {
+        if (user == null) {
             // Fetch the user from the database
             try {
                 user = apiUserDao.getApiUserFromKey(apikey);
-
-            } catch (DataAccessException e) {
+            } catch (EmptyResultDataAccessException e) {
+                rememberInvalidKey(apikey);
                 return false;
             }
 
             // Add the user to the cache
             apiUserCache.put(user.getApikey(), user);
-            return user.getAuthStatus();
         }
+        if (user.getAuthStatus()) {
+            validKeys.add(apikey);
+        }
+        else {
+            rememberInvalidKey(apikey);
+        }
+        return user.getAuthStatus();
     }
 
     /**
@@ -216,6 +291,9 @@ public class CachedSqlApiUserService implements ApiUserService, CachingService<S
             user.setActive(true);
             user.setAuthStatus(true);
             apiUserDao.updateUser(user);
+            apiUserCache.put(user.getApikey(), user);
+            invalidKeys.remove(user.getApikey());
+            validKeys.add(user.getApikey());
             sendApikeyEmail(user);
             sendNewApiUserNotification(user);
         } catch (EmptyResultDataAccessException e) {
@@ -255,6 +333,31 @@ public class CachedSqlApiUserService implements ApiUserService, CachingService<S
      * --- Internal Methods ---
      */
 
+    /**
+     * Adds the keys of all activated users to the set of valid keys.
+     */
+    private void loadValidKeys() {
+        apiUserDao.getAllUsers().stream()
+            .filter(ApiUser::getAuthStatus)
+            .forEach(user -> validKeys.add(user.getApikey()));
+        logger.info("Loaded {} valid api keys", validKeys.size());
+    }
+
+    private ApiUser getCachedUser(String apikey) {
+        ValueWrapper cachedUser = apiUserCache.get(apikey);
+        return (cachedUser != null) ? (ApiUser) cachedUser.get() : null;
+    }
+
+    private void rememberInvalidKey(String apikey) {
+        if (invalidKeyTtlSeconds <= 0) {
+            return;
+        }
+        if (invalidKeys.size() >= MAX_INVALID_KEYS) {
+            invalidKeys.clear();
+        }
+        invalidKeys.put(apikey, System.nanoTime() + TimeUnit.SECONDS.toNanos(invalidKeyTtlSeconds));
+    }
+
     private void sendNewApiUserNotification(ApiUser user) {
         boolean named = user.getName() != null;
         String summary = (named ? user.getName() : user.getEmail()) + " is now registered as an API user!";
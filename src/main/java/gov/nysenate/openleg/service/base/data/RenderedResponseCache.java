@@ -0,0 +1,176 @@
+package gov.nysenate.openleg.service.base.data;
+
+import gov.nysenate.openleg.client.response.base.RenderedResponse;
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.event.CacheEventListenerAdapter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches rendered responses for a single type of content. Each piece of content can have several renderings,
+ * one for each variant of its view (e.g. a bill with or without its full text), which are keyed separately.
+ *
+ * Every rendering remembers the modified date time of the content it was rendered from, and is only returned
+ * for that same modified date time, so a rendering is never served for content that has changed since. Content
+ * should still be evicted when it is updated so that outdated renderings don't take up space.
+ *
+ * The variants that are cached for each piece of content are indexed, so evicting content only touches its own
+ * renderings rather than scanning every key in the cache. The index is pruned as renderings leave the cache.
+ */
+public class RenderedResponseCache
+{
+    private final Ehcache cache;
+    private final int gzipMinSize;
+
+    /** The variants that are cached for each content id. */
+    private final ConcurrentMap<Object, Set<String>> variants = new ConcurrentHashMap<>();
+
+    /** --- Constructors --- */
+
+    /**
+     * @param cache Ehcache - The cache to store renderings in.
+     * @param gzipMinSize int - Renderings of at least this many bytes are gzipped as well, negative for never.
+     */
+    public RenderedResponseCache(Ehcache cache, int gzipMinSize) {
+        this.cache = cache;
+        this.gzipMinSize = gzipMinSize;
+        cache.getCacheEventNotificationService().registerListener(new IndexPruner());
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * @param contentId Object - Identifies the content
+     * @param variant String - Identifies the view of the content
+     * @param lastModified LocalDateTime - The current modified date time of the content
+     * @return Optional<RenderedResponse> - The rendering, if there is one for the current version of the content.
+     */
+    public Optional<RenderedResponse> get(Object contentId, String variant, LocalDateTime lastModified) {
+        if (lastModified == null) {
+            return Optional.empty();
+        }
+        Element element = cache.get(new Key(contentId, variant));
+        if (element != null) {
+            RenderedResponse rendered = (RenderedResponse) element.getObjectValue();
+            if (lastModified.equals(rendered.getLastModified())) {
+                return Optional.of(rendered);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Creates a rendering from the given json and caches it, unless the content or its modified date time is unknown.
+     *
+     * @param contentId Object - Identifies the content
+     * @param variant String - Identifies the view of the content
+     * @param json byte[] - The serialized response
+     * @param lastModified LocalDateTime - The modified date time of the content that was serialized
+     * @return RenderedResponse
+     */
+    public RenderedResponse put(Object contentId, String variant, byte[] json, LocalDateTime lastModified) {
+        RenderedResponse rendered = new RenderedResponse(json, gzipMinSize, lastModified);
+        if (lastModified != null && contentId != null) {
+            // Indexed after the put so that a concurrent eviction can't leave the rendering unindexed
+            cache.put(new Element(new Key(contentId, variant), rendered));
+            variants.computeIfAbsent(contentId, id -> ConcurrentHashMap.newKeySet()).add(variant);
+        }
+        return rendered;
+    }
+
+    /**
+     * Removes every rendering of the given content.
+     *
+     * @param contentIds Collection<?>
+     */
+    public void evict(Collection<?> contentIds) {
+        List<Key> keys = new ArrayList<>();
+        for (Object contentId : contentIds) {
+            Set<String> contentVariants = (contentId != null) ? variants.remove(contentId) : null;
+            if (contentVariants != null) {
+                contentVariants.forEach(variant -> keys.add(new Key(contentId, variant)));
+            }
+        }
+        if (!keys.isEmpty()) {
+            cache.removeAll(keys);
+        }
+    }
+
+    /**
+     * Removes all renderings.
+     */
+    public void clear() {
+        cache.removeAll();
+        variants.clear();
+    }
+
+    /** --- Internal --- */
+
+    /**
+     * Drops a rendering's variant from the index once ehcache evicts or expires it.
+     */
+    private class IndexPruner extends CacheEventListenerAdapter
+    {
+        @Override
+        public void notifyElementEvicted(Ehcache cache, Element element) {
+            unindex(element);
+        }
+
+        @Override
+        public void notifyElementExpired(Ehcache cache, Element element) {
+            unindex(element);
+        }
+
+        private void unindex(Element element) {
+            Key key = (Key) element.getObjectKey();
+            variants.computeIfPresent(key.contentId, (id, contentVariants) -> {
+                contentVariants.remove(key.variant);
+                return contentVariants.isEmpty() ? null : contentVariants;
+            });
+        }
+    }
+
+    private static class Key
+    {
+        private final Object contentId;
+        private final String variant;
+
+        public Key(Object contentId, String variant) {
+            this.contentId = contentId;
+            this.variant = variant;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key other = (Key) o;
+            return Objects.equals(contentId, other.contentId) && Objects.equals(variant, other.variant);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(contentId, variant);
+        }
+
+        @Override
+        public String toString() {
+            return contentId + ":" + variant;
+        }
+    }
+
+    /** --- Basic Getters --- */
+
+    public Ehcache getCache() {
+        return cache;
+    }
+}
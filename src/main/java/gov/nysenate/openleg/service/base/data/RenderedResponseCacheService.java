@@ -0,0 +1,199 @@
+package gov.nysenate.openleg.service.base.data;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.cache.CacheEvictEvent;
+import gov.nysenate.openleg.model.cache.CacheEvictIdEvent;
+import gov.nysenate.openleg.model.cache.CacheWarmEvent;
+import gov.nysenate.openleg.model.cache.ContentCache;
+import gov.nysenate.openleg.model.law.LawDocument;
+import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
+import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
+import gov.nysenate.openleg.service.law.event.BulkLawUpdateEvent;
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.MemoryUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Sets up a {@link RenderedResponseCache} for each type of content whose responses are rendered ahead of time,
+ * and evicts renderings when their content is updated or its data cache is evicted.
+ */
+@Service
+public class RenderedResponseCacheService implements CachingService<ContentCache>
+{
+    private static final Logger logger = LoggerFactory.getLogger(RenderedResponseCacheService.class);
+
+    private static final ImmutableSet<ContentCache> renderedContent = ImmutableSet.of(ContentCache.BILL, ContentCache.LAW);
+
+    @Autowired private CacheManager cacheManager;
+    @Autowired private EventBus eventBus;
+
+    @Value("${rendered-response.cache.size:50}") private long renderedResponseCacheSizeMb;
+    @Value("${response.gzip.enable:true}") private boolean gzipEnabled;
+    @Value("${response.gzip.min.size:1024}") private int gzipMinSize;
+
+    private final Map<ContentCache, RenderedResponseCache> renderedResponseCaches = new EnumMap<>(ContentCache.class);
+
+    @PostConstruct
+    private void init() {
+        setupCaches();
+        eventBus.register(this);
+    }
+
+    @PreDestroy
+    private void cleanUp() {
+        evictCaches();
+        renderedContent.forEach(content -> cacheManager.removeCache(getCacheName(content)));
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * @param content ContentCache - The type of content
+     * @return RenderedResponseCache - The rendered response cache for the given type of content.
+     * @throws IllegalArgumentException if responses for the content are not rendered ahead of time.
+     */
+    public RenderedResponseCache getCache(ContentCache content) {
+        RenderedResponseCache cache = renderedResponseCaches.get(content);
+        if (cache == null) {
+            throw new IllegalArgumentException("Rendered responses are not cached for " + content);
+        }
+        return cache;
+    }
+
+    /** --- CachingService implementation --- */
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Ehcache> getCaches() {
+        return renderedResponseCaches.values().stream().map(RenderedResponseCache::getCache).collect(toList());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setupCaches() {
+        for (ContentCache content : renderedContent) {
+            Cache cache = new Cache(new CacheConfiguration().name(getCacheName(content))
+                .eternal(true)
+                .maxBytesLocalHeap(renderedResponseCacheSizeMb, MemoryUnit.MEGABYTES)
+                .sizeOfPolicy(defaultSizeOfPolicy()));
+            cacheManager.addCache(cache);
+            renderedResponseCaches.put(content, new RenderedResponseCache(cache, (gzipEnabled) ? gzipMinSize : -1));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void evictContent(ContentCache content) {
+        if (renderedResponseCaches.containsKey(content)) {
+            renderedResponseCaches.get(content).clear();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void evictCaches() {
+        renderedResponseCaches.values().forEach(RenderedResponseCache::clear);
+    }
+
+    /** Responses are rendered as they are requested, so there is nothing to warm up. */
+    @Override
+    public void warmCaches() {}
+
+    /**
+     * {@inheritDoc}
+     *
+     * Evicting a content cache also evicts the renderings of that content.
+     */
+    @Override
+    @Subscribe
+    public void handleCacheEvictEvent(CacheEvictEvent evictEvent) {
+        if (evictEvent.affects(ContentCache.RENDERED_RESPONSES)) {
+            logger.info("Clearing out rendered response caches");
+            evictCaches();
+        }
+        else {
+            renderedContent.stream().filter(evictEvent::affects).forEach(this::evictContent);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Subscribe
+    public void handleCacheEvictIdEvent(CacheEvictIdEvent<ContentCache> evictIdEvent) {
+        if (evictIdEvent.affects(ContentCache.RENDERED_RESPONSES)) {
+            evictContent(evictIdEvent.getContentId());
+        }
+    }
+
+    /**
+     * Evicts the renderings of a bill when it is evicted from the bill cache.
+     */
+    @Subscribe
+    public void handleBillEvictIdEvent(CacheEvictIdEvent<BaseBillId> evictIdEvent) {
+        if (evictIdEvent.affects(ContentCache.BILL)) {
+            getCache(ContentCache.BILL).evict(Collections.singleton(evictIdEvent.getContentId()));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Subscribe
+    public void handleCacheWarmEvent(CacheWarmEvent warmEvent) {
+        if (warmEvent.affects(ContentCache.RENDERED_RESPONSES)) {
+            warmCaches();
+        }
+    }
+
+    /** --- Update Event Handlers --- */
+
+    @Subscribe
+    public void handleBillUpdate(BillUpdateEvent billUpdateEvent) {
+        if (billUpdateEvent.getBill() != null && billUpdateEvent.getBill().getBaseBillId() != null) {
+            getCache(ContentCache.BILL).evict(Collections.singleton(billUpdateEvent.getBill().getBaseBillId()));
+        }
+    }
+
+    @Subscribe
+    public void handleBulkBillUpdate(BulkBillUpdateEvent bulkBillUpdateEvent) {
+        if (bulkBillUpdateEvent.getBills() != null) {
+            getCache(ContentCache.BILL).evict(bulkBillUpdateEvent.getBills().stream()
+                .filter(Objects::nonNull)
+                .map(Bill::getBaseBillId)
+                .filter(Objects::nonNull)
+                .collect(toList()));
+        }
+    }
+
+    @Subscribe
+    public void handleBulkLawUpdate(BulkLawUpdateEvent bulkLawUpdateEvent) {
+        getCache(ContentCache.LAW).evict(
+            bulkLawUpdateEvent.getLawDocuments().stream().map(LawDocument::getLawId).distinct().collect(toList()));
+    }
+
+    /** --- Internal --- */
+
+    private static String getCacheName(ContentCache content) {
+        return content.name().toLowerCase() + "RenderedResponses";
+    }
+}
@@ -0,0 +1,183 @@
+package gov.nysenate.openleg.service.base.event;
+
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded queue of event handling tasks that are run in order on a single worker thread. Subscribers
+ * hand slow work (e.g. search indexing) to an event queue so that the thread that posted the event can
+ * continue immediately. When the queue is full, the configured {@link EventQueueFullPolicy} applies
+ * back-pressure to the posting thread.
+ */
+public class EventQueue
+{
+    private static final Logger logger = LoggerFactory.getLogger(EventQueue.class);
+
+    private final String name;
+    private final int capacity;
+    private final EventQueueFullPolicy fullPolicy;
+    private final BlockingQueue<Runnable> queue;
+    private final ThreadPoolExecutor executor;
+
+    /** --- Metrics --- */
+
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong callerRunsCount = new AtomicLong();
+    private final AtomicLong discardedCount = new AtomicLong();
+    private final AtomicLong maxDepth = new AtomicLong();
+    private final AtomicLong totalWaitMillis = new AtomicLong();
+    private final AtomicLong totalRunMillis = new AtomicLong();
+
+    /** --- Constructors --- */
+
+    public EventQueue(String name, int capacity, EventQueueFullPolicy fullPolicy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Event queue capacity must be at least 1");
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.fullPolicy = fullPolicy;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, queue,
+                                               new OpenlegThreadFactory("event-" + name), this::handleRejected);
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Queue up the given task to be run on this queue's worker thread.
+     *
+     * @param task Runnable - The event handling code.
+     */
+    public void submit(Runnable task) {
+        submittedCount.incrementAndGet();
+        long queuedAt = System.currentTimeMillis();
+        executor.execute(() -> run(task, queuedAt));
+        maxDepth.accumulateAndGet(queue.size(), Math::max);
+    }
+
+    /**
+     * Stops accepting new tasks and waits for the queued tasks to finish up to the given timeout.
+     *
+     * @return boolean - true if all queued tasks were completed.
+     */
+    public boolean drain(long timeout, TimeUnit unit) {
+        logger.info("Draining {} queued tasks from event queue {}", queue.size(), name);
+        executor.shutdown();
+        try {
+            if (executor.awaitTermination(timeout, unit)) {
+                return true;
+            }
+            logger.warn("Event queue {} did not drain in time, dropping {} tasks", name, executor.shutdownNow().size());
+        }
+        catch (InterruptedException ex) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    /** --- Internal --- */
+
+    private void run(Runnable task, long queuedAt) {
+        long startedAt = System.currentTimeMillis();
+        totalWaitMillis.addAndGet(startedAt - queuedAt);
+        try {
+            task.run();
+            completedCount.incrementAndGet();
+        }
+        catch (RuntimeException ex) {
+            failedCount.incrementAndGet();
+            logger.error("Exception thrown while handling event in queue " + name, ex);
+        }
+        finally {
+            totalRunMillis.addAndGet(System.currentTimeMillis() - startedAt);
+        }
+    }
+
+    private void handleRejected(Runnable runnable, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            // Events posted after shutdown are handled inline so that they are not lost
+            callerRunsCount.incrementAndGet();
+            runnable.run();
+            return;
+        }
+        switch (fullPolicy) {
+            case BLOCK:
+                try {
+                    queue.put(runnable);
+                }
+                catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    discardedCount.incrementAndGet();
+                    logger.warn("Interrupted while waiting on full event queue {}, dropping event", name);
+                    throw new RejectedExecutionException("Interrupted while waiting on event queue " + name, ex);
+                }
+                break;
+            case CALLER_RUNS:
+                callerRunsCount.incrementAndGet();
+                runnable.run();
+                break;
+            case DISCARD:
+                logger.warn("Event queue {} is full, discarding event ({} discarded so far)",
+                            name, discardedCount.incrementAndGet());
+                break;
+        }
+    }
+
+    /** --- Basic Getters --- */
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public EventQueueFullPolicy getFullPolicy() {
+        return fullPolicy;
+    }
+
+    public int getDepth() {
+        return queue.size();
+    }
+
+    public long getMaxDepth() {
+        return maxDepth.get();
+    }
+
+    public long getSubmittedCount() {
+        return submittedCount.get();
+    }
+
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getCallerRunsCount() {
+        return callerRunsCount.get();
+    }
+
+    public long getDiscardedCount() {
+        return discardedCount.get();
+    }
+
+    public long getTotalWaitMillis() {
+        return totalWaitMillis.get();
+    }
+
+    public long getTotalRunMillis() {
+        return totalRunMillis.get();
+    }
+}
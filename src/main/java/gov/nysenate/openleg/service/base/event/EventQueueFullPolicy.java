@@ -0,0 +1,20 @@
+package gov.nysenate.openleg.service.base.event;
+
+/**
+ * Determines what happens when an event is submitted to an {@link EventQueue} that is at capacity.
+ * Only {@link #BLOCK} preserves the order of the events, so the other policies are only used for
+ * queues whose events can be handled in any order.
+ *
+ * @see EventQueueService#submitUnordered(String, Runnable)
+ */
+public enum EventQueueFullPolicy
+{
+    /** The posting thread waits until there is room in the queue. */
+    BLOCK,
+
+    /** The posting thread handles the event itself, which slows down the producer. */
+    CALLER_RUNS,
+
+    /** The event is dropped and counted as discarded. */
+    DISCARD
+}
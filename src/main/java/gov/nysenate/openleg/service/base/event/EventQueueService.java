@@ -0,0 +1,122 @@
+package gov.nysenate.openleg.service.base.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Manages the {@link EventQueue}s used by event bus subscribers to handle events off of the posting thread.
+ * Each subscriber gets its own named queue so that a slow subscriber does not hold up the others.
+ *
+ * This service is a lifecycle bean so that the queues are drained when the application context closes,
+ * before any of the beans that the queued tasks rely on (e.g. the elastic search client) are destroyed.
+ */
+@Service
+public class EventQueueService implements SmartLifecycle
+{
+    private static final Logger logger = LoggerFactory.getLogger(EventQueueService.class);
+
+    @Value("${event.queue.async.enabled:true}") private boolean asyncEnabled;
+    @Value("${event.queue.capacity:1000}") private int queueCapacity;
+    @Value("${event.queue.full.policy:BLOCK}") private EventQueueFullPolicy fullPolicy;
+    @Value("${event.queue.drain.timeout.sec:120}") private int drainTimeoutSec;
+
+    private final Map<String, EventQueue> queues = new ConcurrentHashMap<>();
+    private volatile boolean running = false;
+
+    /**
+     * Runs the given task on the event queue with the given name, creating the queue if necessary.
+     * Tasks on the queue are handled in the order they were submitted, e.g. index updates where a later
+     * update of a document must not be overwritten by an earlier one. The queue therefore always blocks
+     * when it is full, regardless of the configured full policy.
+     * The task is run on the calling thread if asynchronous event handling is disabled.
+     *
+     * @param queueName String - Name of the queue, typically one per subscriber.
+     * @param task Runnable - The event handling code.
+     */
+    public void submit(String queueName, Runnable task) {
+        submit(queueName, task, EventQueueFullPolicy.BLOCK);
+    }
+
+    /**
+     * Same as {@link #submit(String, Runnable)} but for tasks that can be handled in any order, e.g. cache
+     * evictions. The configured full policy applies to these queues, so a task submitted to a full queue
+     * may be handled on the calling thread ahead of the queued tasks or be dropped.
+     *
+     * @param queueName String - Name of the queue, typically one per subscriber.
+     * @param task Runnable - The event handling code.
+     */
+    public void submitUnordered(String queueName, Runnable task) {
+        submit(queueName, task, fullPolicy);
+    }
+
+    /** --- Internal --- */
+
+    private void submit(String queueName, Runnable task, EventQueueFullPolicy queueFullPolicy) {
+        if (!asyncEnabled) {
+            task.run();
+            return;
+        }
+        queues.computeIfAbsent(queueName, name -> new EventQueue(name, queueCapacity, queueFullPolicy))
+              .submit(task);
+    }
+
+    /**
+     * @return List<EventQueue> - All the queues that have been created.
+     */
+    public List<EventQueue> getQueues() {
+        return new ArrayList<>(queues.values());
+    }
+
+    /** --- SmartLifecycle implementation --- */
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /**
+     * Waits for the queued events to be handled so that updates are not lost on shutdown.
+     */
+    @Override
+    public void stop() {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(drainTimeoutSec);
+        queues.values().forEach(queue -> {
+            long remaining = Math.max(0, deadline - System.currentTimeMillis());
+            if (!queue.drain(remaining, TimeUnit.MILLISECONDS)) {
+                logger.warn("Event queue {} was not fully drained on shutdown", queue.getName());
+            }
+        });
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return true;
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        stop();
+        callback.run();
+    }
+
+    /** Stopped after other lifecycle beans (e.g. schedulers) so that they can finish posting events. */
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE;
+    }
+}
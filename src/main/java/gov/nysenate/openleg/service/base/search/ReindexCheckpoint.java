@@ -0,0 +1,159 @@
+package gov.nysenate.openleg.service.base.search;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Records the progress of a search index rebuild in a small properties file so that a rebuild that is
+ * interrupted (e.g. by a deploy) can pick up where it left off instead of starting over. A rebuild is split
+ * into parts (e.g. session years) and a part is only marked as completed once all of its documents have been
+ * acknowledged by elastic search.
+ *
+ * The checkpoint also records when the target index last started receiving live updates. Updates made while
+ * no rebuild was running (between an interruption and the resume) never reached the target index, so a resumed
+ * rebuild uses this time to find and reindex the content that changed in that gap.
+ *
+ * Failing to write the checkpoint is logged but does not stop the rebuild, it just can't be resumed.
+ */
+public class ReindexCheckpoint
+{
+    private static final Logger logger = LoggerFactory.getLogger(ReindexCheckpoint.class);
+
+    private static final String TARGET_INDEX_KEY = "targetIndex";
+    private static final String COMPLETED_KEY = "completed";
+    private static final String ATTACHED_KEY = "attachedDateTime";
+
+    private final File file;
+    private String targetIndex;
+    private LocalDateTime attachedDateTime;
+    private final Set<String> completedParts = new LinkedHashSet<>();
+
+    /** --- Constructors --- */
+
+    private ReindexCheckpoint(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Reads the checkpoint stored in the given file. If the file does not exist or cannot be read,
+     * an empty checkpoint is returned.
+     *
+     * @param file File
+     * @return ReindexCheckpoint
+     */
+    public static ReindexCheckpoint load(File file) {
+        ReindexCheckpoint checkpoint = new ReindexCheckpoint(file);
+        if (file.isFile()) {
+            Properties props = new Properties();
+            try (InputStream in = new FileInputStream(file)) {
+                props.load(in);
+                checkpoint.targetIndex = props.getProperty(TARGET_INDEX_KEY);
+                String attached = props.getProperty(ATTACHED_KEY);
+                checkpoint.attachedDateTime = (attached != null) ? LocalDateTime.parse(attached) : null;
+                Splitter.on(',').omitEmptyStrings().trimResults()
+                        .split(props.getProperty(COMPLETED_KEY, ""))
+                        .forEach(checkpoint.completedParts::add);
+            }
+            catch (IOException | IllegalArgumentException | DateTimeParseException ex) {
+                logger.warn("Could not read reindex checkpoint {}, starting over", file, ex);
+                checkpoint.targetIndex = null;
+                checkpoint.attachedDateTime = null;
+                checkpoint.completedParts.clear();
+            }
+        }
+        return checkpoint;
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Starts a new rebuild into the given index, discarding any prior progress.
+     *
+     * @param targetIndex String
+     * @param attachedDateTime LocalDateTime - When the index started receiving live updates.
+     */
+    public void start(String targetIndex, LocalDateTime attachedDateTime) {
+        this.targetIndex = targetIndex;
+        this.attachedDateTime = attachedDateTime;
+        this.completedParts.clear();
+        save();
+    }
+
+    /**
+     * Records that the target index has been receiving live updates since the given time, i.e. every change
+     * made before then has been written to it.
+     */
+    public void markAttached(LocalDateTime attachedDateTime) {
+        this.attachedDateTime = attachedDateTime;
+        save();
+    }
+
+    public void markCompleted(String part) {
+        completedParts.add(part);
+        save();
+    }
+
+    public boolean isCompleted(String part) {
+        return completedParts.contains(part);
+    }
+
+    /**
+     * Removes the checkpoint once the rebuild is finished.
+     */
+    public void delete() {
+        targetIndex = null;
+        attachedDateTime = null;
+        completedParts.clear();
+        if (file.exists() && !file.delete()) {
+            logger.warn("Could not delete reindex checkpoint {}", file);
+        }
+    }
+
+    /** --- Internal --- */
+
+    private void save() {
+        Properties props = new Properties();
+        props.setProperty(TARGET_INDEX_KEY, targetIndex);
+        props.setProperty(COMPLETED_KEY, Joiner.on(',').join(completedParts));
+        if (attachedDateTime != null) {
+            props.setProperty(ATTACHED_KEY, attachedDateTime.toString());
+        }
+        File tempFile = new File(file.getPath() + ".tmp");
+        try {
+            Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+            try (OutputStream out = new FileOutputStream(tempFile)) {
+                props.store(out, "Search index rebuild progress");
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException ex) {
+            logger.error("Could not save reindex checkpoint " + file, ex);
+        }
+    }
+
+    /** --- Basic Getters --- */
+
+    public Optional<String> getTargetIndex() {
+        return Optional.ofNullable(targetIndex);
+    }
+
+    public Optional<LocalDateTime> getAttachedDateTime() {
+        return Optional.ofNullable(attachedDateTime);
+    }
+
+    public Set<String> getCompletedParts() {
+        return completedParts;
+    }
+}
@@ -0,0 +1,179 @@
+package gov.nysenate.openleg.service.base.search;
+
+import com.google.common.base.CharMatcher;
+import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.model.search.SearchException;
+import gov.nysenate.openleg.model.search.SearchResults;
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Element;
+import org.elasticsearch.index.query.FilterBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Caches the results of searches against a single search index and keeps track of the updates that are being
+ * made to that index, so that cached results are never older than the index.
+ *
+ * Updates to the index are run through {@link #trackUpdate(Runnable, Consumer)}, which clears the cache both
+ * when the update is queued and once it has been indexed. Results are not cached while any update is pending or until
+ * the index has refreshed after the last one, since searches made in that window may not see the update yet.
+ */
+public class SearchResultCache
+{
+    @FunctionalInterface
+    public interface Search<R>
+    {
+        SearchResults<R> execute() throws SearchException;
+    }
+
+    private final Ehcache cache;
+    private final long refreshIntervalNanos;
+
+    /** Number of updates that have been queued but not yet indexed. */
+    private final AtomicInteger pendingUpdates = new AtomicInteger();
+
+    /** Changes whenever the cache is cleared, so a search that ran across a change isn't cached. */
+    private final AtomicLong generation = new AtomicLong();
+
+    /** When the last update was indexed. */
+    private volatile long lastUpdateNanos;
+
+    /** Set when an update fails to index, the index can't be trusted until it is rebuilt. */
+    private volatile boolean updateFailed = false;
+
+    /** --- Constructors --- */
+
+    /**
+     * @param cache Ehcache - The cache to store results in.
+     * @param refreshIntervalNanos long - How often the index is refreshed. A negative value means it is
+     *                                    never refreshed automatically, so results are never cached.
+     */
+    public SearchResultCache(Ehcache cache, long refreshIntervalNanos) {
+        this.cache = cache;
+        this.refreshIntervalNanos = refreshIntervalNanos;
+        this.lastUpdateNanos = System.nanoTime() - Math.max(0, refreshIntervalNanos);
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Returns the cached results for the given key, or runs the search and caches its results if the index
+     * is settled.
+     *
+     * @param key String - Identifies the search, see {@link #key}
+     * @param search Search<R> - Runs the search on a cache miss
+     * @return SearchResults<R>
+     * @throws SearchException if the search fails
+     */
+    @SuppressWarnings("unchecked")
+    public <R> SearchResults<R> get(String key, Search<R> search) throws SearchException {
+        Element element = cache.get(key);
+        if (element != null) {
+            return (SearchResults<R>) element.getObjectValue();
+        }
+        long startGeneration = generation.get();
+        boolean cacheable = isIndexSettled();
+        SearchResults<R> results = search.execute();
+        if (cacheable && startGeneration == generation.get() && isIndexSettled()) {
+            cache.put(new Element(key, results));
+        }
+        return results;
+    }
+
+    /**
+     * Hands an index update to the given submitter (typically an event queue) and tracks it until it has run.
+     * The update counts as pending from the moment it is submitted. If the submitter rejects it, it stops
+     * counting as pending and the exception is rethrown, so a dropped update never leaves the cache disabled.
+     *
+     * @param update Runnable - Applies the update to the index
+     * @param submitter Consumer<Runnable> - Queues up the tracked update to be run
+     */
+    public void trackUpdate(Runnable update, Consumer<Runnable> submitter) {
+        AtomicBoolean done = new AtomicBoolean();
+        pendingUpdates.incrementAndGet();
+        clear();
+        try {
+            submitter.accept(() -> {
+                try {
+                    update.run();
+                }
+                catch (RuntimeException ex) {
+                    updateFailed = true;
+                    throw ex;
+                }
+                finally {
+                    lastUpdateNanos = System.nanoTime();
+                    if (done.compareAndSet(false, true)) {
+                        pendingUpdates.decrementAndGet();
+                    }
+                    clear();
+                }
+            });
+        }
+        catch (RuntimeException ex) {
+            if (done.compareAndSet(false, true)) {
+                pendingUpdates.decrementAndGet();
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Should be called once the index has been rebuilt or cleared.
+     */
+    public void indexReplaced() {
+        updateFailed = false;
+        clear();
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        cache.removeAll();
+    }
+
+    /**
+     * @return boolean - true if every update has been indexed and can be seen by searches.
+     */
+    public boolean isIndexSettled() {
+        return refreshIntervalNanos >= 0 && pendingUpdates.get() == 0
+               && System.nanoTime() - lastUpdateNanos > refreshIntervalNanos;
+    }
+
+    /**
+     * @return boolean - true if the index is settled and none of the updates since it was last rebuilt failed.
+     */
+    public boolean isIndexCurrent() {
+        return !updateFailed && isIndexSettled();
+    }
+
+    /**
+     * Builds a cache key from the parts of a search. The query and filter are keyed on their json, with runs of
+     * whitespace collapsed, and the sort with whitespace removed.
+     *
+     * @param type String - Distinguishes searches on the same index that return different result types
+     * @param query QueryBuilder
+     * @param filter FilterBuilder - Optional
+     * @param sort String - Optional
+     * @param limOff LimitOffset
+     * @return String
+     */
+    public static String key(String type, QueryBuilder query, FilterBuilder filter, String sort, LimitOffset limOff) {
+        return type + "|" + CharMatcher.WHITESPACE.collapseFrom(String.valueOf(query), ' ') +
+               "|" + ((filter != null) ? CharMatcher.WHITESPACE.collapseFrom(filter.toString(), ' ') : "") +
+               "|" + ((sort != null) ? CharMatcher.WHITESPACE.removeFrom(sort) : "") +
+               "|" + ((limOff != null) ? limOff.getOffsetStart() + ":" + limOff.getLimit() : "");
+    }
+
+    /** --- Basic Getters --- */
+
+    public Ehcache getCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,155 @@
+package gov.nysenate.openleg.service.base.search;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import gov.nysenate.openleg.dao.base.SearchIndex;
+import gov.nysenate.openleg.model.cache.CacheEvictEvent;
+import gov.nysenate.openleg.model.cache.CacheEvictIdEvent;
+import gov.nysenate.openleg.model.cache.CacheWarmEvent;
+import gov.nysenate.openleg.model.cache.ContentCache;
+import gov.nysenate.openleg.service.base.data.CachingService;
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.MemoryUnit;
+import org.elasticsearch.common.unit.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Sets up a {@link SearchResultCache} for each of the search indices that are queried repeatedly by clients
+ * between ingest runs. The caches are registered with the cache manager, so their hit rates are reported by
+ * the cache stats api along with the other caches.
+ */
+@Service
+public class SearchResultCacheService implements CachingService<SearchIndex>
+{
+    private static final Logger logger = LoggerFactory.getLogger(SearchResultCacheService.class);
+
+    private static final ImmutableSet<SearchIndex> cachedIndices =
+        ImmutableSet.of(SearchIndex.BILL, SearchIndex.AGENDA, SearchIndex.CALENDAR, SearchIndex.LAW);
+
+    @Autowired private CacheManager cacheManager;
+    @Autowired private EventBus eventBus;
+
+    @Value("${search-results.cache.size:10}") private long searchResultCacheSizeMb;
+    @Value("${elastic.search.index.refresh.interval:1s}") private String indexRefreshInterval;
+
+    private final Map<SearchIndex, SearchResultCache> searchResultCaches = new EnumMap<>(SearchIndex.class);
+
+    @PostConstruct
+    private void init() {
+        setupCaches();
+        eventBus.register(this);
+    }
+
+    @PreDestroy
+    private void cleanUp() {
+        evictCaches();
+        cachedIndices.forEach(index -> cacheManager.removeCache(getCacheName(index)));
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * @param searchIndex SearchIndex
+     * @return SearchResultCache - The result cache for the given index.
+     * @throws IllegalArgumentException if the index's results are not cached.
+     */
+    public SearchResultCache getCache(SearchIndex searchIndex) {
+        SearchResultCache cache = searchResultCaches.get(searchIndex);
+        if (cache == null) {
+            throw new IllegalArgumentException("Search results are not cached for the " + searchIndex + " index");
+        }
+        return cache;
+    }
+
+    /** --- CachingService implementation --- */
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Ehcache> getCaches() {
+        return searchResultCaches.values().stream().map(SearchResultCache::getCache).collect(toList());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setupCaches() {
+        long refreshIntervalNanos = TimeUnit.MILLISECONDS.toNanos(
+            TimeValue.parseTimeValue(indexRefreshInterval, TimeValue.timeValueSeconds(1)).millis());
+        for (SearchIndex index : cachedIndices) {
+            Cache cache = new Cache(new CacheConfiguration().name(getCacheName(index))
+                .eternal(true)
+                .maxBytesLocalHeap(searchResultCacheSizeMb, MemoryUnit.MEGABYTES)
+                .sizeOfPolicy(defaultSizeOfPolicy()));
+            cacheManager.addCache(cache);
+            searchResultCaches.put(index, new SearchResultCache(cache, refreshIntervalNanos));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void evictContent(SearchIndex searchIndex) {
+        if (searchResultCaches.containsKey(searchIndex)) {
+            searchResultCaches.get(searchIndex).clear();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void evictCaches() {
+        searchResultCaches.values().forEach(SearchResultCache::clear);
+    }
+
+    /** Search results are cached as they are requested, so there is nothing to warm up. */
+    @Override
+    public void warmCaches() {}
+
+    /** {@inheritDoc} */
+    @Override
+    @Subscribe
+    public void handleCacheEvictEvent(CacheEvictEvent evictEvent) {
+        if (evictEvent.affects(ContentCache.SEARCH_RESULTS)) {
+            logger.info("Clearing out search result caches");
+            evictCaches();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Subscribe
+    public void handleCacheEvictIdEvent(CacheEvictIdEvent<SearchIndex> evictIdEvent) {
+        if (evictIdEvent.affects(ContentCache.SEARCH_RESULTS)) {
+            evictContent(evictIdEvent.getContentId());
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Subscribe
+    public void handleCacheWarmEvent(CacheWarmEvent warmEvent) {
+        if (warmEvent.affects(ContentCache.SEARCH_RESULTS)) {
+            warmCaches();
+        }
+    }
+
+    /** --- Internal --- */
+
+    private static String getCacheName(SearchIndex index) {
+        return index.getIndexName() + "SearchResults";
+    }
+}
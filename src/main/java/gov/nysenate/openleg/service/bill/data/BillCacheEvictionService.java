@@ -7,6 +7,7 @@ import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.calendar.Calendar;
 import gov.nysenate.openleg.service.agenda.event.AgendaUpdateEvent;
 import gov.nysenate.openleg.service.agenda.event.BulkAgendaUpdateEvent;
+import gov.nysenate.openleg.service.base.event.EventQueueService;
 import gov.nysenate.openleg.service.calendar.event.BulkCalendarUpdateEvent;
 import gov.nysenate.openleg.service.calendar.event.CalendarUpdateEvent;
 import org.slf4j.Logger;
@@ -17,7 +18,8 @@ import org.springframework.stereotype.Service;
 import javax.annotation.PostConstruct;
 
 /**
- * Evicts bills from the cached bill data service cache based on events
+ * Evicts bills from the cached bill data service cache based on events.
+ * Evictions are handled on their own event queue so that they do not hold up the posting thread.
  */
 @Service
 public class BillCacheEvictionService {
@@ -25,6 +27,9 @@ public class BillCacheEvictionService {
 
     @Autowired private EventBus eventBus;
     @Autowired private CachedBillDataService billDataService;
+    @Autowired private EventQueueService eventQueueService;
+
+    private static final String EVICTION_QUEUE = "bill-cache-eviction";
 
     @PostConstruct
     public void init() {
@@ -33,22 +38,24 @@ public class BillCacheEvictionService {
 
     @Subscribe
     public void handleCalendarUpdate(CalendarUpdateEvent calendarUpdateEvent) {
-        evictCalendarBills(calendarUpdateEvent.getCalendar());
+        eventQueueService.submitUnordered(EVICTION_QUEUE, () -> evictCalendarBills(calendarUpdateEvent.getCalendar()));
     }
 
     @Subscribe
     public void handleBulkCalendarUpdate(BulkCalendarUpdateEvent bulkCalendarUpdateEvent) {
-        bulkCalendarUpdateEvent.getCalendars().forEach(this::evictCalendarBills);
+        eventQueueService.submitUnordered(EVICTION_QUEUE, () ->
+            bulkCalendarUpdateEvent.getCalendars().forEach(this::evictCalendarBills));
     }
 
     @Subscribe
     public void handleAgendaUpdate(AgendaUpdateEvent agendaUpdateEvent) {
-        evictAgendaBills(agendaUpdateEvent.getAgenda());
+        eventQueueService.submitUnordered(EVICTION_QUEUE, () -> evictAgendaBills(agendaUpdateEvent.getAgenda()));
     }
 
     @Subscribe
     public void handleBulkAgendaUpdate(BulkAgendaUpdateEvent bulkAgendaUpdateEvent) {
-        bulkAgendaUpdateEvent.getAgendas().forEach(this::evictAgendaBills);
+        eventQueueService.submitUnordered(EVICTION_QUEUE, () ->
+            bulkAgendaUpdateEvent.getAgendas().forEach(this::evictAgendaBills));
     }
 
     private void evictCalendarBills(Calendar calendar) {
@@ -5,11 +5,16 @@ import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.bill.BillInfo;
 import gov.nysenate.openleg.model.sobi.SobiFragment;
+import org.apache.commons.lang3.tuple.Pair;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Service interface for retrieving and saving Bill data. Retrieval is based
@@ -28,6 +33,38 @@ public interface BillDataService
      */
     public Bill getBill(BaseBillId billId) throws BillNotFoundEx;
 
+    /**
+     * Retrieve a read-only snapshot of the Bill for the matching BillId. The full text of the amendments
+     * is not included and can be retrieved separately via {@link #getFullText(BillId)}. The snapshot is the
+     * cached instance itself and is shared with other callers, so it must not be modified. Cached bills are
+     * never modified after they are cached, so the snapshot is safe to read from any thread. Use
+     * {@link #getBill(BaseBillId)} instead if the bill will be modified or the full text is needed.
+     *
+     * @param billId BaseBillId
+     * @return Bill
+     * @throws BillNotFoundEx - If no Bill matching the BillId was found.
+     */
+    public Bill getBillSnapshot(BaseBillId billId) throws BillNotFoundEx;
+
+    /**
+     * Retrieve the full text of the bill amendment matching the given BillId.
+     *
+     * @param billId BillId - The version is used to determine the amendment.
+     * @return String - The full text, empty if the amendment has no text.
+     * @throws BillNotFoundEx - If no Bill matching the BillId was found.
+     */
+    public String getFullText(BillId billId) throws BillNotFoundEx;
+
+    /**
+     * Retrieve Bills for each of the given base bill ids. The bills are retrieved from the backing store
+     * in bulk which is much faster than calling {@link #getBill(BaseBillId)} in a loop.
+     * Ids that do not correspond to an existing bill are skipped.
+     *
+     * @param billIds Collection<BaseBillId>
+     * @return List<Bill> - In the iteration order of the given ids.
+     */
+    public List<Bill> getBills(Collection<BaseBillId> billIds);
+
     /**
      * Retrieve a BillInfo instance for the matching BillId. This contains
      * less information that the Bill for purposes of displaying in listings.
@@ -49,6 +86,36 @@ public interface BillDataService
      */
     public BillInfo getBillInfoSafe(BaseBillId billId);
 
+    /**
+     * Loads every bill in the given session year from the backing store in bulk, a batch at a time, and passes
+     * each batch to the consumer in ascending bill id order. Only one batch of bills is held in memory at a time,
+     * and the bills are not cached, so exporting a session does not push frequently used bills out of the cache.
+     *
+     * @param sessionYear SessionYear
+     * @param batchSize int - Number of bills to load per batch
+     * @param batchConsumer Consumer<List<Bill>>
+     */
+    public void forEachBillBatch(SessionYear sessionYear, int batchSize, Consumer<List<Bill>> batchConsumer);
+
+    /**
+     * Returns the last time any bill was saved or evicted through this service, or when the service started if
+     * that hasn't happened yet. Views that embed data from many bills (e.g. agendas and calendars) can't
+     * be considered unchanged after this time.
+     *
+     * @return LocalDateTime
+     */
+    public LocalDateTime getLastUpdateDateTime();
+
+    /**
+     * Returns the latest logged change to the bill or to any calendar or agenda that lists it. These changes
+     * show up in the bill's api responses but don't always move the bill's modified date time. This is read
+     * from the change logs on every call, so it is meant for answering conditional requests only.
+     *
+     * @param baseBillId BaseBillId
+     * @return LocalDateTime - null if no changes have been logged.
+     */
+    public LocalDateTime getLastChangeDateTime(BaseBillId baseBillId);
+
     /**
      * Retrieve a list of BaseBillIds within the specified session year in ascending order.
      * This can be useful for functions that need to iterate over the entire collection of
@@ -72,7 +139,8 @@ public interface BillDataService
     /**
      * Saves the Bill in the persistence layer. If a new Bill reference is
      * being saved, the appropriate data will be inserted. Otherwise, existing
-     * data will be updated with the changed values.
+     * data will be updated with the changed values. Bills that have no modified
+     * sections are not persisted and no event is posted for them.
      *
      * @param bill Bill
      * @param fragment SobiFragment
@@ -81,6 +149,16 @@ public interface BillDataService
      */
     public void saveBill(Bill bill, SobiFragment fragment, boolean postUpdateEvent);
 
+    /**
+     * Saves a collection of Bills in the persistence layer within a single transaction.
+     * Bills that have no modified sections are skipped.
+     *
+     * @param bills Collection<Pair<Bill, SobiFragment>> - Each bill paired with the fragment that modified it.
+     * @param postUpdateEvent boolean - Set to true if this method should post a BulkBillUpdateEvent
+     *                                  to the event bus indicating to subscribers that the bills may have changed.
+     */
+    public void saveBills(Collection<Pair<Bill, SobiFragment>> bills, boolean postUpdateEvent);
+
     /**
      * Returns a closed Range containing the session years for which bill data exists.
      * If there are no bills in the database, an empty Optional will be returned instead.
@@ -1,5 +1,6 @@
 package gov.nysenate.openleg.service.bill.data;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Range;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
@@ -10,6 +11,7 @@ import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.base.Version;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.bill.BillInfo;
 import gov.nysenate.openleg.model.cache.CacheEvictIdEvent;
 import gov.nysenate.openleg.model.sobi.SobiFragment;
@@ -18,12 +20,14 @@ import gov.nysenate.openleg.model.cache.CacheWarmEvent;
 import gov.nysenate.openleg.service.base.data.CachingService;
 import gov.nysenate.openleg.model.cache.ContentCache;
 import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
+import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
 import gov.nysenate.openleg.util.OutputUtils;
 import net.sf.ehcache.*;
 import net.sf.ehcache.Cache;
 import net.sf.ehcache.CacheManager;
 import net.sf.ehcache.config.CacheConfiguration;
 import net.sf.ehcache.config.MemoryUnit;
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,9 +39,16 @@ import org.springframework.stereotype.Service;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Data service layer for retrieving and updating bill data. This implementation makes use of
@@ -50,16 +61,25 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
 
     @Autowired private CacheManager cacheManager;
     @Autowired private BillDao billDao;
+    @Autowired private CachedBillTextService billTextService;
     @Autowired private EventBus eventBus;
 
     @Value("${bill.cache.size}") private long billCacheSizeMb;
     @Value("${bill-info.cache.size}") private long billInfoCacheSizeMb;
+    @Value("${bill-serialized.cache.size:300}") private long billSerialCacheSizeMb;
 
     private static final String billCacheName = "bills";
     private static final String billInfoCacheName = "billInfos";
+    private static final String billSerialCacheName = "serializedBills";
+
+    /** Number of bills that are bulk loaded at a time when warming the cache. */
+    private static final int warmBatchSize = 1000;
 
     private Cache billCache;
     private Cache billInfoCache;
+    private Cache billSerialCache;
+
+    private volatile LocalDateTime lastUpdateDateTime = LocalDateTime.now();
 
     @PostConstruct
     private void init() {
@@ -72,6 +92,7 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         evictCaches();
         cacheManager.removeCache(billCacheName);
         cacheManager.removeCache(billInfoCacheName);
+        cacheManager.removeCache(billSerialCacheName);
     }
 
     /** --- CachingService implementation --- */
@@ -79,13 +100,14 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
     /** {@inheritDoc} */
     @Override
     public List<Ehcache> getCaches() {
-        return Arrays.asList(billCache, billInfoCache);
+        return Arrays.asList(billCache, billInfoCache, billSerialCache);
     }
 
     /** {@inheritDoc} */
     @Override
     public void setupCaches() {
         // Partial bill cache will store Bill instances with the full text fields stripped to save space.
+        // Only bills from the current session year are kept here, see putStrippedBillInCache.
         this.billCache = new Cache(new CacheConfiguration().name(billCacheName)
             .eternal(true)
             .maxBytesLocalHeap(billCacheSizeMb, MemoryUnit.MEGABYTES)
@@ -101,12 +123,20 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
             .maxBytesLocalHeap(billInfoCacheSizeMb, MemoryUnit.MEGABYTES)
             .sizeOfPolicy(defaultSizeOfPolicy()));
         cacheManager.addCache(this.billInfoCache);
+
+        // Serialized bill cache will store stripped bills from prior session years as compressed byte arrays.
+        // Each entry is a single flat object so it is much cheaper to size and garbage collect than a Bill.
+        this.billSerialCache = new Cache(new CacheConfiguration().name(billSerialCacheName)
+            .eternal(true)
+            .maxBytesLocalHeap(billSerialCacheSizeMb, MemoryUnit.MEGABYTES)
+            .sizeOfPolicy(defaultSizeOfPolicy()));
+        cacheManager.addCache(this.billSerialCache);
     }
 
     /**
      * Pre-load the bill caches by clearing out each of their contents and then loading:
      * Bill Cache - Current session year bills only
-     * Bill Info Cache - Bill Infos from all available session years.
+     * Serialized Bill Cache - Bills from all prior session years.
      */
     public void warmCaches() {
         evictCaches();
@@ -115,14 +145,9 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         if (sessionRange.isPresent()) {
             SessionYear sessionYear = sessionRange.get().lowerEndpoint();
             while (sessionYear.compareTo(sessionRange.get().upperEndpoint()) <= 0) {
-                if (sessionYear.equals(SessionYear.current())) {
-                    logger.info("Caching Bill instances for current session year: {}", sessionYear);
-                    getBillIds(sessionYear, LimitOffset.ALL).forEach(id -> getBill(id));
-                }
-                else {
-                    logger.info("Caching Bill Info instances for session year: {}", sessionYear);
-                    getBillIds(sessionYear, LimitOffset.ALL).forEach(id -> getBillInfo(id));
-                }
+                logger.info("Caching {} instances for session year: {}",
+                    (isHotSession(sessionYear)) ? "Bill" : "serialized Bill", sessionYear);
+                Lists.partition(getBillIds(sessionYear, LimitOffset.ALL), warmBatchSize).forEach(this::getBills);
                 sessionYear = sessionYear.next();
             }
         }
@@ -135,6 +160,7 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
     public synchronized void handleCacheEvictEvent(CacheEvictEvent evictEvent) {
         if (evictEvent.affects(ContentCache.BILL)) {
             evictCaches();
+            lastUpdateDateTime = LocalDateTime.now();
         }
     }
 
@@ -153,6 +179,8 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         logger.debug("evicting {}", baseBillId);
         billInfoCache.remove(baseBillId);
         billCache.remove(baseBillId);
+        billSerialCache.remove(baseBillId);
+        lastUpdateDateTime = LocalDateTime.now();
     }
 
     /** {@inheritDoc} */
@@ -172,9 +200,8 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
             throw new IllegalArgumentException("BillId cannot be null");
         }
         try {
-            Bill bill;
-            if (billCache.get(billId) != null) {
-                bill = constructBillFromCache(billId);
+            Bill bill = constructBillFromCache(billId);
+            if (bill != null) {
                 logger.debug("Cache hit for bill {}", bill);
             }
             else {
@@ -187,9 +214,69 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         catch (EmptyResultDataAccessException ex) {
             throw new BillNotFoundEx(billId, ex);
         }
-        catch (CloneNotSupportedException e) {
-            throw new CacheException("Failed to cache retrieved Bill: " + e.getMessage());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Bill getBillSnapshot(BaseBillId billId) throws BillNotFoundEx {
+        if (billId == null) {
+            throw new IllegalArgumentException("BillId cannot be null");
+        }
+        try {
+            // The cached instance is handed out as is, it is never modified once it has been cached
+            Element element = billCache.get(billId);
+            if (element != null) {
+                return (Bill) element.getObjectValue();
+            }
+            Element serialized = billSerialCache.get(billId);
+            if (serialized != null) {
+                return SerializedBillCodec.decode((byte[]) serialized.getObjectValue());
+            }
+            logger.debug("Fetching bill {}..", billId);
+            return putStrippedBillInCache(billDao.getBill(billId));
+        }
+        catch (EmptyResultDataAccessException ex) {
+            throw new BillNotFoundEx(billId, ex);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getFullText(BillId billId) throws BillNotFoundEx {
+        if (billId == null) {
+            throw new IllegalArgumentException("BillId cannot be null");
+        }
+        Optional<String> fullText = billTextService.getFullText(billId);
+        if (!fullText.isPresent()) {
+            // Ensure that the bill actually exists
+            getBillSnapshot(BillId.getBaseId(billId));
+        }
+        return fullText.orElse("");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Bill> getBills(Collection<BaseBillId> billIds) {
+        if (billIds == null) {
+            throw new IllegalArgumentException("BillIds cannot be null");
+        }
+        Map<BaseBillId, Bill> billMap = new HashMap<>();
+        List<BaseBillId> uncachedIds = new ArrayList<>();
+        for (BaseBillId billId : billIds) {
+            Bill bill = constructBillFromCache(billId);
+            if (bill != null) {
+                billMap.put(billId, bill);
+            }
+            else {
+                uncachedIds.add(billId);
+            }
+        }
+        logger.debug("Fetching {} uncached bills..", uncachedIds.size());
+        for (Bill bill : billDao.getBills(uncachedIds)) {
+            putStrippedBillInCache(bill);
+            billMap.put(bill.getBaseBillId(), bill);
         }
+        return billIds.stream().map(billMap::get).filter(Objects::nonNull).collect(Collectors.toList());
     }
 
     /** {@inheritDoc} */
@@ -205,6 +292,10 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         if (billInfoCache.get(billId) != null) {
             return (BillInfo) billInfoCache.get(billId).getObjectValue();
         }
+        Element serialized = billSerialCache.get(billId);
+        if (serialized != null) {
+            return new BillInfo(SerializedBillCodec.decode((byte[]) serialized.getObjectValue()));
+        }
         try {
             BillInfo billInfo = billDao.getBillInfo(billId);
             billInfoCache.put(new Element(billId, billInfo));
@@ -230,6 +321,18 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void forEachBillBatch(SessionYear sessionYear, int batchSize, Consumer<List<Bill>> batchConsumer) {
+        // The ids are all read up front so that bills added during the export don't shift the batches
+        List<BaseBillId> billIds = billDao.getBillIds(sessionYear, LimitOffset.ALL, SortOrder.ASC);
+        Lists.partition(billIds, Math.max(1, batchSize)).forEach(batchIds -> {
+            Map<BaseBillId, Bill> billMap = new HashMap<>();
+            billDao.getBills(batchIds).forEach(bill -> billMap.put(bill.getBaseBillId(), bill));
+            batchConsumer.accept(batchIds.stream().map(billMap::get).filter(Objects::nonNull).collect(Collectors.toList()));
+        });
+    }
+
     /** {@inheritDoc} */
     @Override
     public List<BaseBillId> getBillIds(SessionYear sessionYear, LimitOffset limitOffset) {
@@ -254,14 +357,54 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
     /** {@inheritDoc} */
     @Override
     public void saveBill(Bill bill, SobiFragment fragment, boolean postUpdateEvent) {
+        if (!bill.isModified()) {
+            logger.debug("Skipping unmodified bill {}", bill);
+            return;
+        }
         logger.debug("Persisting bill {}", bill);
         billDao.updateBill(bill, fragment);
+        bill.clearModified();
         putStrippedBillInCache(bill);
+        lastUpdateDateTime = LocalDateTime.now();
         if (postUpdateEvent) {
             eventBus.post(new BillUpdateEvent(bill, LocalDateTime.now()));
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void saveBills(Collection<Pair<Bill, SobiFragment>> bills, boolean postUpdateEvent) {
+        List<Pair<Bill, SobiFragment>> modifiedBills = bills.stream()
+            .filter(entry -> entry.getLeft().isModified())
+            .collect(Collectors.toList());
+        logger.debug("Persisting {} modified bills out of {}", modifiedBills.size(), bills.size());
+        if (modifiedBills.isEmpty()) {
+            return;
+        }
+        billDao.updateBills(modifiedBills);
+        modifiedBills.forEach(entry -> {
+            entry.getLeft().clearModified();
+            putStrippedBillInCache(entry.getLeft());
+        });
+        lastUpdateDateTime = LocalDateTime.now();
+        if (postUpdateEvent) {
+            List<Bill> updatedBills = modifiedBills.stream().map(Pair::getLeft).collect(Collectors.toList());
+            eventBus.post(new BulkBillUpdateEvent(updatedBills, LocalDateTime.now()));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public LocalDateTime getLastUpdateDateTime() {
+        return lastUpdateDateTime;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public LocalDateTime getLastChangeDateTime(BaseBillId baseBillId) {
+        return billDao.getLastChangeDateTime(baseBillId);
+    }
+
     /** {@inheritDoc} */
     @Override
     public Optional<Range<SessionYear>> activeSessionRange() {
@@ -276,40 +419,65 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
     /** --- Internal Methods --- */
 
     /**
-     * Retrieves the bill from the cache. You must check that the bill exists prior to calling this
-     * method. The fulltext and memo are put back into a copy of the cached bill.
+     * Retrieves the bill from either the bill cache or the serialized bill cache. The full text is
+     * put back into a deep copy of the cached bill from the bill text cache. A shallow clone would share
+     * its collections with the cached instance, which snapshots hand out to other threads.
      *
      * @param billId BaseBillId
-     * @return Bill
-     * @throws CloneNotSupportedException
+     * @return Bill - null if the bill is not cached.
      */
-    private Bill constructBillFromCache(BaseBillId billId) throws CloneNotSupportedException {
-        Bill cachedBill = (Bill) billCache.get(billId).getObjectValue();
-        cachedBill = cachedBill.shallowClone();
-        billDao.applyText(cachedBill);
+    private Bill constructBillFromCache(BaseBillId billId) {
+        Bill cachedBill = null;
+        Element element = billCache.get(billId);
+        if (element != null) {
+            cachedBill = SerializedBillCodec.copy((Bill) element.getObjectValue());
+        }
+        else {
+            Element serialized = billSerialCache.get(billId);
+            if (serialized != null) {
+                cachedBill = SerializedBillCodec.decode((byte[]) serialized.getObjectValue());
+            }
+        }
+        if (cachedBill != null) {
+            billTextService.applyFullText(cachedBill);
+        }
         return cachedBill;
     }
 
     /**
-     * In order to cache bills effectively, we strip out the memos and full text from the bill first
-     * to save some heap space.
+     * Bills from the current session year (or later) are the most frequently requested and updated
+     * so they are kept as Bill instances. Older bills are kept in the serialized bill cache.
+     */
+    private boolean isHotSession(SessionYear sessionYear) {
+        return sessionYear.compareTo(SessionYear.current()) >= 0;
+    }
+
+    /**
+     * In order to cache bills effectively, we strip out the full text from the bill first to save some
+     * heap space. The full text is stored in the bill text cache instead. Bills from prior session years
+     * are stored in serialized form.
      * @param bill Bill
+     * @return Bill - The cached stripped bill, or null if the given bill is null.
      */
-    private void putStrippedBillInCache(final Bill bill) {
+    private Bill putStrippedBillInCache(final Bill bill) {
         if (bill != null) {
-            try {
-                Bill cacheBill = bill.shallowClone();
-                cacheBill.getAmendmentList().stream().forEach(ba -> {
-                    ba.setMemo("");
-                    ba.setFullText("");
-                });
-                this.billCache.put(new Element(cacheBill.getBaseBillId(), cacheBill));
-                // Remove entry from the bill info cache if it exists
-                this.billInfoCache.remove(cacheBill.getBaseBillId());
+            billTextService.putFullText(bill);
+            // The caller may keep modifying the given bill, so the cached bill is a deep copy of it
+            Bill cacheBill = SerializedBillCodec.copy(bill);
+            cacheBill.getAmendmentList().stream().forEach(ba -> ba.setFullText(""));
+            BaseBillId baseBillId = cacheBill.getBaseBillId();
+            if (isHotSession(baseBillId.getSession())) {
+                this.billCache.put(new Element(baseBillId, cacheBill));
+                this.billSerialCache.remove(baseBillId);
             }
-            catch (CloneNotSupportedException e) {
-                logger.error("Failed to cache bill!", e);
+            else {
+                this.billSerialCache.put(new Element(baseBillId, SerializedBillCodec.encode(cacheBill)));
+                this.billCache.remove(baseBillId);
             }
+            // Remove entry from the bill info cache if it exists
+            this.billInfoCache.remove(cacheBill.getBaseBillId());
+            return cacheBill;
         }
+        return null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,235 @@
+package gov.nysenate.openleg.service.bill.data;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import gov.nysenate.openleg.dao.bill.data.BillDao;
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.bill.BillAmendment;
+import gov.nysenate.openleg.model.bill.BillId;
+import gov.nysenate.openleg.model.cache.CacheEvictEvent;
+import gov.nysenate.openleg.model.cache.CacheEvictIdEvent;
+import gov.nysenate.openleg.model.cache.CacheWarmEvent;
+import gov.nysenate.openleg.model.cache.ContentCache;
+import gov.nysenate.openleg.service.base.data.CachingService;
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheException;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.MemoryUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Caches the full text of bill amendments, keyed by the amendment's BillId. The text is stored deflated
+ * since bill text is fixed width and very repetitive, so many more amendments fit in the same amount of heap.
+ * The cached bills have their full text stripped, so this cache is used to put the text back on retrieval.
+ */
+@Service
+public class CachedBillTextService implements CachingService<BaseBillId>
+{
+    private static final Logger logger = LoggerFactory.getLogger(CachedBillTextService.class);
+
+    @Autowired private CacheManager cacheManager;
+    @Autowired private BillDao billDao;
+    @Autowired private EventBus eventBus;
+
+    @Value("${bill-text.cache.size:100}") private long billTextCacheSizeMb;
+
+    private static final String billTextCacheName = "billTexts";
+
+    private Cache billTextCache;
+
+    @PostConstruct
+    private void init() {
+        setupCaches();
+        eventBus.register(this);
+    }
+
+    @PreDestroy
+    private void cleanUp() {
+        evictCaches();
+        cacheManager.removeCache(billTextCacheName);
+    }
+
+    /** --- CachingService implementation --- */
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Ehcache> getCaches() {
+        return Arrays.asList(billTextCache);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setupCaches() {
+        // Entries are byte arrays so the heap size limit is cheap to enforce and accurate.
+        this.billTextCache = new Cache(new CacheConfiguration().name(billTextCacheName)
+            .eternal(true)
+            .maxBytesLocalHeap(billTextCacheSizeMb, MemoryUnit.MEGABYTES)
+            .sizeOfPolicy(defaultSizeOfPolicy()));
+        cacheManager.addCache(this.billTextCache);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void evictContent(BaseBillId baseBillId) {
+        for (Version version : Version.values()) {
+            billTextCache.remove(new BillId(baseBillId, version));
+        }
+    }
+
+    /**
+     * The text cache is filled as bills are loaded by the bill data service, which happens when
+     * the bill cache is warmed, so there is nothing to do here.
+     */
+    @Override
+    public void warmCaches() {}
+
+    /** {@inheritDoc} */
+    @Override
+    @Subscribe
+    public void handleCacheEvictEvent(CacheEvictEvent evictEvent) {
+        if (evictEvent.affects(ContentCache.BILL)) {
+            evictCaches();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Subscribe
+    public void handleCacheEvictIdEvent(CacheEvictIdEvent<BaseBillId> evictIdEvent) {
+        if (evictIdEvent.affects(ContentCache.BILL)) {
+            evictContent(evictIdEvent.getContentId());
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Subscribe
+    public void handleCacheWarmEvent(CacheWarmEvent warmEvent) {
+        if (warmEvent.affects(ContentCache.BILL)) {
+            warmCaches();
+        }
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Retrieve the full text for the bill amendment with the given id.
+     *
+     * @param billId BillId
+     * @return Optional<String> - Empty if the amendment does not exist.
+     */
+    public Optional<String> getFullText(BillId billId) {
+        Element element = billTextCache.get(billId);
+        if (element != null) {
+            return Optional.of(inflate((byte[]) element.getObjectValue()));
+        }
+        return Optional.ofNullable(loadFullTexts(BillId.getBaseId(billId)).get(billId.getVersion()));
+    }
+
+    /**
+     * Sets the full text on each amendment of the given bill. The full texts of every amendment are
+     * loaded at once if any of them are not cached.
+     *
+     * @param bill Bill
+     */
+    public void applyFullText(Bill bill) {
+        Map<Version, String> loadedTexts = null;
+        for (BillAmendment amendment : bill.getAmendmentList()) {
+            Element element = billTextCache.get(amendment.getBillId());
+            if (element != null) {
+                amendment.setFullText(inflate((byte[]) element.getObjectValue()));
+                continue;
+            }
+            if (loadedTexts == null) {
+                loadedTexts = loadFullTexts(bill.getBaseBillId());
+            }
+            if (loadedTexts.containsKey(amendment.getVersion())) {
+                amendment.setFullText(loadedTexts.get(amendment.getVersion()));
+            }
+        }
+    }
+
+    /**
+     * Caches the full text of each amendment of the given bill, replacing any existing entries.
+     *
+     * @param bill Bill - A bill that contains its full text.
+     */
+    public void putFullText(Bill bill) {
+        bill.getAmendmentList().forEach(amendment -> putFullText(amendment.getBillId(), amendment.getFullText()));
+    }
+
+    /** --- Internal --- */
+
+    private Map<Version, String> loadFullTexts(BaseBillId baseBillId) {
+        logger.debug("Fetching full text for {}..", baseBillId);
+        Map<Version, String> fullTexts = billDao.getFullTexts(baseBillId);
+        fullTexts.forEach((version, text) -> putFullText(new BillId(baseBillId, version), text));
+        return fullTexts;
+    }
+
+    private void putFullText(BillId billId, String fullText) {
+        billTextCache.put(new Element(billId, deflate(fullText)));
+    }
+
+    private static byte[] deflate(String text) {
+        byte[] input = (text != null ? text : "").getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        }
+        finally {
+            deflater.end();
+        }
+    }
+
+    private static String inflate(byte[] data) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && inflater.needsInput()) {
+                    throw new CacheException("Truncated bill text cache entry");
+                }
+                out.write(buffer, 0, count);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+        catch (DataFormatException ex) {
+            throw new CacheException("Corrupt bill text cache entry", ex);
+        }
+        finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package gov.nysenate.openleg.service.bill.data;
+
+import gov.nysenate.openleg.model.bill.Bill;
+import net.sf.ehcache.CacheException;
+
+import java.io.*;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Converts bills to and from the compact byte array form that is stored in the serialized bill cache.
+ * A byte array is a single object with no references, so it is cheap for ehcache to size and for the
+ * garbage collector to trace compared to the full bill object graph.
+ */
+public final class SerializedBillCodec
+{
+    private SerializedBillCodec() {}
+
+    /**
+     * Serializes and deflates the given bill.
+     *
+     * @param bill Bill
+     * @return byte[]
+     */
+    public static byte[] encode(Bill bill) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (ObjectOutputStream out = new ObjectOutputStream(new DeflaterOutputStream(bytes, deflater, 8192))) {
+            out.writeObject(bill);
+        }
+        catch (IOException ex) {
+            throw new CacheException("Failed to serialize bill " + bill.getBaseBillId(), ex);
+        }
+        finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Makes a deep copy of the given bill, one that shares no mutable state with it. The copy is made
+     * through serialization without compression since the bytes are thrown away right after.
+     *
+     * @param bill Bill
+     * @return Bill
+     */
+    public static Bill copy(Bill bill) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(bill);
+        }
+        catch (IOException ex) {
+            throw new CacheException("Failed to copy bill " + bill.getBaseBillId(), ex);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (Bill) in.readObject();
+        }
+        catch (IOException | ClassNotFoundException ex) {
+            throw new CacheException("Failed to copy bill " + bill.getBaseBillId(), ex);
+        }
+    }
+
+    /**
+     * Inflates and deserializes a bill that was encoded via {@link #encode(Bill)}.
+     *
+     * @param data byte[]
+     * @return Bill
+     */
+    public static Bill decode(byte[] data) {
+        try (ObjectInputStream in = new ObjectInputStream(
+                new BufferedInputStream(new InflaterInputStream(new ByteArrayInputStream(data)), 8192))) {
+            return (Bill) in.readObject();
+        }
+        catch (IOException | ClassNotFoundException ex) {
+            throw new CacheException("Failed to deserialize cached bill", ex);
+        }
+    }
+}
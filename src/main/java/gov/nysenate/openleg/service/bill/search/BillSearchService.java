@@ -1,10 +1,12 @@
 package gov.nysenate.openleg.service.bill.search;
 
 import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.dao.bill.search.IndexedBillInfo;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.service.base.search.IndexedSearchService;
+import gov.nysenate.openleg.model.search.SearchCursor;
 import gov.nysenate.openleg.model.search.SearchException;
 import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
@@ -39,6 +41,52 @@ public interface BillSearchService
     public SearchResults<BaseBillId> searchBills(String query, SessionYear session, String sort, LimitOffset limOff)
         throws SearchException;
 
+    /**
+     * Performs a search across bills like {@link #searchBills(String, SessionYear, String, LimitOffset)}, but also
+     * returns the bill info that is stored in the index for each result. This should only be used when
+     * {@link #isIndexCurrent()} is true, otherwise the stored info may be out of date.
+     *
+     * @param query String - General search term, or null to match all bills
+     * @param session SessionYear - Filter by session year, or null for all sessions
+     * @param sort String - Sort by field(s)
+     * @param limOff LimitOffset - Restrict the result set.
+     * @return SearchResults<IndexedBillInfo>
+     * @throws SearchException
+     */
+    public SearchResults<IndexedBillInfo> searchBillInfos(String query, SessionYear session, String sort, LimitOffset limOff)
+        throws SearchException;
+
+    /**
+     * Starts paging through the bills that match the given query with a scroll, which keeps later pages as
+     * cheap as the first. The results include a cursor to the next page, if there is one.
+     *
+     * @param query String - General search term, or null to match all bills
+     * @param session SessionYear - Filter by session year, or null for all sessions
+     * @param sort String - Sort by field(s)
+     * @param limOff LimitOffset - The limit is the page size, the offset is ignored.
+     * @return SearchResults<IndexedBillInfo>
+     * @throws SearchException
+     */
+    public SearchResults<IndexedBillInfo> scrollBillInfos(String query, SessionYear session, String sort, LimitOffset limOff)
+        throws SearchException;
+
+    /**
+     * Returns the next page of bills for a cursor returned by {@link #scrollBillInfos}.
+     *
+     * @param cursor SearchCursor
+     * @return SearchResults<IndexedBillInfo>
+     * @throws SearchException if the cursor has expired
+     */
+    public SearchResults<IndexedBillInfo> continueBillScroll(SearchCursor cursor) throws SearchException;
+
+    /**
+     * Returns true if bill info can be served from the search index, i.e. hydration from the index is enabled and
+     * every bill update that has been posted so far has been indexed and is visible to searches.
+     *
+     * @return boolean
+     */
+    public boolean isIndexCurrent();
+
     /**
      * Handle a bill update event by indexing the supplied bill in the update.
      *
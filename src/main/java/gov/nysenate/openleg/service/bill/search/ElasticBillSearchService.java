@@ -1,11 +1,18 @@
 package gov.nysenate.openleg.service.bill.search;
 
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Range;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
+import gov.nysenate.openleg.dao.base.ElasticBulkIndexer;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SearchIndex;
+import gov.nysenate.openleg.dao.base.SortOrder;
+import gov.nysenate.openleg.dao.bill.data.BillUpdatesDao;
+import gov.nysenate.openleg.dao.bill.search.BillIndexDocument;
 import gov.nysenate.openleg.dao.bill.search.ElasticBillSearchDao;
+import gov.nysenate.openleg.dao.bill.search.IndexedBillInfo;
 import gov.nysenate.openleg.config.Environment;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.bill.BaseBillId;
@@ -13,12 +20,20 @@ import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.search.ClearIndexEvent;
 import gov.nysenate.openleg.model.search.RebuildIndexEvent;
+import gov.nysenate.openleg.model.search.SearchCursor;
 import gov.nysenate.openleg.model.search.SearchException;
 import gov.nysenate.openleg.model.search.SearchResults;
+import gov.nysenate.openleg.model.updates.UpdateToken;
+import gov.nysenate.openleg.model.updates.UpdateType;
+import gov.nysenate.openleg.service.base.event.EventQueueService;
 import gov.nysenate.openleg.service.base.search.IndexedSearchService;
+import gov.nysenate.openleg.service.base.search.ReindexCheckpoint;
+import gov.nysenate.openleg.service.base.search.SearchResultCache;
+import gov.nysenate.openleg.service.base.search.SearchResultCacheService;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
 import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.index.query.*;
 import org.elasticsearch.search.SearchParseException;
@@ -26,13 +41,20 @@ import org.elasticsearch.search.rescore.RescoreBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
+import java.io.File;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.*;
 import java.util.regex.Matcher;
 
 import static java.util.stream.Collectors.toList;
@@ -42,14 +64,33 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
 {
     private static final Logger logger = LoggerFactory.getLogger(ElasticBillSearchService.class);
 
+    /** Bill updates are indexed on this event queue so that ingest does not wait on elastic search. */
+    private static final String INDEX_QUEUE = "bill-index";
+
+    /** Rebuild progress is saved to this file, relative to the environment's base directory. */
+    private static final String CHECKPOINT_PATH = "reindex/bills.checkpoint";
+
+    private static final long BULK_FLUSH_TIMEOUT_MIN = 10;
+
     @Autowired protected Environment env;
     @Autowired protected EventBus eventBus;
+    @Autowired protected EventQueueService eventQueueService;
     @Autowired protected ElasticBillSearchDao billSearchDao;
     @Autowired protected BillDataService billDataService;
+    @Autowired protected BillUpdatesDao billUpdatesDao;
+    @Autowired protected SearchResultCacheService searchResultCacheService;
+
+    @Value("${elastic.search.reindex.threads:0}") private int reindexThreads;
+    @Value("${elastic.search.reindex.batch.size:200}") private int reindexBatchSize;
+    @Value("${elastic.search.bill.hydrate:true}") private boolean hydrateFromIndex;
+
+    /** Caches search results and keeps track of which bill updates have been indexed. */
+    private SearchResultCache resultCache;
 
     @PostConstruct
     protected void init() {
         eventBus.register(this);
+        resultCache = searchResultCacheService.getCache(SearchIndex.BILL);
     }
 
     /** --- BillSearchService implementation --- */
@@ -79,6 +120,64 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
             QueryBuilders.filteredQuery(QueryBuilders.queryString(query), sessionFilter), null, null, sort, limOff);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public SearchResults<IndexedBillInfo> searchBillInfos(String query, SessionYear session, String sort, LimitOffset limOff)
+        throws SearchException {
+        QueryBuilder queryBuilder = getBillQuery(query, session);
+        LimitOffset finalLimOff = (limOff != null) ? limOff : LimitOffset.TEN;
+        try {
+            return resultCache.get(SearchResultCache.key("info", queryBuilder, null, sort, finalLimOff),
+                () -> billSearchDao.searchBillInfos(queryBuilder, null, null, sort, finalLimOff));
+        }
+        catch (SearchParseException ex) {
+            throw new SearchException("Invalid query string", ex);
+        }
+        catch (ElasticsearchException ex) {
+            throw new SearchException("Unexpected search exception!", ex);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SearchResults<IndexedBillInfo> scrollBillInfos(String query, SessionYear session, String sort, LimitOffset limOff)
+        throws SearchException {
+        try {
+            return billSearchDao.scrollBillInfos(getBillQuery(query, session), null, sort,
+                                                 (limOff != null) ? limOff : LimitOffset.ALL);
+        }
+        catch (SearchParseException ex) {
+            throw new SearchException("Invalid query string", ex);
+        }
+        catch (ElasticsearchException ex) {
+            throw new SearchException("Unexpected search exception!", ex);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SearchResults<IndexedBillInfo> continueBillScroll(SearchCursor cursor) throws SearchException {
+        try {
+            return billSearchDao.continueBillScroll(cursor);
+        }
+        catch (ElasticsearchException ex) {
+            // Scrolls that have expired fail on every shard, which is reported as a generic search failure
+            throw new SearchException("The continuation token has expired or is invalid", ex);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Bill updates are indexed in the order they are posted, so once there are no updates waiting to be indexed
+     * and the index has refreshed since the last one, every bill update posted before this call is reflected
+     * in search results.
+     */
+    @Override
+    public boolean isIndexCurrent() {
+        return hydrateFromIndex && env.isElasticIndexing() && resultCache.isIndexCurrent();
+    }
+
     /**
      * Delegates to the underlying bill search dao.
      */
@@ -86,8 +185,13 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
                                                   String sort, LimitOffset limOff)
         throws SearchException {
         if (limOff == null) limOff = LimitOffset.TEN;
+        LimitOffset finalLimOff = limOff;
         try {
-            return billSearchDao.searchBills(query, postFilter, rescorer, sort, limOff);
+            if (rescorer != null) {
+                return billSearchDao.searchBills(query, postFilter, rescorer, sort, limOff);
+            }
+            return resultCache.get(SearchResultCache.key("id", query, postFilter, sort, limOff),
+                () -> billSearchDao.searchBills(query, postFilter, null, sort, finalLimOff));
         }
         catch (SearchParseException ex) {
             throw new SearchException("Invalid query string", ex);
@@ -97,9 +201,21 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
         }
     }
 
+    /**
+     * Builds a query that matches the given query string, or all bills if it is null, within the given session
+     * if it is not null.
+     */
+    private QueryBuilder getBillQuery(String query, SessionYear session) {
+        QueryBuilder queryBuilder = (query != null) ? QueryBuilders.queryString(smartSearch(query)) : QueryBuilders.matchAllQuery();
+        if (session != null) {
+            queryBuilder = QueryBuilders.filteredQuery(queryBuilder, FilterBuilders.termFilter("session", session.getYear()));
+        }
+        return queryBuilder;
+    }
+
     private String smartSearch(String query) {
         if (query != null && !query.contains(":")) {
-            Matcher matcher = BillId.billIdPattern.matcher(query.replaceAll("\\s", ""));
+            Matcher matcher = BillId.billIdPattern.matcher(query.replaceAll("\\s", "").toUpperCase());
             if (matcher.find()) {
                 query = String.format("(printNo:%s OR basePrintNo:%s) AND session:%s",
                         matcher.group("printNo"), matcher.group("printNo"), matcher.group("year"));
@@ -113,7 +229,7 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
     @Subscribe
     public void handleBillUpdate(BillUpdateEvent billUpdateEvent) {
         if (billUpdateEvent.getBill() != null) {
-            updateIndex(billUpdateEvent.getBill());
+            queueIndexUpdate(Collections.singletonList(billUpdateEvent.getBill()));
         }
     }
 
@@ -122,7 +238,7 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
     @Subscribe
     public void handleBulkBillUpdate(BulkBillUpdateEvent bulkBillUpdateEvent) {
         if (bulkBillUpdateEvent.getBills() != null) {
-            updateIndex(bulkBillUpdateEvent.getBills());
+            queueIndexUpdate(bulkBillUpdateEvent.getBills());
         }
     }
 
@@ -167,33 +283,81 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
 
     /** {@inheritDoc} */
     @Override
-    public void clearIndex() {
-        billSearchDao.purgeIndices();
-        billSearchDao.createIndices();
+    public synchronized void clearIndex() {
+        billSearchDao.createShadowIndices();
+        billSearchDao.promoteShadowIndices();
+        resultCache.indexReplaced();
     }
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc}
+     *
+     * The bills are indexed into a new index which replaces the current one once it's complete, so search
+     * results stay available throughout. Each session's bills are loaded and converted into search documents
+     * in batches on a pool of worker threads and sent to elastic search in size limited bulk requests. Progress
+     * is checkpointed after each session, so a rebuild that gets interrupted resumes from the last completed
+     * session the next time it is run. A resumed rebuild first reindexes the bills that were updated while it
+     * was stopped, since those updates were only written to the current index.
+     */
     @Override
-    public void rebuildIndex() {
-        clearIndex();
+    public synchronized void rebuildIndex() {
         Optional<Range<SessionYear>> sessions = billDataService.activeSessionRange();
-        if (sessions.isPresent()) {
-            SessionYear session = sessions.get().lowerEndpoint();
-            while (session.getSessionStartYear() <= LocalDate.now().getYear()) {
-                LimitOffset limOff = LimitOffset.THOUSAND;
-                List<BaseBillId> billIds = billDataService.getBillIds(session, limOff);
-                while (!billIds.isEmpty()) {
-                    logger.info("Indexing {} bills starting from {}", billIds.size(), billIds.get(0));
-                    updateIndex(billIds.stream().map(id -> billDataService.getBill(id)).collect(toList()));
-                    limOff = limOff.next();
-                    billIds = billDataService.getBillIds(session, limOff);
+        if (!sessions.isPresent()) {
+            logger.info("Can't rebuild the bill search index because there are no bills. Clearing it instead!");
+            clearIndex();
+            return;
+        }
+        ReindexCheckpoint checkpoint = ReindexCheckpoint.load(new File(env.getBaseDir(), CHECKPOINT_PATH));
+        // Live updates are written to the shadow index from this point on.
+        LocalDateTime attachedDateTime = LocalDateTime.now();
+        Optional<LocalDateTime> missedSince = checkpoint.getAttachedDateTime();
+        boolean resumed = missedSince.isPresent() &&
+                          checkpoint.getTargetIndex().map(billSearchDao::resumeBillShadowIndex).orElse(false);
+        if (resumed) {
+            logger.info("Resuming bill reindex into {}, skipping sessions {}",
+                        checkpoint.getTargetIndex().get(), checkpoint.getCompletedParts());
+        }
+        else {
+            checkpoint.start(billSearchDao.createBillShadowIndex(), attachedDateTime);
+        }
+        int threads = (reindexThreads > 0) ? reindexThreads : Runtime.getRuntime().availableProcessors();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, new OpenlegThreadFactory("bill-reindex"));
+        try {
+            try (ElasticBulkIndexer bulkIndexer = billSearchDao.newBillBulkIndexer(checkpoint.getTargetIndex().get())) {
+                if (resumed) {
+                    reindexUpdatedBills(missedSince.get(), bulkIndexer, workers);
+                    checkpoint.markAttached(attachedDateTime);
+                }
+                SessionYear session = sessions.get().lowerEndpoint();
+                while (session.getSessionStartYear() <= LocalDate.now().getYear()) {
+                    String part = Integer.toString(session.getYear());
+                    if (!checkpoint.isCompleted(part)) {
+                        reindexSession(session, bulkIndexer, workers);
+                        checkpoint.markCompleted(part);
+                    }
+                    session = session.next();
+                }
+                logger.info("Indexed {} bills into {}", bulkIndexer.getIndexedCount(), bulkIndexer.getIndexName());
+                if (bulkIndexer.getSkippedCount() > 0) {
+                    logger.warn("Skipped {} bills in {} that were already indexed with a newer modified date time",
+                                bulkIndexer.getSkippedCount(), bulkIndexer.getIndexName());
                 }
-                session = session.next();
             }
+            billSearchDao.promoteBillShadowIndex();
+            checkpoint.delete();
+            resultCache.indexReplaced();
         }
-        else {
-            logger.info("Can't rebuild the bill search index because there are no bills. Clearing it instead!");
-            clearIndex();
+        catch (InterruptedException ex) {
+            logger.warn("Bill reindex was interrupted, it will resume from the last completed session.");
+            billSearchDao.detachBillShadowIndex();
+            Thread.currentThread().interrupt();
+        }
+        catch (RuntimeException ex) {
+            billSearchDao.detachBillShadowIndex();
+            throw ex;
+        }
+        finally {
+            workers.shutdownNow();
         }
     }
 
@@ -223,6 +387,110 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
 
     /** --- Internal --- */
 
+    /**
+     * Loads and indexes every bill in the given session, returning once they have all been acknowledged.
+     *
+     * @throws ElasticsearchException if any of the bills failed to index.
+     */
+    private void reindexSession(SessionYear session, ElasticBulkIndexer bulkIndexer, ExecutorService workers)
+            throws InterruptedException {
+        List<BaseBillId> billIds = billDataService.getBillIds(session, LimitOffset.ALL);
+        logger.info("Indexing {} bills from session {}", billIds.size(), session);
+        long priorFailures = bulkIndexer.getFailedCount();
+        List<Future<?>> batches = Lists.partition(billIds, Math.max(1, reindexBatchSize)).stream()
+            .map(batchIds -> workers.submit(() -> billSearchDao.addToBulkIndex(bulkIndexer,
+                billDataService.getBills(batchIds).stream().filter(this::isBillIndexable).collect(toList()))))
+            .collect(toList());
+        awaitBatches(batches, bulkIndexer, priorFailures, "bills from session " + session);
+    }
+
+    /**
+     * Waits for the given batches to be added to the bulk indexer and for elastic search to acknowledge them.
+     *
+     * @param description String - Describes the bills being indexed, for error messages.
+     * @throws ElasticsearchException if any of the bills failed to index.
+     */
+    private void awaitBatches(List<Future<?>> batches, ElasticBulkIndexer bulkIndexer, long priorFailures,
+                              String description) throws InterruptedException {
+        for (Future<?> batch : batches) {
+            try {
+                batch.get();
+            }
+            catch (ExecutionException ex) {
+                Throwables.propagateIfPossible(ex.getCause());
+                throw new ElasticsearchException("Failed to index " + description, ex.getCause());
+            }
+        }
+        if (!bulkIndexer.flush(BULK_FLUSH_TIMEOUT_MIN, TimeUnit.MINUTES)) {
+            throw new ElasticsearchException("Timed out waiting for " + description + " to be indexed");
+        }
+        if (bulkIndexer.getFailedCount() > priorFailures) {
+            throw new ElasticsearchException((bulkIndexer.getFailedCount() - priorFailures) + " " + description +
+                                             " failed to index");
+        }
+    }
+
+    /**
+     * Live updates only reach the shadow index while a rebuild is running, so any bill that was updated after
+     * the given time, while the rebuild was stopped, is reindexed here. Bills that are no longer indexable are
+     * removed. The bill documents are versioned, so this won't overwrite a newer copy written by a live update.
+     *
+     * @throws ElasticsearchException if any of the bills failed to index.
+     */
+    private void reindexUpdatedBills(LocalDateTime since, ElasticBulkIndexer bulkIndexer, ExecutorService workers)
+            throws InterruptedException {
+        List<BaseBillId> billIds = billUpdatesDao.getUpdates(Range.atLeast(since), UpdateType.PROCESSED_DATE, null,
+                                                             SortOrder.ASC, LimitOffset.ALL)
+            .getResults().stream()
+            .map(UpdateToken::getId)
+            .distinct()
+            .collect(toList());
+        logger.info("Reindexing {} bills that were updated since {}", billIds.size(), since);
+        long priorFailures = bulkIndexer.getFailedCount();
+        List<Future<?>> batches = Lists.partition(billIds, Math.max(1, reindexBatchSize)).stream()
+            .map(batchIds -> workers.submit(() -> {
+                List<Bill> bills = billDataService.getBills(batchIds);
+                billSearchDao.addToBulkIndex(bulkIndexer, bills.stream().filter(this::isBillIndexable).collect(toList()));
+                bills.stream()
+                    .filter(b -> b != null && !isBillIndexable(b))
+                    .forEach(b -> billSearchDao.deleteBillFromIndex(b.getBaseBillId()));
+            }))
+            .collect(toList());
+        awaitBatches(batches, bulkIndexer, priorFailures, "bills updated since " + since);
+    }
+
+    /**
+     * Queues the given bills to be written to the index. The bills are still being modified by ingest after
+     * their update events are posted, so their search documents are serialized here on the posting thread
+     * and only the finished documents are handed to the index queue.
+     */
+    private void queueIndexUpdate(Collection<Bill> bills) {
+        if (!env.isElasticIndexing() || bills.isEmpty()) {
+            return;
+        }
+        List<BillIndexDocument> documents = new ArrayList<>();
+        List<BaseBillId> deletedBillIds = new ArrayList<>();
+        bills.stream().filter(Objects::nonNull).forEach(bill -> {
+            if (isBillIndexable(bill)) {
+                documents.add(billSearchDao.getBillIndexDocument(bill));
+            }
+            else {
+                deletedBillIds.add(bill.getBaseBillId());
+            }
+        });
+        resultCache.trackUpdate(() -> updateIndexDocuments(documents, deletedBillIds),
+                                task -> eventQueueService.submit(INDEX_QUEUE, task));
+    }
+
+    private void updateIndexDocuments(List<BillIndexDocument> documents, List<BaseBillId> deletedBillIds) {
+        logger.info("Indexing {} valid bills into elastic search.", documents.size());
+        billSearchDao.updateBillIndexDocuments(documents);
+        deletedBillIds.forEach(baseBillId -> {
+            logger.info("Deleting {} from index.", baseBillId);
+            billSearchDao.deleteBillFromIndex(baseBillId);
+        });
+    }
+
     /**
      * Returns true if the given bill meets the criteria for being indexed in the search layer.
      *
@@ -14,6 +14,9 @@ import gov.nysenate.openleg.model.search.ClearIndexEvent;
 import gov.nysenate.openleg.model.search.RebuildIndexEvent;
 import gov.nysenate.openleg.model.search.SearchException;
 import gov.nysenate.openleg.model.search.SearchResults;
+import gov.nysenate.openleg.service.base.event.EventQueueService;
+import gov.nysenate.openleg.service.base.search.SearchResultCache;
+import gov.nysenate.openleg.service.base.search.SearchResultCacheService;
 import gov.nysenate.openleg.service.calendar.data.CalendarDataService;
 import gov.nysenate.openleg.service.calendar.event.BulkCalendarUpdateEvent;
 import gov.nysenate.openleg.service.calendar.event.CalendarUpdateEvent;
@@ -34,14 +37,21 @@ public class ElasticCalendarSearchService implements CalendarSearchService {
 
     private static final Logger logger = LoggerFactory.getLogger(ElasticCalendarSearchService.class);
 
+    private static final String INDEX_QUEUE = "calendar-index";
+
     @Autowired private ElasticCalendarSearchDao calendarSearchDao;
     @Autowired private CalendarDataService calendarDataService;
     @Autowired private Environment env;
     @Autowired private EventBus eventBus;
+    @Autowired private EventQueueService eventQueueService;
+    @Autowired private SearchResultCacheService searchResultCacheService;
+
+    private SearchResultCache resultCache;
 
     @PostConstruct
     private void init() {
         eventBus.register(this);
+        resultCache = searchResultCacheService.getCache(SearchIndex.CALENDAR);
     }
 
     /** {@inheritDoc} */
@@ -60,16 +70,17 @@ public class ElasticCalendarSearchService implements CalendarSearchService {
     /** {@inheritDoc} */
     @Subscribe
     @Override
-    public synchronized void handleCalendarUpdateEvent(CalendarUpdateEvent calendarUpdateEvent) {
-
-        updateIndex(calendarUpdateEvent.getCalendar());
+    public void handleCalendarUpdateEvent(CalendarUpdateEvent calendarUpdateEvent) {
+        resultCache.trackUpdate(() -> updateIndex(calendarUpdateEvent.getCalendar()),
+                                task -> eventQueueService.submit(INDEX_QUEUE, task));
     }
 
     /** {@inheritDoc} */
     @Subscribe
     @Override
     public void handleBulkCalendarUpdateEvent(BulkCalendarUpdateEvent bulkCalendarUpdateEvent) {
-        updateIndex(bulkCalendarUpdateEvent.getCalendars());
+        resultCache.trackUpdate(() -> updateIndex(bulkCalendarUpdateEvent.getCalendars()),
+                                task -> eventQueueService.submit(INDEX_QUEUE, task));
     }
 
     /** {@inheritDoc} */
@@ -92,21 +103,30 @@ public class ElasticCalendarSearchService implements CalendarSearchService {
 
     /** {@inheritDoc} */
     @Override
-    public void clearIndex() {
-        calendarSearchDao.purgeIndices();
-        calendarSearchDao.createIndices();
+    public synchronized void clearIndex() {
+        calendarSearchDao.createShadowIndices();
+        calendarSearchDao.promoteShadowIndices();
+        resultCache.indexReplaced();
     }
 
     /** {@inheritDoc} */
     @Override
-    public void rebuildIndex() {
-        clearIndex();
-        Optional<Range<Integer>> calendarYearRange =  calendarDataService.getCalendarYearRange();
-        if (calendarYearRange.isPresent()) {
-            for (int year = calendarYearRange.get().lowerEndpoint();
-                 year <= calendarYearRange.get().upperEndpoint(); year++) {
-                updateIndex(calendarDataService.getCalendars(year, SortOrder.NONE, LimitOffset.ALL));
+    public synchronized void rebuildIndex() {
+        calendarSearchDao.createShadowIndices();
+        try {
+            Optional<Range<Integer>> calendarYearRange =  calendarDataService.getCalendarYearRange();
+            if (calendarYearRange.isPresent()) {
+                for (int year = calendarYearRange.get().lowerEndpoint();
+                     year <= calendarYearRange.get().upperEndpoint(); year++) {
+                    updateIndex(calendarDataService.getCalendars(year, SortOrder.NONE, LimitOffset.ALL));
+                }
             }
+            calendarSearchDao.promoteShadowIndices();
+            resultCache.indexReplaced();
+        }
+        catch (RuntimeException ex) {
+            calendarSearchDao.deleteShadowIndices();
+            throw ex;
         }
     }
 
@@ -157,8 +177,10 @@ public class ElasticCalendarSearchService implements CalendarSearchService {
         if (limitOffset == null) {
             limitOffset = LimitOffset.ALL;
         }
+        LimitOffset limOff = limitOffset;
         try {
-            return calendarSearchDao.searchCalendars(query, postFilter, sort, limitOffset);
+            return resultCache.get(SearchResultCache.key("id", query, postFilter, sort, limOff),
+                () -> calendarSearchDao.searchCalendars(query, postFilter, sort, limOff));
         } catch (SearchParseException ex) {
             throw new SearchException("There was a problem parsing the supplied query string.", ex);
         } catch (Exception ex) {
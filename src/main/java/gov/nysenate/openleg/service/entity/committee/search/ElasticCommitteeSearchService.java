@@ -106,19 +106,25 @@ public class ElasticCommitteeSearchService implements CommitteeSearchService
      * {@inheritDoc}
      */
     @Override
-    public void clearIndex() {
-        committeeSearchDao.purgeIndices();
-        committeeSearchDao.createIndices();
+    public synchronized void clearIndex() {
+        committeeSearchDao.createShadowIndices();
+        committeeSearchDao.promoteShadowIndices();
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void rebuildIndex() {
-        clearIndex();
-
-        committeeSearchDao.updateCommitteeIndexBulk(committeeDataService.getAllCommitteeSessionIds());
+    public synchronized void rebuildIndex() {
+        committeeSearchDao.createShadowIndices();
+        try {
+            committeeSearchDao.updateCommitteeIndexBulk(committeeDataService.getAllCommitteeSessionIds());
+            committeeSearchDao.promoteShadowIndices();
+        }
+        catch (RuntimeException ex) {
+            committeeSearchDao.deleteShadowIndices();
+            throw ex;
+        }
     }
 
     /**
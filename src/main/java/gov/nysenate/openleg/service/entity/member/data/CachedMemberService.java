@@ -175,10 +175,7 @@ public class CachedMemberService implements MemberService, CachingService<Intege
             return getMemberByShortName(lbdcShortName, sessionYear, chamber);
         }
         catch (MemberNotFoundEx ex) {
-            Member member = Member.newMakeshiftMember(lbdcShortName, sessionYear, chamber);
-            memberDao.insertUnverifiedSessionMember(member);
-            eventBus.post(new UnverifiedMemberEvent(member));
-            return member;
+            return createUnverifiedMember(lbdcShortName, sessionYear, chamber);
         }
     }
 
@@ -190,4 +187,21 @@ public class CachedMemberService implements MemberService, CachingService<Intege
     private void putMemberInCache(Member member) {
         memberCache.put(new Element(new SimpleKey(member.getSessionMemberId()), member, true));
     }
+
+    /**
+     * Inserts a makeshift member for the given short name. Synchronized with a re-check so that
+     * bills processed in parallel do not insert the same unverified member more than once.
+     */
+    private synchronized Member createUnverifiedMember(String lbdcShortName, SessionYear sessionYear, Chamber chamber)
+                                                throws ParseError {
+        try {
+            return getMemberByShortName(lbdcShortName, sessionYear, chamber);
+        }
+        catch (MemberNotFoundEx ex) {
+            Member member = Member.newMakeshiftMember(lbdcShortName, sessionYear, chamber);
+            memberDao.insertUnverifiedSessionMember(member);
+            eventBus.post(new UnverifiedMemberEvent(member));
+            return member;
+        }
+    }
 }
\ No newline at end of file
@@ -109,26 +109,33 @@ public class ElasticMemberSearchService implements MemberSearchService, IndexedS
 
     /** {@inheritDoc} */
     @Override
-    public void clearIndex() {
-        memberSearchDao.purgeIndices();
-        memberSearchDao.createIndices();
+    public synchronized void clearIndex() {
+        memberSearchDao.createShadowIndices();
+        memberSearchDao.promoteShadowIndices();
     }
 
     /** {@inheritDoc} */
     @Override
-    public void rebuildIndex() {
-        clearIndex();
-        LimitOffset limOff = LimitOffset.HUNDRED;
-        SortOrder sortOrder = SortOrder.ASC;
-        List<Member> members;
-        do {
-            members = memberDataService.getAllMembers(sortOrder, limOff);
-            logger.info("Indexing {} members", members.size());
-            updateIndex(members);
-            limOff = limOff.next();
-            members = memberDataService.getAllMembers(sortOrder, limOff);
+    public synchronized void rebuildIndex() {
+        memberSearchDao.createShadowIndices();
+        try {
+            LimitOffset limOff = LimitOffset.HUNDRED;
+            SortOrder sortOrder = SortOrder.ASC;
+            List<Member> members;
+            do {
+                members = memberDataService.getAllMembers(sortOrder, limOff);
+                logger.info("Indexing {} members", members.size());
+                updateIndex(members);
+                limOff = limOff.next();
+                members = memberDataService.getAllMembers(sortOrder, limOff);
+            }
+            while(!members.isEmpty());
+            memberSearchDao.promoteShadowIndices();
+        }
+        catch (RuntimeException ex) {
+            memberSearchDao.deleteShadowIndices();
+            throw ex;
         }
-        while(!members.isEmpty());
     }
 
     /** {@inheritDoc} */
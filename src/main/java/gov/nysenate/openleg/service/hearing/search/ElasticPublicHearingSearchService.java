@@ -130,25 +130,32 @@ public class ElasticPublicHearingSearchService implements PublicHearingSearchSer
 
     /** {@inheritDoc} */
     @Override
-    public void clearIndex() {
-        publicHearingSearchDao.purgeIndices();
-        publicHearingSearchDao.createIndices();
+    public synchronized void clearIndex() {
+        publicHearingSearchDao.createShadowIndices();
+        publicHearingSearchDao.promoteShadowIndices();
     }
 
     /** {@inheritDoc} */
     @Override
-    public void rebuildIndex() {
-        clearIndex();
-        for (int year = 2011; year <= LocalDate.now().getYear(); year++) {
-            LimitOffset limitOffset = LimitOffset.TWENTY_FIVE;
-            List<PublicHearingId> publicHearingIds = publicHearingDataService.getPublicHearingIds(SortOrder.DESC, limitOffset);
-            while (!publicHearingIds.isEmpty()) {
-                logger.info("Indexing {} public hearings starting from {}.", publicHearingIds.size(), year);
-                List<PublicHearing> publicHearings = publicHearingIds.stream().map(publicHearingDataService::getPublicHearing).collect(Collectors.toList());
-                updateIndex(publicHearings);
-                limitOffset = limitOffset.next();
-                publicHearingIds = publicHearingDataService.getPublicHearingIds(SortOrder.DESC, limitOffset);
+    public synchronized void rebuildIndex() {
+        publicHearingSearchDao.createShadowIndices();
+        try {
+            for (int year = 2011; year <= LocalDate.now().getYear(); year++) {
+                LimitOffset limitOffset = LimitOffset.TWENTY_FIVE;
+                List<PublicHearingId> publicHearingIds = publicHearingDataService.getPublicHearingIds(SortOrder.DESC, limitOffset);
+                while (!publicHearingIds.isEmpty()) {
+                    logger.info("Indexing {} public hearings starting from {}.", publicHearingIds.size(), year);
+                    List<PublicHearing> publicHearings = publicHearingIds.stream().map(publicHearingDataService::getPublicHearing).collect(Collectors.toList());
+                    updateIndex(publicHearings);
+                    limitOffset = limitOffset.next();
+                    publicHearingIds = publicHearingDataService.getPublicHearingIds(SortOrder.DESC, limitOffset);
+                }
             }
+            publicHearingSearchDao.promoteShadowIndices();
+        }
+        catch (RuntimeException ex) {
+            publicHearingSearchDao.deleteShadowIndices();
+            throw ex;
         }
     }
 
@@ -13,7 +13,10 @@ import gov.nysenate.openleg.model.search.ClearIndexEvent;
 import gov.nysenate.openleg.model.search.RebuildIndexEvent;
 import gov.nysenate.openleg.model.search.SearchException;
 import gov.nysenate.openleg.model.search.SearchResults;
+import gov.nysenate.openleg.service.base.event.EventQueueService;
 import gov.nysenate.openleg.service.base.search.IndexedSearchService;
+import gov.nysenate.openleg.service.base.search.SearchResultCache;
+import gov.nysenate.openleg.service.base.search.SearchResultCacheService;
 import gov.nysenate.openleg.service.law.event.BulkLawUpdateEvent;
 import gov.nysenate.openleg.service.law.event.LawUpdateEvent;
 import org.elasticsearch.ElasticsearchException;
@@ -37,14 +40,21 @@ public class ElasticLawSearchService implements LawSearchService, IndexedSearchS
 {
     private static final Logger logger = LoggerFactory.getLogger(ElasticLawSearchService.class);
 
+    private static final String INDEX_QUEUE = "law-index";
+
     @Autowired private EventBus eventBus;
+    @Autowired private EventQueueService eventQueueService;
     @Autowired private Environment env;
     @Autowired private ElasticLawSearchDao lawSearchDao;
     @Autowired private LawDataDao lawDataDao;
+    @Autowired private SearchResultCacheService searchResultCacheService;
+
+    private SearchResultCache resultCache;
 
     @PostConstruct
     private void init() {
         eventBus.register(this);
+        resultCache = searchResultCacheService.getCache(SearchIndex.LAW);
     }
 
     /** --- LawSearchService implementation --- */
@@ -62,8 +72,10 @@ public class ElasticLawSearchService implements LawSearchService, IndexedSearchS
         if (lawId != null) {
             queryBuilder = QueryBuilders.filteredQuery(queryBuilder, FilterBuilders.typeFilter(lawId));
         }
+        QueryBuilder finalQuery = queryBuilder;
         try {
-            return lawSearchDao.searchLawDocs(queryBuilder, null, null, sort, limOff);
+            return resultCache.get(SearchResultCache.key("id", finalQuery, null, sort, limOff),
+                () -> lawSearchDao.searchLawDocs(finalQuery, null, null, sort, limOff));
         }
         catch (SearchParseException ex) {
             throw new SearchException("Invalid query string", ex);
@@ -78,7 +90,8 @@ public class ElasticLawSearchService implements LawSearchService, IndexedSearchS
     @Override
     public void handleLawUpdate(LawUpdateEvent lawUpdateEvent) {
         if (lawUpdateEvent != null && lawUpdateEvent.getLawDoc() != null) {
-            updateIndex(lawUpdateEvent.getLawDoc());
+            resultCache.trackUpdate(() -> updateIndex(lawUpdateEvent.getLawDoc()),
+                                    task -> eventQueueService.submit(INDEX_QUEUE, task));
         }
     }
 
@@ -87,7 +100,8 @@ public class ElasticLawSearchService implements LawSearchService, IndexedSearchS
     @Override
     public void handleBulkLawUpdate(BulkLawUpdateEvent bulkLawUpdateEvent) {
         if (bulkLawUpdateEvent != null && !bulkLawUpdateEvent.getLawDocuments().isEmpty()) {
-            updateIndex(bulkLawUpdateEvent.getLawDocuments());
+            resultCache.trackUpdate(() -> updateIndex(bulkLawUpdateEvent.getLawDocuments()),
+                                    task -> eventQueueService.submit(INDEX_QUEUE, task));
         }
     }
 
@@ -109,18 +123,27 @@ public class ElasticLawSearchService implements LawSearchService, IndexedSearchS
 
     /** {@inheritDoc} */
     @Override
-    public void clearIndex() {
-        lawSearchDao.purgeIndices();
-        lawSearchDao.createIndices();
+    public synchronized void clearIndex() {
+        lawSearchDao.createShadowIndices();
+        lawSearchDao.promoteShadowIndices();
+        resultCache.indexReplaced();
     }
 
     /** {@inheritDoc} */
     @Override
-    public void rebuildIndex() {
-        clearIndex();
-        lawDataDao.getLawInfos().stream().forEach(lawInfo ->
-            updateIndex(lawDataDao.getLawDocuments(lawInfo.getLawId(), LocalDate.now()).entrySet().stream()
-                .map(doc -> doc.getValue()).collect(Collectors.toList())));
+    public synchronized void rebuildIndex() {
+        lawSearchDao.createShadowIndices();
+        try {
+            lawDataDao.getLawInfos().stream().forEach(lawInfo ->
+                updateIndex(lawDataDao.getLawDocuments(lawInfo.getLawId(), LocalDate.now()).entrySet().stream()
+                    .map(doc -> doc.getValue()).collect(Collectors.toList())));
+            lawSearchDao.promoteShadowIndices();
+            resultCache.indexReplaced();
+        }
+        catch (RuntimeException ex) {
+            lawSearchDao.deleteShadowIndices();
+            throw ex;
+        }
     }
 
     /** {@inheritDoc} */
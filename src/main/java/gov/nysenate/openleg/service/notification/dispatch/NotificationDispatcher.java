@@ -7,6 +7,7 @@ import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
 import gov.nysenate.openleg.config.Environment;
 import gov.nysenate.openleg.model.notification.*;
+import gov.nysenate.openleg.service.base.event.EventQueueService;
 import gov.nysenate.openleg.service.notification.data.NotificationService;
 import gov.nysenate.openleg.service.notification.subscription.NotificationSubscriptionDataService;
 import org.apache.commons.lang3.StringUtils;
@@ -22,12 +23,17 @@ import java.util.Map;
 @Service
 public class NotificationDispatcher {
 
+    private static final String NOTIFICATION_QUEUE = "notification";
+
     @Autowired
     private EventBus eventBus;
 
     @Autowired
     private Environment environment;
 
+    @Autowired
+    private EventQueueService eventQueueService;
+
     @Autowired
     private NotificationService notificationService;
 
@@ -64,10 +70,16 @@ public class NotificationDispatcher {
         }
     }
 
+    /**
+     * Registers and dispatches the notification on the notification event queue
+     * so that the thread that raised the notification is not held up.
+     */
     @Subscribe
     public void handleNotificationEvent(Notification notification) {
-        RegisteredNotification registeredNotification = notificationService.registerNotification(notification);
-        dispatchNotification(registeredNotification);
+        eventQueueService.submitUnordered(NOTIFICATION_QUEUE, () -> {
+            RegisteredNotification registeredNotification = notificationService.registerNotification(notification);
+            dispatchNotification(registeredNotification);
+        });
     }
 
     /** --- Internal Methods --- */
@@ -134,25 +134,32 @@ public class ElasticTranscriptSearchService implements TranscriptSearchService,
 
     /** {@inheritDoc} */
     @Override
-    public void clearIndex() {
-        transcriptSearchDao.purgeIndices();
-        transcriptSearchDao.createIndices();
+    public synchronized void clearIndex() {
+        transcriptSearchDao.createShadowIndices();
+        transcriptSearchDao.promoteShadowIndices();
     }
 
     /** {@inheritDoc} */
     @Override
-    public void rebuildIndex() {
-        clearIndex();
-        for (int year = 1993; year <= LocalDate.now().getYear(); year++) {
-            LimitOffset limOff = LimitOffset.TWENTY_FIVE;
-            List<TranscriptId> transcriptIds = transcriptDataService.getTranscriptIds(SortOrder.DESC, limOff);
-            while (!transcriptIds.isEmpty()) {
-                logger.info("Indexing {} transcripts starting from {}", transcriptIds.size(), year);
-                List<Transcript> transcripts = transcriptIds.stream().map(transcriptDataService::getTranscript).collect(Collectors.toList());
-                updateIndex(transcripts);
-                limOff = limOff.next();
-                transcriptIds = transcriptDataService.getTranscriptIds(SortOrder.DESC, limOff);
+    public synchronized void rebuildIndex() {
+        transcriptSearchDao.createShadowIndices();
+        try {
+            for (int year = 1993; year <= LocalDate.now().getYear(); year++) {
+                LimitOffset limOff = LimitOffset.TWENTY_FIVE;
+                List<TranscriptId> transcriptIds = transcriptDataService.getTranscriptIds(SortOrder.DESC, limOff);
+                while (!transcriptIds.isEmpty()) {
+                    logger.info("Indexing {} transcripts starting from {}", transcriptIds.size(), year);
+                    List<Transcript> transcripts = transcriptIds.stream().map(transcriptDataService::getTranscript).collect(Collectors.toList());
+                    updateIndex(transcripts);
+                    limOff = limOff.next();
+                    transcriptIds = transcriptDataService.getTranscriptIds(SortOrder.DESC, limOff);
+                }
             }
+            transcriptSearchDao.promoteShadowIndices();
+        }
+        catch (RuntimeException ex) {
+            transcriptSearchDao.deleteShadowIndices();
+            throw ex;
         }
     }
 
@@ -0,0 +1,111 @@
+package gov.nysenate.openleg.util;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.net.InetAddresses;
+
+import java.net.InetAddress;
+import java.util.List;
+
+/**
+ * Matches ip addresses against a list of addresses and CIDR ranges, e.g. "127.0.0.1, 10.1.0.0/16, ::1".
+ * The list is parsed once, so matching an address is just a comparison of its bytes against each range.
+ * Addresses are only ever parsed as literals, no host name lookups are made.
+ */
+public class IpAddressMatcher
+{
+    private final List<Range> ranges;
+
+    /** --- Constructors --- */
+
+    /**
+     * @param addresses String - Comma separated ip addresses and CIDR ranges
+     * @throws IllegalArgumentException if any of the addresses or ranges is invalid
+     */
+    public IpAddressMatcher(String addresses) {
+        ImmutableList.Builder<Range> rangeBuilder = ImmutableList.builder();
+        if (addresses != null) {
+            Splitter.on(',').trimResults().omitEmptyStrings().split(addresses)
+                .forEach(range -> rangeBuilder.add(parseRange(range)));
+        }
+        this.ranges = rangeBuilder.build();
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * @param address String - An ip address literal
+     * @return boolean - true if the address falls within any of the ranges, false if it doesn't or is not
+     *                   a valid address.
+     */
+    public boolean matches(String address) {
+        if (ranges.isEmpty() || address == null || !InetAddresses.isInetAddress(address)) {
+            return false;
+        }
+        byte[] addressBytes = InetAddresses.forString(address).getAddress();
+        for (Range range : ranges) {
+            if (range.contains(addressBytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** --- Internal --- */
+
+    private static Range parseRange(String range) {
+        String address = range;
+        Integer prefixLength = null;
+        int slash = range.indexOf('/');
+        if (slash >= 0) {
+            address = range.substring(0, slash);
+            try {
+                prefixLength = Integer.parseInt(range.substring(slash + 1));
+            }
+            catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid prefix length in ip range: " + range);
+            }
+        }
+        if (!InetAddresses.isInetAddress(address)) {
+            throw new IllegalArgumentException("Invalid ip address: " + range);
+        }
+        InetAddress inetAddress = InetAddresses.forString(address);
+        byte[] bytes = inetAddress.getAddress();
+        if (prefixLength == null) {
+            prefixLength = bytes.length * 8;
+        }
+        if (prefixLength < 0 || prefixLength > bytes.length * 8) {
+            throw new IllegalArgumentException("Invalid prefix length in ip range: " + range);
+        }
+        return new Range(bytes, prefixLength);
+    }
+
+    private static class Range
+    {
+        private final byte[] address;
+        private final int prefixLength;
+
+        public Range(byte[] address, int prefixLength) {
+            this.address = address;
+            this.prefixLength = prefixLength;
+        }
+
+        public boolean contains(byte[] other) {
+            if (other.length != address.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (other[i] != address[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits > 0) {
+                int mask = (0xFF << (8 - remainingBits)) & 0xFF;
+                return (other[fullBytes] & mask) == (address[fullBytes] & mask);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+-- Use this patch to bring an existing database up to date with openleg.schema.sql
+-- Each statement checks what is already in place, so the patch can be run more than once
+
+--
+-- Adds apiuser.rate_limit_tier, which holds the rate limit tier of each api user
+--
+
+DO $$BEGIN
+  IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                 WHERE table_schema = 'public' AND table_name = 'apiuser' AND column_name = 'rate_limit_tier') THEN
+    ALTER TABLE public.apiuser ADD COLUMN rate_limit_tier text;
+  END IF;
+END;$$;
+
+COMMENT ON COLUMN public.apiuser.rate_limit_tier IS 'The rate limit tier for this user''s requests, the default tier is used if null';
+
+--
+-- Adds the agenda, bill, calendar and law last update tables and the triggers that maintain them, then fills
+-- the tables from the existing change logs. Update tokens are read from these tables whenever they are not
+-- empty, so this has to run before the new version is deployed. Creating the triggers locks the change logs
+-- against inserts until the fill commits, so no change is missed. Rows that already exist are merged with
+-- the logged history.
+--
+
+BEGIN;
+
+DO $$BEGIN
+  IF NOT EXISTS (SELECT 1 FROM information_schema.tables
+                 WHERE table_schema = 'master' AND table_name = 'agenda_last_update') THEN
+    CREATE TABLE master.agenda_last_update (
+        agenda_no smallint NOT NULL,
+        year smallint NOT NULL,
+        last_fragment_id text,
+        last_processed_date_time timestamp without time zone NOT NULL,
+        last_published_date_time timestamp without time zone,
+        CONSTRAINT agenda_last_update_pkey PRIMARY KEY (agenda_no, year)
+    );
+    COMMENT ON TABLE master.agenda_last_update IS 'The latest change of each agenda, maintained from agenda_change_log';
+    CREATE INDEX agenda_last_update_last_processed_date_time_idx ON master.agenda_last_update USING btree (last_processed_date_time);
+    CREATE INDEX agenda_last_update_last_published_date_time_idx ON master.agenda_last_update USING btree (last_published_date_time);
+  END IF;
+END;$$;
+
+CREATE OR REPLACE FUNCTION master.update_agenda_last_update() RETURNS trigger
+    LANGUAGE plpgsql
+    AS $$BEGIN
+  -- Keeps the latest change of each agenda in agenda_last_update so that update tokens can be
+  -- read without grouping the entire change log.
+  -- The row is updated if it exists and inserted otherwise. If another transaction inserts the same row
+  -- first, the insert fails with a unique violation and the update is tried again.
+  LOOP
+    UPDATE master.agenda_last_update
+    SET last_fragment_id = GREATEST(last_fragment_id, NEW.sobi_fragment_id),
+        last_processed_date_time = GREATEST(last_processed_date_time, NEW.action_date_time),
+        last_published_date_time = GREATEST(last_published_date_time, NEW.published_date_time)
+    WHERE agenda_no = NEW.agenda_no AND year = NEW.year;
+    IF FOUND THEN
+      RETURN NULL;
+    END IF;
+
+    BEGIN
+      INSERT INTO master.agenda_last_update (agenda_no, year, last_fragment_id, last_processed_date_time, last_published_date_time)
+      VALUES (NEW.agenda_no, NEW.year, NEW.sobi_fragment_id, NEW.action_date_time, NEW.published_date_time);
+      RETURN NULL;
+    EXCEPTION WHEN unique_violation THEN
+      -- Loop back and update the row the other transaction inserted
+    END;
+  END LOOP;
+END;$$;
+
+DROP TRIGGER IF EXISTS update_agenda_last_update ON master.agenda_change_log;
+CREATE TRIGGER update_agenda_last_update AFTER INSERT ON master.agenda_change_log FOR EACH ROW EXECUTE PROCEDURE master.update_agenda_last_update();
+
+DO $$BEGIN
+  IF NOT EXISTS (SELECT 1 FROM information_schema.tables
+                 WHERE table_schema = 'master' AND table_name = 'bill_last_update') THEN
+    CREATE TABLE master.bill_last_update (
+        bill_print_no text NOT NULL,
+        bill_session_year smallint NOT NULL,
+        last_fragment_id text,
+        last_processed_date_time timestamp without time zone NOT NULL,
+        last_published_date_time timestamp without time zone,
+        CONSTRAINT bill_last_update_pkey PRIMARY KEY (bill_print_no, bill_session_year)
+    );
+    COMMENT ON TABLE master.bill_last_update IS 'The latest change of each bill, maintained from bill_change_log';
+    CREATE INDEX bill_last_update_last_processed_date_time_idx ON master.bill_last_update USING btree (last_processed_date_time);
+    CREATE INDEX bill_last_update_last_published_date_time_idx ON master.bill_last_update USING btree (last_published_date_time);
+  END IF;
+END;$$;
+
+CREATE OR REPLACE FUNCTION master.update_bill_last_update() RETURNS trigger
+    LANGUAGE plpgsql
+    AS $$BEGIN
+  -- Keeps the latest change of each bill in bill_last_update so that update tokens can be
+  -- read without grouping the entire change log.
+  -- The row is updated if it exists and inserted otherwise. If another transaction inserts the same row
+  -- first, the insert fails with a unique violation and the update is tried again.
+  LOOP
+    UPDATE master.bill_last_update
+    SET last_fragment_id = GREATEST(last_fragment_id, NEW.sobi_fragment_id),
+        last_processed_date_time = GREATEST(last_processed_date_time, NEW.action_date_time),
+        last_published_date_time = GREATEST(last_published_date_time, NEW.published_date_time)
+    WHERE bill_print_no = NEW.bill_print_no AND bill_session_year = NEW.bill_session_year;
+    IF FOUND THEN
+      RETURN NULL;
+    END IF;
+
+    BEGIN
+      INSERT INTO master.bill_last_update (bill_print_no, bill_session_year, last_fragment_id, last_processed_date_time, last_published_date_time)
+      VALUES (NEW.bill_print_no, NEW.bill_session_year, NEW.sobi_fragment_id, NEW.action_date_time, NEW.published_date_time);
+      RETURN NULL;
+    EXCEPTION WHEN unique_violation THEN
+      -- Loop back and update the row the other transaction inserted
+    END;
+  END LOOP;
+END;$$;
+
+DROP TRIGGER IF EXISTS update_bill_last_update ON master.bill_change_log;
+CREATE TRIGGER update_bill_last_update AFTER INSERT ON master.bill_change_log FOR EACH ROW EXECUTE PROCEDURE master.update_bill_last_update();
+
+DO $$BEGIN
+  IF NOT EXISTS (SELECT 1 FROM information_schema.tables
+                 WHERE table_schema = 'master' AND table_name = 'calendar_last_update') THEN
+    CREATE TABLE master.calendar_last_update (
+        calendar_no smallint NOT NULL,
+        calendar_year smallint NOT NULL,
+        last_fragment_id text,
+        last_processed_date_time timestamp without time zone NOT NULL,
+        last_published_date_time timestamp without time zone,
+        CONSTRAINT calendar_last_update_pkey PRIMARY KEY (calendar_no, calendar_year)
+    );
+    COMMENT ON TABLE master.calendar_last_update IS 'The latest change of each calendar, maintained from calendar_change_log';
+    CREATE INDEX calendar_last_update_last_processed_date_time_idx ON master.calendar_last_update USING btree (last_processed_date_time);
+    CREATE INDEX calendar_last_update_last_published_date_time_idx ON master.calendar_last_update USING btree (last_published_date_time);
+  END IF;
+END;$$;
+
+CREATE OR REPLACE FUNCTION master.update_calendar_last_update() RETURNS trigger
+    LANGUAGE plpgsql
+    AS $$BEGIN
+  -- Keeps the latest change of each calendar in calendar_last_update so that update tokens can be
+  -- read without grouping the entire change log.
+  -- The row is updated if it exists and inserted otherwise. If another transaction inserts the same row
+  -- first, the insert fails with a unique violation and the update is tried again.
+  LOOP
+    UPDATE master.calendar_last_update
+    SET last_fragment_id = GREATEST(last_fragment_id, NEW.sobi_fragment_id),
+        last_processed_date_time = GREATEST(last_processed_date_time, NEW.action_date_time),
+        last_published_date_time = GREATEST(last_published_date_time, NEW.published_date_time)
+    WHERE calendar_no = NEW.calendar_no AND calendar_year = NEW.calendar_year;
+    IF FOUND THEN
+      RETURN NULL;
+    END IF;
+
+    BEGIN
+      INSERT INTO master.calendar_last_update (calendar_no, calendar_year, last_fragment_id, last_processed_date_time, last_published_date_time)
+      VALUES (NEW.calendar_no, NEW.calendar_year, NEW.sobi_fragment_id, NEW.action_date_time, NEW.published_date_time);
+      RETURN NULL;
+    EXCEPTION WHEN unique_violation THEN
+      -- Loop back and update the row the other transaction inserted
+    END;
+  END LOOP;
+END;$$;
+
+DROP TRIGGER IF EXISTS update_calendar_last_update ON master.calendar_change_log;
+CREATE TRIGGER update_calendar_last_update AFTER INSERT ON master.calendar_change_log FOR EACH ROW EXECUTE PROCEDURE master.update_calendar_last_update();
+
+DO $$BEGIN
+  IF NOT EXISTS (SELECT 1 FROM information_schema.tables
+                 WHERE table_schema = 'master' AND table_name = 'law_last_update') THEN
+    CREATE TABLE master.law_last_update (
+        law_id text NOT NULL,
+        last_law_file_name text,
+        last_processed_date_time timestamp without time zone NOT NULL,
+        last_published_date_time timestamp without time zone,
+        CONSTRAINT law_last_update_pkey PRIMARY KEY (law_id)
+    );
+    COMMENT ON TABLE master.law_last_update IS 'The latest change of each law, maintained from law_change_log';
+    CREATE INDEX law_last_update_last_processed_date_time_idx ON master.law_last_update USING btree (last_processed_date_time);
+    CREATE INDEX law_last_update_last_published_date_time_idx ON master.law_last_update USING btree (last_published_date_time);
+  END IF;
+END;$$;
+
+CREATE OR REPLACE FUNCTION master.update_law_last_update() RETURNS trigger
+    LANGUAGE plpgsql
+    AS $$BEGIN
+  -- Keeps the latest change of each law in law_last_update so that update tokens can be
+  -- read without grouping the entire change log.
+  IF NEW.law_id IS NULL THEN
+    RETURN NULL;
+  END IF;
+
+  -- The row is updated if it exists and inserted otherwise. If another transaction inserts the same row
+  -- first, the insert fails with a unique violation and the update is tried again.
+  LOOP
+    UPDATE master.law_last_update
+    SET last_law_file_name = GREATEST(last_law_file_name, NEW.law_file_name),
+        last_processed_date_time = GREATEST(last_processed_date_time, NEW.action_date_time),
+        last_published_date_time = GREATEST(last_published_date_time, NEW.published_date_time)
+    WHERE law_id = NEW.law_id;
+    IF FOUND THEN
+      RETURN NULL;
+    END IF;
+
+    BEGIN
+      INSERT INTO master.law_last_update (law_id, last_law_file_name, last_processed_date_time, last_published_date_time)
+      VALUES (NEW.law_id, NEW.law_file_name, NEW.action_date_time, NEW.published_date_time);
+      RETURN NULL;
+    EXCEPTION WHEN unique_violation THEN
+      -- Loop back and update the row the other transaction inserted
+    END;
+  END LOOP;
+END;$$;
+
+DROP TRIGGER IF EXISTS update_law_last_update ON master.law_change_log;
+CREATE TRIGGER update_law_last_update AFTER INSERT ON master.law_change_log FOR EACH ROW EXECUTE PROCEDURE master.update_law_last_update();
+
+LOCK TABLE master.agenda_change_log, master.bill_change_log, master.calendar_change_log, master.law_change_log
+    IN SHARE MODE;
+
+UPDATE master.agenda_last_update lu
+SET last_fragment_id = GREATEST(lu.last_fragment_id, c.last_fragment_id),
+    last_processed_date_time = GREATEST(lu.last_processed_date_time, c.last_processed_date_time),
+    last_published_date_time = GREATEST(lu.last_published_date_time, c.last_published_date_time)
+FROM (SELECT agenda_no, year, max(sobi_fragment_id) AS last_fragment_id, max(action_date_time) AS last_processed_date_time,
+             max(published_date_time) AS last_published_date_time
+      FROM master.agenda_change_log
+      GROUP BY agenda_no, year) AS c
+WHERE lu.agenda_no = c.agenda_no AND lu.year = c.year;
+
+INSERT INTO master.agenda_last_update (agenda_no, year, last_fragment_id, last_processed_date_time, last_published_date_time)
+SELECT agenda_no, year, max(sobi_fragment_id), max(action_date_time), max(published_date_time)
+FROM master.agenda_change_log c
+WHERE NOT EXISTS (SELECT 1 FROM master.agenda_last_update lu WHERE lu.agenda_no = c.agenda_no AND lu.year = c.year)
+GROUP BY agenda_no, year;
+
+UPDATE master.bill_last_update lu
+SET last_fragment_id = GREATEST(lu.last_fragment_id, c.last_fragment_id),
+    last_processed_date_time = GREATEST(lu.last_processed_date_time, c.last_processed_date_time),
+    last_published_date_time = GREATEST(lu.last_published_date_time, c.last_published_date_time)
+FROM (SELECT bill_print_no, bill_session_year, max(sobi_fragment_id) AS last_fragment_id, max(action_date_time) AS last_processed_date_time,
+             max(published_date_time) AS last_published_date_time
+      FROM master.bill_change_log
+      GROUP BY bill_print_no, bill_session_year) AS c
+WHERE lu.bill_print_no = c.bill_print_no AND lu.bill_session_year = c.bill_session_year;
+
+INSERT INTO master.bill_last_update (bill_print_no, bill_session_year, last_fragment_id, last_processed_date_time, last_published_date_time)
+SELECT bill_print_no, bill_session_year, max(sobi_fragment_id), max(action_date_time), max(published_date_time)
+FROM master.bill_change_log c
+WHERE NOT EXISTS (SELECT 1 FROM master.bill_last_update lu WHERE lu.bill_print_no = c.bill_print_no AND lu.bill_session_year = c.bill_session_year)
+GROUP BY bill_print_no, bill_session_year;
+
+UPDATE master.calendar_last_update lu
+SET last_fragment_id = GREATEST(lu.last_fragment_id, c.last_fragment_id),
+    last_processed_date_time = GREATEST(lu.last_processed_date_time, c.last_processed_date_time),
+    last_published_date_time = GREATEST(lu.last_published_date_time, c.last_published_date_time)
+FROM (SELECT calendar_no, calendar_year, max(sobi_fragment_id) AS last_fragment_id, max(action_date_time) AS last_processed_date_time,
+             max(published_date_time) AS last_published_date_time
+      FROM master.calendar_change_log
+      GROUP BY calendar_no, calendar_year) AS c
+WHERE lu.calendar_no = c.calendar_no AND lu.calendar_year = c.calendar_year;
+
+INSERT INTO master.calendar_last_update (calendar_no, calendar_year, last_fragment_id, last_processed_date_time, last_published_date_time)
+SELECT calendar_no, calendar_year, max(sobi_fragment_id), max(action_date_time), max(published_date_time)
+FROM master.calendar_change_log c
+WHERE NOT EXISTS (SELECT 1 FROM master.calendar_last_update lu WHERE lu.calendar_no = c.calendar_no AND lu.calendar_year = c.calendar_year)
+GROUP BY calendar_no, calendar_year;
+
+UPDATE master.law_last_update lu
+SET last_law_file_name = GREATEST(lu.last_law_file_name, c.last_law_file_name),
+    last_processed_date_time = GREATEST(lu.last_processed_date_time, c.last_processed_date_time),
+    last_published_date_time = GREATEST(lu.last_published_date_time, c.last_published_date_time)
+FROM (SELECT law_id, max(law_file_name) AS last_law_file_name, max(action_date_time) AS last_processed_date_time,
+             max(published_date_time) AS last_published_date_time
+      FROM master.law_change_log WHERE law_id IS NOT NULL
+      GROUP BY law_id) AS c
+WHERE lu.law_id = c.law_id;
+
+INSERT INTO master.law_last_update (law_id, last_law_file_name, last_processed_date_time, last_published_date_time)
+SELECT law_id, max(law_file_name), max(action_date_time), max(published_date_time)
+FROM master.law_change_log c
+WHERE c.law_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM master.law_last_update lu WHERE lu.law_id = c.law_id)
+GROUP BY law_id;
+
+COMMIT;
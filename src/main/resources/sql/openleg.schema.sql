@@ -452,6 +452,146 @@ END;$$;
 
 ALTER FUNCTION master.log_law_updates() OWNER TO postgres;
 
+--
+-- Name: update_agenda_last_update(); Type: FUNCTION; Schema: master; Owner: postgres
+--
+
+CREATE FUNCTION update_agenda_last_update() RETURNS trigger
+    LANGUAGE plpgsql
+    AS $$BEGIN
+  -- Keeps the latest change of each agenda in agenda_last_update so that update tokens can be
+  -- read without grouping the entire change log.
+  -- The row is updated if it exists and inserted otherwise. If another transaction inserts the same row
+  -- first, the insert fails with a unique violation and the update is tried again.
+  LOOP
+    UPDATE master.agenda_last_update
+    SET last_fragment_id = GREATEST(last_fragment_id, NEW.sobi_fragment_id),
+        last_processed_date_time = GREATEST(last_processed_date_time, NEW.action_date_time),
+        last_published_date_time = GREATEST(last_published_date_time, NEW.published_date_time)
+    WHERE agenda_no = NEW.agenda_no AND year = NEW.year;
+    IF FOUND THEN
+      RETURN NULL;
+    END IF;
+
+    BEGIN
+      INSERT INTO master.agenda_last_update (agenda_no, year, last_fragment_id, last_processed_date_time, last_published_date_time)
+      VALUES (NEW.agenda_no, NEW.year, NEW.sobi_fragment_id, NEW.action_date_time, NEW.published_date_time);
+      RETURN NULL;
+    EXCEPTION WHEN unique_violation THEN
+      -- Loop back and update the row the other transaction inserted
+    END;
+  END LOOP;
+END;$$;
+
+
+ALTER FUNCTION master.update_agenda_last_update() OWNER TO postgres;
+
+--
+-- Name: update_bill_last_update(); Type: FUNCTION; Schema: master; Owner: postgres
+--
+
+CREATE FUNCTION update_bill_last_update() RETURNS trigger
+    LANGUAGE plpgsql
+    AS $$BEGIN
+  -- Keeps the latest change of each bill in bill_last_update so that update tokens can be
+  -- read without grouping the entire change log.
+  -- The row is updated if it exists and inserted otherwise. If another transaction inserts the same row
+  -- first, the insert fails with a unique violation and the update is tried again.
+  LOOP
+    UPDATE master.bill_last_update
+    SET last_fragment_id = GREATEST(last_fragment_id, NEW.sobi_fragment_id),
+        last_processed_date_time = GREATEST(last_processed_date_time, NEW.action_date_time),
+        last_published_date_time = GREATEST(last_published_date_time, NEW.published_date_time)
+    WHERE bill_print_no = NEW.bill_print_no AND bill_session_year = NEW.bill_session_year;
+    IF FOUND THEN
+      RETURN NULL;
+    END IF;
+
+    BEGIN
+      INSERT INTO master.bill_last_update (bill_print_no, bill_session_year, last_fragment_id, last_processed_date_time, last_published_date_time)
+      VALUES (NEW.bill_print_no, NEW.bill_session_year, NEW.sobi_fragment_id, NEW.action_date_time, NEW.published_date_time);
+      RETURN NULL;
+    EXCEPTION WHEN unique_violation THEN
+      -- Loop back and update the row the other transaction inserted
+    END;
+  END LOOP;
+END;$$;
+
+
+ALTER FUNCTION master.update_bill_last_update() OWNER TO postgres;
+
+--
+-- Name: update_calendar_last_update(); Type: FUNCTION; Schema: master; Owner: postgres
+--
+
+CREATE FUNCTION update_calendar_last_update() RETURNS trigger
+    LANGUAGE plpgsql
+    AS $$BEGIN
+  -- Keeps the latest change of each calendar in calendar_last_update so that update tokens can be
+  -- read without grouping the entire change log.
+  -- The row is updated if it exists and inserted otherwise. If another transaction inserts the same row
+  -- first, the insert fails with a unique violation and the update is tried again.
+  LOOP
+    UPDATE master.calendar_last_update
+    SET last_fragment_id = GREATEST(last_fragment_id, NEW.sobi_fragment_id),
+        last_processed_date_time = GREATEST(last_processed_date_time, NEW.action_date_time),
+        last_published_date_time = GREATEST(last_published_date_time, NEW.published_date_time)
+    WHERE calendar_no = NEW.calendar_no AND calendar_year = NEW.calendar_year;
+    IF FOUND THEN
+      RETURN NULL;
+    END IF;
+
+    BEGIN
+      INSERT INTO master.calendar_last_update (calendar_no, calendar_year, last_fragment_id, last_processed_date_time, last_published_date_time)
+      VALUES (NEW.calendar_no, NEW.calendar_year, NEW.sobi_fragment_id, NEW.action_date_time, NEW.published_date_time);
+      RETURN NULL;
+    EXCEPTION WHEN unique_violation THEN
+      -- Loop back and update the row the other transaction inserted
+    END;
+  END LOOP;
+END;$$;
+
+
+ALTER FUNCTION master.update_calendar_last_update() OWNER TO postgres;
+
+--
+-- Name: update_law_last_update(); Type: FUNCTION; Schema: master; Owner: postgres
+--
+
+CREATE FUNCTION update_law_last_update() RETURNS trigger
+    LANGUAGE plpgsql
+    AS $$BEGIN
+  -- Keeps the latest change of each law in law_last_update so that update tokens can be
+  -- read without grouping the entire change log.
+  IF NEW.law_id IS NULL THEN
+    RETURN NULL;
+  END IF;
+
+  -- The row is updated if it exists and inserted otherwise. If another transaction inserts the same row
+  -- first, the insert fails with a unique violation and the update is tried again.
+  LOOP
+    UPDATE master.law_last_update
+    SET last_law_file_name = GREATEST(last_law_file_name, NEW.law_file_name),
+        last_processed_date_time = GREATEST(last_processed_date_time, NEW.action_date_time),
+        last_published_date_time = GREATEST(last_published_date_time, NEW.published_date_time)
+    WHERE law_id = NEW.law_id;
+    IF FOUND THEN
+      RETURN NULL;
+    END IF;
+
+    BEGIN
+      INSERT INTO master.law_last_update (law_id, last_law_file_name, last_processed_date_time, last_published_date_time)
+      VALUES (NEW.law_id, NEW.law_file_name, NEW.action_date_time, NEW.published_date_time);
+      RETURN NULL;
+    EXCEPTION WHEN unique_violation THEN
+      -- Loop back and update the row the other transaction inserted
+    END;
+  END LOOP;
+END;$$;
+
+
+ALTER FUNCTION master.update_law_last_update() OWNER TO postgres;
+
 SET search_path = public, pg_catalog;
 
 --
@@ -825,6 +965,28 @@ ALTER TABLE master.agenda_change_log OWNER TO postgres;
 COMMENT ON TABLE agenda_change_log IS 'Change log for agenda data';
 
 
+--
+-- Name: agenda_last_update; Type: TABLE; Schema: master; Owner: postgres; Tablespace: 
+--
+
+CREATE TABLE agenda_last_update (
+    agenda_no smallint NOT NULL,
+    year smallint NOT NULL,
+    last_fragment_id text,
+    last_processed_date_time timestamp without time zone NOT NULL,
+    last_published_date_time timestamp without time zone
+);
+
+
+ALTER TABLE master.agenda_last_update OWNER TO postgres;
+
+--
+-- Name: TABLE agenda_last_update; Type: COMMENT; Schema: master; Owner: postgres
+--
+
+COMMENT ON TABLE agenda_last_update IS 'The latest change of each agenda, maintained from agenda_change_log';
+
+
 --
 -- Name: agenda_info_addendum; Type: TABLE; Schema: master; Owner: postgres; Tablespace: 
 --
@@ -1993,6 +2155,28 @@ ALTER TABLE master.bill_change_log OWNER TO postgres;
 COMMENT ON TABLE bill_change_log IS 'Change log for bill data';
 
 
+--
+-- Name: bill_last_update; Type: TABLE; Schema: master; Owner: postgres; Tablespace: 
+--
+
+CREATE TABLE bill_last_update (
+    bill_print_no text NOT NULL,
+    bill_session_year smallint NOT NULL,
+    last_fragment_id text,
+    last_processed_date_time timestamp without time zone NOT NULL,
+    last_published_date_time timestamp without time zone
+);
+
+
+ALTER TABLE master.bill_last_update OWNER TO postgres;
+
+--
+-- Name: TABLE bill_last_update; Type: COMMENT; Schema: master; Owner: postgres
+--
+
+COMMENT ON TABLE bill_last_update IS 'The latest change of each bill, maintained from bill_change_log';
+
+
 --
 -- Name: bill_committee; Type: TABLE; Schema: master; Owner: postgres; Tablespace: 
 --
@@ -2359,6 +2543,28 @@ ALTER TABLE master.calendar_change_log OWNER TO postgres;
 COMMENT ON TABLE calendar_change_log IS 'Change for calendar data';
 
 
+--
+-- Name: calendar_last_update; Type: TABLE; Schema: master; Owner: postgres; Tablespace: 
+--
+
+CREATE TABLE calendar_last_update (
+    calendar_no smallint NOT NULL,
+    calendar_year smallint NOT NULL,
+    last_fragment_id text,
+    last_processed_date_time timestamp without time zone NOT NULL,
+    last_published_date_time timestamp without time zone
+);
+
+
+ALTER TABLE master.calendar_last_update OWNER TO postgres;
+
+--
+-- Name: TABLE calendar_last_update; Type: COMMENT; Schema: master; Owner: postgres
+--
+
+COMMENT ON TABLE calendar_last_update IS 'The latest change of each calendar, maintained from calendar_change_log';
+
+
 --
 -- Name: calendar_supplemental_entry; Type: TABLE; Schema: master; Owner: postgres; Tablespace: 
 --
@@ -2691,7 +2897,9 @@ CREATE TABLE data_process_run (
     process_start_date_time timestamp without time zone NOT NULL,
     process_end_date_time timestamp without time zone,
     invoked_by text NOT NULL,
-    exceptions text
+    exceptions text,
+    ingested_count integer DEFAULT 0 NOT NULL,
+    ingest_millis bigint DEFAULT 0 NOT NULL
 );
 
 
@@ -2943,6 +3151,27 @@ ALTER TABLE master.law_change_log OWNER TO postgres;
 COMMENT ON TABLE law_change_log IS 'Change log for law documents';
 
 
+--
+-- Name: law_last_update; Type: TABLE; Schema: master; Owner: postgres; Tablespace: 
+--
+
+CREATE TABLE law_last_update (
+    law_id text NOT NULL,
+    last_law_file_name text,
+    last_processed_date_time timestamp without time zone NOT NULL,
+    last_published_date_time timestamp without time zone
+);
+
+
+ALTER TABLE master.law_last_update OWNER TO postgres;
+
+--
+-- Name: TABLE law_last_update; Type: COMMENT; Schema: master; Owner: postgres
+--
+
+COMMENT ON TABLE law_last_update IS 'The latest change of each law, maintained from law_change_log';
+
+
 --
 -- Name: law_change_log_id_seq; Type: SEQUENCE; Schema: master; Owner: postgres
 --
@@ -4134,7 +4363,8 @@ CREATE TABLE apiuser (
     email_addr text NOT NULL,
     org_name text,
     users_name text NOT NULL,
-    reg_token text NOT NULL
+    reg_token text NOT NULL,
+    rate_limit_tier text
 );
 
 
@@ -4196,6 +4426,13 @@ COMMENT ON COLUMN apiuser.users_name IS 'The name of the user';
 COMMENT ON COLUMN apiuser.reg_token IS 'The registration token for this user';
 
 
+--
+-- Name: COLUMN apiuser.rate_limit_tier; Type: COMMENT; Schema: public; Owner: postgres
+--
+
+COMMENT ON COLUMN apiuser.rate_limit_tier IS 'The rate limit tier for this user''s requests, the default tier is used if null';
+
+
 --
 -- Name: member; Type: TABLE; Schema: public; Owner: postgres; Tablespace: 
 --
@@ -4686,6 +4923,14 @@ ALTER TABLE ONLY agenda_change_log
     ADD CONSTRAINT agenda_change_log_pkey PRIMARY KEY (id);
 
 
+--
+-- Name: agenda_last_update_pkey; Type: CONSTRAINT; Schema: master; Owner: postgres; Tablespace: 
+--
+
+ALTER TABLE ONLY agenda_last_update
+    ADD CONSTRAINT agenda_last_update_pkey PRIMARY KEY (agenda_no, year);
+
+
 --
 -- Name: agenda_info_addendum_pkey; Type: CONSTRAINT; Schema: master; Owner: postgres; Tablespace: 
 --
@@ -4934,6 +5179,14 @@ ALTER TABLE ONLY bill_change_log
     ADD CONSTRAINT bill_change_log_pkey PRIMARY KEY (id);
 
 
+--
+-- Name: bill_last_update_pkey; Type: CONSTRAINT; Schema: master; Owner: postgres; Tablespace: 
+--
+
+ALTER TABLE ONLY bill_last_update
+    ADD CONSTRAINT bill_last_update_pkey PRIMARY KEY (bill_print_no, bill_session_year);
+
+
 --
 -- Name: bill_committee_pkey; Type: CONSTRAINT; Schema: master; Owner: postgres; Tablespace: 
 --
@@ -5038,6 +5291,14 @@ ALTER TABLE ONLY calendar_change_log
     ADD CONSTRAINT calendar_change_log_pkey PRIMARY KEY (id);
 
 
+--
+-- Name: calendar_last_update_pkey; Type: CONSTRAINT; Schema: master; Owner: postgres; Tablespace: 
+--
+
+ALTER TABLE ONLY calendar_last_update
+    ADD CONSTRAINT calendar_last_update_pkey PRIMARY KEY (calendar_no, calendar_year);
+
+
 --
 -- Name: calendar_pkey; Type: CONSTRAINT; Schema: master; Owner: postgres; Tablespace: 
 --
@@ -5214,6 +5475,14 @@ ALTER TABLE ONLY law_document
     ADD CONSTRAINT law_document_pkey PRIMARY KEY (document_id, published_date);
 
 
+--
+-- Name: law_last_update_pkey; Type: CONSTRAINT; Schema: master; Owner: postgres; Tablespace: 
+--
+
+ALTER TABLE ONLY law_last_update
+    ADD CONSTRAINT law_last_update_pkey PRIMARY KEY (law_id);
+
+
 --
 -- Name: law_file_pkey; Type: CONSTRAINT; Schema: master; Owner: postgres; Tablespace: 
 --
@@ -5446,6 +5715,20 @@ CREATE INDEX agenda_change_log_published_date_time_idx ON agenda_change_log USIN
 CREATE INDEX agenda_change_log_sobi_fragment_id_idx ON agenda_change_log USING btree (sobi_fragment_id);
 
 
+--
+-- Name: agenda_last_update_last_processed_date_time_idx; Type: INDEX; Schema: master; Owner: postgres; Tablespace: 
+--
+
+CREATE INDEX agenda_last_update_last_processed_date_time_idx ON agenda_last_update USING btree (last_processed_date_time);
+
+
+--
+-- Name: agenda_last_update_last_published_date_time_idx; Type: INDEX; Schema: master; Owner: postgres; Tablespace: 
+--
+
+CREATE INDEX agenda_last_update_last_published_date_time_idx ON agenda_last_update USING btree (last_published_date_time);
+
+
 --
 -- Name: agenda_info_committee_item_bill_idx; Type: INDEX; Schema: master; Owner: postgres; Tablespace: 
 --
@@ -5474,6 +5757,20 @@ CREATE INDEX bill_change_log_published_date_time_idx ON bill_change_log USING bt
 CREATE INDEX bill_change_log_sobi_fragment_id_idx ON bill_change_log USING btree (sobi_fragment_id);
 
 
+--
+-- Name: bill_last_update_last_processed_date_time_idx; Type: INDEX; Schema: master; Owner: postgres; Tablespace: 
+--
+
+CREATE INDEX bill_last_update_last_processed_date_time_idx ON bill_last_update USING btree (last_processed_date_time);
+
+
+--
+-- Name: bill_last_update_last_published_date_time_idx; Type: INDEX; Schema: master; Owner: postgres; Tablespace: 
+--
+
+CREATE INDEX bill_last_update_last_published_date_time_idx ON bill_last_update USING btree (last_published_date_time);
+
+
 --
 -- Name: bill_id_idx; Type: INDEX; Schema: master; Owner: postgres; Tablespace: 
 --
@@ -5525,6 +5822,20 @@ CREATE INDEX calendar_change_log_published_date_time_idx ON calendar_change_log
 CREATE INDEX calendar_change_log_sobi_fragment_id_idx ON calendar_change_log USING btree (sobi_fragment_id);
 
 
+--
+-- Name: calendar_last_update_last_processed_date_time_idx; Type: INDEX; Schema: master; Owner: postgres; Tablespace: 
+--
+
+CREATE INDEX calendar_last_update_last_processed_date_time_idx ON calendar_last_update USING btree (last_processed_date_time);
+
+
+--
+-- Name: calendar_last_update_last_published_date_time_idx; Type: INDEX; Schema: master; Owner: postgres; Tablespace: 
+--
+
+CREATE INDEX calendar_last_update_last_published_date_time_idx ON calendar_last_update USING btree (last_published_date_time);
+
+
 --
 -- Name: calendar_supplemental_entry_bill_idx; Type: INDEX; Schema: master; Owner: postgres; Tablespace: 
 --
@@ -5581,6 +5892,20 @@ CREATE INDEX law_change_log_published_date_idx ON law_change_log USING btree (pu
 CREATE INDEX law_change_log_sobi_fragment_id_idx ON law_change_log USING btree (law_file_name);
 
 
+--
+-- Name: law_last_update_last_processed_date_time_idx; Type: INDEX; Schema: master; Owner: postgres; Tablespace: 
+--
+
+CREATE INDEX law_last_update_last_processed_date_time_idx ON law_last_update USING btree (last_processed_date_time);
+
+
+--
+-- Name: law_last_update_last_published_date_time_idx; Type: INDEX; Schema: master; Owner: postgres; Tablespace: 
+--
+
+CREATE INDEX law_last_update_last_published_date_time_idx ON law_last_update USING btree (last_published_date_time);
+
+
 --
 -- Name: law_tree_doc_id_idx; Type: INDEX; Schema: master; Owner: postgres; Tablespace: 
 --
@@ -5763,6 +6088,34 @@ CREATE TRIGGER log_law_document_updates_to_change_log BEFORE INSERT OR DELETE OR
 CREATE TRIGGER log_law_tree_updates_to_change_log BEFORE INSERT OR DELETE OR UPDATE ON law_tree FOR EACH ROW EXECUTE PROCEDURE log_law_updates();
 
 
+--
+-- Name: update_agenda_last_update; Type: TRIGGER; Schema: master; Owner: postgres
+--
+
+CREATE TRIGGER update_agenda_last_update AFTER INSERT ON agenda_change_log FOR EACH ROW EXECUTE PROCEDURE update_agenda_last_update();
+
+
+--
+-- Name: update_bill_last_update; Type: TRIGGER; Schema: master; Owner: postgres
+--
+
+CREATE TRIGGER update_bill_last_update AFTER INSERT ON bill_change_log FOR EACH ROW EXECUTE PROCEDURE update_bill_last_update();
+
+
+--
+-- Name: update_calendar_last_update; Type: TRIGGER; Schema: master; Owner: postgres
+--
+
+CREATE TRIGGER update_calendar_last_update AFTER INSERT ON calendar_change_log FOR EACH ROW EXECUTE PROCEDURE update_calendar_last_update();
+
+
+--
+-- Name: update_law_last_update; Type: TRIGGER; Schema: master; Owner: postgres
+--
+
+CREATE TRIGGER update_law_last_update AFTER INSERT ON law_change_log FOR EACH ROW EXECUTE PROCEDURE update_law_last_update();
+
+
 --
 -- Name: active_list_reference_entry_calendar_active_list_id_fkey; Type: FK CONSTRAINT; Schema: master; Owner: postgres
 --
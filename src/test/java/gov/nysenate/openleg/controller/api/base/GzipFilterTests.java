@@ -0,0 +1,69 @@
+package gov.nysenate.openleg.controller.api.base;
+
+import com.google.common.base.Strings;
+import com.google.common.io.ByteStreams;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletOutputStream;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.*;
+
+public class GzipFilterTests
+{
+    private static final int MIN_SIZE = 64;
+
+    private GzipFilter gzipFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Before
+    public void setUp() {
+        gzipFilter = new GzipFilter();
+        ReflectionTestUtils.setField(gzipFilter, "enabled", true);
+        ReflectionTestUtils.setField(gzipFilter, "minSize", MIN_SIZE);
+        request = new MockHttpServletRequest("GET", "/api/3/bills/2015/S1234");
+        request.addHeader("Accept-Encoding", "gzip, deflate");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    public void testSmallFlushedResponseIsNotCompressed() throws Exception {
+        String body = "{\"success\":true}";
+        gzipFilter.doFilter(request, response, writeAndFlush(body, ""));
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals(body, response.getContentAsString());
+    }
+
+    @Test
+    public void testLargeResponseFlushedEarlyIsCompressed() throws Exception {
+        String start = "{\"result\":\"";
+        String rest = Strings.repeat("x", MIN_SIZE * 4) + "\"}";
+        gzipFilter.doFilter(request, response, writeAndFlush(start, rest));
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        byte[] body = ByteStreams.toByteArray(
+            new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray())));
+        assertEquals(start + rest, new String(body, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes the first part of the body, flushes the stream and the response, then writes the rest.
+     */
+    private static FilterChain writeAndFlush(String first, String rest) {
+        return (req, res) -> {
+            res.setContentType("application/json");
+            ServletOutputStream out = res.getOutputStream();
+            out.write(first.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            res.flushBuffer();
+            out.write(rest.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+}
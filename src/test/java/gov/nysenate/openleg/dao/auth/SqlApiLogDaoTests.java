@@ -0,0 +1,58 @@
+package gov.nysenate.openleg.dao.auth;
+
+import gov.nysenate.openleg.BaseTests;
+import gov.nysenate.openleg.dao.base.SqlTable;
+import gov.nysenate.openleg.model.auth.ApiRequest;
+import gov.nysenate.openleg.model.auth.ApiResponse;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs the batched api log inserts against postgres, since PgJDBC is what decides which statements may be batched.
+ */
+@Transactional
+public class SqlApiLogDaoTests extends BaseTests
+{
+    @Autowired private ApiLogDao apiLogDao;
+    @Autowired private JdbcTemplate jdbc;
+
+    @Test
+    public void testSaveApiResponsesBatch() throws Exception {
+        List<ApiResponse> responses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ApiRequest request = new ApiRequest();
+            request.setRequestTime(LocalDateTime.now().toString());
+            request.setUrl("/api/3/bills/2015/S" + (1000 + i));
+            request.setIpAddress(InetAddress.getLoopbackAddress());
+            request.setRequestMethod("GET");
+            request.setUserAgent("SqlApiLogDaoTests");
+            ApiResponse response = new ApiResponse(request);
+            response.setResponseTime(LocalDateTime.now().toString());
+            response.setStatusCode(200);
+            response.setContentType("application/json");
+            response.setProcessTime(1.5);
+            responses.add(response);
+        }
+        apiLogDao.saveApiResponses(responses);
+
+        List<Integer> requestIds = responses.stream()
+            .map(response -> response.getBaseRequest().getRequest_id())
+            .collect(Collectors.toList());
+        assertEquals(3, requestIds.stream().distinct().filter(id -> id > 0).count());
+        String ids = requestIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        assertEquals(Integer.valueOf(3), jdbc.queryForObject(
+            "SELECT count(*) FROM public." + SqlTable.API_REQUEST + " WHERE request_id IN (" + ids + ")", Integer.class));
+        assertEquals(Integer.valueOf(3), jdbc.queryForObject(
+            "SELECT count(*) FROM public." + SqlTable.API_RESPONSE + " WHERE req_id IN (" + ids + ")", Integer.class));
+    }
+}
@@ -0,0 +1,36 @@
+package gov.nysenate.openleg.dao.base;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import gov.nysenate.openleg.util.OutputUtils;
+import org.junit.Test;
+
+import java.net.URL;
+
+import static org.junit.Assert.*;
+
+public class SearchIndexDefinitionTests
+{
+    @Test
+    public void testEachIndexHasDefaultMapping() throws Exception {
+        for (SearchIndex index : SearchIndex.values()) {
+            URL resource = getClass().getClassLoader().getResource("elastic/" + index.getIndexName() + ".json");
+            assertNotNull("Missing index definition for " + index, resource);
+            JsonNode definition = OutputUtils.getJsonMapper().readTree(resource);
+            JsonNode mapping = definition.path("mappings").path("_default_");
+            assertTrue("Missing default mapping for " + index, mapping.isObject());
+            assertTrue("Missing properties for " + index, mapping.path("properties").size() > 0);
+        }
+    }
+
+    @Test
+    public void testLargeTextIsExcludedFromSource() throws Exception {
+        for (SearchIndex index : new SearchIndex[]{SearchIndex.LAW, SearchIndex.TRANSCRIPT, SearchIndex.HEARING}) {
+            JsonNode mapping = OutputUtils.getJsonMapper()
+                .readTree(getClass().getClassLoader().getResource("elastic/" + index.getIndexName() + ".json"))
+                .path("mappings").path("_default_");
+            assertEquals("text", mapping.path("_source").path("excludes").get(0).asText());
+            // Text is highlighted in search results so it has to be stored separately
+            assertTrue(mapping.path("properties").path("text").path("store").asBoolean());
+        }
+    }
+}
@@ -17,6 +17,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
+
 public class SqlBillDaoTests extends BaseTests
 {
     private static final Logger logger = LoggerFactory.getLogger(SqlBillDaoTests.class);
@@ -29,6 +31,20 @@ public class SqlBillDaoTests extends BaseTests
         logger.info("{}", OutputUtils.toJson(billDao.getBill(new BaseBillId("S1051", 2013))));
     }
 
+    @Test
+    public void testGetBillsMatchesGetBill() throws Exception {
+        List<BaseBillId> baseBillIds = billDao.getBillIds(SessionYear.of(2013), LimitOffset.FIFTY, SortOrder.ASC);
+        StopWatch sw = new StopWatch();
+        sw.start();
+        List<Bill> bills = billDao.getBills(baseBillIds);
+        sw.stop();
+        logger.info("Bulk loaded {} bills in {} ms", bills.size(), sw.getTime());
+        assertEquals(baseBillIds.size(), bills.size());
+        for (Bill bill : bills) {
+            assertEquals(OutputUtils.toJson(billDao.getBill(bill.getBaseBillId())), OutputUtils.toJson(bill));
+        }
+    }
+
     @Test
     public void testGetBillIdsBySession() throws Exception {
         StopWatch sw = new StopWatch();
@@ -0,0 +1,97 @@
+package gov.nysenate.openleg.dao.bill.search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Strings;
+import gov.nysenate.openleg.client.view.bill.BillInfoView;
+import gov.nysenate.openleg.client.view.bill.BillView;
+import gov.nysenate.openleg.dao.base.ElasticBaseDao;
+import gov.nysenate.openleg.model.base.PublishStatus;
+import gov.nysenate.openleg.model.base.SessionYear;
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.*;
+import gov.nysenate.openleg.model.entity.Chamber;
+import gov.nysenate.openleg.model.entity.Member;
+import gov.nysenate.openleg.util.OutputUtils;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the layout of the bill search document against the bill view, using a bill with a typical amount of
+ * text, actions and floor votes.
+ */
+public class BillSearchDocumentTests
+{
+    @Test
+    public void testSearchDocumentFields() throws Exception {
+        byte[] doc = ElasticBaseDao.toSearchDocument(new BillSearchDocument(createBill()));
+        ObjectNode docNode = (ObjectNode) OutputUtils.getJsonMapper().readTree(doc);
+        // The stored info is the bill info view as the api returns it
+        JsonNode info = docNode.remove("info");
+        assertEquals(OutputUtils.getJsonMapper().valueToTree(new BillInfoView(createBill().getBillInfo())), info);
+        assertTrue(info.has("milestones"));
+
+        // Every other field is the same as in the bill view, minus the view types
+        JsonNode view = OutputUtils.getJsonMapper().valueToTree(new BillView(createBill()));
+        assertEquals(stripViewTypes(view), docNode);
+        assertTrue(docNode.has("votes"));
+        assertTrue(docNode.has("actions"));
+        assertTrue(docNode.has("milestones"));
+        assertTrue(docNode.get("amendments").toString().contains("\"fullText\""));
+        assertFalse(new String(doc, StandardCharsets.UTF_8).contains("\n"));
+    }
+
+    private static JsonNode stripViewTypes(JsonNode node) {
+        if (node.isObject()) {
+            ((ObjectNode) node).remove("viewType");
+        }
+        node.forEach(BillSearchDocumentTests::stripViewTypes);
+        return node;
+    }
+
+    private static Bill createBill() {
+        SessionYear session = SessionYear.of(2015);
+        BaseBillId baseBillId = new BaseBillId("S1234", 2015);
+        Bill bill = new Bill(baseBillId);
+        bill.setTitle("Relates to the education of children with disabilities");
+        bill.setSummary("Relates to the provision of special education services by school districts");
+        List<Member> members = new ArrayList<>();
+        for (int i = 1; i <= 63; i++) {
+            Member member = new Member(i, session);
+            member.setFullName("Senator Number " + i);
+            member.setLbdcShortName("MEMBER" + i);
+            member.setChamber(Chamber.SENATE);
+            members.add(member);
+        }
+        bill.setSponsor(new BillSponsor(members.get(0)));
+        for (Version version : new Version[]{Version.DEFAULT, Version.A}) {
+            BillAmendment amendment = new BillAmendment(baseBillId, version);
+            amendment.setActClause("AN ACT to amend the education law, in relation to special education services");
+            amendment.setLaw("Amd S4402, Ed L");
+            // About five pages of bill text
+            amendment.setFullText(Strings.repeat(
+                "    1    Section 1. Subdivision 1 of section 4402 of the education law is amended to read as follows:\n", 300));
+            amendment.setCoSponsors(members.subList(1, 20));
+            for (int v = 1; v <= 3; v++) {
+                BillVote vote = new BillVote(amendment.getBillId(), LocalDate.of(2015, 3, v), BillVoteType.FLOOR, v);
+                members.forEach(m -> vote.addMemberVote(BillVoteCode.AYE, m));
+                amendment.updateVote(vote);
+            }
+            bill.addAmendment(amendment);
+            bill.updatePublishStatus(version, new PublishStatus(true, LocalDateTime.of(2015, 1, 5, 12, 0)));
+        }
+        bill.setActiveVersion(Version.A);
+        for (int i = 1; i <= 30; i++) {
+            bill.addAction(new BillAction(LocalDate.of(2015, 1, 5).plusDays(i), "REFERRED TO EDUCATION", Chamber.SENATE, i,
+                                          new BillId(baseBillId, Version.DEFAULT)));
+        }
+        return bill;
+    }
+}
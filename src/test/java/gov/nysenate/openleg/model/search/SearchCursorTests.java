@@ -0,0 +1,32 @@
+package gov.nysenate.openleg.model.search;
+
+import gov.nysenate.openleg.dao.base.LimitOffset;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SearchCursorTests
+{
+    @Test
+    public void testEncodeDecode() {
+        String scrollId = "cXVlcnlUaGVuRmV0Y2g7NTsxMjM6c29tZS1ub2RlOzEyNDpzb21lLW5vZGU7MDs=";
+        SearchCursor cursor = new SearchCursor(scrollId, new LimitOffset(1000, 2001));
+        String token = cursor.encode();
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+
+        SearchCursor decoded = SearchCursor.decode(token);
+        assertEquals(scrollId, decoded.getScrollId());
+        assertEquals(new LimitOffset(1000, 2001), decoded.getLimitOffset());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecodeGarbage() {
+        SearchCursor.decode("not a token!");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecodeMissingScrollId() {
+        SearchCursor.decode(new SearchCursor("", new LimitOffset(10)).encode());
+    }
+}
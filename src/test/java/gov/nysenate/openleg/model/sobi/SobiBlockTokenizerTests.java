@@ -0,0 +1,65 @@
+package gov.nysenate.openleg.model.sobi;
+
+import gov.nysenate.openleg.model.bill.BillId;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SobiBlockTokenizerTests
+{
+    private static final String fragmentText =
+        "2013S01234 3Title that spans\r\n" +
+        "2013S01234 3two lines\r\n" +
+        "2013S01234 CSummary without a law line\n" +
+        "2013S01234A5Same as A 1234-A\n" +
+        "2013S01234A5DELETE\n" +
+        "not a sobi line\n" +
+        "2013S01234A6SMITH\0\n";
+
+    @Test
+    public void testTokenize() throws Exception {
+        List<SobiBlock> blocks = SobiBlockTokenizer.tokenize("frag", SobiFragmentType.BILL, fragmentText);
+        assertEquals(6, blocks.size());
+
+        SobiBlock title = blocks.get(0);
+        assertEquals(SobiLineType.TITLE, title.getType());
+        assertEquals(new BillId("S1234", 2013), title.getBillId());
+        assertEquals("Title that spans\ntwo lines", title.getData());
+        assertEquals(0, title.getStartLineNo());
+        assertEquals(1, (int) title.getEndLineNo());
+
+        // A blank law block is inserted ahead of a summary block
+        assertEquals(SobiLineType.LAW, blocks.get(1).getType());
+        assertEquals("", blocks.get(1).getData());
+        assertEquals(SobiLineType.SUMMARY, blocks.get(2).getType());
+
+        // Same as blocks are single line so they are not combined
+        assertEquals(SobiLineType.SAME_AS, blocks.get(3).getType());
+        assertEquals(new BillId("S1234A", 2013), blocks.get(3).getBillId());
+        assertEquals("DELETE", blocks.get(4).getData());
+        assertEquals(4, (int) blocks.get(4).getEndLineNo());
+
+        // Null characters are replaced with spaces
+        assertEquals("SMITH ", blocks.get(5).getData());
+        assertEquals(6, (int) blocks.get(5).getEndLineNo());
+    }
+
+    @Test
+    public void testIsBlockHeader() throws Exception {
+        assertTrue(SobiBlockTokenizer.isBlockHeader("2013S01234 1", 0, 12));
+        assertTrue(SobiBlockTokenizer.isBlockHeader("x2013A00001BTx", 1, 14));
+        assertFalse(SobiBlockTokenizer.isBlockHeader("2013S01234 0", 0, 12));
+        assertFalse(SobiBlockTokenizer.isBlockHeader("2013S01234a1", 0, 12));
+        assertFalse(SobiBlockTokenizer.isBlockHeader("2013S01234 1", 0, 11));
+        assertFalse(SobiBlockTokenizer.isBlockHeader("<sencalendar ", 0, 13));
+    }
+
+    @Test
+    public void testBlocksAreCached() throws Exception {
+        SobiFragment fragment = new SobiFragment("frag", null, SobiFragmentType.BILL, fragmentText, 0);
+        assertSame(fragment.getSobiBlocks(), fragment.getSobiBlocks());
+        assertEquals(6, fragment.getSobiBlocks().size());
+    }
+}
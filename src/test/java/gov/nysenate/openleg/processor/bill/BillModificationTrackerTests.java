@@ -0,0 +1,94 @@
+package gov.nysenate.openleg.processor.bill;
+
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.*;
+
+public class BillModificationTrackerTests
+{
+    private Bill bill;
+
+    @Before
+    public void setUp() {
+        bill = new Bill(new BaseBillId("S1234", 2015));
+        bill.addAmendment(new BillAmendment(bill.getBaseBillId(), Version.DEFAULT));
+        bill.setActiveVersion(Version.DEFAULT);
+        bill.setTitle("An act to amend the general business law");
+        bill.setModifiedDateTime(LocalDateTime.of(2015, 1, 5, 10, 0));
+        bill.clearModified();
+    }
+
+    @Test
+    public void testUnchangedBillIsNotModified() {
+        BillModificationTracker tracker = new BillModificationTracker(bill);
+        bill.setModifiedDateTime(LocalDateTime.of(2015, 1, 6, 10, 0));
+        assertFalse(tracker.markModified());
+        assertFalse(bill.isModified());
+        assertEquals(LocalDateTime.of(2015, 1, 5, 10, 0), bill.getModifiedDateTime());
+    }
+
+    @Test
+    public void testOnlyMarkedSectionsAreModified() {
+        BillModificationTracker tracker = new BillModificationTracker(bill);
+        bill.getAmendment(Version.DEFAULT).markModified(BillAmendmentSection.AMENDMENT_INFO);
+        assertTrue(tracker.markModified());
+        assertTrue(bill.isModified());
+        assertFalse(bill.isModified(BillSection.BILL_INFO));
+        assertTrue(bill.getAmendment(Version.DEFAULT).isModified(BillAmendmentSection.AMENDMENT_INFO));
+        assertFalse(bill.getAmendment(Version.DEFAULT).isModified(BillAmendmentSection.VOTES));
+    }
+
+    @Test
+    public void testChangeToPendingSectionIsDetected() {
+        bill.getAmendment(Version.DEFAULT).markModified(BillAmendmentSection.COSPONSORS);
+        BillModificationTracker tracker = new BillModificationTracker(bill);
+        bill.getAmendment(Version.DEFAULT).markModified(BillAmendmentSection.COSPONSORS);
+        bill.setModifiedDateTime(LocalDateTime.of(2015, 1, 6, 10, 0));
+        assertTrue(tracker.markModified());
+        assertEquals(LocalDateTime.of(2015, 1, 6, 10, 0), bill.getModifiedDateTime());
+        assertTrue(bill.isModified(BillSection.BILL_INFO));
+    }
+
+    @Test
+    public void testPendingSectionsAreRestored() {
+        bill.markModified(BillSection.ACTIONS);
+        bill.getAmendment(Version.DEFAULT).markModified(BillAmendmentSection.SAME_AS);
+        BillModificationTracker tracker = new BillModificationTracker(bill);
+        assertFalse(tracker.markModified());
+        assertTrue(bill.isModified(BillSection.ACTIONS));
+        assertTrue(bill.getAmendment(Version.DEFAULT).isModified(BillAmendmentSection.SAME_AS));
+    }
+
+    @Test
+    public void testNewAmendmentIsModified() {
+        BillModificationTracker tracker = new BillModificationTracker(bill);
+        bill.addAmendment(new BillAmendment(bill.getBaseBillId(), Version.of("A")));
+        assertTrue(tracker.markModified());
+        assertTrue(bill.getAmendment(Version.of("A")).isModified(BillAmendmentSection.AMENDMENT_INFO));
+    }
+
+    @Test
+    public void testVetoMessagesCompareContent() {
+        VetoMessage veto = createVeto("The governor vetoes this bill", LocalDateTime.of(2015, 1, 5, 10, 0));
+        VetoMessage resent = createVeto("The governor vetoes this bill", LocalDateTime.of(2015, 1, 6, 10, 0));
+        VetoMessage changed = createVeto("The governor vetoes this bill again", LocalDateTime.of(2015, 1, 5, 10, 0));
+        assertEquals(veto, resent);
+        assertNotEquals(veto, changed);
+    }
+
+    private VetoMessage createVeto(String memoText, LocalDateTime dateTime) {
+        VetoMessage veto = new VetoMessage();
+        veto.setBillId(bill.getBaseBillId());
+        veto.setYear(2015);
+        veto.setVetoNumber(12);
+        veto.setMemoText(memoText);
+        veto.setModifiedDateTime(dateTime);
+        veto.setPublishedDateTime(dateTime);
+        return veto;
+    }
+}
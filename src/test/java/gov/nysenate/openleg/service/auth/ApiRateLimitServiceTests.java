@@ -0,0 +1,66 @@
+package gov.nysenate.openleg.service.auth;
+
+import gov.nysenate.openleg.service.auth.ApiRateLimitService.RateLimitTier;
+import gov.nysenate.openleg.service.auth.ApiRateLimitService.TokenBucket;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ApiRateLimitServiceTests
+{
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testBurstThenRefill() {
+        long now = 1000 * SECOND;
+        TokenBucket bucket = new TokenBucket(new RateLimitTier(2, 3), now);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(now));
+        }
+        // Bucket is empty, a token comes back every half second
+        assertEquals(1, bucket.tryAcquire(now));
+        assertEquals(0, bucket.tryAcquire(now + SECOND / 2));
+        assertTrue(bucket.tryAcquire(now + SECOND / 2) > 0);
+        // After a long pause the bucket is full again, but no fuller
+        long later = now + 60 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(later));
+        }
+        assertTrue(bucket.tryAcquire(later) > 0);
+    }
+
+    @Test
+    public void testRetryAfterRoundsUpToSeconds() {
+        long now = 0;
+        TokenBucket bucket = new TokenBucket(new RateLimitTier(0.2, 1), now);
+        assertEquals(0, bucket.tryAcquire(now));
+        assertEquals(5, bucket.tryAcquire(now));
+        assertEquals(5, bucket.tryAcquire(now + SECOND / 2));
+        assertEquals(4, bucket.tryAcquire(now + SECOND * 3 / 2));
+        assertEquals(0, bucket.tryAcquire(now + 5 * SECOND));
+    }
+
+    @Test
+    public void testUnlimitedTier() {
+        TokenBucket bucket = new TokenBucket(new RateLimitTier(0, 0), 0);
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(0, bucket.tryAcquire(0));
+        }
+    }
+
+    @Test
+    public void testParseTiers() {
+        Map<String, RateLimitTier> tiers = ApiRateLimitService.parseTiers("standard:10:50, unlimited:0:0");
+        assertEquals(2, tiers.size());
+        assertTrue(tiers.containsKey("standard"));
+        assertTrue(tiers.containsKey("unlimited"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseInvalidTier() {
+        ApiRateLimitService.parseTiers("standard:10");
+    }
+}
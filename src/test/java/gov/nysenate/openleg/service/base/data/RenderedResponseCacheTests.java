@@ -0,0 +1,101 @@
+package gov.nysenate.openleg.service.base.data;
+
+import gov.nysenate.openleg.client.response.base.RenderedResponse;
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.*;
+
+public class RenderedResponseCacheTests
+{
+    private static final LocalDateTime modified = LocalDateTime.of(2015, 3, 2, 10, 15, 30);
+
+    private CacheManager cacheManager;
+    private RenderedResponseCache renderedCache;
+
+    @Before
+    public void setUp() {
+        cacheManager = new CacheManager(new Configuration().name("renderedResponseCacheTests"));
+        Cache cache = new Cache(new CacheConfiguration().name("rendered").eternal(true).maxEntriesLocalHeap(100));
+        cacheManager.addCache(cache);
+        renderedCache = new RenderedResponseCache(cache, 16);
+    }
+
+    @After
+    public void tearDown() {
+        cacheManager.shutdown();
+    }
+
+    @Test
+    public void testRenderingOnlyReturnedForSameVersion() {
+        RenderedResponse rendered = renderedCache.put("S1", "DEFAULT", json("{}"), modified);
+        assertSame(rendered, renderedCache.get("S1", "DEFAULT", modified).get());
+        assertFalse(renderedCache.get("S1", "DEFAULT", modified.plusNanos(1000)).isPresent());
+        assertFalse(renderedCache.get("S1", "INFO", modified).isPresent());
+        assertFalse(renderedCache.get("S1", "DEFAULT", null).isPresent());
+    }
+
+    @Test
+    public void testUnknownVersionNotCached() {
+        renderedCache.put("S1", "DEFAULT", json("{}"), null);
+        assertEquals(0, renderedCache.getCache().getSize());
+    }
+
+    @Test
+    public void testEvictRemovesEveryVariant() {
+        renderedCache.put("S1", "DEFAULT", json("{}"), modified);
+        renderedCache.put("S1", "INFO", json("{}"), modified);
+        renderedCache.put("S2", "DEFAULT", json("{}"), modified);
+        renderedCache.evict(Collections.singleton("S1"));
+        assertFalse(renderedCache.get("S1", "DEFAULT", modified).isPresent());
+        assertFalse(renderedCache.get("S1", "INFO", modified).isPresent());
+        assertTrue(renderedCache.get("S2", "DEFAULT", modified).isPresent());
+    }
+
+    @Test
+    public void testEvictAfterRecaching() {
+        renderedCache.put("S1", "DEFAULT", json("{}"), modified);
+        renderedCache.evict(Collections.singleton("S1"));
+        renderedCache.put("S1", "INFO", json("{}"), modified);
+        renderedCache.evict(Arrays.asList("S1", "S3", null));
+        assertFalse(renderedCache.get("S1", "INFO", modified).isPresent());
+        assertEquals(0, renderedCache.getCache().getSize());
+    }
+
+    @Test
+    public void testGzippedAboveMinSize() throws Exception {
+        assertFalse(renderedCache.put("S1", "INFO", json("{}"), modified).isGzipped());
+        byte[] json = json("{\"title\": \"An act to amend the education law\"}");
+        RenderedResponse rendered = renderedCache.put("S1", "DEFAULT", json, modified);
+        assertTrue(rendered.isGzipped());
+        assertTrue(Arrays.equals(json, gunzip(rendered.getGzipped())));
+    }
+
+    private static byte[] json(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gunzip(byte[] data) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            byte[] buffer = new byte[1024];
+            for (int read; (read = in.read(buffer)) > 0; ) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,61 @@
+package gov.nysenate.openleg.service.base.event;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class EventQueueTests
+{
+    @Test
+    public void testEventsAreHandledInOrder() throws Exception {
+        EventQueue queue = new EventQueue("test", 10, EventQueueFullPolicy.BLOCK);
+        List<Integer> handled = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final int event = i;
+            queue.submit(() -> handled.add(event));
+        }
+        assertTrue(queue.drain(10, TimeUnit.SECONDS));
+        assertEquals(100, handled.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, (int) handled.get(i));
+        }
+        assertEquals(100, queue.getCompletedCount());
+    }
+
+    @Test
+    public void testDiscardWhenFull() throws Exception {
+        EventQueue queue = new EventQueue("test", 1, EventQueueFullPolicy.DISCARD);
+        CountDownLatch blocker = new CountDownLatch(1);
+        queue.submit(() -> {
+            try {
+                blocker.await();
+            }
+            catch (InterruptedException ignored) {}
+        });
+        // Wait for the worker to pick up the blocking task so that the queue is empty
+        while (queue.getDepth() > 0) {
+            Thread.sleep(5);
+        }
+        queue.submit(() -> {});
+        queue.submit(() -> {});
+        assertEquals(1, queue.getDiscardedCount());
+        blocker.countDown();
+        assertTrue(queue.drain(10, TimeUnit.SECONDS));
+        assertEquals(2, queue.getCompletedCount());
+    }
+
+    @Test
+    public void testFailuresAreCounted() throws Exception {
+        EventQueue queue = new EventQueue("test", 10, EventQueueFullPolicy.CALLER_RUNS);
+        queue.submit(() -> { throw new IllegalStateException("test failure"); });
+        queue.submit(() -> {});
+        assertTrue(queue.drain(10, TimeUnit.SECONDS));
+        assertEquals(1, queue.getFailedCount());
+        assertEquals(1, queue.getCompletedCount());
+    }
+}
@@ -0,0 +1,83 @@
+package gov.nysenate.openleg.service.base.search;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.*;
+
+public class ReindexCheckpointTests
+{
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testProgressIsRestored() throws Exception {
+        File file = new File(tempFolder.getRoot(), "reindex/bills.checkpoint");
+        ReindexCheckpoint checkpoint = ReindexCheckpoint.load(file);
+        assertFalse(checkpoint.getTargetIndex().isPresent());
+
+        LocalDateTime attached = LocalDateTime.of(2015, 1, 1, 12, 0, 0);
+        checkpoint.start("bills_20150101120000", attached);
+        checkpoint.markCompleted("2009");
+        checkpoint.markCompleted("2011");
+
+        ReindexCheckpoint restored = ReindexCheckpoint.load(file);
+        assertEquals("bills_20150101120000", restored.getTargetIndex().get());
+        assertEquals(attached, restored.getAttachedDateTime().get());
+        assertTrue(restored.isCompleted("2009"));
+        assertTrue(restored.isCompleted("2011"));
+        assertFalse(restored.isCompleted("2013"));
+    }
+
+    @Test
+    public void testStartDiscardsProgress() throws Exception {
+        File file = tempFolder.newFile("bills.checkpoint");
+        ReindexCheckpoint checkpoint = ReindexCheckpoint.load(file);
+        checkpoint.start("bills_1", LocalDateTime.now());
+        checkpoint.markCompleted("2009");
+        checkpoint.start("bills_2", LocalDateTime.now());
+
+        ReindexCheckpoint restored = ReindexCheckpoint.load(file);
+        assertEquals("bills_2", restored.getTargetIndex().get());
+        assertFalse(restored.isCompleted("2009"));
+    }
+
+    @Test
+    public void testMarkAttachedKeepsProgress() throws Exception {
+        File file = tempFolder.newFile("bills.checkpoint");
+        ReindexCheckpoint checkpoint = ReindexCheckpoint.load(file);
+        checkpoint.start("bills_1", LocalDateTime.of(2015, 1, 1, 12, 0));
+        checkpoint.markCompleted("2009");
+        LocalDateTime resumed = LocalDateTime.of(2015, 1, 2, 8, 30);
+        checkpoint.markAttached(resumed);
+
+        ReindexCheckpoint restored = ReindexCheckpoint.load(file);
+        assertEquals(resumed, restored.getAttachedDateTime().get());
+        assertTrue(restored.isCompleted("2009"));
+    }
+
+    @Test
+    public void testDelete() throws Exception {
+        File file = new File(tempFolder.getRoot(), "bills.checkpoint");
+        ReindexCheckpoint checkpoint = ReindexCheckpoint.load(file);
+        checkpoint.start("bills_1", LocalDateTime.now());
+        assertTrue(file.exists());
+        checkpoint.delete();
+        assertFalse(file.exists());
+        assertFalse(ReindexCheckpoint.load(file).getTargetIndex().isPresent());
+    }
+
+    @Test
+    public void testUnreadableCheckpointStartsOver() throws Exception {
+        File file = tempFolder.newFile("bills.checkpoint");
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write("completed=\\u00zz");
+        }
+        assertFalse(ReindexCheckpoint.load(file).getTargetIndex().isPresent());
+    }
+}
@@ -0,0 +1,119 @@
+package gov.nysenate.openleg.service.base.search;
+
+import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.model.search.SearchResults;
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class SearchResultCacheTests
+{
+    private CacheManager cacheManager;
+    private Cache cache;
+    private final AtomicInteger searchCount = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        cacheManager = new CacheManager(new Configuration().name("searchResultCacheTests"));
+        cache = new Cache(new CacheConfiguration().name("results").eternal(true).maxEntriesLocalHeap(100));
+        cacheManager.addCache(cache);
+    }
+
+    @After
+    public void tearDown() {
+        cacheManager.shutdown();
+    }
+
+    @Test
+    public void testRepeatSearchIsCached() throws Exception {
+        SearchResultCache resultCache = new SearchResultCache(cache, 0);
+        SearchResults<String> first = resultCache.get("key", this::search);
+        assertSame(first, resultCache.get("key", this::search));
+        assertEquals(1, searchCount.get());
+    }
+
+    @Test
+    public void testNotCachedWhileUpdatePending() throws Exception {
+        SearchResultCache resultCache = new SearchResultCache(cache, 0);
+        resultCache.get("key", this::search);
+        AtomicReference<Runnable> update = new AtomicReference<>();
+        resultCache.trackUpdate(() -> {}, update::set);
+        assertFalse(resultCache.isIndexSettled());
+        resultCache.get("key", this::search);
+        resultCache.get("key", this::search);
+        assertEquals(3, searchCount.get());
+
+        update.get().run();
+        Thread.sleep(1);
+        assertTrue(resultCache.isIndexSettled());
+        resultCache.get("key", this::search);
+        resultCache.get("key", this::search);
+        assertEquals(4, searchCount.get());
+    }
+
+    @Test
+    public void testFailedUpdateMarksIndexNotCurrent() throws Exception {
+        SearchResultCache resultCache = new SearchResultCache(cache, 0);
+        try {
+            resultCache.trackUpdate(() -> { throw new IllegalStateException(); }, Runnable::run);
+            fail();
+        }
+        catch (IllegalStateException expected) {}
+        Thread.sleep(1);
+        assertTrue(resultCache.isIndexSettled());
+        assertFalse(resultCache.isIndexCurrent());
+        resultCache.indexReplaced();
+        assertTrue(resultCache.isIndexCurrent());
+    }
+
+    @Test
+    public void testRejectedUpdateIsNotPending() throws Exception {
+        SearchResultCache resultCache = new SearchResultCache(cache, 0);
+        try {
+            resultCache.trackUpdate(() -> {}, task -> { throw new RejectedExecutionException(); });
+            fail();
+        }
+        catch (RejectedExecutionException expected) {}
+        Thread.sleep(1);
+        assertTrue(resultCache.isIndexSettled());
+        assertTrue(resultCache.isIndexCurrent());
+    }
+
+    @Test
+    public void testNeverCachedWithoutRefresh() throws Exception {
+        SearchResultCache resultCache = new SearchResultCache(cache, -1);
+        resultCache.get("key", this::search);
+        resultCache.get("key", this::search);
+        assertEquals(2, searchCount.get());
+    }
+
+    @Test
+    public void testKeyNormalization() {
+        LimitOffset limOff = new LimitOffset(25, 1);
+        assertEquals(SearchResultCache.key("id", QueryBuilders.queryString("title:moose  AND session:2015"), null,
+                                           "status.actionDate:desc, printNo:asc", limOff),
+                     SearchResultCache.key("id", QueryBuilders.queryString("title:moose AND session:2015"), null,
+                                           "status.actionDate:desc,printNo:asc", new LimitOffset(25, 1)));
+        assertNotEquals(SearchResultCache.key("id", QueryBuilders.matchAllQuery(), null, null, limOff),
+                        SearchResultCache.key("id", QueryBuilders.matchAllQuery(), null, null, new LimitOffset(25, 26)));
+        assertNotEquals(SearchResultCache.key("id", QueryBuilders.matchAllQuery(), null, null, limOff),
+                        SearchResultCache.key("info", QueryBuilders.matchAllQuery(), null, null, limOff));
+    }
+
+    private SearchResults<String> search() {
+        searchCount.incrementAndGet();
+        return new SearchResults<>(0, new ArrayList<>(), LimitOffset.TEN);
+    }
+}
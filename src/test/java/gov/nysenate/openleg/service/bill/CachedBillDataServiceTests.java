@@ -2,9 +2,14 @@ package gov.nysenate.openleg.service.bill;
 
 import com.google.common.eventbus.EventBus;
 import gov.nysenate.openleg.BaseTests;
+import gov.nysenate.openleg.model.base.Version;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.bill.BillAction;
+import gov.nysenate.openleg.model.bill.BillAmendment;
+import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.cache.CacheEvictEvent;
+import gov.nysenate.openleg.model.entity.Chamber;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 import gov.nysenate.openleg.service.bill.data.CachedBillDataService;
 import gov.nysenate.openleg.util.OutputUtils;
@@ -14,8 +19,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.time.LocalDate;
 import java.util.Collection;
 
+import static org.junit.Assert.assertEquals;
+
 public class CachedBillDataServiceTests extends BaseTests
 {
     private static final Logger logger = LoggerFactory.getLogger(CachedBillDataServiceTests.class);
@@ -72,6 +80,23 @@ public class CachedBillDataServiceTests extends BaseTests
         logger.info("time {}", sw.getTime());
     }
 
+    @Test
+    public void testGetBillSnapshot() throws Exception {
+        BaseBillId id = new BaseBillId("S2180", 2013);
+        Bill bill = billData.getBill(id);
+        Bill snapshot = billData.getBillSnapshot(id);
+        for (BillAmendment amendment : bill.getAmendmentList()) {
+            assertEquals("", snapshot.getAmendment(amendment.getVersion()).getFullText());
+            assertEquals(amendment.getFullText(), billData.getFullText(amendment.getBillId()));
+        }
+        // Bills from getBill are deep copies, so changes made to them never reach the cached snapshot
+        int actionCount = snapshot.getActions().size();
+        bill.getActions().add(new BillAction(LocalDate.of(2013, 6, 1), "TEST ACTION", Chamber.SENATE,
+                                             actionCount + 1, new BillId(id, Version.DEFAULT)));
+        assertEquals(actionCount, billData.getBillSnapshot(id).getActions().size());
+        assertEquals(actionCount, billData.getBill(id).getActions().size());
+    }
+
     @Test
     public void testEvictEvent() throws Exception {
         eventBus.register(this);
@@ -0,0 +1,72 @@
+package gov.nysenate.openleg.service.bill.data;
+
+import gov.nysenate.openleg.model.base.SessionYear;
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.*;
+import gov.nysenate.openleg.model.entity.Chamber;
+import gov.nysenate.openleg.model.entity.Member;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.*;
+
+public class SerializedBillCodecTests
+{
+    @Test
+    public void testRoundTrip() throws Exception {
+        BaseBillId baseBillId = new BaseBillId("S1234", 2011);
+        Bill bill = new Bill(baseBillId);
+        bill.setTitle("An act to amend the education law");
+        bill.setSummary("Relates to school districts");
+        BillAmendment amendment = new BillAmendment(baseBillId, Version.DEFAULT);
+        amendment.setActClause("AN ACT to amend the education law");
+        bill.addAmendment(amendment);
+        bill.setActiveVersion(Version.DEFAULT);
+        bill.addAction(new BillAction(LocalDate.of(2011, 1, 5), "REFERRED TO EDUCATION", Chamber.SENATE, 1,
+                                      new BillId(baseBillId, Version.DEFAULT)));
+        Member member = new Member(1, SessionYear.of(2011));
+        member.setFullName("John Doe");
+        member.setLbdcShortName("DOE");
+        bill.setSponsor(new BillSponsor(member));
+        bill.setYear(2011);
+        bill.setModifiedDateTime(LocalDateTime.of(2011, 1, 5, 10, 30));
+        bill.setPublishedDateTime(LocalDateTime.of(2011, 1, 4, 9, 0));
+        bill.clearModified();
+
+        Bill decoded = SerializedBillCodec.decode(SerializedBillCodec.encode(bill));
+        assertEquals(bill.getBaseBillId(), decoded.getBaseBillId());
+        // Fields of the base legislative content
+        assertEquals(SessionYear.of(2011), decoded.getSession());
+        assertEquals(2011, decoded.getYear());
+        assertEquals(bill.getModifiedDateTime(), decoded.getModifiedDateTime());
+        assertEquals(bill.getPublishedDateTime(), decoded.getPublishedDateTime());
+        assertTrue(decoded.isPublished());
+        assertEquals(bill.getTitle(), decoded.getTitle());
+        assertEquals(bill.getActions(), decoded.getActions());
+        assertEquals(bill.getSponsor(), decoded.getSponsor());
+        assertEquals("John Doe", decoded.getSponsor().getMember().getFullName());
+        assertEquals(amendment.getActClause(), decoded.getAmendment(Version.DEFAULT).getActClause());
+        assertFalse(decoded.isModified());
+    }
+
+    @Test
+    public void testCopySharesNoState() throws Exception {
+        BaseBillId baseBillId = new BaseBillId("S1234", 2015);
+        Bill bill = new Bill(baseBillId);
+        BillAmendment amendment = new BillAmendment(baseBillId, Version.DEFAULT);
+        bill.addAmendment(amendment);
+        bill.setActiveVersion(Version.DEFAULT);
+        bill.addAction(new BillAction(LocalDate.of(2015, 1, 5), "REFERRED TO EDUCATION", Chamber.SENATE, 1,
+                                      new BillId(baseBillId, Version.DEFAULT)));
+
+        Bill copy = SerializedBillCodec.copy(bill);
+        assertNotSame(bill, copy);
+        assertEquals(bill.getActions(), copy.getActions());
+        copy.getActions().clear();
+        copy.getAmendment(Version.DEFAULT).setActClause("AN ACT to amend the tax law");
+        assertEquals(1, bill.getActions().size());
+        assertEquals("", amendment.getActClause());
+    }
+}
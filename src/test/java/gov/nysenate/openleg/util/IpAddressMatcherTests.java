@@ -0,0 +1,47 @@
+package gov.nysenate.openleg.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class IpAddressMatcherTests
+{
+    @Test
+    public void testSingleAddress() {
+        IpAddressMatcher matcher = new IpAddressMatcher("127.0.0.1");
+        assertTrue(matcher.matches("127.0.0.1"));
+        assertFalse(matcher.matches("127.0.0.2"));
+        // The old whitelist was a regex where the dots matched any character
+        assertFalse(matcher.matches("127a0b0c1"));
+    }
+
+    @Test
+    public void testCidrRanges() {
+        IpAddressMatcher matcher = new IpAddressMatcher("10.1.0.0/16, 192.168.1.128/25, ::1");
+        assertTrue(matcher.matches("10.1.255.3"));
+        assertFalse(matcher.matches("10.2.0.1"));
+        assertTrue(matcher.matches("192.168.1.200"));
+        assertFalse(matcher.matches("192.168.1.100"));
+        assertTrue(matcher.matches("0:0:0:0:0:0:0:1"));
+        assertFalse(matcher.matches("::2"));
+    }
+
+    @Test
+    public void testInvalidAndEmpty() {
+        assertFalse(new IpAddressMatcher("").matches("127.0.0.1"));
+        assertFalse(new IpAddressMatcher(null).matches("127.0.0.1"));
+        assertTrue(new IpAddressMatcher("0.0.0.0/0").matches("8.8.8.8"));
+        assertFalse(new IpAddressMatcher("127.0.0.1").matches("localhost"));
+        assertFalse(new IpAddressMatcher("127.0.0.1").matches(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidRange() {
+        new IpAddressMatcher("10.0.0.0/33");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHostNamesNotAllowed() {
+        new IpAddressMatcher("localhost");
+    }
+}